@@ -0,0 +1,73 @@
+package com.example.skillforge.bench;
+
+import com.example.skillforge.model.dto.analytics.AnalyticsDTO;
+import com.example.skillforge.service.AnalyticsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dashboard analytics: the student's per-course quiz bucketing and the instructor and admin dashboards,
+ * lifetime and over a 30-day range.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AnalyticsBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Analytics extends BenchmarkApplication {
+        AnalyticsService analyticsService;
+        TransactionTemplate readOnly;
+        LocalDate from;
+        LocalDate to;
+
+        @Override
+        protected void onStart() {
+            analyticsService = bean(AnalyticsService.class);
+            readOnly = new TransactionTemplate(bean(PlatformTransactionManager.class));
+            readOnly.setReadOnly(true);
+            to = LocalDate.now();
+            from = to.minusDays(29);
+        }
+    }
+
+    // Lazily loads quizzes and courses; in a request the open-in-view session provides what this transaction does
+    @Benchmark
+    public AnalyticsDTO.StudentAnalytics studentAnalytics(Analytics state) {
+        return state.readOnly.execute(status -> state.analyticsService.getStudentAnalytics(state.data().getStudentId()));
+    }
+
+    @Benchmark
+    public AnalyticsDTO.InstructorAnalytics instructorAnalytics(Analytics state) {
+        return state.analyticsService.getInstructorAnalytics(state.data().getInstructorId(), null, null);
+    }
+
+    @Benchmark
+    public AnalyticsDTO.InstructorAnalytics instructorAnalyticsRange(Analytics state) {
+        return state.analyticsService.getInstructorAnalytics(state.data().getInstructorId(), state.from, state.to);
+    }
+
+    @Benchmark
+    public AnalyticsDTO.AdminAnalytics adminAnalytics(Analytics state) {
+        return state.analyticsService.getAdminAnalytics(null, null);
+    }
+
+    @Benchmark
+    public AnalyticsDTO.AdminAnalytics adminAnalyticsRange(Analytics state) {
+        return state.analyticsService.getAdminAnalytics(state.from, state.to);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.skillforge.bench;
+
+import com.example.skillforge.LearnSphereApplication;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * The whole application on the bench profile (embedded H2), started once per fork and seeded with a
+ * {@link SyntheticDataset} of the chosen size. Benchmark states extend this and look up their beans in
+ * {@link #onStart()}.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkApplication {
+
+    @Param({ "SMALL" })
+    public SyntheticDataset.Size dataset;
+
+    private ConfigurableApplicationContext context;
+    private SyntheticDataset data;
+
+    @Setup(Level.Trial)
+    public void start() {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(LearnSphereApplication.class)
+                .profiles("bench")
+                .logStartupInfo(false);
+        configure(builder);
+        context = builder.run();
+        if (needsData()) {
+            data = SyntheticDataset.seed(context, dataset);
+        }
+        onStart();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    /** Extra properties for this benchmark, e.g. a mode under comparison */
+    protected void configure(SpringApplicationBuilder builder) {
+    }
+
+    protected boolean needsData() {
+        return true;
+    }
+
+    protected void onStart() {
+    }
+
+    protected <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    protected int port() {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    protected SyntheticDataset data() {
+        return data;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.skillforge.bench;
+
+import com.example.skillforge.service.CertificateService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering a certificate PDF (layout, fonts and QR code) for download.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CertificatePdfBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Certificates extends BenchmarkApplication {
+        CertificateService certificateService;
+
+        @Override
+        protected void onStart() {
+            certificateService = bean(CertificateService.class);
+        }
+    }
+
+    @Benchmark
+    public byte[] generateCertificatePdf(Certificates state) throws Exception {
+        return state.certificateService.generateCertificatePdf(state.data().getCertificateUid());
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.skillforge.bench;
+
+import com.example.skillforge.service.CourseProgressService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recalculating a student's course progress from material and quiz completion.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CourseProgressBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Progress extends BenchmarkApplication {
+        CourseProgressService courseProgressService;
+
+        @Override
+        protected void onStart() {
+            courseProgressService = bean(CourseProgressService.class);
+        }
+    }
+
+    @Benchmark
+    public void updateProgress(Progress state) {
+        SyntheticDataset data = state.data();
+        state.courseProgressService.updateProgress(data.getStudentId(), data.getCourseId(), data.getTopicId());
+    }
+}
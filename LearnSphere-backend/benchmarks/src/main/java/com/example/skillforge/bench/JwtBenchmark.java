@@ -0,0 +1,61 @@
+package com.example.skillforge.bench;
+
+import com.example.skillforge.security.JwtService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token checks done by the authentication filter on every request, and token issuing at login.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class JwtBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Tokens extends BenchmarkApplication {
+        JwtService jwtService;
+        UserDetails user;
+        String token;
+
+        @Override
+        protected boolean needsData() {
+            return false;
+        }
+
+        @Override
+        protected void onStart() {
+            jwtService = bean(JwtService.class);
+            user = User.withUsername("student0@bench.example.com").password("bench").roles("STUDENT").build();
+            token = jwtService.generateToken(user);
+        }
+    }
+
+    @Benchmark
+    public boolean isTokenValid(Tokens state) {
+        return state.jwtService.isTokenValid(state.token, state.user);
+    }
+
+    @Benchmark
+    public String extractUsername(Tokens state) {
+        return state.jwtService.extractUsername(state.token);
+    }
+
+    @Benchmark
+    public String generateToken(Tokens state) {
+        return state.jwtService.generateToken(state.user);
+    }
+}
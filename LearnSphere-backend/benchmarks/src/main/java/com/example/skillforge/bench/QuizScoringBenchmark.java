@@ -0,0 +1,44 @@
+package com.example.skillforge.bench;
+
+import com.example.skillforge.model.entity.QuizAttempt;
+import com.example.skillforge.service.QuizAttemptService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scoring and saving a quiz submission: evaluation, attempt and answer rows, topic quiz progress,
+ * completion checks and time tracking. Every invocation adds an attempt, as in production.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class QuizScoringBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Scoring extends BenchmarkApplication {
+        QuizAttemptService quizAttemptService;
+
+        @Override
+        protected void onStart() {
+            quizAttemptService = bean(QuizAttemptService.class);
+        }
+    }
+
+    @Benchmark
+    public QuizAttempt evaluateAndSaveAttempt(Scoring state) {
+        SyntheticDataset data = state.data();
+        return state.quizAttemptService.evaluateAndSaveAttempt(data.getStudentId(), data.getQuizId(),
+                data.getAnswers(), 300, data.getTopicId());
+    }
+}
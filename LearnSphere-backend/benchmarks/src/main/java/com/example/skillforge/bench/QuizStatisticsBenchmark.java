@@ -0,0 +1,54 @@
+package com.example.skillforge.bench;
+
+import com.example.skillforge.dto.response.QuizStatisticsResponse;
+import com.example.skillforge.dto.response.QuizTrackingResponse;
+import com.example.skillforge.service.QuizStatisticsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-course and overall quiz statistics and the quiz tracking page for one student.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class QuizStatisticsBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Statistics extends BenchmarkApplication {
+        QuizStatisticsService quizStatisticsService;
+
+        @Override
+        protected void onStart() {
+            quizStatisticsService = bean(QuizStatisticsService.class);
+        }
+    }
+
+    @Benchmark
+    public QuizStatisticsResponse courseStatistics(Statistics state) {
+        return state.quizStatisticsService.getCourseQuizStatistics(state.data().getStudentId(),
+                state.data().getCourseId());
+    }
+
+    @Benchmark
+    public QuizStatisticsResponse overallStatistics(Statistics state) {
+        return state.quizStatisticsService.getOverallQuizStatistics(state.data().getStudentId());
+    }
+
+    @Benchmark
+    public QuizTrackingResponse quizTracking(Statistics state) {
+        return state.quizStatisticsService.getQuizTracking(state.data().getStudentId(),
+                state.data().getCourseId());
+    }
+}
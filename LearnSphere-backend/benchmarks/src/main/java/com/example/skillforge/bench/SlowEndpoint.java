@@ -0,0 +1,35 @@
+package com.example.skillforge.bench;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stand-in for an endpoint that blocks on remote I/O (chat service, Gemini, S3, SMTP): it only waits.
+ * Counts how many requests are inside the handler at once. Registered by component scan in the benchmark
+ * jar only, under /api/test which needs no authentication.
+ */
+@RestController
+public class SlowEndpoint {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peak = new AtomicInteger();
+
+    @GetMapping("/api/test/slow")
+    public String slow(@RequestParam(defaultValue = "200") long ms) throws InterruptedException {
+        peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(ms);
+            return "ok";
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /** Highest number of requests inside the handler at once since the previous call */
+    public int takePeak() {
+        return peak.getAndSet(0);
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.skillforge.bench;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.IterationParams;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Platform versus virtual request threads under a burst of slow, I/O-bound requests. Each invocation fires
+ * {@code concurrency} requests at once at an endpoint that blocks for {@code delayMs} and waits for all of
+ * them. With platform threads Tomcat runs at most server.tomcat.threads.max (200) handlers at a time and
+ * the rest queue, so a burst takes several delays; with virtual threads they all block concurrently.
+ *
+ * Besides the burst time, each mode reports {@code peakInFlight}: the most requests inside the handler
+ * at once during a burst, averaged over the iterations. Tomcat's accept queue is raised to the burst size
+ * and the client opens a connection per request. A peak at 200 therefore means the request threads
+ * limited the burst. A lower peak means the machine could not dispatch the burst within one delay, so
+ * raise {@code delayMs}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SlowRequestBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Server extends BenchmarkApplication {
+
+        @Param({ "platform", "virtual" })
+        public String threads;
+
+        @Param({ "1000" })
+        public int concurrency;
+
+        // Long enough that dispatching the burst (CPU bound, serial on a small machine) is not what limits it
+        @Param({ "1000" })
+        public int delayMs;
+
+        HttpClient http;
+        HttpRequest request;
+        SlowEndpoint endpoint;
+
+        @Override
+        protected void configure(SpringApplicationBuilder builder) {
+            builder.properties("spring.threads.virtual.enabled=" + "virtual".equals(threads),
+                    "server.tomcat.accept-count=" + concurrency);
+        }
+
+        @Override
+        protected boolean needsData() {
+            return false;
+        }
+
+        @Override
+        protected void onStart() {
+            endpoint = bean(SlowEndpoint.class);
+            http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            request = HttpRequest.newBuilder(URI.create("http://localhost:" + port() + "/api/test/slow?ms=" + delayMs))
+                    .timeout(Duration.ofMinutes(1))
+                    .build();
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class InFlight {
+
+        // JMH sums event counters over the iterations; a share per iteration makes the score their average
+        public double peakInFlight;
+
+        private int iterations;
+
+        @Setup(Level.Iteration)
+        public void reset(IterationParams params) {
+            iterations = params.getCount();
+            peakInFlight = 0;
+        }
+
+        void record(int peak) {
+            peakInFlight = (double) peak / iterations;
+        }
+    }
+
+    @Benchmark
+    public int burst(Server server, InFlight inFlight) {
+        server.endpoint.takePeak();
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(server.concurrency);
+        for (int i = 0; i < server.concurrency; i++) {
+            responses.add(server.http.sendAsync(server.request, HttpResponse.BodyHandlers.discarding()));
+        }
+        int ok = 0;
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            if (response.join().statusCode() == 200) {
+                ok++;
+            }
+        }
+        if (ok != server.concurrency) {
+            throw new IllegalStateException((server.concurrency - ok) + " slow requests failed");
+        }
+        inFlight.record(server.endpoint.takePeak());
+        return ok;
+    }
+}
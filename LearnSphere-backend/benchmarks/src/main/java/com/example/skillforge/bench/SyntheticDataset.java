@@ -0,0 +1,382 @@
+package com.example.skillforge.bench;
+
+import com.example.skillforge.model.entity.Certificate;
+import com.example.skillforge.model.entity.Course;
+import com.example.skillforge.model.entity.CourseProgress;
+import com.example.skillforge.model.entity.Enrollment;
+import com.example.skillforge.model.entity.Instructor;
+import com.example.skillforge.model.entity.Material;
+import com.example.skillforge.model.entity.Question;
+import com.example.skillforge.model.entity.Quiz;
+import com.example.skillforge.model.entity.QuizAttempt;
+import com.example.skillforge.model.entity.Review;
+import com.example.skillforge.model.entity.Student;
+import com.example.skillforge.model.entity.Topic;
+import com.example.skillforge.model.entity.TopicMaterialProgress;
+import com.example.skillforge.model.entity.TopicQuizProgress;
+import com.example.skillforge.model.entity.User;
+import com.example.skillforge.model.enums.DifficultyLevel;
+import com.example.skillforge.model.enums.MaterialType;
+import com.example.skillforge.model.enums.Role;
+import com.example.skillforge.repository.CertificateRepository;
+import com.example.skillforge.repository.CourseProgressRepository;
+import com.example.skillforge.repository.CourseRepository;
+import com.example.skillforge.repository.EnrollmentRepository;
+import com.example.skillforge.repository.InstructorRepository;
+import com.example.skillforge.repository.MaterialRepository;
+import com.example.skillforge.repository.QuestionRepository;
+import com.example.skillforge.repository.QuizAttemptRepository;
+import com.example.skillforge.repository.QuizRepository;
+import com.example.skillforge.repository.ReviewRepository;
+import com.example.skillforge.repository.StudentRepository;
+import com.example.skillforge.repository.TopicMaterialProgressRepository;
+import com.example.skillforge.repository.TopicQuizProgressRepository;
+import com.example.skillforge.repository.TopicRepository;
+import com.example.skillforge.repository.UserRepository;
+import com.example.skillforge.service.AnalyticsProjectionService;
+import com.example.skillforge.service.QuizAttemptService;
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Deterministic catalogue and learner history: instructors with published courses, topics with materials
+ * and one quiz each, and students with enrollments, material progress, quiz attempts, course progress and
+ * reviews. Every run with the same {@link Size} produces the same data (fixed seed).
+ *
+ * The first student is always enrolled in the first course, which is what the benchmarks operate on.
+ */
+public final class SyntheticDataset {
+
+    private static final long SEED = 42;
+    private static final int STUDENTS_PER_TRANSACTION = 100;
+    private static final String[] CATEGORIES = { "Programming", "Data Science", "Design", "Business", "Languages" };
+    private static final String[] OPTIONS = { "A", "B", "C", "D" };
+
+    public enum Size {
+        SMALL(5, 20, 6, 3, 10, 200, 4, 3),
+        LARGE(20, 100, 10, 4, 20, 2000, 6, 5);
+
+        final int instructors;
+        final int courses;
+        final int topicsPerCourse;
+        final int materialsPerTopic;
+        final int questionsPerQuiz;
+        final int students;
+        final int enrollmentsPerStudent;
+        final int attemptsPerEnrollment;
+
+        Size(int instructors, int courses, int topicsPerCourse, int materialsPerTopic, int questionsPerQuiz,
+             int students, int enrollmentsPerStudent, int attemptsPerEnrollment) {
+            this.instructors = instructors;
+            this.courses = courses;
+            this.topicsPerCourse = topicsPerCourse;
+            this.materialsPerTopic = materialsPerTopic;
+            this.questionsPerQuiz = questionsPerQuiz;
+            this.students = students;
+            this.enrollmentsPerStudent = enrollmentsPerStudent;
+            this.attemptsPerEnrollment = attemptsPerEnrollment;
+        }
+    }
+
+    private final ApplicationContext context;
+    private final TransactionTemplate tx;
+    private final Random random = new Random(SEED);
+
+    private final List<Long> instructorIds = new ArrayList<>();
+    private final List<Long> instructorUserIds = new ArrayList<>();
+    private final List<CourseIds> courses = new ArrayList<>();
+    private final List<QuizAttemptService.AnswerSubmission> answers = new ArrayList<>();
+
+    private Long studentId;
+    private Long studentUserId;
+    private String studentEmail;
+    private String certificateUid;
+
+    private SyntheticDataset(ApplicationContext context) {
+        this.context = context;
+        this.tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    public static SyntheticDataset seed(ApplicationContext context, Size size) {
+        SyntheticDataset data = new SyntheticDataset(context);
+        data.createInstructors(size);
+        for (int c = 0; c < size.courses; c++) {
+            int index = c;
+            data.tx.executeWithoutResult(status -> data.createCourse(size, index));
+        }
+        for (int from = 0; from < size.students; from += STUDENTS_PER_TRANSACTION) {
+            int start = from;
+            int end = Math.min(size.students, from + STUDENTS_PER_TRANSACTION);
+            data.tx.executeWithoutResult(status -> data.createStudents(size, start, end));
+        }
+        data.tx.executeWithoutResult(status -> data.issueCertificate());
+        // Analytics aggregates are maintained from events; rebuild them once from the seeded rows
+        context.getBean(AnalyticsProjectionService.class).reconcile();
+        return data;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public Long getStudentUserId() {
+        return studentUserId;
+    }
+
+    public String getStudentEmail() {
+        return studentEmail;
+    }
+
+    public Long getCourseId() {
+        return courses.get(0).courseId;
+    }
+
+    public Long getTopicId() {
+        return courses.get(0).topicIds.get(0);
+    }
+
+    public Long getQuizId() {
+        return courses.get(0).quizIds.get(0);
+    }
+
+    /**
+     * A submission for {@link #getQuizId()} with 70% correct answers, so scoring takes the passed path.
+     */
+    public List<QuizAttemptService.AnswerSubmission> getAnswers() {
+        return answers;
+    }
+
+    public Long getInstructorId() {
+        return instructorIds.get(0);
+    }
+
+    public Long getInstructorUserId() {
+        return instructorUserIds.get(0);
+    }
+
+    public String getCertificateUid() {
+        return certificateUid;
+    }
+
+    private <T> T repository(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    private void createInstructors(Size size) {
+        tx.executeWithoutResult(status -> {
+            for (int i = 0; i < size.instructors; i++) {
+                User user = repository(UserRepository.class).save(user("instructor" + i, Role.INSTRUCTOR));
+                Instructor instructor = new Instructor();
+                instructor.setUser(user);
+                instructor.setSpecialization(CATEGORIES[i % CATEGORIES.length]);
+                instructor = repository(InstructorRepository.class).save(instructor);
+                instructorIds.add(instructor.getId());
+                instructorUserIds.add(user.getId());
+            }
+        });
+    }
+
+    private void createCourse(Size size, int index) {
+        Course course = new Course();
+        course.setTitle("Course " + index);
+        course.setDescription("Synthetic course " + index);
+        course.setCategory(CATEGORIES[index % CATEGORIES.length]);
+        course.setDifficultyLevel(DifficultyLevel.values()[index % DifficultyLevel.values().length]);
+        course.setDuration(60 + random.nextInt(600));
+        course.setIsPublished(true);
+        course.setInstructor(repository(InstructorRepository.class)
+                .getReferenceById(instructorIds.get(index % instructorIds.size())));
+        course = repository(CourseRepository.class).save(course);
+
+        CourseIds ids = new CourseIds(course.getId());
+        for (int t = 0; t < size.topicsPerCourse; t++) {
+            Topic topic = new Topic();
+            topic.setCourse(course);
+            topic.setName("Topic " + index + "." + t);
+            topic.setOrderIndex(t);
+            topic = repository(TopicRepository.class).save(topic);
+            ids.topicIds.add(topic.getId());
+
+            List<Long> materialIds = new ArrayList<>();
+            for (int m = 0; m < size.materialsPerTopic; m++) {
+                Material material = new Material();
+                material.setTopic(topic);
+                material.setTitle("Material " + m);
+                material.setMaterialType(MaterialType.TEXT);
+                material.setTextContent("Synthetic material");
+                material.setOrderIndex(m);
+                materialIds.add(repository(MaterialRepository.class).save(material).getId());
+            }
+            ids.materialIds.add(materialIds);
+
+            Quiz quiz = new Quiz();
+            quiz.setCourse(course);
+            quiz.setTopic(topic);
+            quiz.setTitle("Quiz " + index + "." + t);
+            quiz.setIsPublished(true);
+            quiz.setTotalQuestions(size.questionsPerQuiz);
+            quiz.setTotalMarks(size.questionsPerQuiz);
+            quiz.setPassingMarks((int) Math.ceil(size.questionsPerQuiz * 0.6));
+            quiz = repository(QuizRepository.class).save(quiz);
+            ids.quizIds.add(quiz.getId());
+
+            for (int q = 0; q < size.questionsPerQuiz; q++) {
+                Question question = new Question();
+                question.setQuiz(quiz);
+                question.setQuestionText("Question " + q + " of quiz " + quiz.getId());
+                question.setCorrectAnswer(OPTIONS[random.nextInt(OPTIONS.length)]);
+                question.setOrderIndex(q);
+                question = repository(QuestionRepository.class).save(question);
+                if (index == 0 && t == 0) {
+                    QuizAttemptService.AnswerSubmission answer = new QuizAttemptService.AnswerSubmission();
+                    answer.setQuestionId(question.getId());
+                    answer.setAnswerText(q % 10 < 7 ? question.getCorrectAnswer() : "none");
+                    answers.add(answer);
+                }
+            }
+        }
+        courses.add(ids);
+    }
+
+    private void createStudents(Size size, int from, int to) {
+        for (int s = from; s < to; s++) {
+            User user = repository(UserRepository.class).save(user("student" + s, Role.STUDENT));
+            Student student = new Student();
+            student.setUser(user);
+            student = repository(StudentRepository.class).save(student);
+            if (s == 0) {
+                studentId = student.getId();
+                studentUserId = user.getId();
+                studentEmail = user.getEmail();
+            }
+
+            for (int courseIndex : pickCourses(size, s == 0)) {
+                CourseIds course = courses.get(courseIndex);
+                enroll(size, student, course);
+            }
+        }
+    }
+
+    // Distinct course indexes; the first student always gets course 0
+    private Set<Integer> pickCourses(Size size, boolean first) {
+        Set<Integer> picked = new LinkedHashSet<>();
+        if (first) {
+            picked.add(0);
+        }
+        int wanted = Math.min(size.enrollmentsPerStudent, size.courses);
+        while (picked.size() < wanted) {
+            picked.add(random.nextInt(size.courses));
+        }
+        return picked;
+    }
+
+    private void enroll(Size size, Student student, CourseIds course) {
+        Course courseRef = repository(CourseRepository.class).getReferenceById(course.courseId);
+        int topicsDone = random.nextInt(course.topicIds.size() + 1);
+
+        Enrollment enrollment = new Enrollment();
+        enrollment.setStudent(student);
+        enrollment.setCourse(courseRef);
+        enrollment.setCompletionPercentage(topicsDone * 100 / course.topicIds.size());
+        enrollment.setIsCompleted(topicsDone == course.topicIds.size());
+        enrollment.setLastAccessedAt(LocalDateTime.now().minusDays(random.nextInt(90)));
+        repository(EnrollmentRepository.class).save(enrollment);
+
+        for (int t = 0; t < topicsDone; t++) {
+            for (Long materialId : course.materialIds.get(t)) {
+                TopicMaterialProgress progress = new TopicMaterialProgress();
+                progress.setStudentId(student.getId());
+                progress.setMaterialId(materialId);
+                progress.setCompleted(true);
+                progress.setCompletedAt(LocalDateTime.now().minusDays(random.nextInt(90)));
+                repository(TopicMaterialProgressRepository.class).save(progress);
+            }
+        }
+
+        for (int a = 0; a < size.attemptsPerEnrollment; a++) {
+            int t = random.nextInt(course.quizIds.size());
+            double score = 30 + random.nextInt(71);
+            QuizAttempt attempt = new QuizAttempt();
+            attempt.setQuiz(repository(QuizRepository.class).getReferenceById(course.quizIds.get(t)));
+            attempt.setStudentId(student.getId());
+            attempt.setScore(score);
+            attempt.setTimeSpent(60 + random.nextInt(900));
+            attempt.setStatus(score >= 60 ? "PASSED" : "FAILED");
+            attempt.setAttemptTime(LocalDateTime.now().minusDays(random.nextInt(90)).minusMinutes(a));
+            repository(QuizAttemptRepository.class).save(attempt);
+
+            if (score >= 60) {
+                TopicQuizProgress quizProgress = repository(TopicQuizProgressRepository.class)
+                        .findByStudentIdAndTopicId(student.getId(), course.topicIds.get(t))
+                        .orElseGet(TopicQuizProgress::new);
+                quizProgress.setStudentId(student.getId());
+                quizProgress.setTopicId(course.topicIds.get(t));
+                quizProgress.setScore(score);
+                quizProgress.setCompleted(true);
+                quizProgress.setCompletedAt(attempt.getAttemptTime());
+                repository(TopicQuizProgressRepository.class).save(quizProgress);
+            }
+        }
+
+        CourseProgress progress = new CourseProgress();
+        progress.setStudentId(student.getId());
+        progress.setCourseId(course.courseId);
+        progress.setProgressPercent(enrollment.getCompletionPercentage());
+        progress.setLastUpdated(enrollment.getLastAccessedAt());
+        repository(CourseProgressRepository.class).save(progress);
+
+        if (random.nextInt(10) < 3) {
+            Review review = new Review();
+            review.setCourseId(course.courseId);
+            review.setStudentId(student.getId());
+            review.setUserId(student.getUser().getId());
+            review.setStudentName(student.getUser().getName());
+            review.setRating(1 + random.nextInt(5));
+            review.setComment("Synthetic review");
+            repository(ReviewRepository.class).save(review);
+        }
+    }
+
+    private void issueCertificate() {
+        User user = repository(UserRepository.class).getReferenceById(studentUserId);
+        Course course = repository(CourseRepository.class).getReferenceById(getCourseId());
+        Certificate certificate = Certificate.builder()
+                .uid("bench-" + SEED)
+                .student(user)
+                .course(course)
+                .issuedAt(LocalDateTime.now())
+                .studentNameSnapshot("Student Zero")
+                .courseNameSnapshot("Course 0")
+                .build();
+        certificateUid = repository(CertificateRepository.class).save(certificate).getUid();
+    }
+
+    private static User user(String handle, Role role) {
+        User user = new User();
+        user.setName(handle);
+        user.setEmail(handle + "@bench.example.com");
+        user.setPassword("{noop}bench");
+        user.setRole(role);
+        user.setVerified(true);
+        return user;
+    }
+
+    private static final class CourseIds {
+        final Long courseId;
+        final List<Long> topicIds = new ArrayList<>();
+        final List<Long> quizIds = new ArrayList<>();
+        final List<List<Long>> materialIds = new ArrayList<>();
+
+        CourseIds(Long courseId) {
+            this.courseId = courseId;
+        }
+    }
+}
@@ -0,0 +1,484 @@
+package com.example.skillforge.load;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Production-sized synthetic dataset written straight into the application's schema with JDBC batch
+ * inserts: admins, instructors and students (all able to log in), a catalogue of courses with topics,
+ * materials, quizzes and questions, and a learner history of enrollments, progress, quiz attempts, reviews
+ * and daily activity.
+ *
+ * Generation is deterministic: the same options and seed produce the same rows, with timestamps relative to
+ * {@code --anchor} (today by default). Ids are assigned after the current maximum of each table, so on an
+ * empty schema they are identical between runs too. The schema must exist already (start the application
+ * once against the database). Run from the benchmarks jar:
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.example.skillforge.load.DatasetGenerator \
+ *     --jdbc-url=jdbc:mysql://localhost:3306/skillforge_load?rewriteBatchedStatements=true --students=100000
+ * </pre>
+ *
+ * Denormalised counters (course enrollments, quiz attempts, instructor totals) are filled in at the end. The
+ * analytics read model is not, as the rows are written without events. Restart the application afterwards
+ * (its startup rebuild fills analytics tables that are still empty) or run its reconcile, which rebuilds the
+ * course tables and adds the generated accounts to platform_user_daily under their creation dates.
+ */
+public final class DatasetGenerator {
+
+    static final String EMAIL_DOMAIN = "@load.example.com";
+    static final String DEFAULT_PASSWORD = "LoadTest@123";
+
+    private static final String[] CATEGORIES = { "Programming", "Data Science", "Design", "Business", "Languages",
+            "Cloud", "Security", "Mathematics" };
+    private static final String[] LEVELS = { "BEGINNER", "INTERMEDIATE", "ADVANCED" };
+    private static final String[] OPTIONS = { "A", "B", "C", "D" };
+
+    private static final String USER = "INSERT INTO users (id, name, email, password, role, is_active, is_verified,"
+            + " is_blocked, created_at) VALUES (?, ?, ?, ?, ?, TRUE, TRUE, FALSE, ?)";
+    private static final String INSTRUCTOR = "INSERT INTO instructors (id, user_id, specialization, courses_created,"
+            + " total_students, average_rating, created_at) VALUES (?, ?, ?, ?, 0, 0, ?)";
+    private static final String STUDENT = "INSERT INTO students (id, user_id, current_level, total_points,"
+            + " courses_enrolled, quizzes_attempted, average_score, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String COURSE = "INSERT INTO courses (id, title, description, category, tags, instructor_id,"
+            + " difficulty_level, duration, total_topics, total_enrollments, is_published, views_count, visibility,"
+            + " access_rule, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?, 'EVERYONE', 'OPEN', ?)";
+    private static final String TOPIC = "INSERT INTO topics (id, course_id, name, description, level, order_index,"
+            + " materials_count, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String MATERIAL = "INSERT INTO materials (id, topic_id, title, material_type, text_content,"
+            + " external_url, duration_minutes, allow_download, order_index, created_at)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, FALSE, ?, ?)";
+    private static final String QUIZ = "INSERT INTO quizzes (id, course_id, topic_id, title, generated_by_ai, level,"
+            + " duration, total_questions, total_marks, passing_marks, is_published, total_attempts,"
+            + " reward_first_try, reward_second_try, reward_third_try, reward_fourth_plus, created_at)"
+            + " VALUES (?, ?, ?, ?, FALSE, ?, 30, ?, ?, ?, TRUE, 0, 10, 7, 5, 2, ?)";
+    private static final String QUESTION = "INSERT INTO questions (id, quiz_id, question_text, type, correct_answer,"
+            + " points, order_index, created_at) VALUES (?, ?, ?, 'MCQ', ?, 1, ?, ?)";
+    private static final String ANSWER = "INSERT INTO answers (id, question_id, option_text, is_correct)"
+            + " VALUES (?, ?, ?, ?)";
+    private static final String ENROLLMENT = "INSERT INTO enrollments (student_id, course_id,"
+            + " completion_percentage, is_completed, completed_at, enrolled_at, last_accessed_at)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String MATERIAL_PROGRESS = "INSERT INTO topic_material_progress (student_id, material_id,"
+            + " completed, completed_at) VALUES (?, ?, TRUE, ?)";
+    private static final String ATTEMPT = "INSERT INTO quiz_attempts (quiz_id, student_id, score, time_spent, status,"
+            + " attempt_time) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String QUIZ_PROGRESS = "INSERT INTO topic_quiz_progress (student_id, topic_id, score,"
+            + " completed, completed_at) VALUES (?, ?, ?, TRUE, ?)";
+    private static final String COURSE_PROGRESS = "INSERT INTO course_progress (student_id, course_id,"
+            + " progress_percent, last_updated, total_time_minutes) VALUES (?, ?, ?, ?, ?)";
+    private static final String REVIEW = "INSERT INTO reviews (course_id, student_id, user_id, student_name, rating,"
+            + " comment, likes, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String ACTIVITY = "INSERT INTO user_activities (user_id, date, count, minutes_spent)"
+            + " VALUES (?, ?, ?, ?)";
+
+    // Statements in foreign key order; a flush executes them in this order
+    private static final List<String> INSERTS = List.of(USER, INSTRUCTOR, STUDENT, COURSE, TOPIC, MATERIAL, QUIZ,
+            QUESTION, ANSWER, ENROLLMENT, MATERIAL_PROGRESS, ATTEMPT, QUIZ_PROGRESS, COURSE_PROGRESS, REVIEW, ACTIVITY);
+
+    private final long seed;
+    private final int admins;
+    private final int instructors;
+    private final int students;
+    private final int courses;
+    private final int topicsPerCourse;
+    private final int materialsPerTopic;
+    private final int questionsPerQuiz;
+    private final int enrollmentsPerStudent;
+    private final int attemptsPerEnrollment;
+    private final double reviewRate;
+    private final int activityDays;
+    private final int batchSize;
+    private final String password;
+    private final LocalDateTime anchor;
+
+    private long userBase;
+    private long instructorBase;
+    private long studentBase;
+    private long courseBase;
+    private long topicBase;
+    private long materialBase;
+    private long quizBase;
+    private long questionBase;
+    private long answerBase;
+
+    // Denormalised counters, written once all rows are in
+    private int[] courseEnrollments;
+    private int[] courseRatingCount;
+    private long[] courseRatingSum;
+    private int[] quizAttempts;
+    private int[] publishedCourses;
+
+    private DatasetGenerator(Options options) {
+        seed = options.number("seed", 42);
+        admins = options.integer("admins", 5);
+        instructors = options.integer("instructors", 500);
+        students = options.integer("students", 50_000);
+        courses = options.integer("courses", 2_000);
+        topicsPerCourse = options.integer("topics", 8);
+        materialsPerTopic = options.integer("materials", 4);
+        questionsPerQuiz = options.integer("questions", 10);
+        enrollmentsPerStudent = options.integer("enrollments", 5);
+        attemptsPerEnrollment = options.integer("attempts", 3);
+        reviewRate = options.decimal("review-rate", 0.3);
+        activityDays = options.integer("activity-days", 180);
+        batchSize = options.integer("batch-size", 1_000);
+        password = options.string("password", DEFAULT_PASSWORD);
+        anchor = LocalDate.parse(options.string("anchor", LocalDate.now().toString())).atStartOfDay();
+        if (instructors < 1 || courses < 1 || topicsPerCourse < 1 || questionsPerQuiz < 1 || activityDays < 1) {
+            throw new IllegalArgumentException("instructors, courses, topics, questions and activity-days must be positive");
+        }
+    }
+
+    public static void main(String[] args) throws SQLException {
+        Options options = new Options(args, "jdbc-url", "db-user", "db-password", "seed", "admins", "instructors",
+                "students", "courses", "topics", "materials", "questions", "enrollments", "attempts", "review-rate",
+                "activity-days", "batch-size", "password", "anchor");
+        DatasetGenerator generator = new DatasetGenerator(options);
+        String url = options.string("jdbc-url",
+                "jdbc:mysql://localhost:3306/skillforge_load?rewriteBatchedStatements=true");
+        try (Connection connection = DriverManager.getConnection(url,
+                options.string("db-user", "root"), options.string("db-password", ""))) {
+            connection.setAutoCommit(false);
+            generator.generate(connection);
+        }
+    }
+
+    private void generate(Connection connection) throws SQLException {
+        long started = System.nanoTime();
+        if (count(connection, "SELECT COUNT(*) FROM users WHERE email LIKE '%" + EMAIL_DOMAIN + "'") > 0) {
+            throw new IllegalStateException("The database already holds a generated dataset; use an empty schema");
+        }
+        userBase = maxId(connection, "users");
+        instructorBase = maxId(connection, "instructors");
+        studentBase = maxId(connection, "students");
+        courseBase = maxId(connection, "courses");
+        topicBase = maxId(connection, "topics");
+        materialBase = maxId(connection, "materials");
+        quizBase = maxId(connection, "quizzes");
+        questionBase = maxId(connection, "questions");
+        answerBase = maxId(connection, "answers");
+
+        courseEnrollments = new int[courses];
+        courseRatingCount = new int[courses];
+        courseRatingSum = new long[courses];
+        quizAttempts = new int[courses * topicsPerCourse];
+
+        // One hash for every account: BCrypt is deliberately slow
+        String hash = new BCryptPasswordEncoder().encode(password);
+
+        try (Batches batches = new Batches(connection)) {
+            staff(batches, hash);
+            catalogue(batches);
+            for (int s = 0; s < students; s++) {
+                student(batches, hash, s);
+                if ((s + 1) % 10_000 == 0) {
+                    System.out.printf("  %,d / %,d students%n", s + 1, students);
+                }
+            }
+            batches.flush();
+            counters(connection);
+            System.out.printf("Inserted %,d rows in %s%n", batches.total(),
+                    Duration.ofNanos(System.nanoTime() - started).withNanos(0));
+            batches.report();
+        }
+    }
+
+    private void staff(Batches batches, String hash) throws SQLException {
+        Random random = new Random(seed);
+        for (int a = 0; a < admins; a++) {
+            batches.add(USER, userBase + 1 + a, "Admin " + a, "admin" + a + EMAIL_DOMAIN, hash, "ADMIN",
+                    anchor.minusDays(365));
+        }
+        for (int i = 0; i < instructors; i++) {
+            long userId = userBase + 1 + admins + i;
+            LocalDateTime joined = anchor.minusDays(200 + random.nextInt(600));
+            batches.add(USER, userId, "Instructor " + i, "instructor" + i + EMAIL_DOMAIN, hash, "INSTRUCTOR", joined);
+            int created = courses / instructors + (i < courses % instructors ? 1 : 0);
+            batches.add(INSTRUCTOR, instructorBase + 1 + i, userId, CATEGORIES[i % CATEGORIES.length], created, joined);
+        }
+    }
+
+    private void catalogue(Batches batches) throws SQLException {
+        Random random = new Random(seed + 1);
+        List<Integer> published = new ArrayList<>();
+        for (int c = 0; c < courses; c++) {
+            // Every tenth course is a draft: visible to its instructor, never enrolled in
+            boolean isPublished = c % 10 != 9;
+            if (isPublished) {
+                published.add(c);
+            }
+            String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+            String level = LEVELS[random.nextInt(LEVELS.length)];
+            LocalDateTime created = anchor.minusDays(30 + random.nextInt(700));
+            long courseId = courseBase + 1 + c;
+            batches.add(COURSE, courseId, category + " course " + c, "Synthetic " + category.toLowerCase()
+                            + " course number " + c + " for load testing.", category,
+                    category.toLowerCase().replace(' ', '-') + ",load-test", instructorBase + 1 + c % instructors,
+                    level, 60 + random.nextInt(1_200), topicsPerCourse, isPublished, random.nextInt(20_000), created);
+
+            for (int t = 0; t < topicsPerCourse; t++) {
+                long topic = (long) c * topicsPerCourse + t;
+                long topicId = topicBase + 1 + topic;
+                batches.add(TOPIC, topicId, courseId, "Topic " + (t + 1) + " of course " + c,
+                        "Synthetic topic " + (t + 1), level, t, materialsPerTopic, created);
+
+                for (int m = 0; m < materialsPerTopic; m++) {
+                    boolean link = m % 2 == 1;
+                    batches.add(MATERIAL, materialBase + 1 + topic * materialsPerTopic + m, topicId,
+                            "Material " + (m + 1), link ? "LINK" : "TEXT",
+                            link ? null : "Synthetic reading material " + (m + 1) + " of topic " + (t + 1),
+                            link ? "https://example.com/materials/" + topicId + "/" + m : null,
+                            5 + random.nextInt(40), m, created);
+                }
+
+                long quizId = quizBase + 1 + topic;
+                batches.add(QUIZ, quizId, courseId, topicId, "Quiz: topic " + (t + 1) + " of course " + c, level,
+                        questionsPerQuiz, questionsPerQuiz, (int) Math.ceil(questionsPerQuiz * 0.6), created);
+                for (int q = 0; q < questionsPerQuiz; q++) {
+                    long question = topic * questionsPerQuiz + q;
+                    int correct = random.nextInt(OPTIONS.length);
+                    batches.add(QUESTION, questionBase + 1 + question, quizId,
+                            "Question " + (q + 1) + " of quiz " + quizId, OPTIONS[correct], q, created);
+                    for (int o = 0; o < OPTIONS.length; o++) {
+                        batches.add(ANSWER, answerBase + 1 + question * OPTIONS.length + o, questionBase + 1 + question,
+                                OPTIONS[o], o == correct);
+                    }
+                }
+            }
+        }
+        publishedCourses = published.stream().mapToInt(Integer::intValue).toArray();
+        System.out.printf("  %,d courses, %,d topics, %,d questions%n", courses, courses * topicsPerCourse,
+                (long) courses * topicsPerCourse * questionsPerQuiz);
+    }
+
+    private void student(Batches batches, String hash, int s) throws SQLException {
+        // Per student stream, so one learner's history does not depend on the others
+        Random random = new Random(seed * 1_000_003L + s);
+        long userId = userBase + 1 + admins + instructors + s;
+        long studentId = studentBase + 1 + s;
+        String name = "Student " + s;
+        LocalDateTime joined = anchor.minusDays(activityDays + random.nextInt(365));
+        batches.add(USER, userId, name, "student" + s + EMAIL_DOMAIN, hash, "STUDENT", joined);
+
+        // Enrollments are added after the student row, which needs their totals
+        List<Object[]> enrollments = new ArrayList<>();
+        int attempted = 0;
+        int passed = 0;
+        double scoreSum = 0;
+        Set<Integer> picked = pickCourses(random);
+        for (int c : picked) {
+            long courseId = courseBase + 1 + c;
+            int daysAgo = 1 + random.nextInt(activityDays);
+            LocalDateTime enrolled = anchor.minusDays(daysAgo).plusMinutes(random.nextInt(1_440));
+            LocalDateTime lastAccess = anchor.minusDays(random.nextInt(daysAgo)).minusMinutes(random.nextInt(1_440));
+            int topicsDone = random.nextInt(topicsPerCourse + 1);
+            int percent = topicsDone * 100 / topicsPerCourse;
+            boolean completed = topicsDone == topicsPerCourse;
+            enrollments.add(new Object[] { ENROLLMENT, studentId, courseId, percent, completed,
+                    completed ? lastAccess : null, enrolled, lastAccess });
+            courseEnrollments[c]++;
+
+            for (int t = 0; t < topicsDone; t++) {
+                long topic = (long) c * topicsPerCourse + t;
+                for (int m = 0; m < materialsPerTopic; m++) {
+                    enrollments.add(new Object[] { MATERIAL_PROGRESS, studentId,
+                            materialBase + 1 + topic * materialsPerTopic + m, between(random, enrolled, lastAccess) });
+                }
+            }
+
+            // Attempts go to unlocked topics; the best passing score of a topic becomes its quiz progress
+            Map<Integer, Object[]> bestPass = new LinkedHashMap<>();
+            int attempts = random.nextInt(2 * attemptsPerEnrollment + 1);
+            for (int a = 0; a < attempts; a++) {
+                int t = random.nextInt(Math.max(1, Math.min(topicsDone + 1, topicsPerCourse)));
+                int topic = c * topicsPerCourse + t;
+                double score = 30 + random.nextInt(71);
+                LocalDateTime at = between(random, enrolled, lastAccess);
+                boolean pass = score >= 60;
+                enrollments.add(new Object[] { ATTEMPT, quizBase + 1 + topic, studentId, score,
+                        60 + random.nextInt(1_500), pass ? "PASSED" : "FAILED", at });
+                quizAttempts[topic]++;
+                attempted++;
+                scoreSum += score;
+                if (pass) {
+                    passed++;
+                    Object[] best = bestPass.get(t);
+                    if (best == null || (double) best[3] < score) {
+                        bestPass.put(t, new Object[] { QUIZ_PROGRESS, studentId, topicBase + 1 + topic, score, at });
+                    }
+                }
+            }
+            enrollments.addAll(bestPass.values());
+
+            enrollments.add(new Object[] { COURSE_PROGRESS, studentId, courseId, percent, lastAccess,
+                    topicsDone * materialsPerTopic * (5 + random.nextInt(20)) });
+
+            if (topicsDone > 0 && random.nextDouble() < reviewRate) {
+                // Skewed towards good ratings, like real course reviews
+                int rating = Math.min(5, 2 + random.nextInt(3) + random.nextInt(2));
+                courseRatingCount[c]++;
+                courseRatingSum[c] += rating;
+                enrollments.add(new Object[] { REVIEW, courseId, studentId, userId, name, rating,
+                        "Synthetic review with rating " + rating, random.nextInt(25), lastAccess });
+            }
+        }
+
+        double average = attempted == 0 ? 0 : Math.round(scoreSum / attempted * 100) / 100.0;
+        String level = average >= 80 ? "ADVANCED" : average >= 60 ? "INTERMEDIATE" : "BEGINNER";
+        batches.add(STUDENT, studentId, userId, level, passed * 10, picked.size(), attempted, average, joined);
+        for (Object[] row : enrollments) {
+            batches.add((String) row[0], Arrays.copyOfRange(row, 1, row.length));
+        }
+
+        BitSet days = new BitSet(activityDays);
+        int activeDays = random.nextInt(activityDays / 3 + 1);
+        while (days.cardinality() < activeDays) {
+            days.set(random.nextInt(activityDays));
+        }
+        for (int day = days.nextSetBit(0); day >= 0; day = days.nextSetBit(day + 1)) {
+            batches.add(ACTIVITY, userId, anchor.toLocalDate().minusDays(day), 1 + random.nextInt(5),
+                    5 + random.nextInt(115));
+        }
+    }
+
+    // Distinct published courses, skewed so that a few courses are far more popular than the long tail
+    private Set<Integer> pickCourses(Random random) {
+        Set<Integer> picked = new LinkedHashSet<>();
+        int wanted = Math.min(1 + random.nextInt(2 * enrollmentsPerStudent), publishedCourses.length);
+        while (picked.size() < wanted) {
+            double r = random.nextDouble();
+            picked.add(publishedCourses[(int) (publishedCourses.length * r * r)]);
+        }
+        return picked;
+    }
+
+    private void counters(Connection connection) throws SQLException {
+        try (PreparedStatement course = connection.prepareStatement(
+                "UPDATE courses SET total_enrollments = ? WHERE id = ?");
+             PreparedStatement quiz = connection.prepareStatement(
+                     "UPDATE quizzes SET total_attempts = ? WHERE id = ?");
+             PreparedStatement instructor = connection.prepareStatement(
+                     "UPDATE instructors SET total_students = ?, average_rating = ? WHERE id = ?")) {
+            int[] students = new int[instructors];
+            long[] ratingSum = new long[instructors];
+            int[] ratingCount = new int[instructors];
+            for (int c = 0; c < courses; c++) {
+                if (courseEnrollments[c] > 0) {
+                    course.setInt(1, courseEnrollments[c]);
+                    course.setLong(2, courseBase + 1 + c);
+                    course.addBatch();
+                }
+                students[c % instructors] += courseEnrollments[c];
+                ratingSum[c % instructors] += courseRatingSum[c];
+                ratingCount[c % instructors] += courseRatingCount[c];
+            }
+            for (int q = 0; q < quizAttempts.length; q++) {
+                if (quizAttempts[q] > 0) {
+                    quiz.setInt(1, quizAttempts[q]);
+                    quiz.setLong(2, quizBase + 1 + q);
+                    quiz.addBatch();
+                }
+            }
+            for (int i = 0; i < instructors; i++) {
+                instructor.setInt(1, students[i]);
+                instructor.setDouble(2, ratingCount[i] == 0 ? 0 : Math.round(ratingSum[i] * 100.0 / ratingCount[i]) / 100.0);
+                instructor.setLong(3, instructorBase + 1 + i);
+                instructor.addBatch();
+            }
+            course.executeBatch();
+            quiz.executeBatch();
+            instructor.executeBatch();
+            connection.commit();
+        }
+    }
+
+    private static LocalDateTime between(Random random, LocalDateTime from, LocalDateTime to) {
+        long minutes = Math.max(1, Duration.between(from, to).toMinutes());
+        return from.plusMinutes((long) (random.nextDouble() * minutes));
+    }
+
+    private static long maxId(Connection connection, String table) throws SQLException {
+        return count(connection, "SELECT COALESCE(MAX(id), 0) FROM " + table);
+    }
+
+    private static long count(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    /**
+     * One prepared statement per table. Once {@code batchSize} rows are pending, every statement is executed
+     * in foreign key order and the transaction is committed, so memory stays flat at any dataset size.
+     */
+    private final class Batches implements AutoCloseable {
+
+        private final Connection connection;
+        private final Map<String, PreparedStatement> statements = new LinkedHashMap<>();
+        private final Map<String, Long> inserted = new LinkedHashMap<>();
+        private int pending;
+
+        Batches(Connection connection) throws SQLException {
+            this.connection = connection;
+            for (String sql : INSERTS) {
+                statements.put(sql, connection.prepareStatement(sql));
+                inserted.put(sql, 0L);
+            }
+        }
+
+        void add(String sql, Object... values) throws SQLException {
+            PreparedStatement statement = statements.get(sql);
+            for (int i = 0; i < values.length; i++) {
+                statement.setObject(i + 1, values[i]);
+            }
+            statement.addBatch();
+            inserted.merge(sql, 1L, Long::sum);
+            if (++pending >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() throws SQLException {
+            for (PreparedStatement statement : statements.values()) {
+                statement.executeBatch();
+            }
+            connection.commit();
+            pending = 0;
+        }
+
+        long total() {
+            return inserted.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        void report() {
+            inserted.forEach((sql, rows) -> System.out.printf("  %-24s %,12d%n", sql.split(" ")[2], rows));
+        }
+
+        @Override
+        public void close() throws SQLException {
+            for (PreparedStatement statement : statements.values()) {
+                statement.close();
+            }
+        }
+    }
+}
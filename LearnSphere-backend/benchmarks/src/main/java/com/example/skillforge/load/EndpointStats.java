@@ -0,0 +1,102 @@
+package com.example.skillforge.load;
+
+import com.example.skillforge.service.metrics.LatencyHistogram;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per endpoint latency and error counts of a load test run. Endpoints are keyed by method and path template
+ * ({@code GET /api/courses/{id}}), so requests for different ids add up. Nothing is recorded until
+ * {@link #startRecording()}, which keeps the warm-up out of the numbers.
+ */
+final class EndpointStats {
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+    private volatile long recordingSince;
+
+    void startRecording() {
+        recordingSince = System.nanoTime();
+        recording = true;
+    }
+
+    void record(String endpoint, long nanos, boolean ok) {
+        if (!recording) {
+            return;
+        }
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, e -> new Endpoint());
+        stats.latency.record(nanos);
+        if (!ok) {
+            stats.errors.increment();
+        }
+    }
+
+    long requests() {
+        return endpoints.values().stream().mapToLong(e -> e.latency.count()).sum();
+    }
+
+    long errors() {
+        return endpoints.values().stream().mapToLong(e -> e.errors.sum()).sum();
+    }
+
+    double elapsedSeconds() {
+        return recording ? (System.nanoTime() - recordingSince) / 1e9 : 0;
+    }
+
+    /** Busiest endpoints first, then the total over all of them */
+    List<String[]> rows(double seconds) {
+        List<String[]> rows = new ArrayList<>();
+        LatencyHistogram total = new LatencyHistogram();
+        endpoints.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Endpoint> e) -> e.getValue().latency.count()).reversed())
+                .forEach(e -> rows.add(row(e.getKey(), e.getValue().latency, e.getValue().errors.sum(), seconds)));
+        rows.add(new String[] { "TOTAL", String.valueOf(requests()), String.valueOf(errors()),
+                format(requests() / Math.max(seconds, 1e-9)), "", "", "", "", "" });
+        return rows;
+    }
+
+    void print(double seconds) {
+        String format = "%-62s %9s %7s %9s %8s %8s %8s %8s %8s%n";
+        System.out.printf(format, "endpoint", "requests", "errors", "req/s", "mean ms", "p50 ms", "p95 ms", "p99 ms",
+                "max ms");
+        for (String[] row : rows(seconds)) {
+            System.out.printf(format, (Object[]) row);
+        }
+        System.out.println("Percentiles are bucket upper bounds of the application's latency histogram.");
+    }
+
+    void writeCsv(Path file, double seconds) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+            out.println("endpoint,requests,errors,req_per_s,mean_ms,p50_ms,p95_ms,p99_ms,max_ms");
+            for (String[] row : rows(seconds)) {
+                out.println(String.join(",", row));
+            }
+        }
+    }
+
+    private static String[] row(String endpoint, LatencyHistogram latency, long errors, double seconds) {
+        return new String[] { endpoint, String.valueOf(latency.count()), String.valueOf(errors),
+                format(latency.count() / Math.max(seconds, 1e-9)), format(latency.meanMs()),
+                format(latency.percentileMs(0.50)), format(latency.percentileMs(0.95)),
+                format(latency.percentileMs(0.99)), format(latency.maxMs()) };
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.1f", value);
+    }
+
+    private static final class Endpoint {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder errors = new LongAdder();
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.skillforge.load;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Closed-loop HTTP load test against a running backend seeded by {@link DatasetGenerator}. A fixed number of
+ * virtual users log in with generated accounts and replay the student, instructor and admin traffic mixes
+ * of {@link VirtualUser}; each sends its next request only after the previous response. After the warm-up,
+ * throughput and latency percentiles are recorded per endpoint and printed at the end:
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.example.skillforge.load.LoadTest \
+ *     --base-url=http://localhost:8080 --users=200 --mix=80,15,5 --warmup=60 --duration=600 --csv=load.csv
+ * </pre>
+ *
+ * The account counts ({@code --students}, {@code --instructors}, {@code --admins}) must not exceed the ones
+ * the dataset was generated with.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new Options(args, "base-url", "users", "mix", "warmup", "duration", "think-ms", "timeout",
+                "students", "instructors", "admins", "password", "seed", "csv");
+        String baseUrl = options.string("base-url", "http://localhost:8080");
+        int users = options.integer("users", 100);
+        Duration warmup = options.duration("warmup", Duration.ofSeconds(30));
+        Duration duration = options.duration("duration", Duration.ofMinutes(5));
+        long thinkMs = options.number("think-ms", 1_000);
+        Duration timeout = options.duration("timeout", Duration.ofSeconds(30));
+        int[] accounts = { options.integer("students", 50_000), options.integer("instructors", 500),
+                options.integer("admins", 5) };
+        String password = options.string("password", DatasetGenerator.DEFAULT_PASSWORD);
+        long seed = options.number("seed", 42);
+        int[] shares = shares(users, options.string("mix", "80,15,5"));
+
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        EndpointStats stats = new EndpointStats();
+        long deadline = System.nanoTime() + warmup.plus(duration).toNanos();
+
+        List<Thread> threads = new ArrayList<>();
+        VirtualUser.Role[] roles = VirtualUser.Role.values();
+        for (int r = 0; r < roles.length; r++) {
+            String prefix = roles[r].name().toLowerCase();
+            for (int i = 0; i < shares[r]; i++) {
+                // Spread the users over the accounts, so they do not all hit the same rows
+                int account = (int) ((long) i * accounts[r] / Math.max(1, shares[r]));
+                String email = prefix + account + DatasetGenerator.EMAIL_DOMAIN;
+                VirtualUser user = new VirtualUser(roles[r], email, password, http, baseUrl, timeout, thinkMs,
+                        deadline, stats, seed * 31 + threads.size());
+                Thread thread = new Thread(user, "vu-" + prefix + "-" + i);
+                thread.setDaemon(true);
+                threads.add(thread);
+            }
+        }
+        System.out.printf("%d students, %d instructors, %d admins against %s; warm-up %ss, measuring %ss%n",
+                shares[0], shares[1], shares[2], baseUrl, warmup.toSeconds(), duration.toSeconds());
+        threads.forEach(Thread::start);
+
+        Thread.sleep(warmup.toMillis());
+        stats.startRecording();
+        long reportEvery = Math.min(10_000, duration.toMillis());
+        while (System.nanoTime() < deadline) {
+            Thread.sleep(Math.max(1, Math.min(reportEvery, (deadline - System.nanoTime()) / 1_000_000)));
+            double elapsed = stats.elapsedSeconds();
+            System.out.printf("  %5.0fs  %,10d requests  %8.1f req/s  %,d errors%n", elapsed, stats.requests(),
+                    stats.requests() / Math.max(elapsed, 1e-9), stats.errors());
+        }
+        double measured = stats.elapsedSeconds();
+        for (Thread thread : threads) {
+            thread.join(timeout.toMillis());
+        }
+
+        System.out.println();
+        stats.print(measured);
+        String csv = options.string("csv", null);
+        if (csv != null) {
+            stats.writeCsv(Path.of(csv), measured);
+        }
+    }
+
+    // Users per role from relative weights, rounding so that the shares add up to the total
+    private static int[] shares(int users, String mix) {
+        String[] parts = mix.split(",");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("--mix needs three weights: students,instructors,admins");
+        }
+        int[] weights = new int[3];
+        int sum = 0;
+        for (int i = 0; i < 3; i++) {
+            weights[i] = Integer.parseInt(parts[i].trim());
+            sum += weights[i];
+        }
+        int[] shares = new int[3];
+        int assigned = 0;
+        for (int i = 0; i < 3; i++) {
+            shares[i] = i == 2 ? users - assigned : Math.round((float) users * weights[i] / sum);
+            assigned += shares[i];
+        }
+        return shares;
+    }
+}
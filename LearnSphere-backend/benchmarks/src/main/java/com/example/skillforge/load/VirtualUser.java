@@ -0,0 +1,274 @@
+package com.example.skillforge.load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * One simulated user in a closed loop: log in, then repeatedly pick a request from the traffic mix of its
+ * role, wait for the response and think for a while. Ids the next requests need (enrolled courses, topics,
+ * quizzes) are discovered from earlier responses, like the frontend does.
+ */
+final class VirtualUser implements Runnable {
+
+    enum Role { STUDENT, INSTRUCTOR, ADMIN }
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Role role;
+    private final String email;
+    private final String password;
+    private final HttpClient http;
+    private final String baseUrl;
+    private final Duration timeout;
+    private final long meanThinkMs;
+    private final long deadline;
+    private final EndpointStats stats;
+    private final Random random;
+    private final List<Operation> mix = new ArrayList<>();
+    private int totalWeight;
+
+    private String token;
+    private Long userId;
+    private Long studentId;
+    private final List<Long> courseIds = new ArrayList<>();
+    private final Map<Long, List<Long>> topicIds = new HashMap<>();
+
+    VirtualUser(Role role, String email, String password, HttpClient http, String baseUrl, Duration timeout,
+                long meanThinkMs, long deadline, EndpointStats stats, long seed) {
+        this.role = role;
+        this.email = email;
+        this.password = password;
+        this.http = http;
+        this.baseUrl = baseUrl;
+        this.timeout = timeout;
+        this.meanThinkMs = meanThinkMs;
+        this.deadline = deadline;
+        this.stats = stats;
+        this.random = new Random(seed);
+        switch (role) {
+            case STUDENT -> studentMix();
+            case INSTRUCTOR -> instructorMix();
+            case ADMIN -> adminMix();
+        }
+    }
+
+    @Override
+    public void run() {
+        if (!login()) {
+            System.err.println("Login failed for " + email + ", virtual user stopped");
+            return;
+        }
+        try {
+            while (System.nanoTime() < deadline) {
+                pick().run();
+                think();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Weights are relative shares of the role's requests, taken from what the dashboards and pages call
+    private void studentMix() {
+        add(18, this::browseCatalogue);
+        add(14, () -> withCourse(id -> get("GET /api/courses/{id}", "/api/courses/" + id + "?studentId=" + studentId)));
+        add(10, this::loadEnrollments);
+        add(8, () -> get("GET /api/student/dashboard", "/api/student/dashboard"));
+        add(12, () -> withCourse(this::loadTopics));
+        add(10, () -> withTopic(id -> get("GET /api/materials/topic/{id}", "/api/materials/topic/" + id)));
+        add(8, () -> get("GET /api/progress/student/{id}/summary", "/api/progress/student/" + studentId + "/summary"));
+        add(6, () -> withCourse(id -> get("GET /api/quiz-statistics/student/{id}/course/{id}/tracking",
+                "/api/quiz-statistics/student/" + studentId + "/course/" + id + "/tracking")));
+        add(5, () -> get("GET /api/analytics/student", "/api/analytics/student"));
+        add(6, () -> withTopic(this::takeQuiz));
+        add(3, () -> withTopic(id -> post("POST /api/progress/topic/add-time", "/api/progress/topic/add-time",
+                Map.of("studentId", studentId, "topicId", id, "seconds", 30 + random.nextInt(600)))));
+    }
+
+    private void instructorMix() {
+        add(25, this::loadInstructorCourses);
+        add(20, () -> get("GET /api/analytics/instructor", "/api/analytics/instructor"));
+        add(15, () -> get("GET /api/analytics/instructor/progress", "/api/analytics/instructor/progress"));
+        add(10, () -> withCourse(id -> get("GET /api/analytics/instructor/course-views/{id}",
+                "/api/analytics/instructor/course-views/" + id)));
+        add(15, () -> withCourse(id -> get("GET /api/enrollments/course/{id}", "/api/enrollments/course/" + id)));
+        add(10, () -> withCourse(this::loadTopics));
+        add(5, () -> get("GET /api/instructor/dashboard", "/api/instructor/dashboard"));
+    }
+
+    private void adminMix() {
+        add(20, () -> get("GET /api/admin/dashboard", "/api/admin/dashboard"));
+        add(25, () -> get("GET /api/admin/users", "/api/admin/users?page=" + random.nextInt(20) + "&size=20"));
+        add(20, () -> get("GET /api/analytics/admin", "/api/analytics/admin"));
+        add(10, () -> get("GET /api/admin/metrics", "/api/admin/metrics"));
+        add(25, this::browseCatalogue);
+    }
+
+    private boolean login() {
+        JsonNode auth = post("POST /api/auth/login", "/api/auth/login", Map.of("email", email, "password", password));
+        if (auth == null || !auth.hasNonNull("token")) {
+            return false;
+        }
+        token = auth.get("token").asText();
+        userId = auth.path("userId").asLong();
+        studentId = auth.hasNonNull("studentId") ? auth.get("studentId").asLong() : null;
+        if (role == Role.STUDENT) {
+            loadEnrollments();
+        } else if (role == Role.INSTRUCTOR) {
+            loadInstructorCourses();
+        }
+        return true;
+    }
+
+    private void browseCatalogue() {
+        get("GET /api/courses", "/api/courses?page=" + random.nextInt(10) + "&size=12");
+    }
+
+    private void loadEnrollments() {
+        remember(get("GET /api/enrollments/student/{id}", "/api/enrollments/student/" + studentId), "courseId");
+    }
+
+    private void loadInstructorCourses() {
+        remember(get("GET /api/courses/instructor/{id}", "/api/courses/instructor/" + userId), "id");
+    }
+
+    private void remember(JsonNode list, String idField) {
+        if (list != null && list.isArray() && !list.isEmpty()) {
+            courseIds.clear();
+            list.forEach(item -> courseIds.add(item.path(idField).asLong()));
+        }
+    }
+
+    private void loadTopics(Long courseId) {
+        JsonNode topics = get("GET /api/topics/course/{id}", "/api/topics/course/" + courseId);
+        if (topics != null && topics.isArray()) {
+            List<Long> ids = new ArrayList<>();
+            topics.forEach(topic -> ids.add(topic.path("id").asLong()));
+            topicIds.put(courseId, ids);
+        }
+    }
+
+    // Open the quiz of a topic, load its questions and submit an answer for each of them
+    private void takeQuiz(Long topicId) {
+        JsonNode quiz = get("GET /api/quizzes/topic/{id}", "/api/quizzes/topic/" + topicId);
+        if (quiz == null || !quiz.hasNonNull("id")) {
+            return;
+        }
+        long quizId = quiz.get("id").asLong();
+        JsonNode questions = get("GET /api/quizzes/{id}/questions", "/api/quizzes/" + quizId + "/questions");
+        if (questions == null || !questions.isArray()) {
+            return;
+        }
+        List<Map<String, Object>> answers = new ArrayList<>();
+        questions.forEach(question -> answers.add(Map.of("questionId", question.path("id").asLong(),
+                "answerText", String.valueOf((char) ('A' + random.nextInt(4))))));
+        post("POST /api/quizzes/{id}/attempt", "/api/quizzes/" + quizId + "/attempt", Map.of("studentId", studentId,
+                "topicId", topicId, "timeSpent", 60 + random.nextInt(900), "answers", answers));
+    }
+
+    private void withCourse(Consumer<Long> action) {
+        if (courseIds.isEmpty()) {
+            browseCatalogue();
+            return;
+        }
+        action.accept(courseIds.get(random.nextInt(courseIds.size())));
+    }
+
+    private void withTopic(Consumer<Long> action) {
+        withCourse(courseId -> {
+            List<Long> topics = topicIds.get(courseId);
+            if (topics == null || topics.isEmpty()) {
+                loadTopics(courseId);
+                return;
+            }
+            action.accept(topics.get(random.nextInt(topics.size())));
+        });
+    }
+
+    private JsonNode get(String endpoint, String path) {
+        return send(endpoint, request(path).GET().build());
+    }
+
+    private JsonNode post(String endpoint, String path, Object body) {
+        try {
+            return send(endpoint, request(path).header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(body))).build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(timeout);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    /**
+     * Sends and records one request. Returns the payload ({@code data} of an ApiResponse, or the body of
+     * endpoints that return their result directly), or null when the request failed.
+     */
+    private JsonNode send(String endpoint, HttpRequest request) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            boolean ok = response.statusCode() / 100 == 2;
+            stats.record(endpoint, System.nanoTime() - start, ok);
+            if (!ok || response.body().isEmpty()) {
+                return null;
+            }
+            JsonNode body = MAPPER.readTree(response.body());
+            return body.isObject() && body.has("success") && body.has("data") ? body.get("data") : body;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            stats.record(endpoint, System.nanoTime() - start, false);
+            return null;
+        }
+    }
+
+    // Exponentially distributed think time, so the users do not march in lock step
+    private void think() throws InterruptedException {
+        if (meanThinkMs > 0) {
+            Thread.sleep((long) (-Math.log(1 - random.nextDouble()) * meanThinkMs));
+        }
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedException();
+        }
+    }
+
+    private void add(int weight, Runnable action) {
+        mix.add(new Operation(weight, action));
+        totalWeight += weight;
+    }
+
+    private Runnable pick() {
+        int r = random.nextInt(totalWeight);
+        for (Operation operation : mix) {
+            r -= operation.weight();
+            if (r < 0) {
+                return operation.action();
+            }
+        }
+        throw new IllegalStateException("Empty traffic mix");
+    }
+
+    private record Operation(int weight, Runnable action) {
+    }
+}
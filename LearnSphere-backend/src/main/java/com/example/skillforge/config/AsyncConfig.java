@@ -0,0 +1,236 @@
+package com.example.skillforge.config;
+
+import com.example.skillforge.service.metrics.ExecutorMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Named executor registry: one bounded pool per background workload, so a burst in one of them (a mass
+ * email, a wave of quiz generations) can neither starve the others nor grow a queue without bound, and
+ * fire-and-forget tasks never fall back to an unbounded SimpleAsyncTaskExecutor.
+ *
+ * <ul>
+ *   <li>taskExecutor: default for plain @Async</li>
+ *   <li>mailExecutor: SMTP delivery, one batch per task</li>
+ *   <li>aiExecutor: Gemini quiz generation</li>
+ *   <li>aiBulkExecutor: per-topic generation for a whole course</li>
+ *   <li>pdfExecutor: certificate rendering, CPU bound, caps how many run at once</li>
+ *   <li>mediaExecutor: storage clean-up (S3 and local file deletes)</li>
+ *   <li>analyticsExecutor: projections and recommendations after commits</li>
+ *   <li>purgeExecutor: background user purges</li>
+ * </ul>
+ *
+ * Every executor copies the submitter's MDC to its workers and reports queue wait, run time and
+ * rejections to {@link ExecutorMetrics}, listed with the pool sizes in GET /api/admin/metrics. On shutdown
+ * they stop taking work and drain what is queued, for up to async.shutdown.await-seconds.
+ *
+ * With spring.threads.virtual.enabled=true Tomcat serves requests on virtual threads and the workers of
+ * these executors are virtual threads too. Pool sizes and queues stay as configured: they limit how much
+ * load reaches SMTP, Gemini and the database, not how many OS threads exist.
+ */
+@Slf4j
+@Configuration
+@EnableAsync
+@EnableScheduling
+@RequiredArgsConstructor
+public class AsyncConfig implements AsyncConfigurer {
+
+    private final ExecutorMetrics executorMetrics;
+    private final Map<String, ThreadPoolTaskExecutor> executors = new ConcurrentHashMap<>();
+
+    @Value("${async.default.pool-size:4}")
+    private int defaultPoolSize;
+
+    @Value("${async.default.queue-capacity:500}")
+    private int defaultQueueCapacity;
+
+    @Value("${async.shutdown.await-seconds:30}")
+    private int awaitSeconds;
+
+    @Value("${mail.queue.workers:2}")
+    private int mailWorkers;
+
+    @Value("${mail.queue.capacity:100}")
+    private int mailQueueCapacity;
+
+    @Value("${ai.quiz.workers:4}")
+    private int aiWorkers;
+
+    @Value("${ai.quiz.queue-capacity:200}")
+    private int aiQueueCapacity;
+
+    @Value("${ai.quiz.bulk-workers:2}")
+    private int aiBulkWorkers;
+
+    @Value("${ai.quiz.bulk-queue-capacity:200}")
+    private int aiBulkQueueCapacity;
+
+    @Value("${pdf.workers:0}")
+    private int pdfWorkers;
+
+    @Value("${pdf.queue-capacity:20}")
+    private int pdfQueueCapacity;
+
+    @Value("${media.workers:2}")
+    private int mediaWorkers;
+
+    @Value("${media.queue-capacity:100}")
+    private int mediaQueueCapacity;
+
+    @Value("${analytics.workers:2}")
+    private int analyticsWorkers;
+
+    @Value("${analytics.queue-capacity:1000}")
+    private int analyticsQueueCapacity;
+
+    @Value("${purge.workers:1}")
+    private int purgeWorkers;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Bean(name = "taskExecutor")
+    public ThreadPoolTaskExecutor taskExecutor() {
+        return executor("taskExecutor", "async-", defaultPoolSize, defaultQueueCapacity,
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Workers that deliver queued emails. Each worker sends a whole batch over one SMTP connection.
+     */
+    @Bean(name = "mailExecutor")
+    public ThreadPoolTaskExecutor mailExecutor() {
+        // Rejected batches stay claimed and are released by EmailDispatchWorker.releaseStale
+        return executor("mailExecutor", "mail-", mailWorkers, mailQueueCapacity, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Workers for AI quiz generation. Calls are slow and remote, so they get their own pool
+     * instead of starving the default executor.
+     */
+    @Bean(name = "aiExecutor")
+    public ThreadPoolTaskExecutor aiExecutor() {
+        return executor("aiExecutor", "ai-", aiWorkers, aiQueueCapacity, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Workers for bulk generation, one topic per task. Each waits for its rate slot on this pool, so a
+     * course with many topics neither occupies the aiExecutor workers that single quizzes run on nor
+     * reserves more than a few slots ahead of them.
+     */
+    @Bean(name = "aiBulkExecutor")
+    public ThreadPoolTaskExecutor aiBulkExecutor() {
+        return executor("aiBulkExecutor", "ai-bulk-", aiBulkWorkers, aiBulkQueueCapacity,
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Workers for certificate PDFs. Rendering is CPU bound, so at most half the cores do it at once and
+     * a download that finds the queue full gets a 503 instead of piling up behind the others.
+     */
+    @Bean(name = "pdfExecutor")
+    public ThreadPoolTaskExecutor pdfExecutor() {
+        int workers = pdfWorkers > 0 ? pdfWorkers : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return executor("pdfExecutor", "pdf-", workers, pdfQueueCapacity, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Workers for storage clean-up. A delete that does not fit in the queue only leaves an orphaned file.
+     */
+    @Bean(name = "mediaExecutor")
+    public ThreadPoolTaskExecutor mediaExecutor() {
+        return executor("mediaExecutor", "media-", mediaWorkers, mediaQueueCapacity, discard("mediaExecutor"));
+    }
+
+    /**
+     * Workers for analytics projections and recommendation refreshes, submitted after commits. Most of
+     * these increments are not rebuilt from the source tables, so a full queue runs the task on the
+     * submitting thread instead of dropping it.
+     */
+    @Bean(name = "analyticsExecutor")
+    public ThreadPoolTaskExecutor analyticsExecutor() {
+        return executor("analyticsExecutor", "analytics-", analyticsWorkers, analyticsQueueCapacity,
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Workers for background user purges. Kept small on purpose: purges are long, low priority
+     * and write to hot tables, so they should never compete with request traffic for connections.
+     */
+    @Bean(name = "purgeExecutor")
+    public ThreadPoolTaskExecutor purgeExecutor() {
+        // Rejected jobs stay PENDING and are dispatched again by the sweep
+        ThreadPoolTaskExecutor executor = executor("purgeExecutor", "purge-", purgeWorkers, 100,
+                new ThreadPoolExecutor.AbortPolicy());
+        // Interrupted purges are resumed from their checkpoint, so shutdown does not wait for them
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.setAwaitTerminationSeconds(0);
+        return executor;
+    }
+
+    private ThreadPoolTaskExecutor executor(String name, String prefix, int workers, int queueCapacity,
+                                            RejectedExecutionHandler policy) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        threads(executor, prefix);
+        executor.setTaskDecorator(executorMetrics.decorator(name));
+        executor.setRejectedExecutionHandler(executorMetrics.rejections(name, policy));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(awaitSeconds);
+        executor.initialize();
+        executors.put(name, executor);
+        return executor;
+    }
+
+    private static RejectedExecutionHandler discard(String name) {
+        return (task, pool) -> log.warn("{} is saturated ({} queued), dropping a task", name, pool.getQueue().size());
+    }
+
+    private void threads(ThreadPoolTaskExecutor executor, String prefix) {
+        executor.setThreadNamePrefix(prefix);
+        if (virtualThreads) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor(prefix).getVirtualThreadFactory());
+        }
+    }
+
+    // Runs before the executors stop taking work, so the log shows what the drain has to wait for
+    @EventListener(ContextClosedEvent.class)
+    public void logPendingWork() {
+        executors.forEach((name, executor) -> {
+            int active = executor.getActiveCount();
+            int queued = executor.getQueueSize();
+            if (active > 0 || queued > 0) {
+                log.info("Shutting down {}: {} running, {} queued", name, active, queued);
+            }
+        });
+    }
+
+    @Override
+    public Executor getAsyncExecutor() {
+        return taskExecutor();
+    }
+
+    @Override
+    public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
+        return (ex, method, params) -> log.error("Async method {} failed", method.getName(), ex);
+    }
+}
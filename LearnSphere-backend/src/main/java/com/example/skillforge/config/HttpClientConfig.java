@@ -0,0 +1,54 @@
+package com.example.skillforge.config;
+
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared outbound HTTP client. All callers reuse one connection pool and one dispatcher;
+ * callers that need different timeouts derive a client with {@code newBuilder()}, which keeps both.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Value("${http.client.max-idle-connections:20}")
+    private int maxIdleConnections;
+
+    @Value("${http.client.keep-alive-seconds:300}")
+    private long keepAliveSeconds;
+
+    @Value("${http.client.max-requests:64}")
+    private int maxRequests;
+
+    @Value("${http.client.max-requests-per-host:16}")
+    private int maxRequestsPerHost;
+
+    @Value("${http.client.connect-timeout-ms:3000}")
+    private long connectTimeoutMs;
+
+    @Value("${http.client.read-timeout-ms:30000}")
+    private long readTimeoutMs;
+
+    @Bean
+    public OkHttpClient okHttpClient() {
+        // Bounds async calls issued with enqueue(); excess calls wait in the dispatcher queue
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(maxRequests);
+        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+
+        return new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(maxIdleConnections, keepAliveSeconds, TimeUnit.SECONDS))
+                .dispatcher(dispatcher)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .readTimeout(Duration.ofMillis(readTimeoutMs))
+                .writeTimeout(Duration.ofMillis(readTimeoutMs))
+                .retryOnConnectionFailure(true)
+                .build();
+    }
+}
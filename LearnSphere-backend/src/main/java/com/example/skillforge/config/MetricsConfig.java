@@ -0,0 +1,29 @@
+package com.example.skillforge.config;
+
+import com.example.skillforge.service.metrics.TimedDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Wraps the DataSource before JPA and JdbcTemplate pick it up, so all statements are timed.
+     * Static so it does not pull this configuration into early initialization.
+     */
+    @Bean
+    public static BeanPostProcessor timedDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof TimedDataSource)) {
+                    return new TimedDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
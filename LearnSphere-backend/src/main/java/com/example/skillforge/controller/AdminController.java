@@ -1,8 +1,14 @@
 package com.example.skillforge.controller;
 
 import com.example.skillforge.dto.response.ApiResponse;
+import com.example.skillforge.dto.response.SystemMetricsResponse;
+import com.example.skillforge.dto.response.UserPurgeJobResponse;
 import com.example.skillforge.dto.response.UserResponse;
+import com.example.skillforge.service.UserPurgeService;
 import com.example.skillforge.service.UserService;
+import com.example.skillforge.service.metrics.SystemMetricsService;
+import com.example.skillforge.service.recommendation.CourseRecommender;
+import com.example.skillforge.service.recommendation.RecommenderEvaluation;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -23,6 +29,9 @@ public class AdminController {
 
     private final UserService userService;
     private final com.example.skillforge.service.AuthService authService;
+    private final CourseRecommender courseRecommender;
+    private final UserPurgeService userPurgeService;
+    private final SystemMetricsService systemMetricsService;
 
     @PostMapping("/users")
     @PreAuthorize("hasRole('ADMIN')")
@@ -32,6 +41,36 @@ public class AdminController {
         return ResponseEntity.ok(ApiResponse.success("User created successfully", response));
     }
 
+    /**
+     * Offline evaluation of the course recommender (leave-one-out hit rate / MRR at N) on a fresh
+     * snapshot loaded from the database; the live model is not touched.
+     */
+    @GetMapping("/recommendations/evaluation")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<RecommenderEvaluation.Report>> evaluateRecommender(
+            @RequestParam(defaultValue = "10") int n,
+            @RequestParam(defaultValue = "1000") int sample,
+            @RequestParam(defaultValue = "42") long seed) {
+        RecommenderEvaluation.Report report = RecommenderEvaluation.evaluate(
+                courseRecommender.loadSnapshot(), n, sample, seed);
+        return ResponseEntity.ok(ApiResponse.success("Recommender evaluation", report));
+    }
+
+    @GetMapping("/recommendations/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getRecommenderStats() {
+        return ResponseEntity.ok(ApiResponse.success("Recommender stats", courseRecommender.getStats()));
+    }
+
+    /**
+     * In-process metrics: per-endpoint latency, JDBC time, connection pool, heap/GC and executor queues.
+     */
+    @GetMapping("/metrics")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<SystemMetricsResponse>> getSystemMetrics() {
+        return ResponseEntity.ok(ApiResponse.success("System metrics", systemMetricsService.getMetrics()));
+    }
+
     @GetMapping("/dashboard")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<Map<String, Object>>> getAdminDashboard(Authentication authentication) {
@@ -43,8 +82,16 @@ public class AdminController {
 
     @GetMapping("/users")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<List<UserResponse>>> getAllUsers() {
-        return ResponseEntity.ok(ApiResponse.success("All users retrieved", userService.getAllUsers()));
+    public ResponseEntity<ApiResponse<?>> getAllUsers(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) Boolean blocked,
+            @RequestParam(required = false) String search) {
+        return ResponseEntity.ok(ApiResponse.success("All users retrieved",
+                userService.getAllUsers(page, size, sortBy, direction, role, blocked, search)));
     }
 
     @PostMapping("/users/{id}/block")
@@ -62,12 +109,31 @@ public class AdminController {
 
     @DeleteMapping("/users/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<String>> deleteUser(
+    public ResponseEntity<ApiResponse<UserPurgeJobResponse>> deleteUser(
             @PathVariable Long id,
             @RequestParam String reason) {
 
-        userService.deleteUser(id, reason);
-        return ResponseEntity.ok(ApiResponse.success("User deleted successfully", null));
+        // The account is disabled now; its data is removed in the background
+        UserPurgeJobResponse purge = userService.deleteUser(id, reason);
+        return ResponseEntity.ok(ApiResponse.success("User deleted successfully", purge));
+    }
+
+    @GetMapping("/users/{id}/purge")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<UserPurgeJobResponse>> getUserPurge(@PathVariable Long id) {
+        return ResponseEntity.ok(ApiResponse.success("Purge status", userPurgeService.getLatestJobForUser(id)));
+    }
+
+    @GetMapping("/purges/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<UserPurgeJobResponse>> getPurge(@PathVariable Long jobId) {
+        return ResponseEntity.ok(ApiResponse.success("Purge status", userPurgeService.getJob(jobId)));
+    }
+
+    @PostMapping("/purges/{jobId}/resume")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<UserPurgeJobResponse>> resumePurge(@PathVariable Long jobId) {
+        return ResponseEntity.ok(ApiResponse.success("Purge resumed", userPurgeService.resume(jobId)));
     }
 
     @GetMapping("/list")
@@ -5,13 +5,18 @@ import com.example.skillforge.model.entity.User;
 import com.example.skillforge.repository.UserRepository;
 import com.example.skillforge.service.AnalyticsService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
+
 @RestController
 @RequestMapping("/api/analytics")
 @RequiredArgsConstructor
@@ -34,13 +39,15 @@ public class AnalyticsController {
 
     @GetMapping("/instructor")
     public ResponseEntity<AnalyticsDTO.InstructorAnalytics> getInstructorAnalytics(
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
         User user = userRepository.findByEmail(userDetails.getUsername())
                 .orElseThrow(() -> new RuntimeException("User not found"));
         if (user.getInstructor() == null) {
             return ResponseEntity.badRequest().build();
         }
-        return ResponseEntity.ok(analyticsService.getInstructorAnalytics(user.getInstructor().getId()));
+        return ResponseEntity.ok(analyticsService.getInstructorAnalytics(user.getInstructor().getId(), from, to));
     }
 
     @GetMapping("/instructor/progress")
@@ -54,8 +61,26 @@ public class AnalyticsController {
         return ResponseEntity.ok(analyticsService.getInstructorStudentProgress(user.getInstructor().getId()));
     }
 
+    @GetMapping("/instructor/course-views/{courseId}")
+    public ResponseEntity<java.util.List<AnalyticsDTO.TimeMetric>> getCourseViewSeries(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable Long courseId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        if (user.getInstructor() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(29);
+        return ResponseEntity.ok(analyticsService.getCourseViewSeries(user.getInstructor().getId(), courseId, start, end));
+    }
+
     @GetMapping("/admin")
-    public ResponseEntity<AnalyticsDTO.AdminAnalytics> getAdminAnalytics() {
-        return ResponseEntity.ok(analyticsService.getAdminAnalytics());
+    public ResponseEntity<AnalyticsDTO.AdminAnalytics> getAdminAnalytics(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(analyticsService.getAdminAnalytics(from, to));
     }
 }
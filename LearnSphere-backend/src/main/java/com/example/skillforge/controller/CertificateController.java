@@ -2,12 +2,24 @@ package com.example.skillforge.controller;
 
 import com.example.skillforge.model.entity.Certificate;
 import com.example.skillforge.service.CertificateService;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
 @RestController
 @RequestMapping("/api/certificates")
 public class CertificateController {
@@ -15,6 +27,13 @@ public class CertificateController {
     @Autowired
     private CertificateService certificateService;
 
+    @Autowired
+    @Qualifier("pdfExecutor")
+    private ThreadPoolTaskExecutor pdfExecutor;
+
+    @Value("${pdf.timeout-seconds:30}")
+    private long pdfTimeoutSeconds;
+
     // Secured Endpoint (add security annotations as needed, e.g. @PreAuthorize)
     @PostMapping("/generate/{courseId}")
     public ResponseEntity<?> generateCertificate(
@@ -46,19 +65,41 @@ public class CertificateController {
     }
 
     // Secured Endpoint
+    // Rendering runs on the bounded PDF pool, so a burst of downloads cannot take every CPU from other requests.
+    // The request thread is released meanwhile; the response is written when the PDF is ready or times out.
     @GetMapping("/download/{uid}")
-    public ResponseEntity<byte[]> downloadCertificate(@PathVariable String uid) {
+    public CompletableFuture<ResponseEntity<byte[]>> downloadCertificate(@PathVariable String uid) {
+        CompletableFuture<byte[]> rendering = new CompletableFuture<>();
+        Future<?> task;
         try {
-            byte[] pdfBytes = certificateService.generateCertificatePdf(uid);
-
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=certificate-" + uid + ".pdf")
-                    .contentType(MediaType.APPLICATION_PDF)
-                    .body(pdfBytes);
-        } catch (Exception e) {
-            e.printStackTrace();
-            return ResponseEntity.internalServerError().build();
+            task = pdfExecutor.submit(() -> {
+                try {
+                    rendering.complete(certificateService.generateCertificatePdf(uid));
+                } catch (Throwable e) {
+                    rendering.completeExceptionally(e);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            log.warn("PDF executor saturated, rejecting certificate download {}", uid);
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5").<byte[]>build());
         }
+
+        return rendering.orTimeout(pdfTimeoutSeconds, TimeUnit.SECONDS).handle((pdfBytes, error) -> {
+            if (error == null) {
+                return ResponseEntity.ok()
+                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=certificate-" + uid + ".pdf")
+                        .contentType(MediaType.APPLICATION_PDF)
+                        .body(pdfBytes);
+            }
+            if (error instanceof TimeoutException) {
+                task.cancel(true);
+                log.warn("Certificate {} took longer than {}s to render", uid, pdfTimeoutSeconds);
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).<byte[]>build();
+            }
+            log.error("Failed to render certificate {}", uid, error);
+            return ResponseEntity.internalServerError().<byte[]>build();
+        });
     }
 
     // Public Endpoint
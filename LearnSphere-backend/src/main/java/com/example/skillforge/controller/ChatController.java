@@ -4,10 +4,14 @@ import com.example.skillforge.dto.request.ChatRequest;
 import com.example.skillforge.dto.response.ChatResponse;
 import com.example.skillforge.service.ChatService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/chat")
@@ -17,12 +21,25 @@ public class ChatController {
     @Autowired
     private ChatService chatService;
 
+    /**
+     * Returns immediately to the container; the response is written when the model service replies.
+     */
     @PostMapping
-    public ResponseEntity<ChatResponse> chat(@RequestBody ChatRequest request) {
+    public CompletableFuture<ResponseEntity<ChatResponse>> chat(@RequestBody ChatRequest request) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String email = authentication.getName(); // JWT usually sets name to email/username
 
-        ChatResponse response = chatService.processChat(email, request);
-        return ResponseEntity.ok(response);
+        return chatService.processChat(email, request).thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Same as {@link #chat} but streams the answer as server-sent events (token, done, error).
+     */
+    @PostMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChat(@RequestBody ChatRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String email = authentication.getName();
+
+        return chatService.streamChat(email, request);
     }
 }
@@ -6,8 +6,10 @@ import com.example.skillforge.dto.response.CourseResponse;
 import com.example.skillforge.service.CourseService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -16,6 +18,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+@Slf4j
 @RestController
 @RequestMapping("/api/courses")
 @RequiredArgsConstructor
@@ -24,6 +27,7 @@ public class CourseController {
     private final CourseService courseService;
     private final com.example.skillforge.service.AdaptiveLearningService adaptiveLearningService;
     private final com.example.skillforge.service.CourseRecommendationService courseRecommendationService;
+    private final com.example.skillforge.service.DashboardRecommendationService dashboardRecommendationService;
 
     @PostMapping
     @PreAuthorize("hasRole('INSTRUCTOR')")
@@ -104,8 +108,8 @@ public class CourseController {
 
     @PostMapping("/{id}/view")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<Void> incrementViewCount(@PathVariable Long id) {
-        courseService.incrementViewCount(id);
+    public ResponseEntity<Void> incrementViewCount(@PathVariable Long id, Authentication authentication) {
+        courseService.incrementViewCount(id, authentication != null ? authentication.getName() : null);
         return ResponseEntity.ok().build();
     }
 
@@ -149,8 +153,7 @@ public class CourseController {
 
             return ResponseEntity.ok(response);
         } catch (Exception e) {
-            e.printStackTrace(); // Log full stack trace
-            System.err.println("Error uploading image: " + e.getMessage());
+            log.error("Failed to upload image for course {}", id, e);
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage() != null ? e.getMessage() : "Unknown error occurred");
             return ResponseEntity.badRequest().body(error);
@@ -233,11 +236,8 @@ public class CourseController {
 
     @GetMapping("/recommendations")
     public ResponseEntity<ApiResponse<List<CourseResponse>>> getDashboardRecommendations(@RequestParam Long studentId) {
-        List<com.example.skillforge.model.entity.Course> courses = courseRecommendationService
-                .recommendCoursesForDashboard(studentId);
-        List<CourseResponse> response = courses.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        // Precomputed per student, refreshed in the background (see DashboardRecommendationService)
+        List<CourseResponse> response = dashboardRecommendationService.getRecommendations(studentId);
         return ResponseEntity.ok(ApiResponse.success("Recommended courses", response));
     }
 
@@ -123,11 +123,18 @@ package com.example.skillforge.controller;
 
 import com.example.skillforge.dto.response.EnrollmentResponse;
 import com.example.skillforge.model.entity.Enrollment;
+import com.example.skillforge.service.BulkEnrollmentService;
+import com.example.skillforge.service.CourseAccessService;
+import com.example.skillforge.service.EmailQueueService;
 import com.example.skillforge.service.EnrollmentService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -139,6 +146,9 @@ import java.util.Map;
 public class EnrollmentController {
 
     private final EnrollmentService enrollmentService;
+    private final EmailQueueService emailQueueService;
+    private final BulkEnrollmentService bulkEnrollmentService;
+    private final CourseAccessService courseAccessService;
 
     @PostMapping
     public ResponseEntity<Enrollment> enrollCourse(
@@ -200,12 +210,15 @@ public class EnrollmentController {
     }
 
     /**
-     * Bulk enroll students by email
+     * Bulk enroll students by email; only admins and the course's instructor or course admin
      */
     @PostMapping("/course/{courseId}/bulk-enroll")
+    @PreAuthorize("hasAnyRole('INSTRUCTOR', 'ADMIN')")
     public ResponseEntity<Map<String, Object>> bulkEnrollStudents(
             @PathVariable Long courseId,
-            @RequestBody List<String> emails) {
+            @RequestBody List<String> emails,
+            Authentication authentication) {
+        courseAccessService.checkCanManage(courseId, authentication);
         try {
             Map<String, Object> result = enrollmentService.bulkEnrollByEmail(courseId, emails);
             return ResponseEntity.ok(result);
@@ -217,6 +230,28 @@ public class EnrollmentController {
         }
     }
 
+    /**
+     * Bulk enroll from a CSV upload (first column = email), processed in bounded batches;
+     * only admins and the course's instructor or course admin
+     */
+    @PostMapping("/course/{courseId}/bulk-enroll/csv")
+    @PreAuthorize("hasAnyRole('INSTRUCTOR', 'ADMIN')")
+    public ResponseEntity<Map<String, Object>> bulkEnrollStudentsFromCsv(
+            @PathVariable Long courseId,
+            @RequestParam("file") MultipartFile file,
+            Authentication authentication) {
+        courseAccessService.checkCanManage(courseId, authentication);
+        try {
+            Map<String, Object> result = bulkEnrollmentService.enrollCsv(courseId, file.getInputStream());
+            return ResponseEntity.ok(result);
+        } catch (IOException | RuntimeException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
     /**
      * Contact all enrolled students
      */
@@ -251,4 +286,15 @@ public class EnrollmentController {
             return ResponseEntity.badRequest().body(error);
         }
     }
+
+    /**
+     * Delivery status of a queued email job (bulk enroll notifications or announcements)
+     */
+    @GetMapping("/email-jobs/{jobId}")
+    @PreAuthorize("hasAnyRole('INSTRUCTOR', 'ADMIN')")
+    public ResponseEntity<Map<String, Object>> getEmailJobStatus(@PathVariable String jobId,
+            Authentication authentication) {
+        return ResponseEntity.ok(emailQueueService.getJobStatus(jobId, authentication.getName(),
+                courseAccessService.isAdmin(authentication)));
+    }
 }
@@ -1,17 +1,26 @@
 package com.example.skillforge.controller;
 
+import com.example.skillforge.dto.request.ChunkedUploadInitRequest;
+import com.example.skillforge.dto.response.ChunkedUploadResponse;
 import com.example.skillforge.model.entity.Material;
 import com.example.skillforge.model.enums.MaterialType;
 import com.example.skillforge.repository.MaterialRepository;
+import com.example.skillforge.service.ChunkedUploadService;
 import com.example.skillforge.service.MaterialService;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.List;
 
+@Slf4j
 @RestController
 @RequestMapping("/api/materials")
 // @CrossOrigin(origins = "${cors.allowed-origins}")
@@ -22,6 +31,8 @@ public class MaterialController {
     private MaterialService materialService;
     @Autowired
     private MaterialRepository materialRepository;
+    @Autowired
+    private ChunkedUploadService chunkedUploadService;
 
     /**
      * Upload File Material (e.g., video, pdf, etc.)
@@ -46,22 +57,22 @@ public class MaterialController {
         try {
             // Validate topicId
             if (topicId == null) {
-                System.out.println("ERROR: topicId is null. Parameters received:");
-                request.getParameterMap().forEach((k, v) -> System.out.println(k + ": " + String.join(",", v)));
+                log.debug("Material upload without {}, parameters received: {}", "topicId",
+                        request.getParameterMap().keySet());
                 return ResponseEntity.badRequest().body("Required parameter 'topicId' is not present. Received params: "
                         + request.getParameterMap().keySet());
             }
 
             if (title == null || title.trim().isEmpty()) {
-                System.out.println("ERROR: title is null/empty. Parameters received:");
-                request.getParameterMap().forEach((k, v) -> System.out.println(k + ": " + String.join(",", v)));
+                log.debug("Material upload without {}, parameters received: {}", "title",
+                        request.getParameterMap().keySet());
                 return ResponseEntity.badRequest().body("Required parameter 'title' is not present. Received params: "
                         + request.getParameterMap().keySet());
             }
 
             if (materialTypeStr == null) {
-                System.out.println("ERROR: materialType is null. Parameters received:");
-                request.getParameterMap().forEach((k, v) -> System.out.println(k + ": " + String.join(",", v)));
+                log.debug("Material upload without {}, parameters received: {}", "materialType",
+                        request.getParameterMap().keySet());
                 return ResponseEntity.badRequest()
                         .body("Required parameter 'materialType' is not present. Received params: "
                                 + request.getParameterMap().keySet());
@@ -69,7 +80,7 @@ public class MaterialController {
 
             // Validate file
             if (file == null || file.isEmpty()) {
-                System.out.println("ERROR: file is null or empty");
+                log.debug("Material upload for topic {} without a file", topicId);
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                         .body("File is empty or missing");
             }
@@ -97,12 +108,89 @@ public class MaterialController {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body("Invalid materialType. Allowed values: VIDEO, PDF, LINK, TEXT");
         } catch (Exception ex) {
-            ex.printStackTrace();
+            log.error("Failed to upload material to topic {}", topicId, ex);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Failed to upload material: " + ex.getMessage());
         }
     }
 
+    /**
+     * Chunked, resumable upload for large files (e.g., 2 GB lecture videos)
+     * 1. POST /uploads                          -> JSON metadata + SHA-256, returns uploadId
+     * 2. PUT  /uploads/{uploadId}/chunks/{index} -> raw chunk bytes (application/octet-stream)
+     * 3. GET  /uploads/{uploadId}               -> missing chunks, used to resume
+     * 4. POST /uploads/{uploadId}/complete      -> verifies checksum and creates the Material
+     * Access and ownership failures propagate to GlobalExceptionHandler (403/404).
+     */
+    @PostMapping("/uploads")
+    @PreAuthorize("hasAnyRole('INSTRUCTOR', 'ADMIN')")
+    public ResponseEntity<?> initiateChunkedUpload(
+            @Valid @RequestBody ChunkedUploadInitRequest request,
+            Authentication authentication) {
+        try {
+            return ResponseEntity.ok(chunkedUploadService.initiate(request, authentication));
+        } catch (IllegalArgumentException ie) {
+            return ResponseEntity.badRequest().body(ie.getMessage());
+        } catch (IllegalStateException ex) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(ex.getMessage());
+        } catch (IOException ex) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Failed to initiate upload: " + ex.getMessage());
+        }
+    }
+
+    @PutMapping("/uploads/{uploadId}/chunks/{index}")
+    @PreAuthorize("hasAnyRole('INSTRUCTOR', 'ADMIN')")
+    public ResponseEntity<?> uploadChunk(
+            @PathVariable String uploadId,
+            @PathVariable int index,
+            jakarta.servlet.http.HttpServletRequest request,
+            Authentication authentication) {
+        try {
+            ChunkedUploadResponse response = chunkedUploadService.writeChunk(uploadId, index,
+                    request.getInputStream(), authentication);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException | IllegalStateException ex) {
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        } catch (IOException ex) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Failed to write chunk: " + ex.getMessage());
+        }
+    }
+
+    @GetMapping("/uploads/{uploadId}")
+    @PreAuthorize("hasAnyRole('INSTRUCTOR', 'ADMIN')")
+    public ResponseEntity<ChunkedUploadResponse> getChunkedUploadStatus(
+            @PathVariable String uploadId,
+            Authentication authentication) {
+        return ResponseEntity.ok(chunkedUploadService.getStatus(uploadId, authentication));
+    }
+
+    @PostMapping("/uploads/{uploadId}/complete")
+    @PreAuthorize("hasAnyRole('INSTRUCTOR', 'ADMIN')")
+    public ResponseEntity<?> completeChunkedUpload(@PathVariable String uploadId, Authentication authentication) {
+        try {
+            return ResponseEntity.ok(chunkedUploadService.complete(uploadId, authentication));
+        } catch (IllegalStateException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+        } catch (IOException ex) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Failed to complete upload: " + ex.getMessage());
+        }
+    }
+
+    @DeleteMapping("/uploads/{uploadId}")
+    @PreAuthorize("hasAnyRole('INSTRUCTOR', 'ADMIN')")
+    public ResponseEntity<?> abortChunkedUpload(@PathVariable String uploadId, Authentication authentication) {
+        try {
+            chunkedUploadService.abort(uploadId, authentication);
+            return ResponseEntity.ok("Upload aborted");
+        } catch (IOException ex) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Failed to abort upload: " + ex.getMessage());
+        }
+    }
+
     /**
      * Create Link Material (e.g., YouTube video, Google Drive, etc.)
      * form-data / x-www-form-urlencoded:
@@ -167,7 +255,7 @@ public class MaterialController {
             connection.setReadTimeout(10000);
 
             int responseCode = connection.getResponseCode();
-            System.out.println("Cloudinary Response Code: " + responseCode);
+            log.debug("Cloudinary answered {} for material {}", responseCode, materialId);
 
             if (responseCode == 403 || responseCode == 401) {
                 throw new RuntimeException("Cannot access Cloudinary file. Check account settings.");
@@ -188,7 +276,7 @@ public class MaterialController {
             return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
 
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Failed to stream the PDF of material {}", materialId, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(("Error: " + e.getMessage()).getBytes());
         }
@@ -247,7 +335,7 @@ public class MaterialController {
                     file, link, responsible, durationMinutes, allowDownload);
             return ResponseEntity.ok(updatedMaterial);
         } catch (Exception ex) {
-            ex.printStackTrace();
+            log.error("Failed to update material {}", materialId, ex);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Failed to update material: " + ex.getMessage());
         }
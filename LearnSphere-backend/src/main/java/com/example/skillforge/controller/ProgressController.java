@@ -15,6 +15,7 @@ import com.example.skillforge.service.ProgressService;
 import com.example.skillforge.service.TopicProgressService;
 import com.example.skillforge.dto.response.ApiResponse;
 import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -22,6 +23,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+@Slf4j
 @RestController
 @RequestMapping("/api/progress")
 public class ProgressController {
@@ -62,8 +64,8 @@ public class ProgressController {
             try {
                 courseProgressService.updateProgress(studentId, cp.getCourseId(), null);
             } catch (Exception e) {
-                System.err.println(
-                        "Failed to auto-recalculate progress for course " + cp.getCourseId() + ": " + e.getMessage());
+                log.warn("Failed to auto-recalculate progress of student {} for course {}: {}", studentId,
+                        cp.getCourseId(), e.getMessage());
             }
         }
 
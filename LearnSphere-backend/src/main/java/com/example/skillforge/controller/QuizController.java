@@ -2,31 +2,40 @@ package com.example.skillforge.controller;
 
 import com.example.skillforge.dto.request.AIQuizGenerationRequest;
 import com.example.skillforge.dto.request.ManualQuizRequest;
+import com.example.skillforge.dto.response.AIBulkQuizResponse;
 import com.example.skillforge.dto.response.AIQuizResponse;
+import com.example.skillforge.dto.response.AiQuizJobResponse;
 import com.example.skillforge.dto.response.ApiResponse;
 import com.example.skillforge.model.entity.Question;
 import com.example.skillforge.model.entity.Quiz;
 import com.example.skillforge.model.entity.QuizAttempt;
 import com.example.skillforge.repository.QuestionRepository;
+import com.example.skillforge.exception.ResourceNotFoundException;
 import com.example.skillforge.service.AIQuizGeneratorService;
+import com.example.skillforge.service.AiQuizJobService;
 import com.example.skillforge.service.QuestionService;
 import com.example.skillforge.service.QuizAttemptService;
 import com.example.skillforge.service.QuizService;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * QuizController - final version
  *
  * Endpoints:
  * POST /api/quizzes/generate -> generate AI quiz (returns AIQuizResponse)
+ * POST /api/quizzes/generate/course/{courseId} -> generate AI quizzes for every topic
+ * POST /api/quizzes/generate/jobs -> queue AI generation in the background (poll, SSE, retry)
  * POST /api/quizzes/save-from-ai -> save AI quiz to DB (requires instructorId,
  * courseId, topicId, title)
  * GET /api/quizzes/topic/{topicId} -> get latest quiz for topic
@@ -39,6 +48,7 @@ import java.util.Map;
 public class QuizController {
 
     private final AIQuizGeneratorService aiService;
+    private final AiQuizJobService aiQuizJobService;
     private final QuizService quizService;
     private final QuizAttemptService quizAttemptService;
     private final QuestionRepository questionRepository;
@@ -62,6 +72,74 @@ public class QuizController {
         }
     }
 
+    /**
+     * Queue AI generation as a background job (returns 202 with the job id).
+     * With save=true the generated quiz is also persisted, like /save-from-ai.
+     * Poll GET /generate/jobs/{jobId} or subscribe to /generate/jobs/{jobId}/events.
+     */
+    @PostMapping("/generate/jobs")
+    public ResponseEntity<ApiResponse<AiQuizJobResponse>> submitAIQuizJob(
+            @RequestBody AIQuizGenerationRequest request,
+            @RequestParam(required = false, defaultValue = "false") boolean save,
+            @RequestParam(required = false) Integer duration,
+            @RequestParam(required = false, defaultValue = "AI Generated Quiz") String title,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        try {
+            AiQuizJobResponse job = aiQuizJobService.submit(request, save, title, duration, idempotencyKey);
+            return ResponseEntity.accepted().body(ApiResponse.success("AI generation queued", job));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(ex.getMessage()));
+        } catch (Exception ex) {
+            log.error("Queueing AI generation failed", ex);
+            return ResponseEntity.status(500).body(ApiResponse.error("AI generation failed: " + ex.getMessage()));
+        }
+    }
+
+    @GetMapping("/generate/jobs/{jobId}")
+    public ResponseEntity<ApiResponse<AiQuizJobResponse>> getAIQuizJob(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success("Job status", aiQuizJobService.getJob(jobId)));
+        } catch (ResourceNotFoundException ex) {
+            return ResponseEntity.status(404).body(ApiResponse.error(ex.getMessage()));
+        }
+    }
+
+    @GetMapping(value = "/generate/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAIQuizJob(@PathVariable String jobId) {
+        return aiQuizJobService.subscribe(jobId);
+    }
+
+    @PostMapping("/generate/jobs/{jobId}/retry")
+    public ResponseEntity<ApiResponse<AiQuizJobResponse>> retryAIQuizJob(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.accepted().body(ApiResponse.success("Job re-queued", aiQuizJobService.retry(jobId)));
+        } catch (ResourceNotFoundException ex) {
+            return ResponseEntity.status(404).body(ApiResponse.error(ex.getMessage()));
+        } catch (IllegalStateException ex) {
+            return ResponseEntity.status(409).body(ApiResponse.error(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Generate one AI quiz per topic of a course. Topics are processed concurrently within the
+     * configured model rate limit; a failing topic is reported without failing the others.
+     * Returns immediately to the container; the response is written when the last topic finishes.
+     */
+    @PostMapping("/generate/course/{courseId}")
+    public CompletableFuture<ResponseEntity<ApiResponse<AIBulkQuizResponse>>> generateAIQuizzesForCourse(
+            @PathVariable Long courseId,
+            @RequestParam(required = false, defaultValue = "BEGINNER") String difficulty,
+            @RequestParam(required = false, defaultValue = "5") int numberOfQuestions) {
+        try {
+            return aiService.generateForCourse(courseId, difficulty, numberOfQuestions)
+                    .thenApply(resp -> ResponseEntity.ok(ApiResponse.success("AI generated quizzes", resp)));
+        } catch (Exception ex) {
+            log.error("AI bulk generation failed", ex);
+            return CompletableFuture.completedFuture(ResponseEntity.status(500)
+                    .body(ApiResponse.error("AI generation failed: " + ex.getMessage())));
+        }
+    }
+
     /**
      * Save AI-generated quiz into DB.
      *
@@ -131,11 +209,8 @@ public class QuizController {
             Long studentId = payload.getStudentId();
             int timeSpent = payload.getTimeSpent() == null ? 0 : payload.getTimeSpent();
             Long topicId = payload.getTopicId();
-            
-            System.out.println("DEBUG: QuizController: Received attempt for Quiz " + quizId + 
-                               " from Student " + studentId + 
-                               ", Topic " + topicId + 
-                               ", Time " + timeSpent);
+
+            log.debug("Attempt for quiz {} from student {} (topic {}, {}s)", quizId, studentId, topicId, timeSpent);
 
             // Map answers to service DTO
             List<QuizAttemptService.AnswerSubmission> submissions = new ArrayList<>();
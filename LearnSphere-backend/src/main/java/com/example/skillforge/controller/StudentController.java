@@ -18,8 +18,7 @@ import java.util.Map;
 @lombok.RequiredArgsConstructor
 public class StudentController {
 
-    private final com.example.skillforge.service.UserActivityService userActivityService;
-    private final com.example.skillforge.repository.StudentRepository studentRepository;
+    private final com.example.skillforge.service.StudentStatsService studentStatsService;
 
     /**
      * Get student dashboard data
@@ -61,44 +60,22 @@ public class StudentController {
     @GetMapping("/stats")
     @PreAuthorize("hasRole('STUDENT')")
     public ResponseEntity<ApiResponse<Map<String, Object>>> getStats(Authentication authentication) {
-        // Find student by user email
-        String email = authentication.getName();
-        com.example.skillforge.model.entity.Student student = studentRepository.findAll().stream()
-                .filter(s -> s.getUser().getEmail().equals(email))
-                .findFirst()
-                .orElseThrow(() -> new RuntimeException("Student profile not found"));
-
-        int streak = userActivityService.calculateStreak(student.getUser().getId());
-
-        Map<String, Object> data = new HashMap<>();
-        data.put("coursesEnrolled", student.getCoursesEnrolled());
-        data.put("coursesCompleted", 2); // TODO: Calculate real value
-        data.put("quizzesTaken", student.getQuizzesAttempted());
-        data.put("averageScore", student.getAverageScore());
-        data.put("currentStreak", streak);
-        data.put("totalPoints", student.getTotalPoints());
-
+        // Find student by user email (cached for a short time, see StudentStatsService)
+        Map<String, Object> data = studentStatsService.getStats(authentication.getName());
         return ResponseEntity.ok(ApiResponse.success("Student statistics", data));
     }
 
     /**
-     * Get all students (for instructor to select attendees)
+     * Get students (for instructor to select attendees), one page at a time ordered by name.
+     * Optional {@code search} filters by name or email prefix.
      */
     @GetMapping("/list")
     @PreAuthorize("hasAnyRole('INSTRUCTOR', 'ADMIN')")
-    public ResponseEntity<ApiResponse<java.util.List<Map<String, Object>>>> getAllStudents() {
-        java.util.List<Map<String, Object>> students = studentRepository.findAll().stream()
-                .map(student -> {
-                    Map<String, Object> studentInfo = new HashMap<>();
-                    studentInfo.put("id", student.getId());
-                    studentInfo.put("userId", student.getUser().getId());
-                    studentInfo.put("name", student.getUser().getName());
-                    studentInfo.put("email", student.getUser().getEmail());
-                    studentInfo.put("coursesEnrolled", student.getCoursesEnrolled());
-                    return studentInfo;
-                })
-                .collect(java.util.stream.Collectors.toList());
-
+    public ResponseEntity<ApiResponse<java.util.List<Map<String, Object>>>> getAllStudents(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "200") int size,
+            @RequestParam(required = false) String search) {
+        java.util.List<Map<String, Object>> students = studentStatsService.getDirectory(page, size, search);
         return ResponseEntity.ok(ApiResponse.success("All students", students));
     }
 }
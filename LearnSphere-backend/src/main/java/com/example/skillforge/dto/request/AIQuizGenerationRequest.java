@@ -11,4 +11,5 @@ public class AIQuizGenerationRequest {
     private String topicName;
     private String difficulty;       // BEGINNER / INTERMEDIATE / ADVANCED
     private int numberOfQuestions;   // e.g., 5 or 10
+    private boolean refresh;         // skip the result cache and ask the model again
 }
@@ -0,0 +1,42 @@
+package com.example.skillforge.dto.request;
+
+import com.example.skillforge.model.enums.MaterialType;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+@Data
+public class ChunkedUploadInitRequest {
+    @NotNull(message = "Topic ID is required")
+    private Long topicId;
+
+    @NotBlank(message = "Title is required")
+    private String title;
+
+    private String description;
+
+    @NotNull(message = "Material type is required")
+    private MaterialType materialType;
+
+    @NotBlank(message = "File name is required")
+    private String fileName;
+
+    private String mimeType;
+
+    @NotNull(message = "Total size is required")
+    @Positive
+    private Long totalSize;
+
+    // Optional, server default is used when absent; clamped to the configured range
+    private Integer chunkSize;
+
+    @NotBlank(message = "SHA-256 checksum is required")
+    @Pattern(regexp = "[0-9a-fA-F]{64}", message = "Checksum must be a hex SHA-256 (64 characters)")
+    private String checksum;
+
+    private String responsible;
+    private Integer durationMinutes;
+    private Boolean allowDownload;
+}
@@ -0,0 +1,36 @@
+package com.example.skillforge.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Result of generating quizzes for every topic of a course. A failed topic carries an error
+ * instead of a quiz; the other topics are unaffected.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AIBulkQuizResponse {
+
+    private Long courseId;
+    private int totalTopics;
+    private int succeeded;
+    private int failed;
+    private List<TopicQuiz> topics;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TopicQuiz {
+        private Long topicId;
+        private String topicName;
+        private AIQuizResponse quiz;
+        private String error;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.skillforge.dto.response;
+
+import com.example.skillforge.model.enums.AiQuizJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AiQuizJobResponse {
+
+    private String jobId;
+    private AiQuizJobStatus status;
+    private Integer progress;
+
+    // Set once generation has finished
+    private AIQuizResponse quiz;
+
+    // Set once the quiz has been saved (only for jobs submitted with save=true)
+    private Long quizId;
+
+    private String error;
+    private Integer attempts;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
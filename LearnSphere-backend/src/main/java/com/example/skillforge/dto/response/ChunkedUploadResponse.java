@@ -0,0 +1,28 @@
+package com.example.skillforge.dto.response;
+
+import com.example.skillforge.model.enums.UploadStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChunkedUploadResponse {
+
+    private String uploadId;
+    private UploadStatus status;
+
+    private Long totalSize;
+    private Integer chunkSize;
+    private Integer totalChunks;
+    private Integer receivedCount;
+
+    // Chunk indexes the client still has to send (used for resume)
+    private List<Integer> missingChunks;
+
+    private Long materialId;
+}
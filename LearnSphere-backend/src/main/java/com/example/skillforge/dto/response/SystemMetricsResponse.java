@@ -0,0 +1,100 @@
+package com.example.skillforge.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-process metrics snapshot. Latencies are in milliseconds and cumulative since startup;
+ * error rates cover the last rate window (metrics.rate-window-ms).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SystemMetricsResponse {
+
+    private LocalDateTime collectedAt;
+    private Long uptimeSeconds;
+    private Double processCpuPercent;
+    private Double systemLoadAverage;
+
+    private Long totalRequests;
+    private Long serverErrors;
+    private Double recentErrorRatePercent;
+    private List<Latency> endpoints;
+
+    private Latency dbQueries;
+    private Pool dbPool;
+
+    private Jvm jvm;
+    private List<Executor> executors;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Latency {
+        private String name;
+        private Long count;
+        private Long errors;
+        private Double meanMs;
+        private Double p50Ms;
+        private Double p95Ms;
+        private Double p99Ms;
+        private Double maxMs;
+        private Double statementsPerRequest;
+        private Long maxStatements;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Pool {
+        private Integer active;
+        private Integer idle;
+        private Integer total;
+        private Integer max;
+        private Integer threadsAwaiting;
+        private Double utilizationPercent;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Jvm {
+        private Long heapUsedMb;
+        private Long heapCommittedMb;
+        private Long heapMaxMb;
+        private Double heapUsedPercent;
+        private Integer threads;
+        private Latency gcPauses;
+        private String threadMode;              // platform or virtual (spring.threads.virtual.enabled)
+        private Latency virtualThreadPinning;   // pinned intervals above threads.pinning.threshold-ms
+        private Map<String, Long> pinningSites; // pinning events per call site, most frequent first
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Executor {
+        private String name;
+        private Integer active;
+        private Integer poolSize;
+        private Integer maxPoolSize;
+        private Integer queued;
+        private Integer queueCapacity;
+        private Long completed;
+        private Long failed;
+        private Long rejected;
+        private Latency queueWait;
+        private Latency run;
+    }
+}
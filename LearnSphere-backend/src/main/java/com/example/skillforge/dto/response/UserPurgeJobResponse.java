@@ -0,0 +1,31 @@
+package com.example.skillforge.dto.response;
+
+import com.example.skillforge.model.enums.UserPurgeStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPurgeJobResponse {
+
+    private Long jobId;
+    private Long userId;
+    private UserPurgeStatus status;
+
+    // Step the job is on (or stopped at), and how many of the steps are done
+    private String currentStep;
+    private Integer stepsCompleted;
+    private Integer totalSteps;
+    private Long rowsDeleted;
+
+    private String error;
+    private Integer attempts;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,29 @@
+package com.example.skillforge.dto.response;
+
+import com.example.skillforge.model.enums.Role;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Admin user list row, read as a JPQL projection (no Student/Instructor association is touched).
+ * Field order matches the constructor expression in UserRepository.findUserSummaries.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummaryResponse {
+    private Long id;
+    private String name;
+    private String email;
+    private Role role;
+    private String profileImage;
+    private Boolean isActive;
+    private Boolean isBlocked;
+    private LocalDateTime blockExpiry;
+    private Boolean isVerified;
+    private LocalDateTime createdAt;
+}
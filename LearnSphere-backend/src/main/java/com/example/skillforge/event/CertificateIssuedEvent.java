@@ -0,0 +1,15 @@
+package com.example.skillforge.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a new certificate is stored for a student.
+ */
+@Getter
+@AllArgsConstructor
+public class CertificateIssuedEvent {
+
+    private final Long studentId;
+    private final Long courseId;
+}
@@ -0,0 +1,16 @@
+package com.example.skillforge.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a student's progress, completion or time spent in a course changes.
+ * studentId is the Student entity id.
+ */
+@Getter
+@AllArgsConstructor
+public class CourseProgressChangedEvent {
+
+    private final Long studentId;
+    private final Long courseId;
+}
@@ -0,0 +1,15 @@
+package com.example.skillforge.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a course review is added, changed or deleted.
+ */
+@Getter
+@AllArgsConstructor
+public class CourseReviewChangedEvent {
+
+    private final Long studentId;
+    private final Long courseId;
+}
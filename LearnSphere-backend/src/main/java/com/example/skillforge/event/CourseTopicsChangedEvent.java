@@ -0,0 +1,14 @@
+package com.example.skillforge.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a topic of the course is created, updated (name, level, order) or deleted.
+ */
+@Getter
+@AllArgsConstructor
+public class CourseTopicsChangedEvent {
+
+    private final Long courseId;
+}
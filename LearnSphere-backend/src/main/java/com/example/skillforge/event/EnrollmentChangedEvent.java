@@ -0,0 +1,18 @@
+package com.example.skillforge.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collection;
+
+/**
+ * Published when students are enrolled in or removed from a course.
+ * Student ids are Student entity ids, not User ids.
+ */
+@Getter
+@AllArgsConstructor
+public class EnrollmentChangedEvent {
+
+    private final Long courseId;
+    private final Collection<Long> studentIds;
+}
@@ -0,0 +1,15 @@
+package com.example.skillforge.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by the recommender after a student's interaction row has been applied to the model,
+ * i.e. once recommendations computed for that student reflect the change.
+ */
+@Getter
+@AllArgsConstructor
+public class InteractionsUpdatedEvent {
+
+    private final Long studentId;
+}
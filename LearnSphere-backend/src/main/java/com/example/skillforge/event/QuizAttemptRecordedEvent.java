@@ -0,0 +1,18 @@
+package com.example.skillforge.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published after a quiz attempt has been evaluated and saved.
+ */
+@Getter
+@AllArgsConstructor
+public class QuizAttemptRecordedEvent {
+
+    private final Long studentId;
+    private final Long quizId;
+    private final Long topicId;
+    private final Double score;
+    private final boolean passed;
+}
@@ -0,0 +1,17 @@
+package com.example.skillforge.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when the background purge of a deleted account has removed all of its data.
+ * The student and instructor ids are null when the account had no such profile.
+ */
+@Getter
+@AllArgsConstructor
+public class UserPurgedEvent {
+
+    private final Long userId;
+    private final Long studentId;
+    private final Long instructorId;
+}
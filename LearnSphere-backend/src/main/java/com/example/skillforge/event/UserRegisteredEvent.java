@@ -0,0 +1,16 @@
+package com.example.skillforge.event;
+
+import com.example.skillforge.model.enums.Role;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a new account is created, by sign-up or first Google login.
+ */
+@Getter
+@AllArgsConstructor
+public class UserRegisteredEvent {
+
+    private final Long userId;
+    private final Role role;
+}
@@ -122,7 +122,10 @@ public class AnalyticsDTO {
         private Double serverLoad;
         private String dbLatency;
         private String uptime;
-        private Double errors;
+        private Double errors; // % of requests answered with 5xx in the last minute
+        private Double requestP95Ms;
+        private Double heapUsedPercent;
+        private Double dbPoolUtilization; // % of the pool in use
     }
 
     @Data
@@ -0,0 +1,79 @@
+package com.example.skillforge.model.entity;
+
+import com.example.skillforge.model.enums.AiQuizJobStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * A background AI quiz generation (and optional save) request.
+ * The generated questions are stored as soon as they arrive, so a retry after a failed
+ * save does not call the model again.
+ */
+@Entity
+@Table(name = "ai_quiz_jobs", indexes = {
+        @Index(name = "idx_ai_quiz_jobs_status", columnList = "status, updatedAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AiQuizJob {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    // Client-supplied key; re-submitting with the same key returns the existing job
+    @Column(unique = true, length = 100)
+    private String idempotencyKey;
+
+    private Long courseId;
+    private Long topicId;
+    private String topicName;
+    private String difficulty;
+    private Integer numberOfQuestions;
+
+    // When true the generated quiz is persisted with createQuizFromAI
+    @Column(nullable = false)
+    private Boolean saveQuiz = false;
+
+    private String title;
+    private Integer duration;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AiQuizJobStatus status = AiQuizJobStatus.QUEUED;
+
+    // 0-100, for progress bars
+    @Column(nullable = false)
+    private Integer progress = 0;
+
+    @Column(columnDefinition = "LONGTEXT")
+    private String resultJson;
+
+    private Long quizId;
+
+    @Column(length = 1000)
+    private String error;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
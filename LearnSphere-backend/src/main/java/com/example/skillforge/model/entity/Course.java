@@ -8,12 +8,15 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.SQLRestriction;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "courses")
+// Deleted courses are hidden from every query while CoursePurgeService removes their data
+@SQLRestriction("deleted_at IS NULL")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -89,6 +92,9 @@ public class Course {
     @JsonIgnore
     private List<Enrollment> enrollments = new ArrayList<>();
 
+    // Set by deleteCourse; the row is removed by the background purge
+    private LocalDateTime deletedAt;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
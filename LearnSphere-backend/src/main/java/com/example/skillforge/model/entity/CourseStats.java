@@ -0,0 +1,43 @@
+package com.example.skillforge.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Current enrollment, completion and rating totals of one course, maintained by AnalyticsProjectionService.
+ */
+@Entity
+@Table(name = "course_stats", indexes = {
+        @Index(name = "idx_course_stats_instructor", columnList = "instructor_id"),
+        @Index(name = "idx_course_stats_enrollments", columnList = "enrollments")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseStats {
+
+    @Id
+    @Column(name = "course_id")
+    private Long courseId;
+
+    @Column(name = "instructor_id")
+    private Long instructorId;
+
+    @Column(nullable = false)
+    private Long enrollments = 0L;
+
+    @Column(nullable = false)
+    private Long completions = 0L;
+
+    @Column(name = "rating_sum", nullable = false)
+    private Long ratingSum = 0L;
+
+    @Column(name = "rating_count", nullable = false)
+    private Long ratingCount = 0L;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,45 @@
+package com.example.skillforge.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+
+/**
+ * Per-day course activity (net new enrollments, completions, quiz attempts) for date-range analytics.
+ */
+@Entity
+@Table(name = "course_stats_daily", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "course_id", "stat_date" })
+}, indexes = {
+        @Index(name = "idx_course_stats_daily_instructor", columnList = "instructor_id, stat_date"),
+        @Index(name = "idx_course_stats_daily_date", columnList = "stat_date")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseStatsDaily {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+
+    @Column(name = "instructor_id")
+    private Long instructorId;
+
+    @Column(nullable = false)
+    private Long enrollments = 0L;
+
+    @Column(nullable = false)
+    private Long completions = 0L;
+
+    @Column(nullable = false)
+    private Long attempts = 0L;
+}
@@ -0,0 +1,33 @@
+package com.example.skillforge.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+
+/**
+ * Per-day course view totals, written in aggregated batches by CourseViewIngestionService.
+ */
+@Entity
+@Table(name = "course_view_daily", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "course_id", "view_date" })
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseViewDaily {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+
+    @Column(name = "view_date", nullable = false)
+    private LocalDate viewDate;
+
+    @Column(nullable = false)
+    private Long views = 0L;
+}
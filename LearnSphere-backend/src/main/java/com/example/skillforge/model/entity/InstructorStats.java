@@ -0,0 +1,40 @@
+package com.example.skillforge.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Distinct students and the peak quiz score distribution of one instructor, maintained by
+ * AnalyticsProjectionService from the per-student rows in instructor_student_stats.
+ */
+@Entity
+@Table(name = "instructor_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InstructorStats {
+
+    @Id
+    @Column(name = "instructor_id")
+    private Long instructorId;
+
+    @Column(nullable = false)
+    private Long students = 0L;
+
+    @Column(name = "score_0_20", nullable = false)
+    private Long score0To20 = 0L;
+
+    @Column(name = "score_20_40", nullable = false)
+    private Long score20To40 = 0L;
+
+    @Column(name = "score_40_60", nullable = false)
+    private Long score40To60 = 0L;
+
+    @Column(name = "score_60_80", nullable = false)
+    private Long score60To80 = 0L;
+
+    @Column(name = "score_80_100", nullable = false)
+    private Long score80To100 = 0L;
+}
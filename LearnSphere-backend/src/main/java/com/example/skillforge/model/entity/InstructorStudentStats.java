@@ -0,0 +1,39 @@
+package com.example.skillforge.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One student as seen by one instructor: how many of the instructor's courses they are enrolled in
+ * and their best score on any of the instructor's quizzes. Backs the distinct-student count and
+ * score buckets in instructor_stats.
+ */
+@Entity
+@Table(name = "instructor_student_stats", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "instructor_id", "student_id" })
+}, indexes = {
+        @Index(name = "idx_instructor_student_stats_student", columnList = "student_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InstructorStudentStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "instructor_id", nullable = false)
+    private Long instructorId;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Column(nullable = false)
+    private Long enrollments = 0L;
+
+    @Column(name = "peak_score")
+    private Double peakScore;
+}
@@ -0,0 +1,80 @@
+package com.example.skillforge.model.entity;
+
+import com.example.skillforge.model.enums.EmailStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * A queued outbound email. Rows are written in the same transaction as the business change
+ * and delivered later by EmailDispatchWorker.
+ */
+@Entity
+@Table(name = "outbound_emails", indexes = {
+        @Index(name = "idx_outbound_email_status_next", columnList = "status, nextAttemptAt"),
+        @Index(name = "idx_outbound_email_job", columnList = "jobId")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboundEmail {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 36)
+    private String jobId;
+
+    // Course the job was sent for; only its instructor, its course admin and admins may read the job status
+    private Long courseId;
+
+    @Column(nullable = false, length = 100)
+    private String recipient;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private EmailStatus status = EmailStatus.PENDING;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    // Set when a worker claims the row, used to fetch exactly the rows it owns
+    @Column(length = 36)
+    private String claimToken;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    private LocalDateTime sentAt;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
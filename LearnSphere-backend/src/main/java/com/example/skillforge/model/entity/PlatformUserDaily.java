@@ -0,0 +1,38 @@
+package com.example.skillforge.model.entity;
+
+import com.example.skillforge.model.enums.Role;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+
+/**
+ * Accounts created and removed per day and role, for platform growth and role distribution.
+ */
+@Entity
+@Table(name = "platform_user_daily", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "stat_date", "role" })
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlatformUserDaily {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Role role;
+
+    @Column(nullable = false)
+    private Long joined = 0L;
+
+    @Column(nullable = false)
+    private Long removed = 0L;
+}
@@ -0,0 +1,92 @@
+package com.example.skillforge.model.entity;
+
+import com.example.skillforge.model.enums.MaterialType;
+import com.example.skillforge.model.enums.UploadStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Server-side state of a chunked material upload.
+ * Persisted so an interrupted upload can be resumed after a reconnect or restart.
+ */
+@Entity
+@Table(name = "upload_sessions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSession {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(nullable = false)
+    private Long topicId;
+
+    // Email of the instructor or admin who started the upload; only they (or an admin) may continue it
+    private String ownerEmail;
+
+    @Column(nullable = false, length = 200)
+    private String title;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private MaterialType materialType;
+
+    private String responsible;
+    private Integer durationMinutes;
+    private Boolean allowDownload = false;
+
+    @Column(nullable = false)
+    private String fileName;
+
+    private String mimeType;
+
+    @Column(nullable = false)
+    private Long totalSize;
+
+    @Column(nullable = false)
+    private Integer chunkSize;
+
+    @Column(nullable = false)
+    private Integer totalChunks;
+
+    // One '0'/'1' flag per chunk, index-aligned
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String receivedChunks;
+
+    // Hex SHA-256 of the whole file, supplied by the client at initiation
+    @Column(nullable = false, length = 64)
+    private String checksum;
+
+    @Column(nullable = false, length = 500)
+    private String tempPath;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private UploadStatus status = UploadStatus.IN_PROGRESS;
+
+    private Long materialId;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -9,7 +9,11 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        // Prefix search and sort for the admin user list (email is covered by its unique index)
+        @Index(name = "idx_users_name", columnList = "name"),
+        @Index(name = "idx_users_role_created", columnList = "role, createdAt")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -58,6 +62,9 @@ public class User {
     private String blockReason;
     private LocalDateTime blockExpiry;
 
+    // Set when an admin deletes the account; the row itself is removed later by the purge job
+    private LocalDateTime deletedAt;
+
     // ONE-TO-ONE MAPPINGS
     @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonIgnore
@@ -0,0 +1,71 @@
+package com.example.skillforge.model.entity;
+
+import com.example.skillforge.model.enums.UserPurgeStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Background removal of a deleted user's data.
+ * The user row is only removed by the last step; until then the user is soft-deleted
+ * (inactive, deletedAt set). currentStep is where a resumed job continues.
+ */
+@Entity
+@Table(name = "user_purge_jobs", indexes = {
+        @Index(name = "idx_user_purge_jobs_status", columnList = "status, updatedAt"),
+        @Index(name = "idx_user_purge_jobs_user", columnList = "userId")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPurgeJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    // Captured when the job is created, the rows they come from are deleted along the way
+    private Long studentId;
+    private Long instructorId;
+    private String email;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private UserPurgeStatus status = UserPurgeStatus.PENDING;
+
+    // Name of the next step to run; null before the first batch
+    @Column(length = 40)
+    private String currentStep;
+
+    @Column(nullable = false)
+    private Long rowsDeleted = 0L;
+
+    @Column(length = 1000)
+    private String error;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime completedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.skillforge.model.enums;
+
+public enum AiQuizJobStatus {
+    QUEUED,
+    GENERATING,
+    SAVING,
+    COMPLETED,
+    FAILED
+}
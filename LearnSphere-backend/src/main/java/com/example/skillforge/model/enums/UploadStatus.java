@@ -0,0 +1,7 @@
+package com.example.skillforge.model.enums;
+
+public enum UploadStatus {
+    IN_PROGRESS,
+    COMPLETED,
+    FAILED
+}
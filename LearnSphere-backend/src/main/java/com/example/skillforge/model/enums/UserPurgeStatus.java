@@ -0,0 +1,8 @@
+package com.example.skillforge.model.enums;
+
+public enum UserPurgeStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,53 @@
+package com.example.skillforge.repository;
+
+import com.example.skillforge.model.entity.AiQuizJob;
+import com.example.skillforge.model.enums.AiQuizJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AiQuizJobRepository extends JpaRepository<AiQuizJob, String> {
+
+    Optional<AiQuizJob> findByIdempotencyKey(String idempotencyKey);
+
+    // Moves a QUEUED job to GENERATING; returns 0 when another worker already took it
+    @Modifying
+    @Transactional
+    @Query("UPDATE AiQuizJob j SET j.status = :running, j.attempts = j.attempts + 1, j.error = null, " +
+           "j.updatedAt = :now WHERE j.id = :id AND j.status = :queued")
+    int claim(@Param("id") String id,
+              @Param("queued") AiQuizJobStatus queued,
+              @Param("running") AiQuizJobStatus running,
+              @Param("now") LocalDateTime now);
+
+    // Records the saved quiz; returns 0 when the job already has one, so the caller can roll its quiz back
+    @Modifying
+    @Transactional
+    @Query("UPDATE AiQuizJob j SET j.quizId = :quizId, j.updatedAt = :now WHERE j.id = :id AND j.quizId IS NULL")
+    int attachQuiz(@Param("id") String id,
+                   @Param("quizId") Long quizId,
+                   @Param("now") LocalDateTime now);
+
+    @Query("SELECT j.id FROM AiQuizJob j WHERE j.status IN :statuses AND j.updatedAt < :cutoff")
+    List<String> findIdsByStatusInAndUpdatedAtBefore(@Param("statuses") Collection<AiQuizJobStatus> statuses,
+                                                     @Param("cutoff") LocalDateTime cutoff);
+
+    // Hands jobs whose worker died back to the queue
+    @Modifying
+    @Transactional
+    @Query("UPDATE AiQuizJob j SET j.status = :queued, j.updatedAt = :now " +
+           "WHERE j.status IN :running AND j.updatedAt < :cutoff")
+    int requeueStale(@Param("running") Collection<AiQuizJobStatus> running,
+                     @Param("queued") AiQuizJobStatus queued,
+                     @Param("cutoff") LocalDateTime cutoff,
+                     @Param("now") LocalDateTime now);
+}
@@ -2,6 +2,8 @@ package com.example.skillforge.repository;
 
 import com.example.skillforge.model.entity.Certificate;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,6 +15,10 @@ public interface CertificateRepository extends JpaRepository<Certificate, Long>
 
     List<Certificate> findByStudentId(Long studentId);
 
+    // [courseTitle, issuedAt]; Certificate.student references the User
+    @Query("SELECT c.title, cert.issuedAt FROM Certificate cert JOIN cert.course c WHERE cert.student.id = :userId")
+    List<Object[]> findCertificateSummariesByUserId(@Param("userId") Long userId);
+
     Optional<Certificate> findByUid(String uid);
 
     boolean existsByStudentIdAndCourseId(Long studentId, Long courseId);
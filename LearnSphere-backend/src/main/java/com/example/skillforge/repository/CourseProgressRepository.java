@@ -2,6 +2,11 @@ package com.example.skillforge.repository;
 
 import com.example.skillforge.model.entity.CourseProgress;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
 
@@ -13,5 +18,28 @@ public interface CourseProgressRepository extends JpaRepository<CourseProgress,
 
     List<CourseProgress> findByStudentId(Long studentId);
 
+    List<CourseProgress> findByStudentIdInAndCourseIdIn(Collection<Long> studentIds, Collection<Long> courseIds);
+
     void deleteByCourseId(Long courseId);
+
+    @Query("SELECT cp.studentId FROM CourseProgress cp WHERE cp.courseId = :courseId AND cp.studentId IN :studentIds")
+    List<Long> findStudentIdsWithProgress(@Param("courseId") Long courseId,
+                                          @Param("studentIds") Collection<Long> studentIds);
+
+    @Query("SELECT cp.lastTopicId, cp.currentRecommendationType, cp.recommendationReason FROM CourseProgress cp "
+            + "WHERE cp.studentId = :studentId AND cp.courseId = :courseId")
+    List<Object[]> findRecommendationState(@Param("studentId") Long studentId, @Param("courseId") Long courseId);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE CourseProgress cp SET cp.currentRecommendationType = :type, cp.recommendationReason = :reason "
+            + "WHERE cp.studentId = :studentId AND cp.courseId = :courseId")
+    int updateRecommendation(@Param("studentId") Long studentId, @Param("courseId") Long courseId,
+                             @Param("type") String type, @Param("reason") String reason);
+
+    // [id, studentId, courseId, progressPercent, lastTopicId, skillScore, lastUpdated, totalTimeMinutes, courseTitle]
+    @Query("SELECT cp.id, cp.studentId, cp.courseId, cp.progressPercent, cp.lastTopicId, cp.skillScore, "
+            + "cp.lastUpdated, cp.totalTimeMinutes, c.title "
+            + "FROM CourseProgress cp LEFT JOIN Course c ON c.id = cp.courseId WHERE cp.studentId = :studentId")
+    List<Object[]> findSummaryRowsByStudentId(@Param("studentId") Long studentId);
 }
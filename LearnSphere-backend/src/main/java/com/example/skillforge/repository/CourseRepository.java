@@ -125,9 +125,11 @@ import com.example.skillforge.model.enums.DifficultyLevel;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -144,9 +146,25 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
 
     void deleteByInstructor_Id(Long instructorId);
 
+    // Atomic counter updates (see CounterService); never read-modify-write these on the entity
+    @Transactional
+    @Modifying
+    @Query("UPDATE Course c SET c.totalEnrollments = CASE WHEN c.totalEnrollments + :delta < 0 THEN 0 " +
+            "ELSE c.totalEnrollments + :delta END WHERE c.id = :courseId")
+    int adjustTotalEnrollments(@Param("courseId") Long courseId, @Param("delta") int delta);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Course c SET c.viewsCount = c.viewsCount + :delta WHERE c.id = :courseId")
+    int incrementViewsCount(@Param("courseId") Long courseId, @Param("delta") int delta);
+
     @Query("SELECT c FROM Course c WHERE c.isPublished = true")
     List<Course> findAllPublishedCourses();
 
+    // [courseId, instructorUserId, instructorName] for a page of courses
+    @Query("SELECT c.id, u.id, u.name FROM Course c JOIN c.instructor i JOIN i.user u WHERE c.id IN :courseIds")
+    List<Object[]> findInstructorUsersByCourseIds(@Param("courseIds") List<Long> courseIds);
+
     // RECOMMENDATION HELPERS
     List<Course> findByCategoryAndDifficultyLevelAndIdNot(String category, DifficultyLevel difficultyLevel, Long excludeId);
     
@@ -0,0 +1,38 @@
+package com.example.skillforge.repository;
+
+import com.example.skillforge.model.entity.CourseStatsDaily;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface CourseStatsDailyRepository extends JpaRepository<CourseStatsDaily, Long> {
+
+    // [title, enrollments, completions] within the range
+    @Query("SELECT c.title, SUM(d.enrollments), SUM(d.completions) FROM CourseStatsDaily d "
+            + "JOIN Course c ON c.id = d.courseId "
+            + "WHERE d.instructorId = :instructorId AND d.statDate BETWEEN :from AND :to "
+            + "GROUP BY d.courseId, c.title ORDER BY c.title")
+    List<Object[]> findCourseTotalsByInstructorBetween(@Param("instructorId") Long instructorId,
+            @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // [statDate, enrollments, completions, attempts], one row per active day
+    @Query("SELECT d.statDate, SUM(d.enrollments), SUM(d.completions), SUM(d.attempts) FROM CourseStatsDaily d "
+            + "WHERE d.instructorId = :instructorId AND d.statDate BETWEEN :from AND :to "
+            + "GROUP BY d.statDate ORDER BY d.statDate")
+    List<Object[]> findDailyTotalsByInstructorBetween(@Param("instructorId") Long instructorId,
+            @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // [title, enrollments within the range, ratingSum, ratingCount]
+    @Query("SELECT c.title, SUM(d.enrollments), s.ratingSum, s.ratingCount FROM CourseStatsDaily d "
+            + "JOIN Course c ON c.id = d.courseId LEFT JOIN CourseStats s ON s.courseId = d.courseId "
+            + "WHERE d.statDate BETWEEN :from AND :to "
+            + "GROUP BY d.courseId, c.title, s.ratingSum, s.ratingCount ORDER BY SUM(d.enrollments) DESC")
+    List<Object[]> findTopCoursesBetween(@Param("from") LocalDate from, @Param("to") LocalDate to,
+            Pageable pageable);
+}
@@ -0,0 +1,24 @@
+package com.example.skillforge.repository;
+
+import com.example.skillforge.model.entity.CourseStats;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CourseStatsRepository extends JpaRepository<CourseStats, Long> {
+
+    // [title, enrollments, completions, ratingSum, ratingCount]
+    @Query("SELECT c.title, s.enrollments, s.completions, s.ratingSum, s.ratingCount FROM CourseStats s "
+            + "JOIN Course c ON c.id = s.courseId WHERE s.instructorId = :instructorId ORDER BY c.title")
+    List<Object[]> findCourseTotalsByInstructor(@Param("instructorId") Long instructorId);
+
+    // [title, enrollments, ratingSum, ratingCount]
+    @Query("SELECT c.title, s.enrollments, s.ratingSum, s.ratingCount FROM CourseStats s "
+            + "JOIN Course c ON c.id = s.courseId ORDER BY s.enrollments DESC")
+    List<Object[]> findTopCourses(Pageable pageable);
+}
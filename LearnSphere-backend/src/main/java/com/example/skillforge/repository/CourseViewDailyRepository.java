@@ -0,0 +1,15 @@
+package com.example.skillforge.repository;
+
+import com.example.skillforge.model.entity.CourseViewDaily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface CourseViewDailyRepository extends JpaRepository<CourseViewDaily, Long> {
+
+    List<CourseViewDaily> findByCourseIdAndViewDateBetweenOrderByViewDateAsc(Long courseId, LocalDate from,
+            LocalDate to);
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,12 +16,33 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
 
     List<Enrollment> findByStudentId(Long studentId);
 
+    // Student enrollment list: [enrollment with its course, instructor name] in one query instead of per row
+    @Query("SELECT e, u.name FROM Enrollment e JOIN FETCH e.course c JOIN c.instructor i JOIN i.user u "
+            + "WHERE e.student.id = :studentId")
+    List<Object[]> findWithInstructorNameByStudentId(@Param("studentId") Long studentId);
+
+    // Same for one course; empty when the course is soft-deleted, so its lazy proxy is never touched
+    @Query("SELECT e, u.name FROM Enrollment e JOIN FETCH e.course c JOIN c.instructor i JOIN i.user u "
+            + "WHERE e.student.id = :studentId AND c.id = :courseId")
+    List<Object[]> findWithInstructorNameByStudentIdAndCourseId(@Param("studentId") Long studentId,
+                                                                @Param("courseId") Long courseId);
+
+    @Query("SELECT e, u.name FROM Enrollment e JOIN FETCH e.course c JOIN c.instructor i JOIN i.user u "
+            + "WHERE c.id = :courseId")
+    List<Object[]> findWithInstructorNameByCourseId(@Param("courseId") Long courseId);
+
+    List<Enrollment> findByStudentIdAndCourseIdIn(Long studentId, Collection<Long> courseIds);
+
     List<Enrollment> findByCourseId(Long courseId);
 
     List<Enrollment> findByCourseIdIn(List<Long> courseIds);
 
     Boolean existsByStudentIdAndCourseId(Long studentId, Long courseId);
 
+    @Query("SELECT e.student.id FROM Enrollment e WHERE e.course.id = :courseId AND e.student.id IN :studentIds")
+    List<Long> findEnrolledStudentIds(@Param("courseId") Long courseId,
+                                      @Param("studentIds") Collection<Long> studentIds);
+
     Long countByCourseId(Long courseId);
 
     void deleteByCourse_Id(Long courseId);
@@ -28,19 +50,13 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
 
     List<Enrollment> findByStudentIdAndIsCompletedTrue(Long studentId);
 
-    // Analytics Queries
-    @Query("SELECT COUNT(DISTINCT e.student) FROM Enrollment e WHERE e.course.instructor.id = :instructorId")
-    Long countTotalStudentsByInstructor(@Param("instructorId") Long instructorId);
-
-    @Query("SELECT e.course.title, COUNT(e) FROM Enrollment e WHERE e.course.instructor.id = :instructorId GROUP BY e.course.title")
-    List<Object[]> countStudentsPerCourse(@Param("instructorId") Long instructorId);
+    long countByStudentIdAndIsCompletedTrue(Long studentId);
 
-    @Query("SELECT e.isCompleted, COUNT(e) FROM Enrollment e WHERE e.course.instructor.id = :instructorId GROUP BY e.isCompleted")
-    List<Object[]> countCompletionStatusByInstructor(@Param("instructorId") Long instructorId);
+    // Recipient list for course announcements: [email, name] without loading Student/User entities
+    @Query("SELECT u.email, u.name FROM Enrollment e JOIN e.student s JOIN s.user u WHERE e.course.id = :courseId")
+    List<Object[]> findAttendeeContactsByCourseId(@Param("courseId") Long courseId);
 
+    // Analytics Queries
     @Query("SELECT e.course.title, e.completionPercentage FROM Enrollment e WHERE e.student.id = :studentId")
     List<Object[]> findCourseProgressByStudent(@Param("studentId") Long studentId);
-
-    @Query("SELECT e.course.title, COUNT(e) FROM Enrollment e GROUP BY e.course.title ORDER BY COUNT(e) DESC")
-    List<Object[]> findTopPerformingCourses();
 }
\ No newline at end of file
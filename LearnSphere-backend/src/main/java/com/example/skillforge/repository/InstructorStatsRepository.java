@@ -0,0 +1,9 @@
+package com.example.skillforge.repository;
+
+import com.example.skillforge.model.entity.InstructorStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface InstructorStatsRepository extends JpaRepository<InstructorStats, Long> {
+}
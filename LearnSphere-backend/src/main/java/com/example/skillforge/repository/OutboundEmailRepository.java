@@ -0,0 +1,44 @@
+package com.example.skillforge.repository;
+
+import com.example.skillforge.model.entity.OutboundEmail;
+import com.example.skillforge.model.enums.EmailStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboundEmailRepository extends JpaRepository<OutboundEmail, Long> {
+
+    @Query("SELECT e.id FROM OutboundEmail e WHERE e.status = :status AND e.nextAttemptAt <= :now ORDER BY e.id")
+    List<Long> findDueIds(@Param("status") EmailStatus status, @Param("now") LocalDateTime now, Pageable pageable);
+
+    // Claim rows atomically so two workers never send the same email
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboundEmail e SET e.status = 'SENDING', e.claimToken = :token, e.updatedAt = :now " +
+            "WHERE e.id IN :ids AND e.status = 'PENDING'")
+    int claim(@Param("ids") List<Long> ids, @Param("token") String token, @Param("now") LocalDateTime now);
+
+    List<OutboundEmail> findByClaimTokenAndStatus(String claimToken, EmailStatus status);
+
+    // Rows left in SENDING by a crashed worker go back to the queue
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboundEmail e SET e.status = 'PENDING' WHERE e.status = 'SENDING' AND e.updatedAt < :cutoff")
+    int releaseStale(@Param("cutoff") LocalDateTime cutoff);
+
+    Optional<OutboundEmail> findFirstByJobId(String jobId);
+
+    @Query("SELECT e.status, COUNT(e) FROM OutboundEmail e WHERE e.jobId = :jobId GROUP BY e.status")
+    List<Object[]> countByStatusForJob(@Param("jobId") String jobId);
+
+    Long countByStatus(EmailStatus status);
+}
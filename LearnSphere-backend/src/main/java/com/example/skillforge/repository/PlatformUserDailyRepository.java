@@ -0,0 +1,23 @@
+package com.example.skillforge.repository;
+
+import com.example.skillforge.model.entity.PlatformUserDaily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface PlatformUserDailyRepository extends JpaRepository<PlatformUserDaily, Long> {
+
+    // [role, current accounts]
+    @Query("SELECT p.role, SUM(p.joined - p.removed) FROM PlatformUserDaily p GROUP BY p.role")
+    List<Object[]> sumNetUsersByRole();
+
+    // [statDate, joined]
+    @Query("SELECT p.statDate, SUM(p.joined) FROM PlatformUserDaily p WHERE p.statDate BETWEEN :from AND :to "
+            + "GROUP BY p.statDate ORDER BY p.statDate")
+    List<Object[]> sumJoinedByDayBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +17,7 @@ public interface QuestionRepository extends JpaRepository<Question, Long> {
     List<Question> findByQuizIdOrderByOrderIndexAsc(Long quizId);
     Long countByQuizId(Long quizId);
 
-  
-
+    // [quizId, questionCount] for the quizzes of a set of attempts
+    @Query("SELECT q.quiz.id, COUNT(q) FROM Question q WHERE q.quiz.id IN :quizIds GROUP BY q.quiz.id")
+    List<Object[]> countByQuizIds(@Param("quizIds") Collection<Long> quizIds);
 }
\ No newline at end of file
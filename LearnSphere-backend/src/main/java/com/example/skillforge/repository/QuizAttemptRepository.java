@@ -1,6 +1,7 @@
 package com.example.skillforge.repository;
 
 import com.example.skillforge.model.entity.QuizAttempt;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,8 +16,8 @@ public interface QuizAttemptRepository extends JpaRepository<QuizAttempt, Long>
         * Find all quiz attempts for a student in a specific course
         */
        @Query("SELECT qa FROM QuizAttempt qa " +
-                     "JOIN qa.quiz q " +
-                     "JOIN q.topic t " +
+                     "JOIN FETCH qa.quiz q " +
+                     "JOIN FETCH q.topic t " +
                      "JOIN t.course c " +
                      "WHERE qa.studentId = :studentId AND c.id = :courseId " +
                      "ORDER BY qa.attemptTime DESC")
@@ -40,17 +41,24 @@ public interface QuizAttemptRepository extends JpaRepository<QuizAttempt, Long>
        List<QuizAttempt> findByQuizIdAndStudentId(Long quizId, Long studentId);
 
        // Analytics Queries
+       // [courseTitle, quizId, score] per attempt; the inner join to Course skips courses pending purge
+       @Query("SELECT c.title, q.id, qa.score FROM QuizAttempt qa JOIN qa.quiz q JOIN q.course c " +
+                     "WHERE qa.studentId = :studentId")
+       List<Object[]> findCourseScoresByStudentId(@Param("studentId") Long studentId);
+
        @Query("SELECT AVG(qa.score) FROM QuizAttempt qa WHERE qa.quiz.id = :quizId")
        Double findAverageScoreByQuizId(@Param("quizId") Long quizId);
 
        @Query("SELECT qa.quiz.title, AVG(qa.score) FROM QuizAttempt qa WHERE qa.quiz.course.instructor.id = :instructorId GROUP BY qa.quiz.title")
        List<Object[]> findAverageQuizScoresByInstructor(@Param("instructorId") Long instructorId);
 
-       @Query("SELECT qa.studentId, qa.quiz.id, qa.score FROM QuizAttempt qa WHERE qa.quiz.course.instructor.id = :instructorId")
-       List<Object[]> findRawScoresByInstructor(@Param("instructorId") Long instructorId);
-
        @Query("SELECT MAX(qa.score) FROM QuizAttempt qa WHERE qa.quiz.topic.id = :topicId AND qa.studentId = :studentId")
        Double findMaxScoreByTopicIdAndStudentId(@Param("topicId") Long topicId, @Param("studentId") Long studentId);
 
+       // [quizTitle, score], newest first; page size bounds the result
+       @Query("SELECT q.title, qa.score FROM QuizAttempt qa JOIN qa.quiz q " +
+                     "WHERE qa.studentId = :studentId ORDER BY qa.attemptTime DESC")
+       List<Object[]> findRecentQuizScores(@Param("studentId") Long studentId, Pageable pageable);
+
        void deleteByStudentId(Long studentId);
 }
\ No newline at end of file
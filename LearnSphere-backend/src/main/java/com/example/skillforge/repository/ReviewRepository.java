@@ -17,4 +17,9 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     Double getAverageRating(Long courseId);
 
     Long countByCourseId(Long courseId);
+
+    // [courseId, averageRating, reviewCount] for a page of courses
+    @org.springframework.data.jpa.repository.Query("SELECT r.courseId, AVG(r.rating), COUNT(r) FROM Review r "
+            + "WHERE r.courseId IN :courseIds GROUP BY r.courseId")
+    List<Object[]> findRatingStatsByCourseIds(List<Long> courseIds);
 }
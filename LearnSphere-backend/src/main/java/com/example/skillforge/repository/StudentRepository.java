@@ -2,10 +2,14 @@ package com.example.skillforge.repository;
 
 import com.example.skillforge.model.entity.*;
 import com.example.skillforge.model.enums.Role;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,4 +18,35 @@ import java.util.Optional;
 public interface StudentRepository extends JpaRepository<Student, Long> {
     Optional<Student> findByUserId(Long userId);
     Boolean existsByUserId(Long userId);
+    Optional<Student> findByUser_Email(String email);
+
+    // Student directory rows: [studentId, userId, name, email, coursesEnrolled]
+    @Query("SELECT s.id, u.id, u.name, u.email, s.coursesEnrolled FROM Student s JOIN s.user u WHERE u.deletedAt IS NULL ORDER BY u.name, s.id")
+    List<Object[]> findDirectory(Pageable pageable);
+
+    // Case-insensitive through the column collation, so the prefix match can use the name/email indexes
+    @Query("SELECT s.id, u.id, u.name, u.email, s.coursesEnrolled FROM Student s JOIN s.user u " +
+            "WHERE u.deletedAt IS NULL AND (u.name LIKE :prefix ESCAPE '\\' OR u.email LIKE :prefix ESCAPE '\\') ORDER BY u.name, s.id")
+    List<Object[]> searchDirectory(@Param("prefix") String prefix, Pageable pageable);
+
+    // Bulk enrollment: resolve a batch of emails to [email, studentId, name] in one query
+    @Query("SELECT u.email, s.id, u.name FROM Student s JOIN s.user u WHERE u.email IN :emails")
+    List<Object[]> findStudentContactsByEmailIn(@Param("emails") Collection<String> emails);
+
+    // Atomic counter updates (see CounterService); never read-modify-write these on the entity
+    @Transactional
+    @Modifying
+    @Query("UPDATE Student s SET s.coursesEnrolled = s.coursesEnrolled + 1 WHERE s.id IN :ids")
+    int incrementCoursesEnrolled(@Param("ids") Collection<Long> ids);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Student s SET s.coursesEnrolled = CASE WHEN s.coursesEnrolled + :delta < 0 THEN 0 " +
+            "ELSE s.coursesEnrolled + :delta END WHERE s.id = :studentId")
+    int adjustCoursesEnrolled(@Param("studentId") Long studentId, @Param("delta") int delta);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Student s SET s.totalPoints = s.totalPoints + :points WHERE s.id = :studentId")
+    int addTotalPoints(@Param("studentId") Long studentId, @Param("points") int points);
 }
\ No newline at end of file
@@ -30,6 +30,9 @@ public interface TopicProgressRepository extends JpaRepository<TopicProgress, Lo
     @Query("SELECT t FROM TopicProgress t WHERE t.studentId = :studentId AND t.completedAt >= :since")
     List<TopicProgress> findCompletedByStudentSince(@Param("studentId") Long studentId, @Param("since") LocalDateTime since);
 
+    @Query("SELECT t.completedAt FROM TopicProgress t WHERE t.studentId = :studentId AND t.completedAt >= :since")
+    List<LocalDateTime> findCompletionTimesByStudentSince(@Param("studentId") Long studentId, @Param("since") LocalDateTime since);
+
     void deleteByTopicId(Long topicId);
     void deleteByStudentId(Long studentId);
 }
@@ -16,6 +16,9 @@ public interface TopicRepository extends JpaRepository<Topic, Long> {
     List<Topic> findByCourseIdOrderByOrderIndexAsc(Long courseId);
     Long countByCourseId(Long courseId);
     List<Topic> findByCourse_Id(Long courseId);
-   
+
+    // [courseId, topicCount] for a page of courses
+    @Query("SELECT t.course.id, COUNT(t) FROM Topic t WHERE t.course.id IN :courseIds GROUP BY t.course.id")
+    List<Object[]> countByCourseIds(@Param("courseIds") List<Long> courseIds);
 
 }
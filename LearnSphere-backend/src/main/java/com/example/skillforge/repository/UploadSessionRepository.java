@@ -0,0 +1,17 @@
+package com.example.skillforge.repository;
+
+import com.example.skillforge.model.entity.UploadSession;
+import com.example.skillforge.model.enums.UploadStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, String> {
+
+    List<UploadSession> findByStatusAndUpdatedAtBefore(UploadStatus status, LocalDateTime cutoff);
+
+    long countByOwnerEmailAndStatus(String ownerEmail, UploadStatus status);
+}
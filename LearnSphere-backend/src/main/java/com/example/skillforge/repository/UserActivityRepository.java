@@ -17,4 +17,8 @@ public interface UserActivityRepository extends JpaRepository<UserActivity, Long
     
     @org.springframework.data.jpa.repository.Query("SELECT DISTINCT ua.date FROM UserActivity ua WHERE ua.user.id = :userId")
     List<LocalDate> findActivityDatesByUserId(Long userId);
+
+    // Most recent first; the streak walk stops at the first gap
+    @org.springframework.data.jpa.repository.Query("SELECT DISTINCT ua.date FROM UserActivity ua WHERE ua.user.id = :userId AND ua.date <= :today ORDER BY ua.date DESC")
+    List<LocalDate> findActivityDatesDesc(Long userId, LocalDate today);
 }
@@ -0,0 +1,45 @@
+package com.example.skillforge.repository;
+
+import com.example.skillforge.model.entity.UserPurgeJob;
+import com.example.skillforge.model.enums.UserPurgeStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UserPurgeJobRepository extends JpaRepository<UserPurgeJob, Long> {
+
+    Optional<UserPurgeJob> findTopByUserIdOrderByCreatedAtDesc(Long userId);
+
+    // Moves a PENDING job to RUNNING; returns 0 when another worker already took it
+    @Modifying
+    @Transactional
+    @Query("UPDATE UserPurgeJob j SET j.status = :running, j.attempts = j.attempts + 1, j.error = null, " +
+           "j.updatedAt = :now WHERE j.id = :id AND j.status = :pending")
+    int claim(@Param("id") Long id,
+              @Param("pending") UserPurgeStatus pending,
+              @Param("running") UserPurgeStatus running,
+              @Param("now") LocalDateTime now);
+
+    @Query("SELECT j.id FROM UserPurgeJob j WHERE j.status IN :statuses AND j.updatedAt < :cutoff")
+    List<Long> findIdsByStatusInAndUpdatedAtBefore(@Param("statuses") Collection<UserPurgeStatus> statuses,
+                                                   @Param("cutoff") LocalDateTime cutoff);
+
+    // Hands jobs whose worker died back to the queue; they resume at their current step
+    @Modifying
+    @Transactional
+    @Query("UPDATE UserPurgeJob j SET j.status = :pending, j.updatedAt = :now " +
+           "WHERE j.status = :running AND j.updatedAt < :cutoff")
+    int requeueStale(@Param("running") UserPurgeStatus running,
+                     @Param("pending") UserPurgeStatus pending,
+                     @Param("cutoff") LocalDateTime cutoff,
+                     @Param("now") LocalDateTime now);
+}
@@ -1,11 +1,15 @@
 package com.example.skillforge.repository;
 
+import com.example.skillforge.dto.response.UserSummaryResponse;
 import com.example.skillforge.model.entity.*;
 import com.example.skillforge.model.enums.Role;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,10 +20,33 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Boolean existsByEmail(String email);
     List<User> findByRole(Role role);
     Optional<User> findByResetToken(String resetToken);
+
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // [userId, role, name, studentId] - studentId is null for non-students
+    @Query("SELECT u.id, u.role, u.name, s.id FROM User u LEFT JOIN Student s ON s.user.id = u.id " +
+           "WHERE u.email = :email")
+    List<Object[]> findChatIdentityByEmail(@Param("email") String email);
     
+    // Admin user list: one page of projections. Prefix matches (LIKE 'abc%') can use the name/email indexes.
+    @Query(value = "SELECT new com.example.skillforge.dto.response.UserSummaryResponse(u.id, u.name, u.email, " +
+                   "u.role, u.profileImage, u.isActive, u.isBlocked, u.blockExpiry, u.isVerified, u.createdAt) " +
+                   "FROM User u WHERE u.deletedAt IS NULL AND (:role IS NULL OR u.role = :role) " +
+                   "AND (:blocked IS NULL OR u.isBlocked = :blocked) " +
+                   "AND (:prefix IS NULL OR u.name LIKE :prefix ESCAPE '\\' OR u.email LIKE :prefix ESCAPE '\\')",
+           countQuery = "SELECT COUNT(u) FROM User u WHERE u.deletedAt IS NULL AND (:role IS NULL OR u.role = :role) " +
+                   "AND (:blocked IS NULL OR u.isBlocked = :blocked) " +
+                   "AND (:prefix IS NULL OR u.name LIKE :prefix ESCAPE '\\' OR u.email LIKE :prefix ESCAPE '\\')")
+    Page<UserSummaryResponse> findUserSummaries(@Param("role") Role role,
+                                                @Param("blocked") Boolean blocked,
+                                                @Param("prefix") String prefix,
+                                                Pageable pageable);
+
+    // [userId, name, email] of users with one of the roles, by name
+    @Query("SELECT u.id, u.name, u.email FROM User u WHERE u.role IN :roles AND u.deletedAt IS NULL ORDER BY u.name, u.id")
+    List<Object[]> findContactsByRoleIn(@Param("roles") Collection<Role> roles);
+
     // Analytics
     Long countByRole(Role role);
-
-    @Query(value = "SELECT DATE_FORMAT(created_at, '%Y-%m') as month, COUNT(*) as count FROM users GROUP BY month ORDER BY month", nativeQuery = true)
-    List<Object[]> findUserGrowthByMonth();
 }
@@ -32,7 +32,7 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         return new org.springframework.security.core.userdetails.User(
                 user.getEmail(),
                 user.getPassword(),
-                user.getIsActive(), // enabled
+                Boolean.TRUE.equals(user.getIsActive()) && user.getDeletedAt() == null, // enabled
                 true, // accountNonExpired
                 true, // credentialsNonExpired
                 !user.isBlocked(), // accountNonLocked
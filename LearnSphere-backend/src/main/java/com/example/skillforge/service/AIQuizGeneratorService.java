@@ -1,8 +1,11 @@
 package com.example.skillforge.service;
 
 import com.example.skillforge.dto.request.AIQuizGenerationRequest;
+import com.example.skillforge.dto.response.AIBulkQuizResponse;
 import com.example.skillforge.dto.response.AIQuizResponse;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface AIQuizGeneratorService {
 
 //    AIQuizResponse generateQuiz(AIQuizGenerationRequest request);
@@ -11,4 +14,8 @@ public interface AIQuizGeneratorService {
     default AIQuizResponse generateQuestions(AIQuizGenerationRequest request) {
         return generateQuiz(request);
     }
+
+    // Generates one quiz per topic of the course, concurrently and within the configured rate limit;
+    // completes when every topic has succeeded or failed
+    CompletableFuture<AIBulkQuizResponse> generateForCourse(Long courseId, String difficulty, int numberOfQuestions);
 }
@@ -1,7 +1,11 @@
 package com.example.skillforge.service;
 
 import com.example.skillforge.dto.response.ProgressResponse;
-import com.example.skillforge.model.entity.CourseProgress;
+import com.example.skillforge.dto.response.TopicRecommendationResponse;
+import com.example.skillforge.event.CourseProgressChangedEvent;
+import com.example.skillforge.event.CourseTopicsChangedEvent;
+import com.example.skillforge.event.EnrollmentChangedEvent;
+import com.example.skillforge.event.QuizAttemptRecordedEvent;
 import com.example.skillforge.model.entity.Progress;
 import com.example.skillforge.model.entity.Topic;
 import com.example.skillforge.repository.CourseProgressRepository;
@@ -10,116 +14,226 @@ import com.example.skillforge.repository.TopicRepository;
 import com.example.skillforge.repository.QuizAttemptRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
 
+/**
+ * Picks the next topic of a course for a student from their last topic and best quiz score on it.
+ *
+ * All inputs are served from memory once warm:
+ * - per course, the ordered topics and a topic id -> position map (refreshed on topic changes and after a TTL)
+ * - per (student, topic), the best quiz score, raised in place when an attempt is recorded
+ * - per (student, course), the last topic and the recommendation last persisted, dropped on progress changes
+ * Score and progress entries also expire after a TTL. Events bump a version stripe of their key, and a
+ * value loaded while its stripe changed is not kept, so a load racing an event cannot pin a stale value.
+ * The recommendation fields of CourseProgress are only written when the decision actually changes,
+ * so repeated calls are read-only.
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AdaptiveLearningService {
 
+    private static final double NO_SCORE = -1d;
+    private static final int VERSION_STRIPES = 1024;
+
     private final CourseProgressRepository courseProgressRepository;
     private final TopicRepository topicRepository;
     private final ProgressRepository progressRepository;
     private final QuizAttemptRepository quizAttemptRepository;
 
-    public com.example.skillforge.dto.response.TopicRecommendationResponse recommendNextTopic(Long studentId, Long courseId) {
+    private final ConcurrentHashMap<Long, CourseTopics> topicsByCourse = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Pair, BestScore> bestScores = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Pair, ProgressState> progressStates = new ConcurrentHashMap<>();
+    private final AtomicLongArray scoreVersions = new AtomicLongArray(VERSION_STRIPES);
+    private final AtomicLongArray progressVersions = new AtomicLongArray(VERSION_STRIPES);
 
-        // Load all topics for this course
-        List<Topic> topics = topicRepository.findByCourseIdOrderByOrderIndexAsc(courseId);
-        if (topics.isEmpty()) return null;
+    @Value("${adaptive.topics-ttl-ms:600000}")
+    private long topicsTtlMs;
 
-        // Load course progress
-        Optional<CourseProgress> cpOpt =
-                courseProgressRepository.findByStudentIdAndCourseId(studentId, courseId);
+    @Value("${adaptive.state-ttl-ms:300000}")
+    private long stateTtlMs;
 
-        // No progress → start with first topic
-        if (cpOpt.isEmpty()) {
-            System.out.println("DEBUG: AdaptiveLearning: CourseProgress NOT FOUND for Student " + studentId + ", Course " + courseId);
-            return mapToResponse(topics.get(0), "NEXT_TOPIC", "Start your journey here!");
-        }
+    @Value("${adaptive.max-entries:100000}")
+    private int maxEntries;
 
-        CourseProgress cp = cpOpt.get();
-        Long lastTopicId = cp.getLastTopicId();
+    public TopicRecommendationResponse recommendNextTopic(Long studentId, Long courseId) {
 
-        // If last topic is null → start with first topic
-        if (lastTopicId == null) {
-            System.out.println("DEBUG: AdaptiveLearning: lastTopicId is NULL for Student " + studentId + ", Course " + courseId);
-            return mapToResponse(topics.get(0), "NEXT_TOPIC", "Start your journey here!");
-        }
+        CourseTopics topics = getTopics(courseId);
+        if (topics.topics().isEmpty()) return null;
 
-        // Find index
-        int index = -1;
-        for (int i = 0; i < topics.size(); i++) {
-            if (topics.get(i).getId().equals(lastTopicId)) {
-                index = i;
-                break;
-            }
+        ProgressState state = getProgressState(studentId, courseId);
+
+        // No progress, or no topic visited yet → start with first topic
+        if (!state.exists() || state.lastTopicId() == null) {
+            log.debug("AdaptiveLearning: no last topic for student {}, course {}", studentId, courseId);
+            return topics.topics().get(0).toResponse("NEXT_TOPIC", "Start your journey here!");
         }
-        
-        // Fallback if topic not found
-        if (index == -1) index = 0;
+
+        Long lastTopicId = state.lastTopicId();
+        // Fallback to the first topic if the last one is no longer part of the course
+        int index = topics.positions().getOrDefault(lastTopicId, 0);
 
         // ADAPTIVE LOGIC: Check Quiz Score for the last topic
-        Double lastQuizScore = getLastQuizScore(studentId, lastTopicId);
-        
-        System.out.println("DEBUG: AdaptiveLearning: lastTopicId=" + lastTopicId);
-        System.out.println("DEBUG: AdaptiveLearning: lastQuizScore=" + lastQuizScore);
-        System.out.println("DEBUG: AdaptiveLearning: index=" + index);
-        
-        Topic nextTopic = null;
-        String recType = "NEXT_TOPIC";
-        String recReason = "Keep moving forward!";
+        Double lastQuizScore = getBestScore(studentId, lastTopicId);
+        log.debug("AdaptiveLearning: lastTopicId={}, lastQuizScore={}, index={}", lastTopicId, lastQuizScore, index);
+
+        int next;
+        String recType;
+        String recReason;
 
         // 1. REVISION (< 30%): Stay on same topic
         if (lastQuizScore != null && lastQuizScore < 30.0) {
             recType = "REVISION";
             recReason = "Review logic: Your last quiz score was below 30%. Let's solidify the basics.";
-            nextTopic = topics.get(index);
+            next = index;
         }
         // 2. PRACTICE (30-70%): Suggest Practice or Next (for now, simply move next with warning, or stay)
-        else if (lastQuizScore != null && lastQuizScore >= 30.0 && lastQuizScore < 70.0) {
-             recType = "PRACTICE";
-             recReason = "Good start! Correct answers show potential. Try some practice exercises before the main exam.";
-             nextTopic = topics.get(Math.min(index + 1, topics.size() - 1));
+        else if (lastQuizScore != null && lastQuizScore < 70.0) {
+            recType = "PRACTICE";
+            recReason = "Good start! Correct answers show potential. Try some practice exercises before the main exam.";
+            next = Math.min(index + 1, topics.topics().size() - 1);
         }
         // 3. MASTERY (> 70%) or No Quiz yet: Move Forward
         else {
             recType = "NEXT_TOPIC";
             recReason = "Mastery achieved! Moving to the next concept.";
             // If index is last one, we are done
-            if (index >= topics.size() - 1) {
-                 return null; // Course Completed
+            if (index >= topics.topics().size() - 1) {
+                return null; // Course Completed
             }
-            nextTopic = topics.get(index + 1);
+            next = index + 1;
         }
 
-        // Save progress details
-        cp.setCurrentRecommendationType(recType);
-        cp.setRecommendationReason(recReason);
-        courseProgressRepository.save(cp);
-        
-        return mapToResponse(nextTopic, recType, recReason);
-    }
-    
-    private com.example.skillforge.dto.response.TopicRecommendationResponse mapToResponse(Topic topic, String type, String reason) {
-        return com.example.skillforge.dto.response.TopicRecommendationResponse.builder()
-                .id(topic.getId())
-                .name(topic.getName())
-                .description(topic.getDescription())
-                .level(topic.getLevel() != null ? topic.getLevel().name() : "BEGINNER")
-                .duration(15) // Default duration as not present in entity
-                .recommendationType(type)
-                .recommendationReason(reason)
-                .build();
+        saveRecommendationIfChanged(studentId, courseId, state, recType, recReason);
+
+        return topics.topics().get(next).toResponse(recType, recReason);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuizAttemptRecorded(QuizAttemptRecordedEvent event) {
+        if (event.getTopicId() == null || event.getScore() == null) {
+            return;
+        }
+        Pair key = new Pair(event.getStudentId(), event.getTopicId());
+        // Bump first: a load in flight either sees the bump or put its entry before it, which is then raised
+        scoreVersions.incrementAndGet(stripe(key));
+        // Only raise known entries; unknown ones are loaded (including this attempt) on first read
+        bestScores.computeIfPresent(key,
+                (k, best) -> new BestScore(Math.max(best.score(), event.getScore()), best.expiresAt()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseProgressChanged(CourseProgressChangedEvent event) {
+        evictProgress(new Pair(event.getStudentId(), event.getCourseId()));
     }
-    
 
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        for (Long studentId : event.getStudentIds()) {
+            evictProgress(new Pair(studentId, event.getCourseId()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseTopicsChanged(CourseTopicsChangedEvent event) {
+        topicsByCourse.remove(event.getCourseId());
+    }
+
+    private void evictProgress(Pair key) {
+        progressVersions.incrementAndGet(stripe(key));
+        progressStates.remove(key);
+    }
+
+    private CourseTopics getTopics(Long courseId) {
+        long now = System.currentTimeMillis();
+        CourseTopics cached = topicsByCourse.get(courseId);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached;
+        }
+
+        List<TopicInfo> topics = topicRepository.findByCourseIdOrderByOrderIndexAsc(courseId).stream()
+                .map(TopicInfo::of)
+                .toList();
+        Map<Long, Integer> positions = new HashMap<>();
+        for (int i = 0; i < topics.size(); i++) {
+            positions.putIfAbsent(topics.get(i).id(), i);
+        }
+        CourseTopics loaded = new CourseTopics(topics, Map.copyOf(positions), now + topicsTtlMs);
+        putBounded(topicsByCourse, courseId, loaded);
+        return loaded;
+    }
+
+    private ProgressState getProgressState(Long studentId, Long courseId) {
+        Pair key = new Pair(studentId, courseId);
+        long now = System.currentTimeMillis();
+        ProgressState cached = progressStates.get(key);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached;
+        }
 
-    private Double getLastQuizScore(Long studentId, Long topicId) {
-        if (topicId == null) return null;
-        return quizAttemptRepository.findMaxScoreByTopicIdAndStudentId(topicId, studentId);
+        long version = progressVersions.get(stripe(key));
+        List<Object[]> rows = courseProgressRepository.findRecommendationState(studentId, courseId);
+        ProgressState state = rows.isEmpty()
+                ? new ProgressState(false, null, null, null, now + stateTtlMs)
+                : new ProgressState(true, (Long) rows.get(0)[0], (String) rows.get(0)[1], (String) rows.get(0)[2],
+                        now + stateTtlMs);
+        putIfUnchanged(progressStates, progressVersions, key, version, state);
+        return state;
+    }
+
+    private Double getBestScore(Long studentId, Long topicId) {
+        Pair key = new Pair(studentId, topicId);
+        long now = System.currentTimeMillis();
+        BestScore cached = bestScores.get(key);
+        if (cached == null || cached.expiresAt() <= now) {
+            long version = scoreVersions.get(stripe(key));
+            Double max = quizAttemptRepository.findMaxScoreByTopicIdAndStudentId(topicId, studentId);
+            cached = new BestScore(max != null ? max : NO_SCORE, now + stateTtlMs);
+            putIfUnchanged(bestScores, scoreVersions, key, version, cached);
+        }
+        return cached.score() == NO_SCORE ? null : cached.score();
+    }
+
+    private void saveRecommendationIfChanged(Long studentId, Long courseId, ProgressState state,
+                                             String type, String reason) {
+        if (Objects.equals(state.type(), type) && Objects.equals(state.reason(), reason)) {
+            return;
+        }
+        courseProgressRepository.updateRecommendation(studentId, courseId, type, reason);
+        // Only if nothing evicted it meanwhile; otherwise the next read reloads it
+        progressStates.replace(new Pair(studentId, courseId), state,
+                new ProgressState(true, state.lastTopicId(), type, reason, state.expiresAt()));
+    }
+
+    // Keeps a loaded value only if no event touched its stripe since the load began. Checked after the put,
+    // so an event either finds the entry (and updates or evicts it) or is seen here.
+    private <V> void putIfUnchanged(ConcurrentHashMap<Pair, V> cache, AtomicLongArray versions, Pair key,
+                                    long version, V value) {
+        putBounded(cache, key, value);
+        if (versions.get(stripe(key)) != version) {
+            cache.remove(key, value);
+        }
+    }
+
+    private static int stripe(Pair key) {
+        return key.hashCode() & (VERSION_STRIPES - 1);
+    }
+
+    private <K, V> void putBounded(ConcurrentHashMap<K, V> cache, K key, V value) {
+        if (cache.size() >= maxEntries) {
+            cache.clear();
+        }
+        cache.put(key, value);
     }
 
     @Transactional
@@ -136,4 +250,36 @@ public class AdaptiveLearningService {
                 .lastAccessed(saved.getLastAccessed())
                 .build();
     }
+
+    private record Pair(Long first, Long second) {
+    }
+
+    private record ProgressState(boolean exists, Long lastTopicId, String type, String reason, long expiresAt) {
+    }
+
+    private record BestScore(double score, long expiresAt) {
+    }
+
+    private record CourseTopics(List<TopicInfo> topics, Map<Long, Integer> positions, long expiresAt) {
+    }
+
+    private record TopicInfo(Long id, String name, String description, String level) {
+
+        static TopicInfo of(Topic topic) {
+            return new TopicInfo(topic.getId(), topic.getName(), topic.getDescription(),
+                    topic.getLevel() != null ? topic.getLevel().name() : "BEGINNER");
+        }
+
+        TopicRecommendationResponse toResponse(String type, String reason) {
+            return TopicRecommendationResponse.builder()
+                    .id(id)
+                    .name(name)
+                    .description(description)
+                    .level(level)
+                    .duration(15) // Default duration as not present in entity
+                    .recommendationType(type)
+                    .recommendationReason(reason)
+                    .build();
+        }
+    }
 }
@@ -0,0 +1,322 @@
+package com.example.skillforge.service;
+
+import com.example.skillforge.dto.request.AIQuizGenerationRequest;
+import com.example.skillforge.dto.response.AIQuizResponse;
+import com.example.skillforge.dto.response.AiQuizJobResponse;
+import com.example.skillforge.exception.ResourceNotFoundException;
+import com.example.skillforge.model.entity.AiQuizJob;
+import com.example.skillforge.model.entity.Quiz;
+import com.example.skillforge.model.enums.AiQuizJobStatus;
+import com.example.skillforge.repository.AiQuizJobRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs AI quiz generation (and the optional createQuizFromAI save) as background jobs.
+ *
+ * Jobs are persisted, so clients can poll or subscribe to progress events and a job survives
+ * retries and restarts:
+ * - a job is claimed with an atomic UPDATE before it runs, so it never runs twice at once
+ * - generated questions are stored before saving, so retrying a failed save skips the model call
+ * - the quiz and the job's quizId are written in one transaction, so a job never saves two quizzes
+ * - jobs left running by a dead worker are re-queued by a scheduled sweep
+ */
+@Slf4j
+@Service
+public class AiQuizJobService {
+
+    private static final Set<AiQuizJobStatus> RUNNING = EnumSet.of(AiQuizJobStatus.GENERATING, AiQuizJobStatus.SAVING);
+
+    private final AiQuizJobRepository jobRepository;
+    private final AIQuizGeneratorService aiQuizGeneratorService;
+    private final QuizService quizService;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolTaskExecutor aiExecutor;
+    private final TransactionTemplate tx;
+
+    private final ConcurrentHashMap<String, CopyOnWriteArrayList<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    @Value("${ai.quiz.jobs.stale-minutes:10}")
+    private long staleMinutes;
+
+    @Value("${ai.quiz.jobs.sse-timeout-ms:600000}")
+    private long sseTimeoutMs;
+
+    public AiQuizJobService(AiQuizJobRepository jobRepository,
+            AIQuizGeneratorService aiQuizGeneratorService,
+            QuizService quizService,
+            ObjectMapper objectMapper,
+            @Qualifier("aiExecutor") ThreadPoolTaskExecutor aiExecutor,
+            PlatformTransactionManager transactionManager) {
+        this.jobRepository = jobRepository;
+        this.aiQuizGeneratorService = aiQuizGeneratorService;
+        this.quizService = quizService;
+        this.objectMapper = objectMapper;
+        this.aiExecutor = aiExecutor;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Queues a job and returns immediately. With an idempotency key, a repeated submission
+     * returns the job created by the first one.
+     */
+    public AiQuizJobResponse submit(AIQuizGenerationRequest request, boolean saveQuiz, String title,
+            Integer duration, String idempotencyKey) {
+
+        if (saveQuiz && (request.getCourseId() == null || request.getTopicId() == null)) {
+            throw new IllegalArgumentException("courseId and topicId are required to save the generated quiz");
+        }
+
+        if (idempotencyKey != null && !idempotencyKey.isBlank()) {
+            AiQuizJob existing = jobRepository.findByIdempotencyKey(idempotencyKey).orElse(null);
+            if (existing != null) {
+                return toResponse(existing);
+            }
+        }
+
+        AiQuizJob job = new AiQuizJob();
+        job.setId(UUID.randomUUID().toString());
+        job.setIdempotencyKey(idempotencyKey != null && !idempotencyKey.isBlank() ? idempotencyKey : null);
+        job.setCourseId(request.getCourseId());
+        job.setTopicId(request.getTopicId());
+        job.setTopicName(request.getTopicName());
+        job.setDifficulty(request.getDifficulty());
+        job.setNumberOfQuestions(request.getNumberOfQuestions());
+        job.setSaveQuiz(saveQuiz);
+        job.setTitle(title);
+        job.setDuration(duration);
+
+        try {
+            job = jobRepository.save(job);
+        } catch (DataIntegrityViolationException e) {
+            // Concurrent submission with the same key won the insert
+            return toResponse(jobRepository.findByIdempotencyKey(idempotencyKey)
+                    .orElseThrow(() -> e));
+        }
+
+        dispatch(job.getId());
+        return toResponse(job);
+    }
+
+    public AiQuizJobResponse getJob(String jobId) {
+        return toResponse(findJob(jobId));
+    }
+
+    /**
+     * Re-queues a failed job. Generation is skipped if its questions were already produced.
+     */
+    public AiQuizJobResponse retry(String jobId) {
+        AiQuizJob job = findJob(jobId);
+        if (job.getStatus() != AiQuizJobStatus.FAILED) {
+            throw new IllegalStateException("Only failed jobs can be retried (job is " + job.getStatus() + ")");
+        }
+        job.setStatus(AiQuizJobStatus.QUEUED);
+        job.setError(null);
+        job = jobRepository.save(job);
+        publish(job);
+
+        dispatch(job.getId());
+        return toResponse(job);
+    }
+
+    /**
+     * Streams "progress" events for the job; the stream completes when the job does.
+     */
+    public SseEmitter subscribe(String jobId) {
+        AiQuizJob job = findJob(jobId);
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+
+        CopyOnWriteArrayList<SseEmitter> list = subscribers.computeIfAbsent(jobId, id -> new CopyOnWriteArrayList<>());
+        list.add(emitter);
+        Runnable remove = () -> list.remove(emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+
+        // Current state first, so late subscribers never miss a finished job. Re-read after registering:
+        // a job finishing in between published its last event before this emitter was in the list.
+        job = findJob(jobId);
+        send(emitter, job);
+        if (isTerminal(job)) {
+            subscribers.computeIfPresent(jobId, (id, emitters) -> emitters.isEmpty() ? null : emitters);
+        }
+        return emitter;
+    }
+
+    /**
+     * Re-queues jobs whose worker has gone silent and re-dispatches queued jobs that never started
+     * (e.g. the executor queue was full or the process restarted).
+     */
+    @Scheduled(fixedDelayString = "${ai.quiz.jobs.sweep-interval-ms:60000}")
+    public void sweep() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(staleMinutes);
+        int requeued = jobRepository.requeueStale(RUNNING, AiQuizJobStatus.QUEUED, cutoff, LocalDateTime.now());
+        if (requeued > 0) {
+            log.warn("Re-queued {} stale AI quiz job(s)", requeued);
+        }
+
+        List<String> waiting = jobRepository.findIdsByStatusInAndUpdatedAtBefore(
+                EnumSet.of(AiQuizJobStatus.QUEUED), LocalDateTime.now().minusMinutes(1));
+        waiting.forEach(this::dispatch);
+    }
+
+    private void dispatch(String jobId) {
+        try {
+            aiExecutor.execute(() -> run(jobId));
+        } catch (RejectedExecutionException e) {
+            // Stays QUEUED; the sweep picks it up once the executor has room
+            log.warn("AI executor saturated, job {} will be dispatched by the next sweep", jobId);
+        }
+    }
+
+    private void run(String jobId) {
+        if (jobRepository.claim(jobId, AiQuizJobStatus.QUEUED, AiQuizJobStatus.GENERATING, LocalDateTime.now()) == 0) {
+            return; // Already taken by another worker, or no longer queued
+        }
+        AiQuizJob job = findJob(jobId);
+
+        try {
+            AIQuizResponse generated;
+            if (job.getResultJson() != null) {
+                generated = objectMapper.readValue(job.getResultJson(), AIQuizResponse.class);
+            } else {
+                job.setProgress(10);
+                job = save(job);
+
+                generated = aiQuizGeneratorService.generateQuiz(toRequest(job));
+                job.setResultJson(objectMapper.writeValueAsString(generated));
+            }
+
+            if (Boolean.TRUE.equals(job.getSaveQuiz()) && job.getQuizId() == null) {
+                job.setStatus(AiQuizJobStatus.SAVING);
+                job.setProgress(70);
+                job = save(job);
+
+                saveQuiz(job, generated);
+                // The quiz id was written by the save transaction; reload so the next save keeps it
+                job = findJob(jobId);
+            }
+
+            job.setStatus(AiQuizJobStatus.COMPLETED);
+            job.setProgress(100);
+            save(job);
+
+        } catch (Exception e) {
+            log.error("AI quiz job {} failed (attempt {})", jobId, job.getAttempts(), e);
+            job.setStatus(AiQuizJobStatus.FAILED);
+            String message = e instanceof JsonProcessingException ? "Invalid stored result" : e.getMessage();
+            job.setError(message != null && message.length() > 1000 ? message.substring(0, 1000) : message);
+            save(job);
+        }
+    }
+
+    /**
+     * Creates the quiz and records its id on the job in one transaction, so a crash or failure in
+     * between leaves neither behind and a retry or the stale sweep cannot create a second quiz.
+     */
+    private void saveQuiz(AiQuizJob job, AIQuizResponse generated) {
+        tx.executeWithoutResult(status -> {
+            Quiz created = quizService.createQuizFromAI(job.getCourseId(), job.getTopicId(), generated);
+            created.setTitle(job.getTitle() != null ? job.getTitle() : "AI Generated Quiz");
+            if (job.getDuration() != null) {
+                created.setDuration(job.getDuration());
+            }
+            quizService.save(created);
+            if (jobRepository.attachQuiz(job.getId(), created.getId(), LocalDateTime.now()) == 0) {
+                // Another run of this job saved its quiz first
+                status.setRollbackOnly();
+            }
+        });
+    }
+
+    private AiQuizJob save(AiQuizJob job) {
+        AiQuizJob saved = jobRepository.save(job);
+        publish(saved);
+        return saved;
+    }
+
+    private void publish(AiQuizJob job) {
+        List<SseEmitter> list = subscribers.get(job.getId());
+        if (list == null) {
+            return;
+        }
+        for (SseEmitter emitter : list) {
+            send(emitter, job);
+        }
+        if (isTerminal(job)) {
+            subscribers.remove(job.getId());
+        }
+    }
+
+    private void send(SseEmitter emitter, AiQuizJob job) {
+        try {
+            emitter.send(SseEmitter.event().name("progress").data(toResponse(job)));
+            if (isTerminal(job)) {
+                emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    private boolean isTerminal(AiQuizJob job) {
+        return job.getStatus() == AiQuizJobStatus.COMPLETED || job.getStatus() == AiQuizJobStatus.FAILED;
+    }
+
+    private AiQuizJob findJob(String jobId) {
+        return jobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Job not found"));
+    }
+
+    private AIQuizGenerationRequest toRequest(AiQuizJob job) {
+        AIQuizGenerationRequest request = new AIQuizGenerationRequest();
+        request.setCourseId(job.getCourseId());
+        request.setTopicId(job.getTopicId());
+        request.setTopicName(job.getTopicName());
+        request.setDifficulty(job.getDifficulty());
+        request.setNumberOfQuestions(job.getNumberOfQuestions() != null ? job.getNumberOfQuestions() : 0);
+        return request;
+    }
+
+    private AiQuizJobResponse toResponse(AiQuizJob job) {
+        AIQuizResponse quiz = null;
+        if (job.getResultJson() != null) {
+            try {
+                quiz = objectMapper.readValue(job.getResultJson(), AIQuizResponse.class);
+            } catch (JsonProcessingException e) {
+                log.warn("Stored result of job {} is not valid JSON", job.getId());
+            }
+        }
+        return AiQuizJobResponse.builder()
+                .jobId(job.getId())
+                .status(job.getStatus())
+                .progress(job.getProgress())
+                .quiz(quiz)
+                .quizId(job.getQuizId())
+                .error(job.getError())
+                .attempts(job.getAttempts())
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,481 @@
+package com.example.skillforge.service;
+
+import com.example.skillforge.event.CertificateIssuedEvent;
+import com.example.skillforge.event.CourseProgressChangedEvent;
+import com.example.skillforge.event.CourseReviewChangedEvent;
+import com.example.skillforge.event.EnrollmentChangedEvent;
+import com.example.skillforge.event.QuizAttemptRecordedEvent;
+import com.example.skillforge.event.UserPurgedEvent;
+import com.example.skillforge.event.UserRegisteredEvent;
+import com.example.skillforge.model.enums.Role;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Write side of the analytics read model: course_stats, course_stats_daily, instructor_stats,
+ * instructor_student_stats and platform_user_daily.
+ *
+ * Quiz attempts and account changes are applied as increments when their events arrive. Enrollment,
+ * completion and review events only mark the course (and the enrolled students) dirty; a scheduled
+ * flush recounts each dirty course once from its indexed rows and books the difference on today's
+ * daily row, so a burst of progress updates costs a single recount. The tables are rebuilt from the
+ * source data when course_stats (or platform_user_daily) is found empty at startup and corrected every
+ * night by {@link #reconcile()}.
+ */
+@Slf4j
+@Service
+public class AnalyticsProjectionService {
+
+    private static final String QUIZ_OWNER = "SELECT c.id, c.instructor_id FROM quizzes q "
+            + "JOIN courses c ON c.id = q.course_id WHERE q.id = ?";
+
+    private static final String COURSE_COUNTS = "SELECT "
+            + "(SELECT COUNT(*) FROM enrollments WHERE course_id = ?), "
+            + "(SELECT COUNT(*) FROM enrollments WHERE course_id = ? AND is_completed = true), "
+            + "(SELECT COALESCE(SUM(rating), 0) FROM reviews WHERE course_id = ?), "
+            + "(SELECT COUNT(*) FROM reviews WHERE course_id = ?)";
+
+    private static final String UPSERT_COURSE = "INSERT INTO course_stats "
+            + "(course_id, instructor_id, enrollments, completions, rating_sum, rating_count, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE instructor_id = VALUES(instructor_id), "
+            + "enrollments = VALUES(enrollments), completions = VALUES(completions), "
+            + "rating_sum = VALUES(rating_sum), rating_count = VALUES(rating_count), updated_at = VALUES(updated_at)";
+
+    private static final String ADD_COURSE_DAILY = "INSERT INTO course_stats_daily "
+            + "(course_id, stat_date, instructor_id, enrollments, completions, attempts) VALUES (?, ?, ?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE enrollments = enrollments + VALUES(enrollments), "
+            + "completions = completions + VALUES(completions), attempts = attempts + VALUES(attempts)";
+
+    private static final String STUDENT_ENROLLMENTS = "SELECT COUNT(*) FROM enrollments e "
+            + "JOIN courses c ON c.id = e.course_id WHERE e.student_id = ? AND c.instructor_id = ?";
+
+    private static final String ADD_INSTRUCTOR = "INSERT INTO instructor_stats "
+            + "(instructor_id, students, score_0_20, score_20_40, score_40_60, score_60_80, score_80_100) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE students = students + VALUES(students), "
+            + "score_0_20 = score_0_20 + VALUES(score_0_20), score_20_40 = score_20_40 + VALUES(score_20_40), "
+            + "score_40_60 = score_40_60 + VALUES(score_40_60), score_60_80 = score_60_80 + VALUES(score_60_80), "
+            + "score_80_100 = score_80_100 + VALUES(score_80_100)";
+
+    private static final String ADD_PLATFORM_USERS = "INSERT INTO platform_user_daily (stat_date, role, joined, removed) "
+            + "VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE joined = joined + VALUES(joined), "
+            + "removed = removed + VALUES(removed)";
+
+    private static final List<String> COURSE_BACKFILL = List.of(
+            "DELETE FROM course_stats",
+            "DELETE FROM course_stats_daily",
+            "DELETE FROM instructor_student_stats",
+            "DELETE FROM instructor_stats",
+            "INSERT INTO course_stats (course_id, instructor_id, enrollments, completions, rating_sum, rating_count, updated_at) "
+                    + "SELECT c.id, c.instructor_id, "
+                    + "(SELECT COUNT(*) FROM enrollments e WHERE e.course_id = c.id), "
+                    + "(SELECT COUNT(*) FROM enrollments e WHERE e.course_id = c.id AND e.is_completed = true), "
+                    + "(SELECT COALESCE(SUM(r.rating), 0) FROM reviews r WHERE r.course_id = c.id), "
+                    + "(SELECT COUNT(*) FROM reviews r WHERE r.course_id = c.id), NOW() FROM courses c",
+            "INSERT INTO course_stats_daily (course_id, stat_date, instructor_id, enrollments, completions, attempts) "
+                    + "SELECT e.course_id, COALESCE(DATE(e.enrolled_at), CURDATE()), c.instructor_id, COUNT(*), 0, 0 "
+                    + "FROM enrollments e JOIN courses c ON c.id = e.course_id "
+                    + "GROUP BY e.course_id, COALESCE(DATE(e.enrolled_at), CURDATE()), c.instructor_id",
+            "INSERT INTO course_stats_daily (course_id, stat_date, instructor_id, enrollments, completions, attempts) "
+                    + "SELECT e.course_id, COALESCE(DATE(e.completed_at), CURDATE()), c.instructor_id, 0, COUNT(*), 0 "
+                    + "FROM enrollments e JOIN courses c ON c.id = e.course_id WHERE e.is_completed = true "
+                    + "GROUP BY e.course_id, COALESCE(DATE(e.completed_at), CURDATE()), c.instructor_id "
+                    + "ON DUPLICATE KEY UPDATE completions = completions + VALUES(completions)",
+            "INSERT INTO course_stats_daily (course_id, stat_date, instructor_id, enrollments, completions, attempts) "
+                    + "SELECT q.course_id, COALESCE(DATE(qa.attempt_time), CURDATE()), c.instructor_id, 0, 0, COUNT(*) "
+                    + "FROM quiz_attempts qa JOIN quizzes q ON q.id = qa.quiz_id JOIN courses c ON c.id = q.course_id "
+                    + "GROUP BY q.course_id, COALESCE(DATE(qa.attempt_time), CURDATE()), c.instructor_id "
+                    + "ON DUPLICATE KEY UPDATE attempts = attempts + VALUES(attempts)",
+            "INSERT INTO instructor_student_stats (instructor_id, student_id, enrollments) "
+                    + "SELECT c.instructor_id, e.student_id, COUNT(*) FROM enrollments e "
+                    + "JOIN courses c ON c.id = e.course_id WHERE c.instructor_id IS NOT NULL "
+                    + "GROUP BY c.instructor_id, e.student_id",
+            "INSERT INTO instructor_student_stats (instructor_id, student_id, enrollments, peak_score) "
+                    + "SELECT c.instructor_id, qa.student_id, 0, MAX(COALESCE(qa.score, 0)) FROM quiz_attempts qa "
+                    + "JOIN quizzes q ON q.id = qa.quiz_id JOIN courses c ON c.id = q.course_id "
+                    + "WHERE c.instructor_id IS NOT NULL AND qa.student_id IS NOT NULL "
+                    + "GROUP BY c.instructor_id, qa.student_id "
+                    + "ON DUPLICATE KEY UPDATE peak_score = VALUES(peak_score)",
+            "INSERT INTO instructor_stats "
+                    + "(instructor_id, students, score_0_20, score_20_40, score_40_60, score_60_80, score_80_100) "
+                    + "SELECT instructor_id, COALESCE(SUM(enrollments > 0), 0), "
+                    + "COALESCE(SUM(peak_score < 20), 0), "
+                    + "COALESCE(SUM(peak_score >= 20 AND peak_score < 40), 0), "
+                    + "COALESCE(SUM(peak_score >= 40 AND peak_score < 60), 0), "
+                    + "COALESCE(SUM(peak_score >= 60 AND peak_score < 80), 0), "
+                    + "COALESCE(SUM(peak_score >= 80), 0) "
+                    + "FROM instructor_student_stats GROUP BY instructor_id");
+
+    private static final List<String> PLATFORM_BACKFILL = List.of(
+            "INSERT INTO platform_user_daily (stat_date, role, joined, removed) "
+                    + "SELECT DATE(created_at), role, COUNT(*), 0 FROM users GROUP BY DATE(created_at), role");
+
+    // A day never shows fewer joins than the accounts still in users that were created on it
+    private static final String RAISE_PLATFORM_JOINS = "INSERT INTO platform_user_daily (stat_date, role, joined, removed) "
+            + "SELECT DATE(created_at), role, COUNT(*), 0 FROM users GROUP BY DATE(created_at), role "
+            + "ON DUPLICATE KEY UPDATE joined = GREATEST(joined, VALUES(joined))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate tx;
+
+    private final Set<Long> dirtyCourses = ConcurrentHashMap.newKeySet();
+    private final Set<CourseStudent> dirtyEnrollments = ConcurrentHashMap.newKeySet();
+
+    // Dirty entries are kept, not flushed, until a rebuild (startup or reconcile) has finished
+    private volatile boolean ready;
+
+    // Account bookings share it, reconcile takes it exclusively while it recounts users and books the difference
+    private final ReentrantReadWriteLock platformUsersLock = new ReentrantReadWriteLock();
+
+    public AnalyticsProjectionService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            if (isEmpty("course_stats")) {
+                long start = System.currentTimeMillis();
+                tx.executeWithoutResult(status -> COURSE_BACKFILL.forEach(jdbcTemplate::update));
+                log.info("Rebuilt course and instructor analytics in {} ms", System.currentTimeMillis() - start);
+            }
+            if (isEmpty("platform_user_daily")) {
+                tx.executeWithoutResult(status -> PLATFORM_BACKFILL.forEach(jdbcTemplate::update));
+                log.info("Rebuilt platform user analytics");
+            }
+        } catch (Exception e) {
+            log.error("Analytics rebuild failed, dashboards may be incomplete", e);
+        } finally {
+            ready = true;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        dirtyCourses.add(event.getCourseId());
+        for (Long studentId : event.getStudentIds()) {
+            dirtyEnrollments.add(new CourseStudent(event.getCourseId(), studentId));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProgressChanged(CourseProgressChangedEvent event) {
+        dirtyCourses.add(event.getCourseId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCertificateIssued(CertificateIssuedEvent event) {
+        dirtyCourses.add(event.getCourseId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewChanged(CourseReviewChangedEvent event) {
+        dirtyCourses.add(event.getCourseId());
+    }
+
+    @Async("analyticsExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuizAttemptRecorded(QuizAttemptRecordedEvent event) {
+        List<Long[]> owner = jdbcTemplate.query(QUIZ_OWNER,
+                (rs, i) -> new Long[] { rs.getLong(1), rs.getObject(2, Long.class) }, event.getQuizId());
+        if (owner.isEmpty()) {
+            return;
+        }
+        Long courseId = owner.get(0)[0];
+        Long instructorId = owner.get(0)[1];
+        double score = event.getScore() != null ? event.getScore() : 0d;
+
+        tx.executeWithoutResult(status -> {
+            jdbcTemplate.update(ADD_COURSE_DAILY, courseId, Date.valueOf(LocalDate.now()), instructorId, 0, 0, 1);
+            if (instructorId != null && event.getStudentId() != null) {
+                raisePeakScore(instructorId, event.getStudentId(), score);
+            }
+        });
+    }
+
+    /**
+     * Booked right after the commit, not on the analytics executor: an account already in users but still
+     * queued here would be counted twice when reconcile runs in between.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserRegistered(UserRegisteredEvent event) {
+        addPlatformUsers(event.getRole(), 1, 0);
+    }
+
+    // Booked on the purging thread for the same reason as registrations
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserRemoved(UserPurgedEvent event) {
+        Role role = event.getStudentId() != null ? Role.STUDENT
+                : event.getInstructorId() != null ? Role.INSTRUCTOR : Role.ADMIN;
+        addPlatformUsers(role, 0, 1);
+    }
+
+    @Async("analyticsExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserPurged(UserPurgedEvent event) {
+        Long studentId = event.getStudentId();
+        if (studentId != null) {
+            List<Long> instructorIds = jdbcTemplate.queryForList(
+                    "SELECT instructor_id FROM instructor_student_stats WHERE student_id = ?", Long.class, studentId);
+            for (Long instructorId : instructorIds) {
+                tx.executeWithoutResult(status -> {
+                    StudentRow row = lockStudentRow(instructorId, studentId);
+                    long[] deltas = new long[6];
+                    if (row.enrollments() > 0) {
+                        deltas[0]--;
+                    }
+                    if (row.peakScore() != null) {
+                        deltas[1 + bucket(row.peakScore())]--;
+                    }
+                    jdbcTemplate.update("DELETE FROM instructor_student_stats WHERE instructor_id = ? AND student_id = ?",
+                            instructorId, studentId);
+                    addInstructorStats(instructorId, deltas);
+                });
+                // The purge removed the student's enrollments and reviews in bulk, without events
+                dirtyCourses.addAll(jdbcTemplate.queryForList(
+                        "SELECT course_id FROM course_stats WHERE instructor_id = ?", Long.class, instructorId));
+            }
+        }
+
+        Long instructorId = event.getInstructorId();
+        if (instructorId != null) {
+            tx.executeWithoutResult(status -> {
+                jdbcTemplate.update("DELETE FROM instructor_student_stats WHERE instructor_id = ?", instructorId);
+                jdbcTemplate.update("DELETE FROM instructor_stats WHERE instructor_id = ?", instructorId);
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.flush-interval-ms:5000}")
+    public void flush() {
+        if (!ready) {
+            return;
+        }
+        // Student rows first: they resolve the instructor through course_stats when the course is already gone
+        Iterator<CourseStudent> enrollments = dirtyEnrollments.iterator();
+        while (enrollments.hasNext()) {
+            CourseStudent key = enrollments.next();
+            enrollments.remove();
+            try {
+                refreshEnrollments(key.courseId(), key.studentId());
+            } catch (Exception e) {
+                log.warn("Failed to refresh analytics of student {} for course {}: {}", key.studentId(),
+                        key.courseId(), e.getMessage());
+            }
+        }
+
+        Iterator<Long> courses = dirtyCourses.iterator();
+        while (courses.hasNext()) {
+            Long courseId = courses.next();
+            courses.remove();
+            try {
+                refreshCourse(courseId);
+            } catch (Exception e) {
+                log.warn("Failed to refresh analytics of course {}: {}", courseId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Safety net for missed events and writes that bypass them (bulk SQL, the admin seeder, manual fixes):
+     * rebuilds course_stats, course_stats_daily, instructor_stats and instructor_student_stats from the
+     * source tables in one transaction, then corrects platform_user_daily with {@link #reconcileUsers()}.
+     */
+    @Scheduled(cron = "${analytics.reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        long start = System.currentTimeMillis();
+        // Dirty entries wait for the rebuilt rows instead of booking deltas against the old ones
+        ready = false;
+        try {
+            tx.executeWithoutResult(status -> COURSE_BACKFILL.forEach(jdbcTemplate::update));
+            log.info("Reconciled course and instructor analytics in {} ms", System.currentTimeMillis() - start);
+        } finally {
+            ready = true;
+        }
+        reconcileUsers();
+    }
+
+    /**
+     * Purged accounts are gone from users, so their joins survive only as the increments booked at the time
+     * and the table is corrected rather than rebuilt: each day is raised to at least the accounts created on
+     * it, then whatever still separates a role's total (joined - removed) from its count in users is booked
+     * on today's row. Runs with the account bookings locked out, so none lands between the count and the
+     * correction.
+     */
+    public void reconcileUsers() {
+        Lock lock = platformUsersLock.writeLock();
+        lock.lock();
+        try {
+            tx.executeWithoutResult(status -> {
+                jdbcTemplate.update(RAISE_PLATFORM_JOINS);
+                Map<Role, Long> actual = countByRole("SELECT role, COUNT(*) FROM users GROUP BY role");
+                Map<Role, Long> booked = countByRole(
+                        "SELECT role, SUM(joined - removed) FROM platform_user_daily GROUP BY role");
+                for (Role role : Role.values()) {
+                    long drift = actual.getOrDefault(role, 0L) - booked.getOrDefault(role, 0L);
+                    if (drift != 0) {
+                        log.info("Corrected {} account total by {}", role, drift);
+                        addPlatformUsers(role, Math.max(drift, 0), Math.max(-drift, 0));
+                    }
+                }
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refreshCourse(Long courseId) {
+        List<Object[]> course = jdbcTemplate.query("SELECT instructor_id, deleted_at FROM courses WHERE id = ?",
+                (rs, i) -> new Object[] { rs.getObject(1, Long.class), rs.getTimestamp(2) }, courseId);
+        if (course.isEmpty()) {
+            jdbcTemplate.update("DELETE FROM course_stats WHERE course_id = ?", courseId);
+            return;
+        }
+        Long instructorId = (Long) course.get(0)[0];
+        boolean deleted = course.get(0)[1] != null;
+
+        long[] counts = jdbcTemplate.queryForObject(COURSE_COUNTS,
+                (rs, i) -> new long[] { rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4) },
+                courseId, courseId, courseId, courseId);
+        List<long[]> stored = jdbcTemplate.query("SELECT enrollments, completions FROM course_stats WHERE course_id = ?",
+                (rs, i) -> new long[] { rs.getLong(1), rs.getLong(2) }, courseId);
+        long[] before = stored.isEmpty() ? new long[2] : stored.get(0);
+
+        tx.executeWithoutResult(status -> {
+            jdbcTemplate.update(UPSERT_COURSE, courseId, instructorId, counts[0], counts[1], counts[2], counts[3],
+                    Timestamp.valueOf(LocalDateTime.now()));
+            long enrolled = counts[0] - before[0];
+            long completed = counts[1] - before[1];
+            // A course being purged has already lost its daily rows; do not recreate them
+            if (!deleted && (enrolled != 0 || completed != 0)) {
+                jdbcTemplate.update(ADD_COURSE_DAILY, courseId, Date.valueOf(LocalDate.now()), instructorId,
+                        enrolled, completed, 0);
+            }
+        });
+    }
+
+    private void refreshEnrollments(Long courseId, Long studentId) {
+        Long instructorId = jdbcTemplate.queryForObject(
+                "SELECT COALESCE((SELECT instructor_id FROM courses WHERE id = ?), "
+                        + "(SELECT instructor_id FROM course_stats WHERE course_id = ?))",
+                Long.class, courseId, courseId);
+        if (instructorId == null) {
+            return;
+        }
+        tx.executeWithoutResult(status -> {
+            StudentRow row = lockStudentRow(instructorId, studentId);
+            Long count = jdbcTemplate.queryForObject(STUDENT_ENROLLMENTS, Long.class, studentId, instructorId);
+            long enrollments = count != null ? count : 0;
+            if (enrollments == row.enrollments()) {
+                return;
+            }
+            jdbcTemplate.update("UPDATE instructor_student_stats SET enrollments = ? WHERE instructor_id = ? AND student_id = ?",
+                    enrollments, instructorId, studentId);
+            if ((row.enrollments() > 0) != (enrollments > 0)) {
+                addInstructorStats(instructorId, new long[] { enrollments > 0 ? 1 : -1, 0, 0, 0, 0, 0 });
+            }
+        });
+    }
+
+    // Runs inside a transaction
+    private void raisePeakScore(Long instructorId, Long studentId, double score) {
+        StudentRow row = lockStudentRow(instructorId, studentId);
+        if (row.peakScore() != null && row.peakScore() >= score) {
+            return;
+        }
+        jdbcTemplate.update("UPDATE instructor_student_stats SET peak_score = ? WHERE instructor_id = ? AND student_id = ?",
+                score, instructorId, studentId);
+        long[] deltas = new long[6];
+        if (row.peakScore() != null) {
+            deltas[1 + bucket(row.peakScore())]--;
+        }
+        deltas[1 + bucket(score)]++;
+        addInstructorStats(instructorId, deltas);
+    }
+
+    /**
+     * Creates the (instructor, student) row if needed and locks it until the surrounding transaction ends,
+     * so the bucket and distinct-student counters move exactly once per change.
+     */
+    private StudentRow lockStudentRow(Long instructorId, Long studentId) {
+        jdbcTemplate.update("INSERT IGNORE INTO instructor_student_stats (instructor_id, student_id, enrollments) "
+                + "VALUES (?, ?, 0)", instructorId, studentId);
+        return jdbcTemplate.queryForObject("SELECT enrollments, peak_score FROM instructor_student_stats "
+                + "WHERE instructor_id = ? AND student_id = ? FOR UPDATE",
+                (rs, i) -> new StudentRow(rs.getLong(1), rs.getObject(2, Double.class)), instructorId, studentId);
+    }
+
+    // deltas: students, then the five score buckets
+    private void addInstructorStats(Long instructorId, long[] deltas) {
+        jdbcTemplate.update(ADD_INSTRUCTOR, instructorId, deltas[0], deltas[1], deltas[2], deltas[3], deltas[4], deltas[5]);
+    }
+
+    private void addPlatformUsers(Role role, long joined, long removed) {
+        if (role == null) {
+            return;
+        }
+        // The write lock holder may take it too: reconcileUsers books its corrections through here
+        Lock lock = platformUsersLock.readLock();
+        lock.lock();
+        try {
+            jdbcTemplate.update(ADD_PLATFORM_USERS, Date.valueOf(LocalDate.now()), role.name(), joined, removed);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Map<Role, Long> countByRole(String sql) {
+        Map<Role, Long> counts = new EnumMap<>(Role.class);
+        jdbcTemplate.query(sql, rs -> {
+            if (rs.getString(1) != null) {
+                counts.put(Role.valueOf(rs.getString(1)), rs.getLong(2));
+            }
+        });
+        return counts;
+    }
+
+    private boolean isEmpty(String table) {
+        return !Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT EXISTS(SELECT 1 FROM " + table + ")", Boolean.class));
+    }
+
+    // Same buckets the instructor dashboard has always shown: 0-20, 20-40, 40-60, 60-80, 80-100
+    private static int bucket(double score) {
+        if (score < 20) {
+            return 0;
+        } else if (score < 40) {
+            return 1;
+        } else if (score < 60) {
+            return 2;
+        } else if (score < 80) {
+            return 3;
+        }
+        return 4;
+    }
+
+    private record CourseStudent(Long courseId, Long studentId) {
+    }
+
+    private record StudentRow(long enrollments, Double peakScore) {
+    }
+}
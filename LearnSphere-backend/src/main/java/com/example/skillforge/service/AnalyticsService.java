@@ -1,20 +1,26 @@
 package com.example.skillforge.service;
 
 import com.example.skillforge.model.dto.analytics.AnalyticsDTO;
+import com.example.skillforge.model.entity.InstructorStats;
 import com.example.skillforge.model.enums.Role;
+import com.example.skillforge.repository.CourseStatsDailyRepository;
+import com.example.skillforge.repository.CourseStatsRepository;
 import com.example.skillforge.repository.EnrollmentRepository;
+import com.example.skillforge.repository.InstructorStatsRepository;
+import com.example.skillforge.repository.PlatformUserDailyRepository;
 import com.example.skillforge.repository.QuizAttemptRepository;
 import com.example.skillforge.repository.UserActivityRepository;
-import com.example.skillforge.repository.UserRepository;
+import com.example.skillforge.service.metrics.SystemMetricsService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
-import com.example.skillforge.model.entity.QuizAttempt;
 
 @Service
 @RequiredArgsConstructor
@@ -23,10 +29,15 @@ public class AnalyticsService {
         private final EnrollmentRepository enrollmentRepository;
         private final QuizAttemptRepository quizAttemptRepository;
         private final UserActivityRepository userActivityRepository;
-        private final UserRepository userRepository;
         private final com.example.skillforge.repository.CourseRepository courseRepository;
         private final com.example.skillforge.repository.CourseProgressRepository courseProgressRepository;
         private final ProgressService progressService;
+        private final CourseViewIngestionService courseViewIngestionService;
+        private final CourseStatsRepository courseStatsRepository;
+        private final CourseStatsDailyRepository courseStatsDailyRepository;
+        private final InstructorStatsRepository instructorStatsRepository;
+        private final PlatformUserDailyRepository platformUserDailyRepository;
+        private final SystemMetricsService systemMetricsService;
 
         public AnalyticsDTO.StudentAnalytics getStudentAnalytics(Long studentId) {
                 // 1. Course Progress
@@ -42,23 +53,23 @@ public class AnalyticsService {
                 var progressSummary = progressService.getStudentProgressSummary(studentId);
 
                 // 2. Quiz Performance (Aggregated by Course)
-                List<QuizAttempt> attempts = quizAttemptRepository.findByStudentId(studentId);
+                // [courseTitle, quizId, score]; attempts on deleted courses are left out by the join
+                List<Object[]> attempts = quizAttemptRepository.findCourseScoresByStudentId(studentId);
 
-                Map<String, List<QuizAttempt>> attemptsByCourse = attempts.stream()
-                                .filter(a -> a.getQuiz().getCourse() != null)
-                                .collect(Collectors.groupingBy(a -> a.getQuiz().getCourse().getTitle()));
+                Map<String, List<Object[]>> attemptsByCourse = attempts.stream()
+                                .collect(Collectors.groupingBy(row -> (String) row[0]));
 
                 List<AnalyticsDTO.QuizPerformance> quizPerformance = new ArrayList<>();
 
-                for (Map.Entry<String, List<QuizAttempt>> entry : attemptsByCourse.entrySet()) {
+                for (Map.Entry<String, List<Object[]>> entry : attemptsByCourse.entrySet()) {
                         String courseName = entry.getKey();
-                        List<QuizAttempt> courseAttempts = entry.getValue();
+                        List<Object[]> courseAttempts = entry.getValue();
 
                         // Average User Score for this Course (Based on Peak Performance per Quiz)
                         Map<Long, Double> maxQuizScores = courseAttempts.stream()
                                         .collect(Collectors.toMap(
-                                                        a -> a.getQuiz().getId(),
-                                                        QuizAttempt::getScore,
+                                                        row -> (Long) row[1],
+                                                        row -> (Double) row[2],
                                                         Math::max));
 
                         double userAvg = maxQuizScores.values().stream()
@@ -69,9 +80,9 @@ public class AnalyticsService {
                         // Average Class Score for these Quizzes
                         // (Naive approach: avg of avgs)
                         double classAvg = courseAttempts.stream()
-                                        .mapToDouble(a -> {
+                                        .mapToDouble(row -> {
                                                 Double qAvg = quizAttemptRepository
-                                                                .findAverageScoreByQuizId(a.getQuiz().getId());
+                                                                .findAverageScoreByQuizId((Long) row[1]);
                                                 return qAvg != null ? qAvg : 0.0;
                                         })
                                         .average()
@@ -163,135 +174,141 @@ public class AnalyticsService {
                 }).collect(Collectors.toList());
         }
 
-        public AnalyticsDTO.InstructorAnalytics getInstructorAnalytics(Long instructorId) {
+        /**
+         * Instructor dashboard, read from the analytics tables maintained by AnalyticsProjectionService.
+         * Without a range the per-course numbers are all-time totals; with one they count enrollments and
+         * completions booked within it. Distinct students and the score distribution are always all-time.
+         */
+        public AnalyticsDTO.InstructorAnalytics getInstructorAnalytics(Long instructorId, LocalDate from, LocalDate to) {
+                boolean ranged = from != null || to != null;
+                LocalDate end = to != null ? to : LocalDate.now();
+                LocalDate start = from != null ? from : end.minusDays(29);
+
+                // [title, enrollments, completions, ratingSum, ratingCount] (rating columns only when not ranged)
+                List<Object[]> perCourse = ranged
+                                ? courseStatsDailyRepository.findCourseTotalsByInstructorBetween(instructorId, start, end)
+                                : courseStatsRepository.findCourseTotalsByInstructor(instructorId);
+
                 // 1. Total Students per Course
-                List<Object[]> studentsPerCourse = enrollmentRepository.countStudentsPerCourse(instructorId);
-                List<AnalyticsDTO.SimpleMetric> totalStudents = studentsPerCourse.stream()
+                List<AnalyticsDTO.SimpleMetric> totalStudents = perCourse.stream()
                                 .map(obj -> AnalyticsDTO.SimpleMetric.builder()
                                                 .name((String) obj[0])
-                                                .value((Long) obj[1])
+                                                .value(toLong(obj[1]))
                                                 .build())
                                 .collect(Collectors.toList());
 
                 // 2. Completion Rate (Donut)
-                List<Object[]> completionStatus = enrollmentRepository.countCompletionStatusByInstructor(instructorId);
-                List<AnalyticsDTO.PieMetric> completionRate = completionStatus.stream()
-                                .map(obj -> AnalyticsDTO.PieMetric.builder()
-                                                .name((Boolean) obj[0] ? "Completed" : "In Progress")
-                                                .value((Long) obj[1])
-                                                .build())
-                                .collect(Collectors.toList());
-
-                // 3. Quiz Score Distribution
-                List<Object[]> rawAttempts = quizAttemptRepository.findRawScoresByInstructor(instructorId);
-
-                // Map<StudentId, MaxScore> - Track the absolute highest score a student
-                // achieved on ANY quiz
-                Map<Long, Double> studentPeakScores = new java.util.HashMap<>();
-
-                for (Object[] row : rawAttempts) {
-                        Long sId = (Long) row[0];
-                        // Long qId = (Long) row[1];
-                        Double sc = (Double) row[2];
-
-                        if (sc == null)
-                                sc = 0.0;
-
-                        studentPeakScores.merge(sId, sc, Math::max);
+                long totalEnrollments = 0;
+                long completedEnrollments = 0;
+                for (Object[] row : perCourse) {
+                        totalEnrollments += toLong(row[1]);
+                        completedEnrollments += toLong(row[2]);
                 }
-
-                int[] buckets = new int[5]; // 0-20, 20-40, 40-60, 60-80, 80-100
-                for (Double score : studentPeakScores.values()) {
-                        if (score < 20)
-                                buckets[0]++;
-                        else if (score < 40)
-                                buckets[1]++;
-                        else if (score < 60)
-                                buckets[2]++;
-                        else if (score < 80)
-                                buckets[3]++;
-                        else
-                                buckets[4]++; // 80 to 100 (Inclusive of 80)
+                long inProgress = Math.max(0, totalEnrollments - completedEnrollments);
+                List<AnalyticsDTO.PieMetric> completionRate = new ArrayList<>();
+                if (inProgress > 0) {
+                        completionRate.add(AnalyticsDTO.PieMetric.builder().name("In Progress").value(inProgress).build());
+                }
+                if (completedEnrollments > 0) {
+                        completionRate.add(AnalyticsDTO.PieMetric.builder().name("Completed").value(completedEnrollments).build());
                 }
+
+                // 3. Quiz Score Distribution (peak score per student across the instructor's quizzes)
+                InstructorStats stats = instructorStatsRepository.findById(instructorId).orElseGet(InstructorStats::new);
                 List<AnalyticsDTO.SimpleMetric> scoreDist = new ArrayList<>();
-                scoreDist.add(AnalyticsDTO.SimpleMetric.builder().name("0-20%").value(buckets[0]).build());
-                scoreDist.add(AnalyticsDTO.SimpleMetric.builder().name("20-40%").value(buckets[1]).build());
-                scoreDist.add(AnalyticsDTO.SimpleMetric.builder().name("40-60%").value(buckets[2]).build());
-                scoreDist.add(AnalyticsDTO.SimpleMetric.builder().name("60-80%").value(buckets[3]).build());
-                scoreDist.add(AnalyticsDTO.SimpleMetric.builder().name("80-100%").value(buckets[4]).build());
-
-                // 4. Summary Stats (Real Data)
-                Long distinctStudents = enrollmentRepository.countTotalStudentsByInstructor(instructorId);
-                Long activeCourses = courseRepository.countByInstructorIdAndIsPublished(instructorId, true);
+                scoreDist.add(AnalyticsDTO.SimpleMetric.builder().name("0-20%").value(stats.getScore0To20()).build());
+                scoreDist.add(AnalyticsDTO.SimpleMetric.builder().name("20-40%").value(stats.getScore20To40()).build());
+                scoreDist.add(AnalyticsDTO.SimpleMetric.builder().name("40-60%").value(stats.getScore40To60()).build());
+                scoreDist.add(AnalyticsDTO.SimpleMetric.builder().name("60-80%").value(stats.getScore60To80()).build());
+                scoreDist.add(AnalyticsDTO.SimpleMetric.builder().name("80-100%").value(stats.getScore80To100()).build());
+
+                // 4. Engagement per day: active = quiz attempts, passive = new enrollments
+                List<AnalyticsDTO.ActivityTrend> engagement = courseStatsDailyRepository
+                                .findDailyTotalsByInstructorBetween(instructorId, start, end).stream()
+                                .map(obj -> AnalyticsDTO.ActivityTrend.builder()
+                                                .period(obj[0].toString())
+                                                .active((int) toLong(obj[3]))
+                                                .passive((int) toLong(obj[1]))
+                                                .build())
+                                .collect(Collectors.toList());
 
-                long totalEnrollments = 0;
-                long completedEnrollments = 0;
-                for (Object[] row : completionStatus) {
-                        Long count = (Long) row[1];
-                        totalEnrollments += count;
-                        if ((Boolean) row[0]) {
-                                completedEnrollments += count;
-                        }
+                // 5. Summary Stats
+                Long activeCourses = courseRepository.countByInstructorIdAndIsPublished(instructorId, true);
+                List<Object[]> ratingRows = ranged ? courseStatsRepository.findCourseTotalsByInstructor(instructorId) : perCourse;
+                long ratingSum = 0;
+                long ratingCount = 0;
+                for (Object[] row : ratingRows) {
+                        ratingSum += toLong(row[3]);
+                        ratingCount += toLong(row[4]);
                 }
 
                 long completionPercentage = totalEnrollments > 0 ? (completedEnrollments * 100 / totalEnrollments) : 0;
                 String completionRateStr = completionPercentage + "%";
 
                 AnalyticsDTO.SummaryMetrics summary = AnalyticsDTO.SummaryMetrics.builder()
-                                .totalStudents(distinctStudents)
+                                .totalStudents(stats.getStudents())
                                 .activeCourses(activeCourses)
-                                .avgRating(4.8) // Mock for now until reviews are implemented
+                                .avgRating(averageRating(ratingSum, ratingCount))
                                 .completionRate(completionRateStr)
                                 .build();
 
                 return AnalyticsDTO.InstructorAnalytics.builder()
                                 .totalStudents(totalStudents)
                                 .courseCompletionRate(completionRate)
-                                .studentEngagement(List.of())
+                                .studentEngagement(engagement)
                                 .quizScoreDistribution(scoreDist)
                                 .summary(summary)
                                 .build();
         }
 
-        public AnalyticsDTO.AdminAnalytics getAdminAnalytics() {
+        /**
+         * Admin dashboard, read from the analytics tables. Growth covers the range (default: the last
+         * 12 months) by month; top courses rank by enrollments within the range, or all-time without one.
+         */
+        public AnalyticsDTO.AdminAnalytics getAdminAnalytics(LocalDate from, LocalDate to) {
+                boolean ranged = from != null || to != null;
+                LocalDate end = to != null ? to : LocalDate.now();
+                LocalDate start = from != null ? from : end.minusMonths(11).withDayOfMonth(1);
+
                 // 1. User Role Distribution
+                Map<Role, Long> usersByRole = new java.util.EnumMap<>(Role.class);
+                for (Object[] row : platformUserDailyRepository.sumNetUsersByRole()) {
+                        usersByRole.put((Role) row[0], toLong(row[1]));
+                }
                 List<AnalyticsDTO.PieMetric> roleDist = new ArrayList<>();
                 roleDist.add(AnalyticsDTO.PieMetric.builder().name("Students")
-                                .value(userRepository.countByRole(Role.STUDENT)).build());
+                                .value(usersByRole.getOrDefault(Role.STUDENT, 0L)).build());
                 roleDist.add(AnalyticsDTO.PieMetric.builder().name("Instructors")
-                                .value(userRepository.countByRole(Role.INSTRUCTOR)).build());
+                                .value(usersByRole.getOrDefault(Role.INSTRUCTOR, 0L)).build());
                 roleDist.add(AnalyticsDTO.PieMetric.builder().name("Admins")
-                                .value(userRepository.countByRole(Role.ADMIN)).build());
-
-                // 2. Platform Growth
-                List<Object[]> growthData = userRepository.findUserGrowthByMonth();
-                List<AnalyticsDTO.TimeMetric> growth = growthData.stream()
-                                .map(obj -> AnalyticsDTO.TimeMetric.builder()
-                                                .time((String) obj[0])
-                                                .value((Long) obj[1])
+                                .value(usersByRole.getOrDefault(Role.ADMIN, 0L)).build());
+
+                // 2. Platform Growth (new accounts per month)
+                Map<YearMonth, Long> joinedByMonth = new java.util.TreeMap<>();
+                for (Object[] row : platformUserDailyRepository.sumJoinedByDayBetween(start, end)) {
+                        joinedByMonth.merge(YearMonth.from((LocalDate) row[0]), toLong(row[1]), Long::sum);
+                }
+                List<AnalyticsDTO.TimeMetric> growth = joinedByMonth.entrySet().stream()
+                                .map(e -> AnalyticsDTO.TimeMetric.builder()
+                                                .time(e.getKey().toString())
+                                                .value(e.getValue())
                                                 .build())
-                                .limit(12)
                                 .collect(Collectors.toList());
 
-                // 3. Top Performing Courses (Real Data)
-                List<Object[]> topCoursesData = enrollmentRepository.findTopPerformingCourses();
+                // 3. Top Performing Courses
+                List<Object[]> topCoursesData = ranged
+                                ? courseStatsDailyRepository.findTopCoursesBetween(start, end, PageRequest.of(0, 5))
+                                : courseStatsRepository.findTopCourses(PageRequest.of(0, 5));
                 List<AnalyticsDTO.CoursePopularity> topCourses = topCoursesData.stream()
-                                .limit(5)
                                 .map(obj -> AnalyticsDTO.CoursePopularity.builder()
                                                 .name((String) obj[0])
-                                                .students((Long) obj[1])
-                                                .rating(4.5) // Default rating for now until Review system is linked
+                                                .students(toLong(obj[1]))
+                                                .rating(averageRating(toLong(obj[2]), toLong(obj[3])))
                                                 .build())
                                 .collect(Collectors.toList());
 
-                // System Health (Still real-time mock as we don't have actuator metrics
-                // accessible easily here)
-                AnalyticsDTO.SystemHealth health = AnalyticsDTO.SystemHealth.builder()
-                                .serverLoad(45.5)
-                                .dbLatency("12ms")
-                                .uptime("99.9%")
-                                .errors(0.01)
-                                .build();
+                // 4. System Health (in-process metrics)
+                AnalyticsDTO.SystemHealth health = systemMetricsService.getSystemHealth();
 
                 return AnalyticsDTO.AdminAnalytics.builder()
                                 .userRoleDistribution(roleDist)
@@ -301,4 +318,31 @@ public class AnalyticsService {
                                 .topCourses(topCourses)
                                 .build();
         }
+
+        private static long toLong(Object value) {
+                return value != null ? ((Number) value).longValue() : 0L;
+        }
+
+        private static Double averageRating(long ratingSum, long ratingCount) {
+                return ratingCount > 0 ? Math.round(ratingSum * 10.0 / ratingCount) / 10.0 : 0.0;
+        }
+
+        /**
+         * Daily view series for one of the instructor's courses, read from the pre-aggregated course_view_daily table.
+         */
+        public List<AnalyticsDTO.TimeMetric> getCourseViewSeries(Long instructorId, Long courseId, LocalDate from,
+                        LocalDate to) {
+                com.example.skillforge.model.entity.Course course = courseRepository.findById(courseId)
+                                .orElseThrow(() -> new RuntimeException("Course not found"));
+                if (!course.getInstructor().getId().equals(instructorId)) {
+                        throw new RuntimeException("Course does not belong to this instructor");
+                }
+
+                return courseViewIngestionService.getDailyViews(courseId, from, to).stream()
+                                .map(d -> AnalyticsDTO.TimeMetric.builder()
+                                                .time(d.getViewDate().toString())
+                                                .value(d.getViews())
+                                                .build())
+                                .collect(Collectors.toList());
+        }
 }
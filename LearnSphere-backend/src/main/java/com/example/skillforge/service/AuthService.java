@@ -4,6 +4,7 @@ import com.example.skillforge.dto.request.LoginRequest;
 import com.example.skillforge.dto.request.RegisterRequest;
 import com.example.skillforge.dto.response.AuthResponse;
 import com.example.skillforge.dto.response.RefreshTokenResponse;
+import com.example.skillforge.event.UserRegisteredEvent;
 import com.example.skillforge.exception.InvalidTokenException;
 import com.example.skillforge.model.entity.Instructor;
 import com.example.skillforge.model.entity.Student;
@@ -16,6 +17,7 @@ import com.example.skillforge.service.EmailService;
 import io.jsonwebtoken.ExpiredJwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -50,6 +52,8 @@ public class AuthService {
     // Inject UserActivityService
     private final UserActivityService userActivityService;
 
+    private final ApplicationEventPublisher eventPublisher;
+
     @Transactional
     public AuthResponse register(RegisterRequest request) {
         // Force role to STUDENT for public registration
@@ -107,6 +111,7 @@ public class AuthService {
 
         // Save user (cascade will save Student/Instructor)
         user = userRepository.save(user);
+        eventPublisher.publishEvent(new UserRegisteredEvent(user.getId(), user.getRole()));
 
         // Send OTP Email
         emailService.sendVerificationEmail(user.getEmail(), user.getName(), otp);
@@ -250,6 +255,7 @@ public class AuthService {
                 user.setStudent(student);
 
                 user = userRepository.save(user);
+                eventPublisher.publishEvent(new UserRegisteredEvent(user.getId(), user.getRole()));
                 log.info("New user created via Google: {}", email);
             } else {
                  // Ensure verified if they subsequently login with Google
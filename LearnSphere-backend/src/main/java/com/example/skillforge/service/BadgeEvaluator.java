@@ -0,0 +1,50 @@
+package com.example.skillforge.service;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Streak and badge rules for the progress summary.
+ *
+ * Works on pre-aggregated figures (minutes, completed courses, active days), so evaluating a
+ * student costs the same no matter how many courses they are enrolled in.
+ *
+ * Badges are re-evaluated when ProgressService rebuilds a summary, not kept up to date per event:
+ * the rebuild already reads every course row for the summary's course list, so the totals come
+ * for free, and a summary is rebuilt at most once per progress or enrollment change (or per day
+ * and TTL). Incremental badge state would save no query and could drift from the rows it mirrors.
+ */
+@Component
+public class BadgeEvaluator {
+
+    static final int STREAK_WINDOW_DAYS = 7;
+
+    /**
+     * Consecutive active days ending today, capped at the 7-day window.
+     */
+    public int streak(LocalDate today, Set<LocalDate> activeDays) {
+        int streak = 0;
+        LocalDate cursor = today;
+        while (streak < STREAK_WINDOW_DAYS && activeDays.contains(cursor)) {
+            streak++;
+            cursor = cursor.minusDays(1);
+        }
+        return streak;
+    }
+
+    public List<String> badges(int totalMinutes, int streak, long completedCourses) {
+        List<String> badges = new ArrayList<>();
+        // rules (example)
+        if (totalMinutes >= 60) badges.add("First Hour");
+        if (totalMinutes >= 300) badges.add("5-hour Learner");
+        if (streak >= 7) badges.add("7-day Streak");
+        // course completion badges
+        if (completedCourses >= 1) badges.add("Course Completed");
+        if (completedCourses >= 5) badges.add("5 Courses Master");
+        return badges;
+    }
+}
@@ -0,0 +1,292 @@
+package com.example.skillforge.service;
+
+import com.example.skillforge.event.EnrollmentChangedEvent;
+import com.example.skillforge.model.entity.Course;
+import com.example.skillforge.model.entity.OutboundEmail;
+import com.example.skillforge.repository.CourseProgressRepository;
+import com.example.skillforge.repository.CourseRepository;
+import com.example.skillforge.repository.EnrollmentRepository;
+import com.example.skillforge.repository.StudentRepository;
+import com.example.skillforge.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Set-based bulk enrollment.
+ *
+ * Emails are processed in fixed-size batches. Per batch: one query resolves emails to students,
+ * one query finds existing enrollments, enrollments and course_progress rows are inserted with
+ * JDBC batches and counters are adjusted with single UPDATE statements. Each batch commits on
+ * its own, so memory stays bounded for CSV files with 100k+ rows.
+ */
+@Service
+@RequiredArgsConstructor
+public class BulkEnrollmentService {
+
+    private static final String INSERT_ENROLLMENT = "INSERT INTO enrollments "
+            + "(student_id, course_id, completion_percentage, is_completed, enrolled_at, last_accessed_at) "
+            + "VALUES (?, ?, 0, false, ?, ?)";
+
+    private static final String INSERT_COURSE_PROGRESS = "INSERT INTO course_progress "
+            + "(student_id, course_id, progress_percent, total_time_minutes, skill_score, last_updated) "
+            + "VALUES (?, ?, 0, 0, 0, ?)";
+
+    private final CourseRepository courseRepository;
+    private final UserRepository userRepository;
+    private final StudentRepository studentRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final CourseProgressRepository courseProgressRepository;
+    private final EmailQueueService emailQueueService;
+    private final CounterService counterService;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${bulk-enroll.batch-size:1000}")
+    private int batchSize;
+
+    // Caps the per-email lists returned to the client; counts are always exact
+    @Value("${bulk-enroll.max-reported-rows:1000}")
+    private int maxReportedRows;
+
+    public Map<String, Object> enrollEmails(Long courseId, List<String> emails) {
+        return enroll(courseId, emails.iterator());
+    }
+
+    /**
+     * Enrolls every email in the first column of a CSV stream. A header row without '@' is skipped.
+     */
+    public Map<String, Object> enrollCsv(Long courseId, InputStream csv) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            Iterator<String> emails = new Iterator<>() {
+                private String next = advance(true);
+
+                private String advance(boolean first) {
+                    try {
+                        String line;
+                        while ((line = reader.readLine()) != null) {
+                            String email = firstColumn(line);
+                            if (email.isEmpty() || (first && !email.contains("@"))) {
+                                first = false;
+                                continue;
+                            }
+                            return email;
+                        }
+                        return null;
+                    } catch (IOException e) {
+                        throw new IllegalStateException("Failed to read CSV: " + e.getMessage(), e);
+                    }
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return next != null;
+                }
+
+                @Override
+                public String next() {
+                    String current = next;
+                    next = advance(false);
+                    return current;
+                }
+            };
+            return enroll(courseId, emails);
+        }
+    }
+
+    private Map<String, Object> enroll(Long courseId, Iterator<String> emails) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        String[] courseInfo = tx.execute(status -> {
+            Course course = courseRepository.findById(courseId)
+                    .orElseThrow(() -> new RuntimeException("Course not found"));
+            return new String[] { course.getTitle(), course.getInstructor().getUser().getName() };
+        });
+        String courseTitle = courseInfo[0];
+        String instructorName = courseInfo[1];
+        String emailJobId = emailQueueService.newJobId();
+
+        Summary summary = new Summary();
+
+        List<String> batch = new ArrayList<>(batchSize);
+        while (emails.hasNext()) {
+            batch.add(emails.next());
+            if (batch.size() == batchSize) {
+                List<String> current = batch;
+                tx.executeWithoutResult(status ->
+                        enrollBatch(courseId, courseTitle, instructorName, emailJobId, current, summary));
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            List<String> current = batch;
+            tx.executeWithoutResult(status ->
+                    enrollBatch(courseId, courseTitle, instructorName, emailJobId, current, summary));
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("success", true);
+        result.put("totalProcessed", summary.processed);
+        result.put("successCount", summary.successCount);
+        result.put("failedCount", summary.failedCount);
+        result.put("successfulEnrollments", summary.successful);
+        result.put("failedEnrollments", summary.failed);
+        result.put("emailJobId", summary.successCount > 0 ? emailJobId : null);
+        result.put("message", String.format("Enrolled %d out of %d students",
+                summary.successCount, summary.processed));
+        return result;
+    }
+
+    private void enrollBatch(Long courseId, String courseTitle, String instructorName, String emailJobId,
+            List<String> rawEmails, Summary summary) {
+
+        summary.processed += rawEmails.size();
+
+        // Normalize and drop duplicates inside the batch, keeping the original spelling for reporting
+        Map<String, String> byKey = new LinkedHashMap<>();
+        for (String raw : rawEmails) {
+            String trimmed = raw == null ? "" : raw.trim();
+            if (trimmed.isEmpty()) {
+                summary.fail("(empty email)");
+                continue;
+            }
+            if (byKey.putIfAbsent(trimmed.toLowerCase(), trimmed) != null) {
+                summary.fail(trimmed + " (duplicate)");
+            }
+        }
+
+        if (byKey.isEmpty()) {
+            return;
+        }
+
+        // 1 query: email -> [studentId, name]
+        Map<String, Object[]> students = new HashMap<>();
+        for (Object[] row : studentRepository.findStudentContactsByEmailIn(byKey.values())) {
+            students.put(((String) row[0]).toLowerCase(), row);
+        }
+
+        // 1 query (only if needed): tell "no such user" apart from "not a student"
+        List<String> unresolved = byKey.entrySet().stream()
+                .filter(e -> !students.containsKey(e.getKey()))
+                .map(Map.Entry::getValue)
+                .toList();
+        if (!unresolved.isEmpty()) {
+            Set<String> existingUsers = new HashSet<>();
+            userRepository.findExistingEmails(unresolved).forEach(e -> existingUsers.add(e.toLowerCase()));
+            for (String email : unresolved) {
+                summary.fail(existingUsers.contains(email.toLowerCase())
+                        ? email + " (User is not a student: " + email + ")"
+                        : email + " (User not found: " + email + ")");
+            }
+        }
+        if (students.isEmpty()) {
+            return;
+        }
+
+        // 1 query: which of these students are already enrolled
+        List<Long> candidateIds = students.values().stream().map(row -> (Long) row[1]).toList();
+        Set<Long> alreadyEnrolled = new HashSet<>(enrollmentRepository.findEnrolledStudentIds(courseId, candidateIds));
+
+        List<Long> toEnroll = new ArrayList<>();
+        List<OutboundEmail> notifications = new ArrayList<>();
+        for (Map.Entry<String, Object[]> entry : students.entrySet()) {
+            String email = byKey.get(entry.getKey());
+            Long studentId = (Long) entry.getValue()[1];
+            if (alreadyEnrolled.contains(studentId)) {
+                summary.fail(email + " (already enrolled)");
+                continue;
+            }
+            toEnroll.add(studentId);
+            notifications.add(emailQueueService.build(emailJobId, courseId, (String) entry.getValue()[0],
+                    EmailTemplates.enrollmentSubject(courseTitle),
+                    EmailTemplates.enrollmentBody((String) entry.getValue()[2], courseTitle, instructorName)));
+            summary.succeed(email);
+        }
+        if (toEnroll.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> enrollmentRows = new ArrayList<>(toEnroll.size());
+        for (Long studentId : toEnroll) {
+            enrollmentRows.add(new Object[] { studentId, courseId, now, now });
+        }
+        jdbcTemplate.batchUpdate(INSERT_ENROLLMENT, enrollmentRows);
+
+        // Progress rows may already exist from an earlier enroll/unenroll cycle
+        Set<Long> withProgress = new HashSet<>(courseProgressRepository.findStudentIdsWithProgress(courseId, toEnroll));
+        List<Object[]> progressRows = new ArrayList<>(toEnroll.size());
+        for (Long studentId : toEnroll) {
+            if (!withProgress.contains(studentId)) {
+                progressRows.add(new Object[] { studentId, courseId, now });
+            }
+        }
+        if (!progressRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_COURSE_PROGRESS, progressRows);
+        }
+
+        counterService.incrementCoursesEnrolled(toEnroll);
+        counterService.adjustCourseEnrollments(courseId, toEnroll.size());
+        eventPublisher.publishEvent(new EnrollmentChangedEvent(courseId, toEnroll));
+
+        emailQueueService.enqueueAll(notifications);
+    }
+
+    private static String firstColumn(String line) {
+        int comma = line.indexOf(',');
+        String value = comma >= 0 ? line.substring(0, comma) : line;
+        value = value.trim();
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1).trim();
+        }
+        // Strip a UTF-8 BOM left by spreadsheet exports
+        if (!value.isEmpty() && value.charAt(0) == '\uFEFF') {
+            value = value.substring(1);
+        }
+        return value;
+    }
+
+    private class Summary {
+        int processed;
+        int successCount;
+        int failedCount;
+        final List<String> successful = new ArrayList<>();
+        final List<String> failed = new ArrayList<>();
+
+        void succeed(String email) {
+            successCount++;
+            if (successful.size() < maxReportedRows) {
+                successful.add(email);
+            }
+        }
+
+        void fail(String reason) {
+            failedCount++;
+            if (failed.size() < maxReportedRows) {
+                failed.add(reason);
+            }
+        }
+    }
+}
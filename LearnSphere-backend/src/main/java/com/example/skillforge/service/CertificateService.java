@@ -763,6 +763,9 @@ public class CertificateService {
         @Autowired
         private EnrollmentRepository enrollmentRepository;
 
+        @Autowired
+        private org.springframework.context.ApplicationEventPublisher eventPublisher;
+
         @org.springframework.beans.factory.annotation.Value("${skillforge.verification.base-url:http://localhost:5173/verify/}")
         private String verificationBaseUrl;
 
@@ -830,7 +833,10 @@ public class CertificateService {
                                 .courseNameSnapshot(course.getTitle())
                                 .build();
 
-                return certificateRepository.save(certificate);
+                certificate = certificateRepository.save(certificate);
+                eventPublisher.publishEvent(
+                                new com.example.skillforge.event.CertificateIssuedEvent(actualStudentId, courseId));
+                return certificate;
         }
 
         private Certificate handleNonStudentPreview(User user, Long courseId) {
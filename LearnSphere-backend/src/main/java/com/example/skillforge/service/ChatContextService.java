@@ -0,0 +1,197 @@
+package com.example.skillforge.service;
+
+import com.example.skillforge.event.CertificateIssuedEvent;
+import com.example.skillforge.event.EnrollmentChangedEvent;
+import com.example.skillforge.event.QuizAttemptRecordedEvent;
+import com.example.skillforge.repository.CertificateRepository;
+import com.example.skillforge.repository.EnrollmentRepository;
+import com.example.skillforge.repository.QuizAttemptRepository;
+import com.example.skillforge.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Builds and caches the per-user context sent to the chat model.
+ *
+ * A snapshot costs four projection queries (identity, course progress, recent quiz scores,
+ * certificates) instead of loading entities lazily. Student snapshots are dropped after commit
+ * of any enrollment, quiz attempt or certificate change; the TTL covers everything else
+ * (e.g. lesson progress) so the assistant is at most a few minutes behind.
+ *
+ * Evictions bump a version stripe of the student, and a snapshot built while its stripe changed is not
+ * kept, so a load racing an event cannot pin the state from before the event's commit.
+ */
+@Service
+@RequiredArgsConstructor
+public class ChatContextService {
+
+    private static final int RECENT_QUIZZES = 5;
+    private static final int VERSION_STRIPES = 1024;
+
+    private final UserRepository userRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final QuizAttemptRepository quizAttemptRepository;
+    private final CertificateRepository certificateRepository;
+
+    private final ConcurrentHashMap<String, Cached<Identity>> identities = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Cached<Map<String, Object>>> studentContexts = new ConcurrentHashMap<>();
+    private final AtomicLongArray contextVersions = new AtomicLongArray(VERSION_STRIPES);
+
+    @Value("${chat.context.identity-ttl-ms:600000}")
+    private long identityTtlMs;
+
+    @Value("${chat.context.ttl-ms:300000}")
+    private long contextTtlMs;
+
+    @Value("${chat.context.max-entries:10000}")
+    private int maxEntries;
+
+    /**
+     * Returns the (immutable) chat context for the user, loading it on a cache miss.
+     *
+     * Deliberately not one transaction: each query reads what is committed when it runs, after the
+     * version was noted, instead of a snapshot that may predate an eviction seen by the version check.
+     */
+    public Map<String, Object> getContext(String email) {
+        Identity identity = getIdentity(email);
+
+        if (identity.studentId() == null) {
+            return Map.of("role", identity.role());
+        }
+
+        long now = System.currentTimeMillis();
+        Cached<Map<String, Object>> cached = studentContexts.get(identity.studentId());
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.value();
+        }
+
+        long version = contextVersions.get(stripe(identity.studentId()));
+        Map<String, Object> context = buildStudentContext(identity);
+        Cached<Map<String, Object>> loaded = new Cached<>(context, now + contextTtlMs);
+        putBounded(studentContexts, identity.studentId(), loaded);
+        // Checked after the put, so an eviction either removes the entry or is seen here
+        if (contextVersions.get(stripe(identity.studentId())) != version) {
+            studentContexts.remove(identity.studentId(), loaded);
+        }
+        return context;
+    }
+
+    public void evictStudent(Long studentId) {
+        if (studentId != null) {
+            // Bump first: a load in flight either sees the bump or put its entry before the remove
+            contextVersions.incrementAndGet(stripe(studentId));
+            studentContexts.remove(studentId);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        event.getStudentIds().forEach(this::evictStudent);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuizAttemptRecorded(QuizAttemptRecordedEvent event) {
+        evictStudent(event.getStudentId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCertificateIssued(CertificateIssuedEvent event) {
+        evictStudent(event.getStudentId());
+    }
+
+    private Identity getIdentity(String email) {
+        long now = System.currentTimeMillis();
+        Cached<Identity> cached = identities.get(email);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.value();
+        }
+
+        List<Object[]> rows = userRepository.findChatIdentityByEmail(email);
+        if (rows.isEmpty()) {
+            throw new RuntimeException("User not found");
+        }
+        Object[] row = rows.get(0);
+        Identity identity = new Identity((Long) row[0], row[1].toString(), (String) row[2],
+                "STUDENT".equals(row[1].toString()) ? (Long) row[3] : null);
+
+        putBounded(identities, email, new Cached<>(identity, now + identityTtlMs));
+        return identity;
+    }
+
+    private Map<String, Object> buildStudentContext(Identity identity) {
+        Map<String, Object> context = new HashMap<>();
+        context.put("role", identity.role());
+        context.put("studentName", identity.name());
+        context.put("studentId", identity.studentId());
+
+        // 1. Enrolled Courses
+        List<Map<String, Object>> courses = new ArrayList<>();
+        for (Object[] row : enrollmentRepository.findCourseProgressByStudent(identity.studentId())) {
+            Map<String, Object> courseInfo = new HashMap<>();
+            courseInfo.put("title", row[0]);
+            courseInfo.put("progress", row[1]);
+            courses.add(courseInfo);
+        }
+        context.put("courses", courses);
+
+        // 2. Recent Quiz Attempts
+        List<Map<String, Object>> recentQuizzes = new ArrayList<>();
+        for (Object[] row : quizAttemptRepository.findRecentQuizScores(identity.studentId(),
+                PageRequest.of(0, RECENT_QUIZZES))) {
+            Double score = (Double) row[1];
+            Map<String, Object> quizInfo = new HashMap<>();
+            quizInfo.put("quizTitle", row[0]);
+            quizInfo.put("score", score);
+            // Assuming 50% is passing score if not defined
+            quizInfo.put("passed", score != null && score >= 50.0);
+            recentQuizzes.add(quizInfo);
+        }
+        context.put("recentQuizzes", recentQuizzes);
+
+        // 3. Certificates
+        List<Map<String, Object>> certs = new ArrayList<>();
+        for (Object[] row : certificateRepository.findCertificateSummariesByUserId(identity.userId())) {
+            LocalDateTime issuedAt = (LocalDateTime) row[1];
+            Map<String, Object> certInfo = new HashMap<>();
+            certInfo.put("courseTitle", row[0]);
+            certInfo.put("issueDate", issuedAt != null ? issuedAt.toString() : "N/A");
+            certs.add(certInfo);
+        }
+        context.put("certificates", certs);
+
+        return Collections.unmodifiableMap(context);
+    }
+
+    private <K, V> void putBounded(ConcurrentHashMap<K, Cached<V>> cache, K key, Cached<V> value) {
+        if (cache.size() >= maxEntries) {
+            long now = System.currentTimeMillis();
+            cache.values().removeIf(c -> c.expiresAt() <= now);
+            if (cache.size() >= maxEntries) {
+                cache.clear();
+            }
+        }
+        cache.put(key, value);
+    }
+
+    private static int stripe(Long studentId) {
+        return Long.hashCode(studentId) & (VERSION_STRIPES - 1);
+    }
+
+    private record Identity(Long userId, String role, String name, Long studentId) {
+    }
+
+    private record Cached<V>(V value, long expiresAt) {
+    }
+}
@@ -2,129 +2,245 @@ package com.example.skillforge.service;
 
 import com.example.skillforge.dto.request.ChatRequest;
 import com.example.skillforge.dto.response.ChatResponse;
-import com.example.skillforge.model.entity.Course;
-import com.example.skillforge.model.entity.Enrollment;
-import com.example.skillforge.model.entity.Student;
-import com.example.skillforge.model.entity.User;
-import com.example.skillforge.repository.EnrollmentRepository;
-import com.example.skillforge.repository.StudentRepository;
-import com.example.skillforge.repository.UserRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Dispatcher;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.ArrayList;
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.time.Duration;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Forwards chat messages to the Python model service.
+ *
+ * The call is made with OkHttp's async API on the shared connection pool, so request threads
+ * are not held while the model is thinking; the whole call is bounded by {@code chat.service.timeout-ms}.
+ */
+@Slf4j
 @Service
 public class ChatService {
 
-    @Autowired
-    private UserRepository userRepository;
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
 
-    @Autowired
-    private StudentRepository studentRepository;
+    private static final String UNREACHABLE_REPLY = "Sorry, I am currently unavailable. Please try again later.";
+    private static final String EMPTY_REPLY = "I am having trouble connecting to my brain right now.";
 
     @Autowired
-    private EnrollmentRepository enrollmentRepository;
+    private ChatContextService chatContextService;
 
     @Autowired
-    private com.example.skillforge.repository.CertificateRepository certificateRepository;
+    private OkHttpClient sharedHttpClient;
 
     @Autowired
-    private com.example.skillforge.repository.QuizAttemptRepository quizAttemptRepository;
-
-    private final RestTemplate restTemplate = new RestTemplate();
-    private final String PYTHON_SERVICE_URL = "http://localhost:5001/chat";
-
-    @Transactional(readOnly = true)
-    public ChatResponse processChat(String email, ChatRequest request) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        Map<String, Object> context = new HashMap<>();
-        context.put("role", user.getRole().name());
-
-        if (user.getRole().name().equals("STUDENT")) {
-            Student student = studentRepository.findByUserId(user.getId())
-                    .orElse(null);
-
-            if (student != null) {
-                context.put("studentName", user.getName());
-                context.put("studentId", student.getId());
-
-                // 1. Enrolled Courses
-                List<Enrollment> enrollments = enrollmentRepository.findByStudentId(student.getId());
-                List<Map<String, Object>> courses = new ArrayList<>();
-                for (Enrollment enrollment : enrollments) {
-                    Map<String, Object> courseInfo = new HashMap<>();
-                    Course course = enrollment.getCourse();
-                    courseInfo.put("title", course.getTitle());
-                    courseInfo.put("progress", enrollment.getCompletionPercentage());
-                    courses.add(courseInfo);
+    private ObjectMapper objectMapper;
+
+    @Value("${chat.service.url:http://localhost:5001/chat}")
+    private String pythonServiceUrl;
+
+    @Value("${chat.service.stream-url:http://localhost:5001/chat/stream}")
+    private String pythonStreamUrl;
+
+    @Value("${chat.service.timeout-ms:20000}")
+    private long timeoutMs;
+
+    // Max silence between two streamed tokens; the stream as a whole may run longer
+    @Value("${chat.service.stream-idle-timeout-ms:30000}")
+    private long streamIdleTimeoutMs;
+
+    @Value("${chat.service.stream-max-duration-ms:300000}")
+    private long streamMaxDurationMs;
+
+    // Streams relayed at once; further streams wait in the streaming dispatcher's queue
+    @Value("${chat.service.stream-max-concurrent:32}")
+    private int maxStreams;
+
+    private OkHttpClient httpClient;
+    private OkHttpClient streamingClient;
+
+    @PostConstruct
+    void init() {
+        // Same pool and dispatcher as the shared client, with a hard limit for the whole call
+        httpClient = sharedHttpClient.newBuilder()
+                .callTimeout(Duration.ofMillis(timeoutMs))
+                .readTimeout(Duration.ofMillis(timeoutMs))
+                .build();
+        // Own dispatcher: a stream holds its dispatcher slot for minutes and must not queue /api/chat calls
+        Dispatcher streamDispatcher = new Dispatcher();
+        streamDispatcher.setMaxRequests(maxStreams);
+        streamDispatcher.setMaxRequestsPerHost(maxStreams);
+        streamingClient = sharedHttpClient.newBuilder()
+                .dispatcher(streamDispatcher)
+                .callTimeout(Duration.ofMillis(streamMaxDurationMs))
+                .readTimeout(Duration.ofMillis(streamIdleTimeoutMs))
+                .build();
+    }
+
+    /**
+     * Builds the payload on the caller thread (context is cached) and completes when the model replies.
+     * Never completes exceptionally: transport failures map to a fallback reply.
+     */
+    public CompletableFuture<ChatResponse> processChat(String email, ChatRequest request) {
+        Request httpRequest;
+        try {
+            httpRequest = buildRequest(pythonServiceUrl, email, request);
+        } catch (IOException e) {
+            log.error("Failed to serialize chat payload", e);
+            return CompletableFuture.completedFuture(new ChatResponse(UNREACHABLE_REPLY));
+        }
+
+        CompletableFuture<ChatResponse> future = new CompletableFuture<>();
+        httpClient.newCall(httpRequest).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                log.warn("Chat service call failed: {}", e.getMessage());
+                future.complete(new ChatResponse(UNREACHABLE_REPLY));
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (ResponseBody body = response.body()) {
+                    if (!response.isSuccessful() || body == null) {
+                        log.warn("Chat service returned HTTP {}", response.code());
+                        future.complete(new ChatResponse(UNREACHABLE_REPLY));
+                        return;
+                    }
+                    Map<String, Object> result = objectMapper.readValue(body.byteStream(),
+                            new TypeReference<Map<String, Object>>() {
+                            });
+                    Object reply = result.get("response");
+                    future.complete(new ChatResponse(reply != null ? reply.toString() : EMPTY_REPLY));
+                } catch (Exception e) {
+                    log.warn("Invalid chat service response: {}", e.getMessage());
+                    future.complete(new ChatResponse(UNREACHABLE_REPLY));
                 }
-                context.put("courses", courses);
-
-                // 2. Recent Quiz Attempts
-                List<com.example.skillforge.model.entity.QuizAttempt> attempts = quizAttemptRepository
-                        .findRecentAttemptsByStudentId(student.getId());
-                List<Map<String, Object>> recentQuizzes = new ArrayList<>();
-                int count = 0;
-                for (com.example.skillforge.model.entity.QuizAttempt attempt : attempts) {
-                    if (count++ >= 5)
-                        break;
-                    Map<String, Object> quizInfo = new HashMap<>();
-                    quizInfo.put("quizTitle", attempt.getQuiz().getTitle());
-                    quizInfo.put("score", attempt.getScore());
-                    // Assuming 50% is passing score if not defined
-                    quizInfo.put("passed", attempt.getScore() != null && attempt.getScore() >= 50.0);
-                    recentQuizzes.add(quizInfo);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Relays the model's answer token by token as server-sent events.
+     *
+     * The downstream service answers with its own event stream ({@code data: <token>} lines, ended by
+     * {@code data: [DONE]}). Lines are read on a thread of the streaming dispatcher and forwarded one by one;
+     * a slow client blocks the forwarding write, which stops reads and lets TCP flow control push back
+     * on the model service. When the client disconnects the upstream call is cancelled.
+     *
+     * Events sent: {@code token} (text fragment), {@code done}, or {@code error} with a fallback message.
+     */
+    public SseEmitter streamChat(String email, ChatRequest request) {
+        SseEmitter emitter = new SseEmitter(streamMaxDurationMs);
+
+        Request httpRequest;
+        try {
+            httpRequest = buildRequest(pythonStreamUrl, email, request);
+        } catch (IOException e) {
+            log.error("Failed to serialize chat payload", e);
+            sendErrorAndComplete(emitter);
+            return emitter;
+        }
+
+        Call call = streamingClient.newCall(httpRequest);
+        AtomicBoolean clientGone = new AtomicBoolean(false);
+        Runnable cancel = () -> {
+            clientGone.set(true);
+            call.cancel();
+        };
+        emitter.onCompletion(call::cancel);
+        emitter.onTimeout(cancel);
+        emitter.onError(e -> cancel.run());
+
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                if (clientGone.get() || call.isCanceled()) {
+                    return;
                 }
-                context.put("recentQuizzes", recentQuizzes);
-
-                // 3. Certificates
-                List<com.example.skillforge.model.entity.Certificate> certificates = certificateRepository
-                        .findByStudentId(student.getId());
-                List<Map<String, Object>> certs = new ArrayList<>();
-                for (com.example.skillforge.model.entity.Certificate cert : certificates) {
-                    Map<String, Object> certInfo = new HashMap<>();
-                    certInfo.put("courseTitle", cert.getCourse().getTitle());
-                    certInfo.put("issueDate", cert.getIssuedAt() != null ? cert.getIssuedAt().toString() : "N/A");
-                    certs.add(certInfo);
+                log.warn("Chat stream call failed: {}", e.getMessage());
+                sendErrorAndComplete(emitter);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (ResponseBody body = response.body()) {
+                    if (!response.isSuccessful() || body == null) {
+                        log.warn("Chat stream returned HTTP {}", response.code());
+                        sendErrorAndComplete(emitter);
+                        return;
+                    }
+
+                    BufferedSource source = body.source();
+                    String line;
+                    while (!clientGone.get() && (line = source.readUtf8Line()) != null) {
+                        if (!line.startsWith("data:")) {
+                            continue; // comments, event names, blank separators
+                        }
+                        String data = line.substring(5).startsWith(" ") ? line.substring(6) : line.substring(5);
+                        if ("[DONE]".equals(data)) {
+                            break;
+                        }
+                        try {
+                            emitter.send(SseEmitter.event().name("token").data(data));
+                        } catch (IOException | IllegalStateException clientError) {
+                            // Client disconnected: stop reading and drop the upstream connection
+                            cancel.run();
+                            return;
+                        }
+                    }
+
+                    if (!clientGone.get()) {
+                        emitter.send(SseEmitter.event().name("done").data(""));
+                        emitter.complete();
+                    }
+                } catch (IOException e) {
+                    if (!clientGone.get() && !call.isCanceled()) {
+                        log.warn("Chat stream interrupted: {}", e.getMessage());
+                        sendErrorAndComplete(emitter);
+                    }
                 }
-                context.put("certificates", certs);
             }
-        }
+        });
+        return emitter;
+    }
+
+    private Request buildRequest(String url, String email, ChatRequest request) throws IOException {
+        Map<String, Object> context = chatContextService.getContext(email);
 
         // Prepare payload for Python service
         Map<String, Object> payload = new HashMap<>();
         payload.put("message", request.getMessage());
         payload.put("context", context);
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(payload, headers);
+        return new Request.Builder()
+                .url(url)
+                .post(RequestBody.create(objectMapper.writeValueAsBytes(payload), JSON))
+                .build();
+    }
 
+    private void sendErrorAndComplete(SseEmitter emitter) {
         try {
-            // Call Python service
-            @SuppressWarnings("unchecked")
-            Map<String, String> response = restTemplate.postForObject(PYTHON_SERVICE_URL, entity, Map.class);
-
-            if (response != null && response.containsKey("response")) {
-                return new ChatResponse(response.get("response"));
-            } else {
-                return new ChatResponse("I am having trouble connecting to my brain right now.");
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-            return new ChatResponse("Sorry, I am currently unavailable. Please try again later.");
+            emitter.send(SseEmitter.event().name("error").data(UNREACHABLE_REPLY));
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
         }
     }
 }
@@ -0,0 +1,397 @@
+package com.example.skillforge.service;
+
+import com.example.skillforge.dto.request.ChunkedUploadInitRequest;
+import com.example.skillforge.dto.response.ChunkedUploadResponse;
+import com.example.skillforge.exception.ResourceNotFoundException;
+import com.example.skillforge.model.entity.Material;
+import com.example.skillforge.model.entity.Topic;
+import com.example.skillforge.model.entity.UploadSession;
+import com.example.skillforge.model.enums.UploadStatus;
+import com.example.skillforge.repository.TopicRepository;
+import com.example.skillforge.repository.UploadSessionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * Chunked, resumable upload of large material files.
+ *
+ * Protocol: initiate -> PUT chunk N (any order, retries allowed) -> complete.
+ * Each chunk is written straight to its final offset in a preallocated temp file,
+ * so nothing is spooled in memory or by the servlet container.
+ * Sessions without progress for upload.chunked.expiry-hours are deleted with their temp file.
+ * Only those who manage the topic's course may start an upload, each with at most
+ * upload.chunked.max-open-per-user unfinished sessions; later calls are limited to the session's owner and admins.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChunkedUploadService {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-fA-F]{64}");
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final TopicRepository topicRepository;
+    private final S3StorageService s3StorageService;
+    private final MaterialService materialService;
+    private final CourseAccessService courseAccessService;
+
+    // Serializes bookkeeping per upload; chunk data itself is written concurrently. Locks rather than
+    // monitors because complete() uploads to S3 while holding one, which would pin a virtual thread.
+    private final ConcurrentHashMap<String, ReentrantLock> uploadLocks = new ConcurrentHashMap<>();
+
+    // Serializes the open-session count and the insert per owner, so parallel initiates cannot pass the cap together
+    private final ConcurrentHashMap<String, ReentrantLock> ownerLocks = new ConcurrentHashMap<>();
+
+    @Value("${file.upload-dir:uploads}")
+    private String baseUploadDir;
+
+    @Value("${upload.chunked.chunk-size:8388608}")
+    private int defaultChunkSize;
+
+    // Client chunk sizes are clamped to this range, which also bounds the per-chunk flag string
+    @Value("${upload.chunked.min-chunk-size:1048576}")
+    private int minChunkSize;
+
+    @Value("${upload.chunked.max-chunk-size:67108864}")
+    private int maxChunkSize;
+
+    @Value("${upload.chunked.max-size:2147483648}")
+    private long maxUploadSize;
+
+    @Value("${upload.chunked.expiry-hours:24}")
+    private long expiryHours;
+
+    // Each open session holds a preallocated temp file of its full size
+    @Value("${upload.chunked.max-open-per-user:5}")
+    private int maxOpenPerUser;
+
+    public ChunkedUploadResponse initiate(ChunkedUploadInitRequest request, Authentication caller)
+            throws IOException {
+
+        Topic topic = topicRepository.findById(request.getTopicId())
+                .orElseThrow(() -> new ResourceNotFoundException("Topic not found"));
+        courseAccessService.checkCanManage(topic.getCourse() != null ? topic.getCourse().getId() : null, caller);
+
+        if (request.getTotalSize() > maxUploadSize) {
+            throw new IllegalArgumentException("File too large. Max size: " + (maxUploadSize / (1024 * 1024)) + "MB");
+        }
+
+        String checksum = request.getChecksum() != null ? request.getChecksum().trim() : "";
+        if (!SHA256_HEX.matcher(checksum).matches()) {
+            throw new IllegalArgumentException("Checksum must be a hex SHA-256 (64 characters)");
+        }
+
+        int requested = request.getChunkSize() != null ? request.getChunkSize() : defaultChunkSize;
+        int chunkSize = Math.max(minChunkSize, Math.min(maxChunkSize, requested));
+        int totalChunks = (int) ((request.getTotalSize() + chunkSize - 1) / chunkSize);
+
+        String owner = caller.getName();
+        ReentrantLock ownerLock = ownerLocks.computeIfAbsent(owner, email -> new ReentrantLock());
+        ownerLock.lock();
+        try {
+            if (uploadSessionRepository.countByOwnerEmailAndStatus(owner, UploadStatus.IN_PROGRESS) >= maxOpenPerUser) {
+                throw new IllegalStateException(
+                        "Too many open uploads (max " + maxOpenPerUser + "), complete or abort one first");
+            }
+            return toResponse(uploadSessionRepository.save(
+                    newSession(request, owner, checksum.toLowerCase(), chunkSize, totalChunks)));
+        } finally {
+            ownerLock.unlock();
+        }
+    }
+
+    private UploadSession newSession(ChunkedUploadInitRequest request, String owner, String checksum, int chunkSize,
+            int totalChunks) throws IOException {
+
+        String uploadId = UUID.randomUUID().toString();
+        Path tempDir = Paths.get(baseUploadDir, "chunked").toAbsolutePath().normalize();
+        Files.createDirectories(tempDir);
+        Path tempFile = tempDir.resolve(uploadId + ".part");
+
+        // Preallocate so every chunk can be written at its final offset
+        try (RandomAccessFile raf = new RandomAccessFile(tempFile.toFile(), "rw")) {
+            raf.setLength(request.getTotalSize());
+        }
+
+        UploadSession session = new UploadSession();
+        session.setId(uploadId);
+        session.setTopicId(request.getTopicId());
+        session.setOwnerEmail(owner);
+        session.setTitle(request.getTitle());
+        session.setDescription(request.getDescription());
+        session.setMaterialType(request.getMaterialType());
+        session.setResponsible(request.getResponsible());
+        session.setDurationMinutes(request.getDurationMinutes());
+        session.setAllowDownload(request.getAllowDownload() != null ? request.getAllowDownload() : false);
+        session.setFileName(request.getFileName());
+        session.setMimeType(request.getMimeType());
+        session.setTotalSize(request.getTotalSize());
+        session.setChunkSize(chunkSize);
+        session.setTotalChunks(totalChunks);
+        session.setReceivedChunks("0".repeat(totalChunks));
+        session.setChecksum(checksum);
+        session.setTempPath(tempFile.toString());
+        session.setStatus(UploadStatus.IN_PROGRESS);
+        return session;
+    }
+
+    /**
+     * Writes one chunk at offset {@code index * chunkSize} using positional FileChannel writes.
+     * Re-sending an already received chunk simply overwrites the same bytes.
+     */
+    public ChunkedUploadResponse writeChunk(String uploadId, int index, InputStream body, Authentication caller)
+            throws IOException {
+
+        UploadSession session = getActiveSession(uploadId);
+        checkOwner(session, caller);
+
+        if (index < 0 || index >= session.getTotalChunks()) {
+            throw new IllegalArgumentException("Chunk index out of range: " + index);
+        }
+
+        long offset = (long) index * session.getChunkSize();
+        long expectedLength = Math.min(session.getChunkSize(), session.getTotalSize() - offset);
+
+        long written = 0;
+        try (FileChannel channel = FileChannel.open(Paths.get(session.getTempPath()), StandardOpenOption.WRITE)) {
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+            int read;
+            while ((read = body.read(buffer, 0, (int) Math.min(buffer.length, expectedLength - written + 1))) != -1) {
+                if (written + read > expectedLength) {
+                    throw new IllegalArgumentException("Chunk " + index + " exceeds expected length " + expectedLength);
+                }
+                byteBuffer.clear().limit(read);
+                while (byteBuffer.hasRemaining()) {
+                    written += channel.write(byteBuffer, offset + written);
+                }
+            }
+        }
+
+        if (written != expectedLength) {
+            throw new IllegalArgumentException(
+                    "Incomplete chunk " + index + ": received " + written + " of " + expectedLength + " bytes");
+        }
+
+        ReentrantLock lock = lockFor(uploadId);
+        lock.lock();
+        try {
+            UploadSession current = getActiveSession(uploadId);
+            char[] flags = current.getReceivedChunks().toCharArray();
+            if (flags[index] != '1') {
+                flags[index] = '1';
+                current.setReceivedChunks(new String(flags));
+                current = uploadSessionRepository.save(current);
+            }
+            return toResponse(current);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public ChunkedUploadResponse getStatus(String uploadId, Authentication caller) {
+        UploadSession session = findSession(uploadId);
+        checkOwner(session, caller);
+        return toResponse(session);
+    }
+
+    /**
+     * Verifies that all chunks arrived and the SHA-256 matches, then stores the file and creates the Material.
+     * Calling complete again on a finished upload returns the same material.
+     */
+    public ChunkedUploadResponse complete(String uploadId, Authentication caller) throws IOException {
+
+        ReentrantLock lock = lockFor(uploadId);
+        lock.lock();
+        try {
+            UploadSession session = findSession(uploadId);
+            checkOwner(session, caller);
+
+            if (session.getStatus() == UploadStatus.COMPLETED) {
+                return toResponse(session);
+            }
+            if (session.getStatus() == UploadStatus.FAILED) {
+                throw new IllegalStateException("Upload has failed, please start a new upload");
+            }
+
+            List<Integer> missing = missingChunks(session);
+            if (!missing.isEmpty()) {
+                throw new IllegalStateException("Upload incomplete, missing " + missing.size() + " chunk(s)");
+            }
+
+            Path tempFile = Paths.get(session.getTempPath());
+            String actualChecksum = sha256(tempFile);
+            if (!actualChecksum.equals(session.getChecksum())) {
+                log.warn("Checksum mismatch for upload {}: expected {}, got {}", uploadId, session.getChecksum(),
+                        actualChecksum);
+                session.setStatus(UploadStatus.FAILED);
+                uploadSessionRepository.save(session);
+                Files.deleteIfExists(tempFile);
+                throw new IllegalStateException("Checksum mismatch, upload rejected");
+            }
+
+            String fileUrl = s3StorageService.uploadFile(tempFile, session.getFileName(), session.getMimeType(),
+                    "materials");
+
+            Material material = materialService.createStoredFileMaterial(
+                    session.getTopicId(),
+                    session.getTitle(),
+                    session.getDescription(),
+                    session.getMaterialType(),
+                    session.getFileName(),
+                    fileUrl,
+                    session.getTotalSize(),
+                    session.getMimeType(),
+                    session.getResponsible(),
+                    session.getDurationMinutes(),
+                    session.getAllowDownload());
+
+            session.setStatus(UploadStatus.COMPLETED);
+            session.setMaterialId(material.getId());
+            session = uploadSessionRepository.save(session);
+
+            Files.deleteIfExists(tempFile);
+            uploadLocks.remove(uploadId);
+
+            return toResponse(session);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void abort(String uploadId, Authentication caller) throws IOException {
+        ReentrantLock lock = lockFor(uploadId);
+        lock.lock();
+        try {
+            UploadSession session = findSession(uploadId);
+            checkOwner(session, caller);
+            Files.deleteIfExists(Paths.get(session.getTempPath()));
+            uploadSessionRepository.delete(session);
+            uploadLocks.remove(uploadId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Deletes uploads that have not received a chunk for upload.chunked.expiry-hours, and failed ones,
+     * together with their preallocated temp files. Completed sessions are kept so complete stays idempotent.
+     */
+    @Scheduled(fixedDelayString = "${upload.chunked.cleanup-interval-ms:3600000}")
+    public void cleanupStale() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(expiryHours);
+        int removed = 0;
+        for (UploadStatus status : List.of(UploadStatus.IN_PROGRESS, UploadStatus.FAILED)) {
+            for (UploadSession stale : uploadSessionRepository.findByStatusAndUpdatedAtBefore(status, cutoff)) {
+                ReentrantLock lock = lockFor(stale.getId());
+                lock.lock();
+                try {
+                    Files.deleteIfExists(Paths.get(stale.getTempPath()));
+                    uploadSessionRepository.delete(stale);
+                    removed++;
+                } catch (IOException e) {
+                    log.warn("Could not delete temp file of upload {}: {}", stale.getId(), e.getMessage());
+                } finally {
+                    lock.unlock();
+                    uploadLocks.remove(stale.getId());
+                }
+            }
+        }
+        if (removed > 0) {
+            log.info("Removed {} abandoned chunked upload(s)", removed);
+        }
+    }
+
+    private UploadSession findSession(String uploadId) {
+        return uploadSessionRepository.findById(uploadId)
+                .orElseThrow(() -> new ResourceNotFoundException("Upload not found"));
+    }
+
+    private UploadSession getActiveSession(String uploadId) {
+        UploadSession session = findSession(uploadId);
+        if (session.getStatus() != UploadStatus.IN_PROGRESS) {
+            throw new IllegalStateException("Upload is " + session.getStatus());
+        }
+        return session;
+    }
+
+    private void checkOwner(UploadSession session, Authentication caller) {
+        if (!caller.getName().equalsIgnoreCase(session.getOwnerEmail()) && !courseAccessService.isAdmin(caller)) {
+            throw new AccessDeniedException("Upload belongs to another user");
+        }
+    }
+
+    private ReentrantLock lockFor(String uploadId) {
+        return uploadLocks.computeIfAbsent(uploadId, id -> new ReentrantLock());
+    }
+
+    private List<Integer> missingChunks(UploadSession session) {
+        List<Integer> missing = new ArrayList<>();
+        String flags = session.getReceivedChunks();
+        for (int i = 0; i < flags.length(); i++) {
+            if (flags.charAt(i) != '1') {
+                missing.add(i);
+            }
+        }
+        return missing;
+    }
+
+    private String sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(COPY_BUFFER_SIZE);
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private ChunkedUploadResponse toResponse(UploadSession session) {
+        List<Integer> missing = missingChunks(session);
+        return ChunkedUploadResponse.builder()
+                .uploadId(session.getId())
+                .status(session.getStatus())
+                .totalSize(session.getTotalSize())
+                .chunkSize(session.getChunkSize())
+                .totalChunks(session.getTotalChunks())
+                .receivedCount(session.getTotalChunks() - missing.size())
+                .missingChunks(missing)
+                .materialId(session.getMaterialId())
+                .build();
+    }
+}
@@ -1,14 +1,18 @@
 package com.example.skillforge.service;
 
+import com.example.skillforge.event.CourseProgressChangedEvent;
 import com.example.skillforge.model.entity.*;
 import com.example.skillforge.repository.*;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
+@Slf4j
 @Service
 public class CompletionService {
 
@@ -33,6 +37,9 @@ public class CompletionService {
     @Autowired
     private QuizAttemptRepository quizAttemptRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Transactional
     public boolean checkTopicCompletion(Long studentId, Long topicId, Long quizAttemptId) {
         // 1. Validate Quiz Attempt
@@ -53,14 +60,13 @@ public class CompletionService {
         }
 
         // 2. check passing marks
-        System.out.println("DEBUG: Checking Topic Completion. Score: " + attempt.getScore());
         if (attempt.getScore() < 70.0) {
-            System.out.println("DEBUG: Score < 70.0. Failed.");
+            log.debug("Topic {} not completed by student {}: score {} < 70", topicId, studentId, attempt.getScore());
             return false; // Failed (Must score >= 70%)
         }
 
         // 3. Mark Topic as Completed
-        System.out.println("DEBUG: Score >= 70.0. Marking Topic " + topicId + " as Completed.");
+        log.debug("Topic {} completed by student {} with score {}", topicId, studentId, attempt.getScore());
         TopicProgress progress = topicProgressRepository.findByStudentIdAndTopicId(studentId, topicId)
                 .orElseGet(() -> {
                     TopicProgress tp = new TopicProgress();
@@ -148,6 +154,7 @@ public class CompletionService {
         // Let's assume 100% = Completed.
 
         courseProgressRepository.save(cp);
+        eventPublisher.publishEvent(new CourseProgressChangedEvent(studentId, cp.getCourseId()));
         return true;
     }
 }
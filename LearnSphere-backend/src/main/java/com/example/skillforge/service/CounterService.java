@@ -0,0 +1,85 @@
+package com.example.skillforge.service;
+
+import com.example.skillforge.repository.CourseRepository;
+import com.example.skillforge.repository.StudentRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counter updates for denormalized totals (Course.totalEnrollments, Course.viewsCount,
+ * Student.coursesEnrolled, Student.totalPoints).
+ *
+ * Deltas are applied with atomic "UPDATE ... SET x = x + ?" statements, so concurrent writers
+ * never lose increments. Course views are hot enough that they are first aggregated in memory
+ * (LongAdder per course) and flushed periodically as one UPDATE per course.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CounterService {
+
+    private final CourseRepository courseRepository;
+    private final StudentRepository studentRepository;
+
+    private final ConcurrentHashMap<Long, LongAdder> pendingCourseViews = new ConcurrentHashMap<>();
+
+    public void adjustCourseEnrollments(Long courseId, int delta) {
+        courseRepository.adjustTotalEnrollments(courseId, delta);
+    }
+
+    public void adjustCoursesEnrolled(Long studentId, int delta) {
+        studentRepository.adjustCoursesEnrolled(studentId, delta);
+    }
+
+    public void incrementCoursesEnrolled(Collection<Long> studentIds) {
+        if (!studentIds.isEmpty()) {
+            studentRepository.incrementCoursesEnrolled(studentIds);
+        }
+    }
+
+    public void addPoints(Long studentId, int points) {
+        if (points != 0) {
+            studentRepository.addTotalPoints(studentId, points);
+        }
+    }
+
+    /**
+     * Records course views in memory; persisted by {@link #flushCourseViews()}.
+     */
+    public void recordCourseViews(Long courseId, long views) {
+        pendingCourseViews.computeIfAbsent(courseId, id -> new LongAdder()).add(views);
+    }
+
+    @Scheduled(fixedDelayString = "${counters.views.flush-interval-ms:5000}")
+    public void flushCourseViews() {
+        for (Map.Entry<Long, LongAdder> entry : pendingCourseViews.entrySet()) {
+            long delta = entry.getValue().sumThenReset();
+            if (delta == 0) {
+                continue;
+            }
+            try {
+                if (courseRepository.incrementViewsCount(entry.getKey(), (int) delta) == 0) {
+                    // Course no longer exists
+                    pendingCourseViews.remove(entry.getKey());
+                }
+            } catch (Exception e) {
+                // Put the views back so the next flush retries them
+                entry.getValue().add(delta);
+                log.warn("Failed to flush {} views for course {}: {}", delta, entry.getKey(), e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushCourseViews();
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.skillforge.service;
+
+import com.example.skillforge.model.entity.User;
+import com.example.skillforge.repository.CourseRepository;
+import com.example.skillforge.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+/**
+ * Who may change a course's roster, content or mail: admins, the course's instructor and its course admin.
+ */
+@Service
+@RequiredArgsConstructor
+public class CourseAccessService {
+
+    private final CourseRepository courseRepository;
+    private final UserRepository userRepository;
+
+    /**
+     * @throws AccessDeniedException when the caller is neither an admin nor manages the course
+     */
+    public void checkCanManage(Long courseId, Authentication authentication) {
+        if (!isAdmin(authentication) && !managesCourse(courseId, authentication.getName())) {
+            throw new AccessDeniedException("Not allowed to manage course " + courseId);
+        }
+    }
+
+    public boolean isAdmin(Authentication authentication) {
+        return authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+    }
+
+    public boolean managesCourse(Long courseId, String email) {
+        if (courseId == null || email == null) {
+            return false;
+        }
+        return courseRepository.findById(courseId)
+                .map(course -> {
+                    User instructor = course.getInstructor() != null ? course.getInstructor().getUser() : null;
+                    if (instructor != null && email.equalsIgnoreCase(instructor.getEmail())) {
+                        return true;
+                    }
+                    return course.getCourseAdminUserId() != null && userRepository.findByEmail(email)
+                            .map(user -> course.getCourseAdminUserId().equals(user.getId()))
+                            .orElse(false);
+                })
+                .orElse(false);
+    }
+}
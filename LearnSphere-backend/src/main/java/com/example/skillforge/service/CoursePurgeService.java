@@ -0,0 +1,215 @@
+package com.example.skillforge.service;
+
+import com.example.skillforge.event.EnrollmentChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Deletes soft-deleted courses and everything that hangs off them with set-based statements.
+ *
+ * CourseService.deleteCourse only flags the course (deleted_at, unpublished), which hides it from
+ * every query right away. This service then deletes child tables in dependency order, each with
+ * DELETE ... LIMIT batches in short transactions, instead of loading the whole graph for JPA cascade.
+ * The flagged row is the durable marker: every step is idempotent and a scheduled sweep re-runs
+ * purges that were interrupted, until the course row itself is gone.
+ */
+@Slf4j
+@Service
+public class CoursePurgeService {
+
+    private static final String COURSE_TOPICS = "SELECT id FROM topics WHERE course_id = ?";
+    private static final String COURSE_QUIZZES = "SELECT id FROM quizzes WHERE course_id = ?";
+    private static final String COURSE_MATERIALS =
+            "SELECT m.id FROM materials m JOIN topics t ON t.id = m.topic_id WHERE t.course_id = ?";
+
+    /**
+     * Children before parents; enrollments are handled separately (student counters and events).
+     */
+    private static final List<String> STEPS = List.of(
+            "DELETE FROM attempt_answers WHERE attempt_id IN (SELECT qa.id FROM quiz_attempts qa "
+                    + "JOIN quizzes q ON q.id = qa.quiz_id WHERE q.course_id = ?) LIMIT ?",
+            "DELETE FROM quiz_attempts WHERE quiz_id IN (" + COURSE_QUIZZES + ") LIMIT ?",
+            "DELETE FROM answers WHERE question_id IN (SELECT qu.id FROM questions qu "
+                    + "JOIN quizzes q ON q.id = qu.quiz_id WHERE q.course_id = ?) LIMIT ?",
+            "DELETE FROM questions WHERE quiz_id IN (" + COURSE_QUIZZES + ") LIMIT ?",
+            "DELETE FROM quizzes WHERE course_id = ? LIMIT ?",
+            "DELETE FROM topic_quiz_progress WHERE topic_id IN (" + COURSE_TOPICS + ") LIMIT ?",
+            "DELETE FROM topic_material_progress WHERE material_id IN (" + COURSE_MATERIALS + ") LIMIT ?",
+            "DELETE FROM material_attachments WHERE material_id IN (" + COURSE_MATERIALS + ") LIMIT ?",
+            "DELETE FROM materials WHERE topic_id IN (" + COURSE_TOPICS + ") LIMIT ?",
+            "DELETE FROM topic_progress WHERE topic_id IN (" + COURSE_TOPICS + ") LIMIT ?",
+            "DELETE FROM topics WHERE course_id = ? LIMIT ?",
+            "DELETE FROM reviews WHERE course_id = ? LIMIT ?",
+            "DELETE FROM certificates WHERE course_id = ? LIMIT ?",
+            "DELETE FROM course_progress WHERE course_id = ? LIMIT ?",
+            "DELETE FROM analytics WHERE course_id = ? LIMIT ?",
+            "DELETE FROM progress WHERE course_id = ? LIMIT ?",
+            "DELETE FROM course_view_daily WHERE course_id = ? LIMIT ?",
+            "DELETE FROM course_stats_daily WHERE course_id = ? LIMIT ?");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate tx;
+    private final ThreadPoolTaskExecutor purgeExecutor;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Courses being purged by this instance, so the sweep does not dispatch them twice
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+
+    @Value("${purge.batch-size:500}")
+    private int batchSize;
+
+    @Value("${purge.batch-pause-ms:20}")
+    private long batchPauseMs;
+
+    public CoursePurgeService(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("purgeExecutor") ThreadPoolTaskExecutor purgeExecutor,
+            ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.purgeExecutor = purgeExecutor;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Purges the course in the background once the caller's transaction (the soft delete) commits.
+     */
+    public void schedule(Long courseId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(courseId);
+                }
+            });
+        } else {
+            dispatch(courseId);
+        }
+    }
+
+    /**
+     * Deletes all data of the course and then the course row, on the calling thread.
+     * Safe to call again after a failure.
+     */
+    public long purge(Long courseId) {
+        long start = System.currentTimeMillis();
+        long deleted = 0;
+        for (String sql : STEPS) {
+            int count;
+            do {
+                count = update(sql, courseId);
+                deleted += count;
+                pause(count);
+            } while (count >= batchSize);
+        }
+        deleted += purgeEnrollments(courseId);
+        deleted += update("DELETE FROM courses WHERE id = ?", courseId);
+        log.info("Purged course {} ({} rows) in {} ms", courseId, deleted, System.currentTimeMillis() - start);
+        return deleted;
+    }
+
+    /**
+     * Re-dispatches courses that are flagged as deleted but still present (crash, restart, failure).
+     */
+    @Scheduled(fixedDelayString = "${purge.sweep-interval-ms:60000}")
+    public void sweep() {
+        List<Long> pending = jdbcTemplate.queryForList(
+                "SELECT id FROM courses WHERE deleted_at IS NOT NULL AND deleted_at < ?", Long.class,
+                LocalDateTime.now().minusMinutes(1));
+        pending.forEach(this::dispatch);
+    }
+
+    private void dispatch(Long courseId) {
+        if (!running.add(courseId)) {
+            return;
+        }
+        try {
+            purgeExecutor.execute(() -> {
+                try {
+                    purge(courseId);
+                } catch (Exception e) {
+                    log.error("Purge of course {} failed, will be retried by the sweep", courseId, e);
+                } finally {
+                    running.remove(courseId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            running.remove(courseId);
+            log.warn("Purge executor saturated, course {} will be purged by the next sweep", courseId);
+        }
+    }
+
+    // Enrollments in batches: the students' counters are adjusted in the same transaction as the delete
+    private long purgeEnrollments(Long courseId) {
+        long deleted = 0;
+        int count;
+        do {
+            List<Long> studentIds = new ArrayList<>();
+            Integer batch = tx.execute(status -> {
+                List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                        "SELECT id, student_id FROM enrollments WHERE course_id = ? LIMIT ?", courseId, batchSize);
+                if (rows.isEmpty()) {
+                    return 0;
+                }
+                List<Object> ids = new ArrayList<>(rows.size());
+                for (Map<String, Object> row : rows) {
+                    ids.add(row.get("id"));
+                    studentIds.add(((Number) row.get("student_id")).longValue());
+                }
+                String in = String.join(",", Collections.nCopies(rows.size(), "?"));
+                jdbcTemplate.update("UPDATE students SET courses_enrolled = GREATEST(courses_enrolled - 1, 0) "
+                        + "WHERE id IN (" + in + ")", studentIds.toArray());
+                int removed = jdbcTemplate.update("DELETE FROM enrollments WHERE id IN (" + in + ")", ids.toArray());
+                eventPublisher.publishEvent(new EnrollmentChangedEvent(courseId, studentIds));
+                return removed;
+            });
+            count = batch != null ? batch : 0;
+            deleted += count;
+            pause(count);
+        } while (count >= batchSize);
+        return deleted;
+    }
+
+    private int update(String sql, Long courseId) {
+        // Every "?" but the LIMIT is the course id
+        int params = sql.length() - sql.replace("?", "").length();
+        Object[] args = new Object[params];
+        Arrays.fill(args, courseId);
+        if (sql.endsWith("LIMIT ?")) {
+            args[params - 1] = batchSize;
+        }
+        Integer count = tx.execute(status -> jdbcTemplate.update(sql, args));
+        return count != null ? count : 0;
+    }
+
+    private void pause(int deleted) {
+        if (deleted > 0 && batchPauseMs > 0) {
+            try {
+                Thread.sleep(batchPauseMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Purge interrupted");
+            }
+        }
+    }
+}
@@ -3,12 +3,19 @@ package com.example.skillforge.service;
 import com.example.skillforge.model.entity.Course;
 import com.example.skillforge.model.enums.DifficultyLevel;
 import com.example.skillforge.repository.CourseRepository;
+import com.example.skillforge.service.recommendation.CourseRecommender;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class CourseRecommendationService {
@@ -16,6 +23,9 @@ public class CourseRecommendationService {
     private final CourseRepository courseRepository;
     private final com.example.skillforge.repository.EnrollmentRepository enrollmentRepository;
     private final com.example.skillforge.repository.CourseProgressRepository courseProgressRepository;
+    private final CourseRecommender courseRecommender;
+
+    private static final int DASHBOARD_SIZE = 3;
 
     private List<Long> getCompletedCourseIds(Long studentId) {
         // 1. From CourseProgress (>= 99%)
@@ -38,14 +48,13 @@ public class CourseRecommendationService {
     }
 
     public Course recommendNextCourse(Long completedCourseId, Long studentId) {
-        System.out.println("DEBUG: recommendNextCourse called for course " + completedCourseId + " student " + studentId);
         Course completedCourse = courseRepository.findById(completedCourseId).orElse(null);
         if (completedCourse == null) return null;
 
         // 1. Get all completed course IDs to EXCLUDE
         List<Long> completedCourseIds = getCompletedCourseIds(studentId);
-        
-        System.out.println("DEBUG: Found " + completedCourseIds.size() + " completed courses for student " + studentId + ": " + completedCourseIds);
+        log.debug("Next course after {} for student {}, excluding completed {}", completedCourseId, studentId,
+                completedCourseIds);
 
         // Also exclude the current one explicitly
         if (!completedCourseIds.contains(completedCourseId)) {
@@ -64,7 +73,7 @@ public class CourseRecommendationService {
         );
 
         if (!nextLevelCourses.isEmpty()) {
-            return nextLevelCourses.get(0);
+            return mostSimilar(nextLevelCourses, completedCourseId);
         }
 
         // 2b. Try to find same category, SAME level (e.g., Testing 1 -> Testing 2, both Beginner)
@@ -73,17 +82,17 @@ public class CourseRecommendationService {
                 category, currentLevel, completedCourseIds
         );
         if (!sameLevelCourses.isEmpty()) {
-            // Ideally sort by something, but default order is likely ID or creation
-             return sameLevelCourses.get(0);
+            // Rank by co-enrollment similarity to the completed course
+            return mostSimilar(sameLevelCourses, completedCourseId);
         }
 
 
         // 3. If no next/same level, suggest popular in same category (side-grade or deep dive)
-        List<Course> similarCourses = courseRepository.findRelatedCourses(category, completedCourseId);
-        for (Course c : similarCourses) {
-            if (!completedCourseIds.contains(c.getId())) {
-                return c;
-            }
+        List<Course> similarCourses = courseRepository.findRelatedCourses(category, completedCourseId).stream()
+                .filter(c -> !completedCourseIds.contains(c.getId()))
+                .toList();
+        if (!similarCourses.isEmpty()) {
+            return mostSimilar(similarCourses, completedCourseId);
         }
 
         // 4. Fallback: Top popular globally, excluding completed
@@ -94,53 +103,40 @@ public class CourseRecommendationService {
             }
         }
         
-        // 5. Ultimate Fallback -> Any published course not completed
-        List<Course> allPublished = courseRepository.findAllPublishedCourses();
-        for(Course c : allPublished) {
-             if (!completedCourseIds.contains(c.getId())) {
-                return c;
-            }
-        }
-
-        return null; // No recommendation found
+        // 5. Ultimate Fallback -> collaborative filtering over everything published (served from memory)
+        List<Course> fromModel = loadInOrder(courseRecommender.recommend(studentId, 1, toArray(completedCourseIds)));
+        return fromModel.isEmpty() ? null : fromModel.get(0); // null: no recommendation found
     }
 
 
 
+    /**
+     * Dashboard suggestions from the in-memory recommender: courses co-enrolled by similar learners,
+     * filled up with the most popular published courses (also for students without any history).
+     */
     public List<Course> recommendCoursesForDashboard(Long studentId) {
-        // 1. Find last interacted course
-         var lastProgress = courseProgressRepository.findTopByStudentIdOrderByLastUpdatedDesc(studentId);
-         
-         if (lastProgress.isPresent()) {
-             Long lastCourseId = lastProgress.get().getCourseId();
-             // If completed, suggest next based on THAT course
-             if (lastProgress.get().getProgressPercent() >= 99.0) {
-                 Course next = recommendNextCourse(lastCourseId, studentId);
-                 return next != null ? List.of(next) : Collections.emptyList();
-             }
-             
-             // If active, suggest related/similar
-             Course active = courseRepository.findById(lastCourseId).orElse(null);
-             if (active != null) {
-                  List<Long> completedIds = getCompletedCourseIds(studentId);
-                  
-                   if(!completedIds.contains(lastCourseId)) completedIds.add(lastCourseId); // Exclude current active self
-
-                 List<Course> related = courseRepository.findRelatedCourses(active.getCategory(), lastCourseId);
-                  return related.stream()
-                        .filter(c -> !completedIds.contains(c.getId()))
-                        .limit(3)
-                        .collect(java.util.stream.Collectors.toList());
-             }
-         }
-         
-         // 2. Fallback: Popular courses (filter out completed)
-         List<Long> completedIds = getCompletedCourseIds(studentId);
-
-         List<Course> popular = courseRepository.findTop3ByCategoryAndIsPublishedTrueOrderByTotalEnrollmentsDesc("Programming"); 
-         return popular.stream()
-                .filter(c -> !completedIds.contains(c.getId()))
-                .collect(java.util.stream.Collectors.toList()); 
+        List<Long> completedIds = getCompletedCourseIds(studentId);
+        return loadInOrder(courseRecommender.recommend(studentId, DASHBOARD_SIZE, toArray(completedIds)));
+    }
+
+    private Course mostSimilar(List<Course> candidates, Long courseId) {
+        return candidates.stream()
+                .max(Comparator.comparingDouble((Course c) -> courseRecommender.similarity(courseId, c.getId()))
+                        .thenComparing(c -> c.getTotalEnrollments() != null ? c.getTotalEnrollments() : 0))
+                .orElse(null);
+    }
+
+    private List<Course> loadInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, Course> byId = courseRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Course::getId, Function.identity()));
+        return ids.stream().map(byId::get).filter(java.util.Objects::nonNull).toList();
+    }
+
+    private static long[] toArray(List<Long> ids) {
+        return ids.stream().mapToLong(Long::longValue).toArray();
     }
 
     private DifficultyLevel getNextLevel(DifficultyLevel level) {
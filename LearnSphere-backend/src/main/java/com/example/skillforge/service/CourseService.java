@@ -238,19 +238,29 @@ import com.example.skillforge.model.entity.*;
 import com.example.skillforge.model.enums.DifficultyLevel;
 import com.example.skillforge.model.enums.AccessRule;
 import com.example.skillforge.repository.*;
+import com.example.skillforge.service.metrics.QueryBudget;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class CourseService {
@@ -261,15 +271,13 @@ public class CourseService {
     private final UserRepository userRepository;
     private final CourseProgressRepository courseProgressRepository;
     private final StudentRepository studentRepository;
-    private final TopicProgressRepository topicProgressRepository;
     private final QuizRepository quizRepository;
     private final TopicRepository topicRepository;
-    private final TopicQuizProgressRepository topicQuizProgressRepository;
     private final S3StorageService s3StorageService;
-    private final TopicMaterialProgressRepository topicMaterialProgressRepository;
     private final ReviewRepository reviewRepository;
-    private final CertificateRepository certificateRepository;
-    private final AnalyticsRepository analyticsRepository;
+    private final CourseViewIngestionService courseViewIngestionService;
+    private final CoursePurgeService coursePurgeService;
+    private final ThreadPoolTaskExecutor mediaExecutor;
 
     @Transactional
     public CourseResponse createCourse(CourseRequest request, Long userId) {
@@ -313,10 +321,9 @@ public class CourseService {
         return mapToCourseResponse(course, userId);
     }
 
+    @QueryBudget(8)
     public List<CourseResponse> getAllCourses(Long userId) {
-        return courseRepository.findAll().stream()
-                .map(course -> mapToCourseResponse(course, userId))
-                .collect(Collectors.toList());
+        return mapToCourseResponses(courseRepository.findAll(), userId);
     }
 
     /**
@@ -328,6 +335,7 @@ public class CourseService {
      * @return Page<CourseResponse>
      */
 
+    @QueryBudget(10)
     public Page<CourseResponse> getAllCourses(
             int page,
             int size,
@@ -402,22 +410,21 @@ public class CourseService {
                     pageable);
         }
 
-        return coursePage.map(course -> mapToCourseResponse(course, studentId));
+        return new PageImpl<>(mapToCourseResponses(coursePage.getContent(), studentId),
+                coursePage.getPageable(), coursePage.getTotalElements());
     }
 
+    @QueryBudget(8)
     public List<CourseResponse> getCoursesByInstructor(Long userId) {
         Instructor instructor = instructorRepository.findByUserId(userId)
                 .orElseThrow(() -> new RuntimeException("Instructor not found"));
 
-        return instructor.getCourses().stream()
-                .map(course -> mapToCourseResponse(course, null))
-                .collect(Collectors.toList());
+        return mapToCourseResponses(instructor.getCourses(), null);
     }
 
+    @QueryBudget(8)
     public List<CourseResponse> getPublishedCourses(Long userId) {
-        return courseRepository.findByIsPublished(true).stream()
-                .map(course -> mapToCourseResponse(course, userId))
-                .collect(Collectors.toList());
+        return mapToCourseResponses(courseRepository.findByIsPublished(true), userId);
     }
 
     @Transactional
@@ -458,81 +465,77 @@ public class CourseService {
         return course.getIsPublished();
     }
 
+    /**
+     * Hides the course immediately (soft delete) and removes it and its data in the background,
+     * see {@link CoursePurgeService}.
+     */
     @Transactional
     @PreAuthorize("hasAnyRole('INSTRUCTOR', 'ADMIN')") // Ensure security
     public void deleteCourse(Long id) {
         Course course = courseRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Course not found"));
 
-        // 1. Manually cleanup progress and other related data to avoid FK violations
-        
-        // Cleanup Reviews
-        reviewRepository.deleteByCourseId(id);
-        
-        // Cleanup Certificates
-        certificateRepository.deleteByCourseId(id);
-        
-        // Cleanup Course Progress
-        courseProgressRepository.deleteByCourseId(id);
-        
-        // Cleanup Analytics
-        analyticsRepository.deleteByCourseId(id);
-        
-        // Cleanup Topic-level progress
-        for (Topic topic : course.getTopics()) {
-            // Delete Topic Quiz Progress
-            topicQuizProgressRepository.deleteByTopicId(topic.getId());
-            
-            // Delete Topic Material Progress
-            for (Material material : topic.getMaterials()) {
-                topicMaterialProgressRepository.deleteByMaterialId(material.getId());
-            }
-            
-            // Delete Topic Progress
-            topicProgressRepository.deleteByTopicId(topic.getId());
-        }
-
-        // 2. Adjust Instructor stats
+        // Adjust Instructor stats
         Instructor instructor = course.getInstructor();
         if (instructor != null) {
             instructor.setCoursesCreated(Math.max(0, instructor.getCoursesCreated() - 1));
             instructorRepository.save(instructor);
         }
 
-        // 3. Delete the Course (cascades to Topics, Quizzes, Enrollments)
-        courseRepository.delete(course);
-        
-        System.out.println("Successfully deleted course and all associated student data for ID: " + id);
+        course.setIsPublished(false);
+        course.setDeletedAt(LocalDateTime.now());
+        courseRepository.save(course);
+
+        coursePurgeService.schedule(id);
     }
 
     private CourseResponse mapToCourseResponse(Course course, Long userId) {
-        User instructorUser = course.getInstructor().getUser();
+        return mapToCourseResponses(List.of(course), userId).get(0);
+    }
+
+    /**
+     * Instructor names, topic counts, ratings and the viewer's enrollment and progress are loaded with one
+     * query each for the whole list, so a page of courses costs the same number of statements as one course.
+     */
+    private List<CourseResponse> mapToCourseResponses(List<Course> courses, Long userId) {
+        if (courses.isEmpty()) {
+            return List.of();
+        }
+        List<Long> courseIds = courses.stream().map(Course::getId).toList();
 
-        Boolean isEnrolled = false;
-        Integer progressPercent = 0;
-        LocalDateTime lastAccessed = null;
+        Map<Long, Object[]> instructors = byCourseId(courseRepository.findInstructorUsersByCourseIds(courseIds));
+        Map<Long, Object[]> topicCounts = byCourseId(topicRepository.countByCourseIds(courseIds));
+        Map<Long, Object[]> ratings = byCourseId(reviewRepository.findRatingStatsByCourseIds(courseIds));
 
+        Map<Long, Enrollment> enrollments = Map.of();
+        Map<Long, CourseProgress> progress = new HashMap<>();
         if (userId != null) {
             Student student = studentRepository.findByUserId(userId)
                     .orElseThrow(() -> new RuntimeException("Student Not Found"));
             Long studentInternalId = student.getId();
 
-            Enrollment enrollment = enrollmentRepository
-                    .findByStudentIdAndCourseId(studentInternalId, course.getId())
-                    .orElse(null);
-
-            isEnrolled = (enrollment != null);
-
-            CourseProgress cp = courseProgressRepository
-                    .findByStudentIdAndCourseId(userId, course.getId())
-                    .orElse(null);
+            enrollments = enrollmentRepository.findByStudentIdAndCourseIdIn(studentInternalId, courseIds).stream()
+                    .collect(Collectors.toMap(e -> e.getCourse().getId(), e -> e, (a, b) -> a));
 
-            if (cp == null) {
-                cp = courseProgressRepository
-                        .findByStudentIdAndCourseId(studentInternalId, course.getId())
-                        .orElse(null);
+            // Progress may be keyed by the user id or by the internal student id; the user id row wins
+            for (CourseProgress cp : courseProgressRepository
+                    .findByStudentIdInAndCourseIdIn(List.of(userId, studentInternalId), courseIds)) {
+                if (userId.equals(cp.getStudentId()) || !progress.containsKey(cp.getCourseId())) {
+                    progress.put(cp.getCourseId(), cp);
+                }
             }
+        }
+
+        List<CourseResponse> responses = new ArrayList<>(courses.size());
+        for (Course course : courses) {
+            Object[] instructor = instructors.get(course.getId());
+            Object[] topics = topicCounts.get(course.getId());
+            Object[] rating = ratings.get(course.getId());
+            Enrollment enrollment = enrollments.get(course.getId());
+            CourseProgress cp = progress.get(course.getId());
 
+            Integer progressPercent = 0;
+            LocalDateTime lastAccessed = null;
             if (cp != null) {
                 progressPercent = cp.getProgressPercent() != null ? cp.getProgressPercent() : 0;
                 lastAccessed = cp.getLastUpdated();
@@ -542,38 +545,43 @@ public class CourseService {
                         : 0;
                 lastAccessed = enrollment.getLastAccessedAt();
             }
+
+            responses.add(CourseResponse.builder()
+                    .id(course.getId())
+                    .title(course.getTitle())
+                    .description(course.getDescription())
+                    .instructorId(instructor != null ? (Long) instructor[1] : null)
+                    .instructorName(instructor != null ? (String) instructor[2] : null)
+                    .difficultyLevel(course.getDifficultyLevel())
+                    .thumbnailUrl(course.getThumbnailUrl())
+                    .duration(course.getDuration())
+                    .totalTopics(topics != null ? ((Number) topics[1]).intValue() : 0)
+                    .totalEnrollments(course.getTotalEnrollments())
+                    .isPublished(course.getIsPublished())
+                    .isEnrolled(enrollment != null)
+                    .tags(course.getTags())
+                    .viewsCount(course.getViewsCount())
+                    .courseAdminUserId(course.getCourseAdminUserId())
+                    .category(course.getCategory())
+                    .visibility(course.getVisibility())
+                    .accessRule(course.getAccessRule())
+                    .price(course.getPrice())
+                    .createdAt(course.getCreatedAt())
+                    .progressPercent(progressPercent)
+                    .lastAccessed(lastAccessed)
+                    .averageRating(rating != null && rating[1] != null ? ((Number) rating[1]).doubleValue() : 0.0)
+                    .totalReviews(rating != null ? ((Number) rating[2]).intValue() : 0)
+                    .build());
         }
+        return responses;
+    }
 
-        // ⭐ NEW: Fetch Rating Stats ⭐
-        Double avgRating = reviewRepository.getAverageRating(course.getId());
-        Long totalReviews = reviewRepository.countByCourseId(course.getId());
-
-        return CourseResponse.builder()
-                .id(course.getId())
-                .title(course.getTitle())
-                .description(course.getDescription())
-                .instructorId(instructorUser.getId())
-                .instructorName(instructorUser.getName())
-                .difficultyLevel(course.getDifficultyLevel())
-                .thumbnailUrl(course.getThumbnailUrl())
-                .duration(course.getDuration())
-                .totalTopics(course.getTopics().size())
-                .totalEnrollments(course.getTotalEnrollments())
-                .isPublished(course.getIsPublished())
-                .isEnrolled(isEnrolled)
-                .tags(course.getTags())
-                .viewsCount(course.getViewsCount())
-                .courseAdminUserId(course.getCourseAdminUserId())
-                .category(course.getCategory())
-                .visibility(course.getVisibility())
-                .accessRule(course.getAccessRule())
-                .price(course.getPrice())
-                .createdAt(course.getCreatedAt())
-                .progressPercent(progressPercent)
-                .lastAccessed(lastAccessed)
-                .averageRating(avgRating != null ? avgRating : 0.0)
-                .totalReviews(totalReviews != null ? totalReviews.intValue() : 0)
-                .build();
+    private static Map<Long, Object[]> byCourseId(List<Object[]> rows) {
+        Map<Long, Object[]> byId = new HashMap<>();
+        for (Object[] row : rows) {
+            byId.put((Long) row[0], row);
+        }
+        return byId;
     }
 
     @Transactional
@@ -602,16 +610,14 @@ public class CourseService {
 
         course.setDuration(totalMinutes);
         courseRepository.save(course);
-        System.out.println("Updated Course Duration for ID " + courseId + ": " + totalMinutes + " minutes");
+        log.debug("Updated duration of course {} to {} minutes", courseId, totalMinutes);
     }
 
-    @Transactional
-    public void incrementViewCount(Long courseId) {
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new RuntimeException("Course not found"));
-
-        course.setViewsCount(course.getViewsCount() + 1);
-        courseRepository.save(course);
+    /**
+     * Hands the view to the ingestion pipeline (dedup + batched writes), no write transaction per view.
+     */
+    public void incrementViewCount(Long courseId, String viewer) {
+        courseViewIngestionService.recordView(viewer, courseId);
     }
 
     /**
@@ -624,24 +630,15 @@ public class CourseService {
             Course course = courseRepository.findById(courseId)
                     .orElseThrow(() -> new RuntimeException("Course not found"));
 
-            // Delete old image if exists (only if it's an S3 URL)
-            if (course.getThumbnailUrl() != null && !course.getThumbnailUrl().isEmpty()
-                    && course.getThumbnailUrl().contains("s3.amazonaws.com")) {
-                try {
-                    s3StorageService.deleteFile(course.getThumbnailUrl());
-                } catch (Exception e) {
-                    // Log but don't fail if old image deletion fails
-                    System.err.println("Failed to delete old image: " + e.getMessage());
-                }
-            }
-
+            String oldImageUrl = course.getThumbnailUrl();
             String imageUrl;
 
             // Try S3 upload first, fallback to local storage if S3 fails
             try {
                 imageUrl = s3StorageService.uploadFile(file, "course-thumbnails");
             } catch (Exception s3Exception) {
-                System.err.println("S3 upload failed, using local storage: " + s3Exception.getMessage());
+                log.warn("S3 upload of the thumbnail of course {} failed, using local storage: {}", courseId,
+                        s3Exception.getMessage());
 
                 // Fallback to local file storage
                 String uploadDir = "uploads/course-thumbnails/";
@@ -664,6 +661,16 @@ public class CourseService {
             course.setThumbnailUrl(imageUrl);
             courseRepository.save(course);
 
+            // Delete old image (only if it's an S3 URL) once the new one is committed, off the request thread
+            if (oldImageUrl != null && oldImageUrl.contains("s3.amazonaws.com")) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        mediaExecutor.execute(() -> s3StorageService.deleteFile(oldImageUrl));
+                    }
+                });
+            }
+
             return imageUrl;
         } catch (Exception e) {
             throw new RuntimeException("Failed to upload course image: " + e.getMessage(), e);
@@ -671,20 +678,14 @@ public class CourseService {
     }
 
     public java.util.List<java.util.Map<String, Object>> getPotentialCourseAdmins() {
-        java.util.List<User> admins = userRepository.findByRole(com.example.skillforge.model.enums.Role.ADMIN);
-        java.util.List<User> instructors = userRepository
-                .findByRole(com.example.skillforge.model.enums.Role.INSTRUCTOR);
-
-        java.util.List<User> all = new java.util.ArrayList<>(admins);
-        all.addAll(instructors);
-
-        return all.stream()
-                .distinct()
-                .map(user -> {
+        return userRepository.findContactsByRoleIn(java.util.List.of(
+                        com.example.skillforge.model.enums.Role.ADMIN,
+                        com.example.skillforge.model.enums.Role.INSTRUCTOR)).stream()
+                .map(row -> {
                     java.util.Map<String, Object> map = new java.util.HashMap<>();
-                    map.put("userId", user.getId());
-                    map.put("name", user.getName());
-                    map.put("email", user.getEmail());
+                    map.put("userId", row[0]);
+                    map.put("name", row[1]);
+                    map.put("email", row[2]);
                     return map;
                 })
                 .collect(Collectors.toList());
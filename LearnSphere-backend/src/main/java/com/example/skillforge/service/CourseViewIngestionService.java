@@ -0,0 +1,182 @@
+package com.example.skillforge.service;
+
+import com.example.skillforge.exception.ResourceNotFoundException;
+import com.example.skillforge.model.entity.CourseViewDaily;
+import com.example.skillforge.repository.CourseViewDailyRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ingestion path for POST /api/courses/{id}/view.
+ *
+ * A view is accepted into a lock-free queue after a per (user, course, time window) dedup check,
+ * so page loads never open a write transaction. A scheduled drain aggregates the queue into
+ * per-course deltas (handed to CounterService for viewsCount) and per-day deltas (upserted
+ * into course_view_daily for instructor analytics). Views of unknown or deleted courses are
+ * rejected up front against a cached id set.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CourseViewIngestionService {
+
+    // Joined with courses, so a course deleted since the view was accepted gets no row
+    private static final String UPSERT_DAILY = "INSERT INTO course_view_daily (course_id, view_date, views) "
+            + "SELECT c.id, ?, ? FROM courses c WHERE c.id = ? AND c.deleted_at IS NULL "
+            + "ON DUPLICATE KEY UPDATE views = views + VALUES(views)";
+
+    private static final String LIVE_COURSES = "SELECT id FROM courses WHERE deleted_at IS NULL";
+
+    private final CounterService counterService;
+    private final CourseViewDailyRepository courseViewDailyRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    private final ConcurrentLinkedQueue<ViewEvent> buffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger buffered = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+
+    // (user, course, window) keys already accepted; pruned as windows expire
+    private final ConcurrentHashMap<DedupKey, Boolean> seen = new ConcurrentHashMap<>();
+
+    // Ids of courses that exist and are not deleted; misses are checked once against the database
+    private volatile Set<Long> liveCourses = ConcurrentHashMap.newKeySet();
+
+    // Daily rows whose write failed; merged into the next drain
+    private final Map<DailyKey, Long> failedDaily = new HashMap<>();
+
+    @Value("${views.dedup-window-minutes:30}")
+    private long dedupWindowMinutes;
+
+    @Value("${views.buffer-capacity:100000}")
+    private int bufferCapacity;
+
+    /**
+     * Accepts a view event. Returns false when it was a duplicate within the window or the buffer was full.
+     *
+     * @throws ResourceNotFoundException when the course does not exist or is deleted
+     */
+    public boolean recordView(String viewer, Long courseId) {
+        if (!isLiveCourse(courseId)) {
+            throw new ResourceNotFoundException("Course not found");
+        }
+        long now = System.currentTimeMillis();
+        long window = now / (dedupWindowMinutes * 60_000);
+
+        if (viewer != null && seen.putIfAbsent(new DedupKey(viewer, courseId, window), Boolean.TRUE) != null) {
+            return false;
+        }
+
+        if (buffered.incrementAndGet() > bufferCapacity) {
+            buffered.decrementAndGet();
+            dropped.incrementAndGet();
+            return false;
+        }
+        buffer.offer(new ViewEvent(courseId, now));
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${views.flush-interval-ms:2000}")
+    public synchronized void drain() {
+        Map<Long, Long> perCourse = new HashMap<>();
+        Map<DailyKey, Long> perDay = new HashMap<>(failedDaily);
+        failedDaily.clear();
+
+        ViewEvent event;
+        while ((event = buffer.poll()) != null) {
+            buffered.decrementAndGet();
+            perCourse.merge(event.courseId(), 1L, Long::sum);
+            LocalDate day = Instant.ofEpochMilli(event.timestamp()).atZone(ZoneId.systemDefault()).toLocalDate();
+            perDay.merge(new DailyKey(event.courseId(), day), 1L, Long::sum);
+        }
+
+        perCourse.forEach(counterService::recordCourseViews);
+
+        if (!perDay.isEmpty()) {
+            List<Object[]> rows = new ArrayList<>(perDay.size());
+            perDay.forEach((key, views) -> rows.add(new Object[] { Date.valueOf(key.day()), views, key.courseId() }));
+            try {
+                // One transaction, so a failed batch leaves no rows behind and can be retried whole
+                new TransactionTemplate(transactionManager)
+                        .executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPSERT_DAILY, rows));
+            } catch (Exception e) {
+                failedDaily.putAll(perDay);
+                log.warn("Failed to write {} daily view rows, retrying on the next drain: {}", rows.size(),
+                        e.getMessage());
+            }
+        }
+
+        long lost = dropped.getAndSet(0);
+        if (lost > 0) {
+            log.warn("View buffer full, dropped {} view events", lost);
+        }
+
+        long currentWindow = System.currentTimeMillis() / (dedupWindowMinutes * 60_000);
+        seen.keySet().removeIf(key -> key.window() < currentWindow);
+    }
+
+    /**
+     * Replaces the cached course ids, dropping courses deleted since they were cached.
+     */
+    @Scheduled(fixedDelayString = "${views.course-ids-refresh-ms:300000}")
+    public void refreshLiveCourses() {
+        Set<Long> fresh = ConcurrentHashMap.newKeySet();
+        fresh.addAll(jdbcTemplate.queryForList(LIVE_COURSES, Long.class));
+        liveCourses = fresh;
+    }
+
+    private boolean isLiveCourse(Long courseId) {
+        if (courseId == null) {
+            return false;
+        }
+        if (liveCourses.contains(courseId)) {
+            return true;
+        }
+        Integer found = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM courses WHERE id = ? AND deleted_at IS NULL", Integer.class, courseId);
+        if (found != null && found > 0) {
+            liveCourses.add(courseId);
+            return true;
+        }
+        return false;
+    }
+
+    public List<CourseViewDaily> getDailyViews(Long courseId, LocalDate from, LocalDate to) {
+        return courseViewDailyRepository.findByCourseIdAndViewDateBetweenOrderByViewDateAsc(courseId, from, to);
+    }
+
+    @PreDestroy
+    public void drainOnShutdown() {
+        drain();
+    }
+
+    private record ViewEvent(Long courseId, long timestamp) {
+    }
+
+    private record DedupKey(String viewer, Long courseId, long window) {
+    }
+
+    private record DailyKey(Long courseId, LocalDate day) {
+    }
+}
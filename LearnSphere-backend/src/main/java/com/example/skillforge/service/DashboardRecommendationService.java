@@ -0,0 +1,118 @@
+package com.example.skillforge.service;
+
+import com.example.skillforge.dto.response.CourseResponse;
+import com.example.skillforge.event.InteractionsUpdatedEvent;
+import com.example.skillforge.model.entity.Course;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Materialized dashboard recommendations, one ready-to-serve list per student.
+ *
+ * Dashboard reads are a single map lookup. Lists are recomputed in the background when the
+ * student's enrollments, progress or reviews change (after the recommender applied the change),
+ * and proactively once they pass half of {@code recommendations.max-staleness-ms}. A list older
+ * than the full limit is never served: it is recomputed on the read, so staleness is bounded.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DashboardRecommendationService {
+
+    private final CourseRecommendationService courseRecommendationService;
+
+    private final ConcurrentHashMap<Long, Feed> feeds = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    @Value("${recommendations.max-staleness-ms:600000}")
+    private long maxStalenessMs;
+
+    @Value("${recommendations.max-students:50000}")
+    private int maxStudents;
+
+    @Value("${recommendations.refresh-batch-size:200}")
+    private int refreshBatchSize;
+
+    public List<CourseResponse> getRecommendations(Long studentId) {
+        Feed feed = feeds.get(studentId);
+        long now = System.currentTimeMillis();
+        if (feed != null) {
+            long age = now - feed.computedAt();
+            if (age < maxStalenessMs) {
+                if (age > maxStalenessMs / 2) {
+                    dirty.add(studentId); // refresh ahead of the limit
+                }
+                return feed.courses();
+            }
+        }
+        return refresh(studentId);
+    }
+
+    @EventListener
+    public void onInteractionsUpdated(InteractionsUpdatedEvent event) {
+        dirty.add(event.getStudentId());
+    }
+
+    @Scheduled(fixedDelayString = "${recommendations.refresh-interval-ms:2000}")
+    public void refreshDirty() {
+        int refreshed = 0;
+        Iterator<Long> it = dirty.iterator();
+        while (it.hasNext() && refreshed < refreshBatchSize) {
+            Long studentId = it.next();
+            it.remove();
+            try {
+                refresh(studentId);
+            } catch (Exception e) {
+                log.warn("Failed to refresh recommendations for student {}: {}", studentId, e.getMessage());
+            }
+            refreshed++;
+        }
+        evictOverflow();
+    }
+
+    private List<CourseResponse> refresh(Long studentId) {
+        List<CourseResponse> courses = courseRecommendationService.recommendCoursesForDashboard(studentId).stream()
+                .map(DashboardRecommendationService::toResponse)
+                .toList();
+        feeds.put(studentId, new Feed(courses, System.currentTimeMillis()));
+        return courses;
+    }
+
+    // Drops the least recently computed lists once more students are cached than allowed
+    private void evictOverflow() {
+        int overflow = feeds.size() - maxStudents;
+        if (overflow <= 0) {
+            return;
+        }
+        feeds.entrySet().stream()
+                .sorted(Comparator.comparingLong(e -> e.getValue().computedAt()))
+                .limit(overflow)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(feeds::remove);
+    }
+
+    private static CourseResponse toResponse(Course course) {
+        return CourseResponse.builder()
+                .id(course.getId())
+                .title(course.getTitle())
+                .description(course.getDescription())
+                .difficultyLevel(course.getDifficultyLevel())
+                .thumbnailUrl(course.getThumbnailUrl())
+                .build();
+    }
+
+    private record Feed(List<CourseResponse> courses, long computedAt) {
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.skillforge.service;
+
+import com.example.skillforge.model.entity.OutboundEmail;
+import com.example.skillforge.model.enums.EmailStatus;
+import com.example.skillforge.repository.OutboundEmailRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Drains the outbound_emails queue.
+ *
+ * - claims due rows with an atomic UPDATE, so multiple instances can run side by side
+ * - sends each batch through one JavaMailSender.send(...) call, which reuses a single SMTP connection
+ * - caps throughput with a per-minute window
+ * - retries failures with exponential backoff and dead-letters after max attempts
+ */
+@Slf4j
+@Component
+public class EmailDispatchWorker {
+
+    private final OutboundEmailRepository outboundEmailRepository;
+    private final JavaMailSender emailSender;
+    private final ThreadPoolTaskExecutor mailExecutor;
+
+    @Value("${spring.mail.username}")
+    private String fromEmail;
+
+    @Value("${mail.queue.rate-per-minute:120}")
+    private int ratePerMinute;
+
+    @Value("${mail.queue.batch-size:20}")
+    private int batchSize;
+
+    @Value("${mail.queue.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${mail.queue.backoff-base-seconds:30}")
+    private long backoffBaseSeconds;
+
+    @Value("${mail.queue.stale-claim-minutes:10}")
+    private long staleClaimMinutes;
+
+    private long windowStartMillis = System.currentTimeMillis();
+    private int sentInWindow = 0;
+
+    public EmailDispatchWorker(OutboundEmailRepository outboundEmailRepository,
+            JavaMailSender emailSender,
+            @Qualifier("mailExecutor") ThreadPoolTaskExecutor mailExecutor) {
+        this.outboundEmailRepository = outboundEmailRepository;
+        this.emailSender = emailSender;
+        this.mailExecutor = mailExecutor;
+    }
+
+    @Scheduled(fixedDelayString = "${mail.queue.poll-interval-ms:2000}")
+    public void dispatch() {
+        outboundEmailRepository.releaseStale(LocalDateTime.now().minusMinutes(staleClaimMinutes));
+
+        int permits = acquirePermits(batchSize * mailExecutor.getMaxPoolSize());
+        if (permits == 0) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> dueIds = outboundEmailRepository.findDueIds(EmailStatus.PENDING, now, PageRequest.of(0, permits));
+        if (dueIds.isEmpty()) {
+            releasePermits(permits);
+            return;
+        }
+
+        String token = UUID.randomUUID().toString();
+        outboundEmailRepository.claim(dueIds, token, now);
+        List<OutboundEmail> claimed = outboundEmailRepository.findByClaimTokenAndStatus(token, EmailStatus.SENDING);
+        releasePermits(permits - claimed.size());
+
+        for (int from = 0; from < claimed.size(); from += batchSize) {
+            List<OutboundEmail> batch = claimed.subList(from, Math.min(from + batchSize, claimed.size()));
+            try {
+                mailExecutor.execute(() -> sendBatch(batch));
+            } catch (TaskRejectedException e) {
+                // The rest stay claimed and go back to PENDING with releaseStale
+                log.warn("Mail executor saturated, {} claimed email(s) wait for the stale-claim release",
+                        claimed.size() - from);
+                break;
+            }
+        }
+    }
+
+    private void sendBatch(List<OutboundEmail> batch) {
+        Map<SimpleMailMessage, OutboundEmail> byMessage = new IdentityHashMap<>();
+        for (OutboundEmail email : batch) {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom("LearnSphereSystem <" + fromEmail + ">");
+            message.setTo(email.getRecipient());
+            message.setSubject(email.getSubject());
+            message.setText(email.getBody());
+            byMessage.put(message, email);
+        }
+
+        Map<Object, Exception> failures = Map.of();
+        try {
+            emailSender.send(byMessage.keySet().toArray(new SimpleMailMessage[0]));
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages();
+            if (failures.isEmpty()) {
+                failures = allFailed(byMessage, e);
+            }
+        } catch (MailException e) {
+            // Connection or authentication problem: nothing in the batch went out
+            failures = allFailed(byMessage, e);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<SimpleMailMessage, OutboundEmail> entry : byMessage.entrySet()) {
+            OutboundEmail email = entry.getValue();
+            Exception failure = failures.get(entry.getKey());
+            email.setAttempts(email.getAttempts() + 1);
+            email.setClaimToken(null);
+
+            if (failure == null) {
+                email.setStatus(EmailStatus.SENT);
+                email.setSentAt(now);
+                email.setLastError(null);
+            } else if (email.getAttempts() >= maxAttempts) {
+                email.setStatus(EmailStatus.DEAD);
+                email.setLastError(truncate(failure.getMessage()));
+                log.error("Email {} to {} dead-lettered after {} attempts: {}", email.getId(), email.getRecipient(),
+                        email.getAttempts(), failure.getMessage());
+            } else {
+                email.setStatus(EmailStatus.PENDING);
+                email.setNextAttemptAt(now.plusSeconds(backoffBaseSeconds << (email.getAttempts() - 1)));
+                email.setLastError(truncate(failure.getMessage()));
+                log.warn("Email {} to {} failed (attempt {}), retrying: {}", email.getId(), email.getRecipient(),
+                        email.getAttempts(), failure.getMessage());
+            }
+        }
+
+        outboundEmailRepository.saveAll(batch);
+    }
+
+    private Map<Object, Exception> allFailed(Map<SimpleMailMessage, OutboundEmail> byMessage, Exception e) {
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        byMessage.keySet().forEach(message -> failures.put(message, e));
+        return failures;
+    }
+
+    private synchronized int acquirePermits(int wanted) {
+        long now = System.currentTimeMillis();
+        if (now - windowStartMillis >= 60_000) {
+            windowStartMillis = now;
+            sentInWindow = 0;
+        }
+        int granted = Math.max(0, Math.min(wanted, ratePerMinute - sentInWindow));
+        sentInWindow += granted;
+        return granted;
+    }
+
+    private synchronized void releasePermits(int unused) {
+        sentInWindow = Math.max(0, sentInWindow - unused);
+    }
+
+    private String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
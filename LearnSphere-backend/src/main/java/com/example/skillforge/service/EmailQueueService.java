@@ -0,0 +1,122 @@
+package com.example.skillforge.service;
+
+import com.example.skillforge.exception.ResourceNotFoundException;
+import com.example.skillforge.model.entity.OutboundEmail;
+import com.example.skillforge.model.enums.EmailStatus;
+import com.example.skillforge.repository.OutboundEmailRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Persistent outbound-mail queue. Callers enqueue inside their own transaction and get a job id back;
+ * delivery, rate limiting and retries are handled by EmailDispatchWorker.
+ */
+@Service
+@RequiredArgsConstructor
+public class EmailQueueService {
+
+    private static final String INSERT_EMAIL = "INSERT INTO outbound_emails "
+            + "(job_id, course_id, recipient, subject, body, status, attempts, next_attempt_at, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final OutboundEmailRepository outboundEmailRepository;
+    private final CourseAccessService courseAccessService;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${mail.queue.insert-batch-size:500}")
+    private int insertBatchSize;
+
+    public String newJobId() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Transactional
+    public void enqueue(String jobId, Long courseId, String recipient, String subject, String body) {
+        outboundEmailRepository.save(build(jobId, courseId, recipient, subject, body));
+    }
+
+    /**
+     * Inserts the emails with JDBC batches of {@code mail.queue.insert-batch-size} rows. IDENTITY keys would
+     * make Hibernate insert them one statement at a time; the ids are not needed by callers and the rows
+     * are not attached to the persistence context.
+     */
+    @Transactional
+    public void enqueueAll(List<OutboundEmail> emails) {
+        if (emails.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_EMAIL, emails, insertBatchSize, (ps, email) -> {
+            ps.setString(1, email.getJobId());
+            ps.setObject(2, email.getCourseId(), Types.BIGINT);
+            ps.setString(3, email.getRecipient());
+            ps.setString(4, email.getSubject());
+            ps.setString(5, email.getBody());
+            ps.setString(6, email.getStatus().name());
+            ps.setInt(7, email.getAttempts());
+            ps.setTimestamp(8, email.getNextAttemptAt() != null ? Timestamp.valueOf(email.getNextAttemptAt()) : now);
+            ps.setTimestamp(9, now);
+            ps.setTimestamp(10, now);
+        });
+    }
+
+    public OutboundEmail build(String jobId, Long courseId, String recipient, String subject, String body) {
+        OutboundEmail email = new OutboundEmail();
+        email.setJobId(jobId);
+        email.setCourseId(courseId);
+        email.setRecipient(recipient);
+        email.setSubject(subject);
+        email.setBody(body);
+        email.setStatus(EmailStatus.PENDING);
+        email.setAttempts(0);
+        return email;
+    }
+
+    /**
+     * Delivery progress of a job, e.g. {PENDING: 120, SENT: 4880, DEAD: 0}. Admins see every job; anyone
+     * else only jobs of a course they teach or administer.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getJobStatus(String jobId, String requesterEmail, boolean admin) {
+        OutboundEmail first = outboundEmailRepository.findFirstByJobId(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Email job not found"));
+        if (!admin && !courseAccessService.managesCourse(first.getCourseId(), requesterEmail)) {
+            throw new AccessDeniedException("Not allowed to read email job " + jobId);
+        }
+
+        List<Object[]> rows = outboundEmailRepository.countByStatusForJob(jobId);
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Email job not found");
+        }
+
+        Map<EmailStatus, Long> counts = new EnumMap<>(EmailStatus.class);
+        for (EmailStatus status : EmailStatus.values()) {
+            counts.put(status, 0L);
+        }
+        long total = 0;
+        for (Object[] row : rows) {
+            counts.put((EmailStatus) row[0], (Long) row[1]);
+            total += (Long) row[1];
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("jobId", jobId);
+        result.put("total", total);
+        result.put("counts", counts);
+        result.put("finished", counts.get(EmailStatus.PENDING) == 0 && counts.get(EmailStatus.SENDING) == 0);
+        return result;
+    }
+}
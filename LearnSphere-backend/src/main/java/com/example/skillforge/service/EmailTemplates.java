@@ -0,0 +1,47 @@
+package com.example.skillforge.service;
+
+/**
+ * Plain-text bodies shared by the direct EmailService sends and the queued dispatch path.
+ */
+public final class EmailTemplates {
+
+    private EmailTemplates() {
+    }
+
+    public static String enrollmentSubject(String courseTitle) {
+        return "Welcome to " + courseTitle + "!";
+    }
+
+    public static String enrollmentBody(String studentName, String courseTitle, String instructorName) {
+        return String.format(
+                "Dear %s,\n\n" +
+                        "Congratulations! You have been successfully enrolled in the course:\n\n" +
+                        "📚 Course: %s\n" +
+                        "👨‍🏫 Instructor: %s\n\n" +
+                        "You can now access the course materials and start learning.\n\n" +
+                        "Log in to your LearnSphere account to get started:\n" +
+                        "http://localhost:5173/dashboard\n\n" +
+                        "Happy Learning!\n\n" +
+                        "Best regards,\n" +
+                        "LearnSphere Team",
+                studentName,
+                courseTitle,
+                instructorName);
+    }
+
+    public static String announcementBody(String studentName, String courseTitle, String instructorName,
+            String message) {
+        return String.format(
+                "Dear %s,\n\n" +
+                        "%s\n\n" +
+                        "---\n" +
+                        "Course: %s\n" +
+                        "Instructor: %s\n\n" +
+                        "Best regards,\n" +
+                        "LearnSphere Team",
+                studentName,
+                message,
+                courseTitle,
+                instructorName);
+    }
+}
@@ -2,13 +2,18 @@
 package com.example.skillforge.service;
 
 import com.example.skillforge.dto.response.EnrollmentResponse;
+import com.example.skillforge.event.CourseProgressChangedEvent;
+import com.example.skillforge.event.EnrollmentChangedEvent;
 import com.example.skillforge.model.entity.Course;
 import com.example.skillforge.model.entity.Enrollment;
+import com.example.skillforge.model.entity.OutboundEmail;
 import com.example.skillforge.model.entity.Student;
 import com.example.skillforge.repository.CourseRepository;
 import com.example.skillforge.repository.EnrollmentRepository;
 import com.example.skillforge.repository.StudentRepository;
+import com.example.skillforge.service.metrics.QueryBudget;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,9 +24,7 @@ import java.util.List;
 import java.util.Map;
 
 import com.example.skillforge.model.entity.CourseProgress;
-import com.example.skillforge.model.entity.User;
 import com.example.skillforge.repository.CourseProgressRepository;
-import com.example.skillforge.repository.UserRepository;
 
 @Service
 @RequiredArgsConstructor
@@ -31,8 +34,10 @@ public class EnrollmentService {
         private final StudentRepository studentRepository;
         private final CourseRepository courseRepository;
         private final CourseProgressRepository courseProgressRepository;
-        private final UserRepository userRepository;
-        private final EmailService emailService;
+        private final EmailQueueService emailQueueService;
+        private final BulkEnrollmentService bulkEnrollmentService;
+        private final CounterService counterService;
+        private final ApplicationEventPublisher eventPublisher;
 
         /**
          * Enroll a student in a course
@@ -60,11 +65,9 @@ public class EnrollmentService {
 
                 enrollment = enrollmentRepository.save(enrollment);
 
-                course.setTotalEnrollments(course.getTotalEnrollments() + 1);
-                courseRepository.save(course);
-
-                student.setCoursesEnrolled(student.getCoursesEnrolled() + 1);
-                studentRepository.save(student);
+                counterService.adjustCourseEnrollments(course.getId(), 1);
+                counterService.adjustCoursesEnrolled(student.getId(), 1);
+                eventPublisher.publishEvent(new EnrollmentChangedEvent(course.getId(), List.of(student.getId())));
 
                 // Initialize Course Progress for Dashboard Sync
                 if (!courseProgressRepository.findByStudentIdAndCourseId(student.getId(), course.getId()).isPresent()) {
@@ -88,27 +91,15 @@ public class EnrollmentService {
         /**
          * Get all enrollments for a student
          */
+        @QueryBudget(4)
         public List<EnrollmentResponse> getStudentEnrollments(Long userId) {
 
                 Student student = studentRepository.findByUserId(userId)
                                 .orElseThrow(() -> new RuntimeException("Student not found"));
 
-                List<Enrollment> enrollments = enrollmentRepository.findByStudentId(student.getId());
-
-                return enrollments.stream()
-                                .map(e -> EnrollmentResponse.builder()
-                                                .id(e.getId())
-                                                .courseId(e.getCourse().getId()) // ⭐ Important
-                                                .studentId(e.getStudent().getId()) // ⭐ Important
-                                                .courseTitle(e.getCourse().getTitle())
-                                                .instructorName(e.getCourse().getInstructor().getUser().getName())
-                                                .completionPercentage(e.getCompletionPercentage())
-                                                .isCompleted(e.getIsCompleted())
-                                                .enrolledAt(e.getEnrolledAt())
-                                                .completedAt(e.getCompletedAt())
-                                                .lastAccessedAt(e.getLastAccessedAt())
-                                                .build())
-                                .toList();
+                List<Object[]> rows = enrollmentRepository.findWithInstructorNameByStudentId(student.getId());
+
+                return rows.stream().map(EnrollmentService::toResponse).toList();
         }
 
         /**
@@ -119,21 +110,12 @@ public class EnrollmentService {
                 Student student = studentRepository.findByUserId(userId)
                                 .orElseThrow(() -> new RuntimeException("Student not found"));
 
-                Enrollment e = enrollmentRepository.findByStudentIdAndCourseId(student.getId(), courseId)
+                // Fetched with its course: an enrollment in a course pending purge is not found
+                return enrollmentRepository.findWithInstructorNameByStudentIdAndCourseId(student.getId(), courseId)
+                                .stream()
+                                .findFirst()
+                                .map(EnrollmentService::toResponse)
                                 .orElseThrow(() -> new RuntimeException("Enrollment not found"));
-
-                return EnrollmentResponse.builder()
-                                .id(e.getId())
-                                .courseId(e.getCourse().getId())
-                                .studentId(e.getStudent().getId())
-                                .courseTitle(e.getCourse().getTitle())
-                                .instructorName(e.getCourse().getInstructor().getUser().getName())
-                                .completionPercentage(e.getCompletionPercentage())
-                                .isCompleted(e.getIsCompleted())
-                                .enrolledAt(e.getEnrolledAt())
-                                .completedAt(e.getCompletedAt())
-                                .lastAccessedAt(e.getLastAccessedAt())
-                                .build();
         }
 
         /**
@@ -156,6 +138,7 @@ public class EnrollmentService {
                 }
 
                 enrollmentRepository.save(enrollment);
+                eventPublisher.publishEvent(new CourseProgressChangedEvent(existing.getStudentId(), courseId));
 
                 return getEnrollment(userId, courseId);
         }
@@ -172,16 +155,15 @@ public class EnrollmentService {
                 Enrollment enrollment = enrollmentRepository.findByStudentIdAndCourseId(student.getId(), courseId)
                                 .orElseThrow(() -> new RuntimeException("Enrollment not found"));
 
-                Course course = courseRepository.findById(courseId)
-                                .orElseThrow(() -> new RuntimeException("Course not found"));
+                if (!courseRepository.existsById(courseId)) {
+                        throw new RuntimeException("Course not found");
+                }
 
                 enrollmentRepository.delete(enrollment);
 
-                course.setTotalEnrollments(Math.max(0, course.getTotalEnrollments() - 1));
-                courseRepository.save(course);
-
-                student.setCoursesEnrolled(Math.max(0, student.getCoursesEnrolled() - 1));
-                studentRepository.save(student);
+                counterService.adjustCourseEnrollments(courseId, -1);
+                counterService.adjustCoursesEnrolled(student.getId(), -1);
+                eventPublisher.publishEvent(new EnrollmentChangedEvent(courseId, List.of(student.getId())));
         }
 
         /**
@@ -196,135 +178,50 @@ public class EnrollmentService {
          */
         public List<EnrollmentResponse> getCourseEnrollments(Long courseId) {
 
-                List<Enrollment> enrollments = enrollmentRepository.findByCourseId(courseId);
-
-                return enrollments.stream()
-                                .map(e -> EnrollmentResponse.builder()
-                                                .id(e.getId())
-                                                .courseId(e.getCourse().getId())
-                                                .studentId(e.getStudent().getId())
-                                                .courseTitle(e.getCourse().getTitle())
-                                                .instructorName(e.getCourse().getInstructor().getUser().getName())
-                                                .completionPercentage(e.getCompletionPercentage())
-                                                .isCompleted(e.getIsCompleted())
-                                                .enrolledAt(e.getEnrolledAt())
-                                                .completedAt(e.getCompletedAt())
-                                                .lastAccessedAt(e.getLastAccessedAt())
-                                                .build())
-                                .toList();
+                List<Object[]> rows = enrollmentRepository.findWithInstructorNameByCourseId(courseId);
+
+                return rows.stream().map(EnrollmentService::toResponse).toList();
+        }
+
+        // Row of [enrollment with its course, instructor name]
+        private static EnrollmentResponse toResponse(Object[] row) {
+                Enrollment e = (Enrollment) row[0];
+                return EnrollmentResponse.builder()
+                                .id(e.getId())
+                                .courseId(e.getCourse().getId()) // ⭐ Important
+                                .studentId(e.getStudent().getId()) // ⭐ Important
+                                .courseTitle(e.getCourse().getTitle())
+                                .instructorName((String) row[1])
+                                .completionPercentage(e.getCompletionPercentage())
+                                .isCompleted(e.getIsCompleted())
+                                .enrolledAt(e.getEnrolledAt())
+                                .completedAt(e.getCompletedAt())
+                                .lastAccessedAt(e.getLastAccessedAt())
+                                .build();
         }
 
         /**
-         * Bulk enroll students by email
+         * Bulk enroll students by email.
+         * Runs set-based in batches (see BulkEnrollmentService) instead of ~7 round-trips per email.
          */
-        @Transactional
         public Map<String, Object> bulkEnrollByEmail(Long courseId, List<String> emails) {
-                Map<String, Object> result = new HashMap<>();
-                List<String> successfulEnrollments = new ArrayList<>();
-                List<String> failedEnrollments = new ArrayList<>();
-
-                Course course = courseRepository.findById(courseId)
-                                .orElseThrow(() -> new RuntimeException("Course not found"));
-
-                for (String email : emails) {
-                        try {
-                                // Find user by email
-                                User user = userRepository.findByEmail(email.trim())
-                                                .orElseThrow(() -> new RuntimeException("User not found: " + email));
-
-                                // Check if user is a student
-                                Student student = studentRepository.findByUserId(user.getId())
-                                                .orElseThrow(() -> new RuntimeException(
-                                                                "User is not a student: " + email));
-
-                                // Check if already enrolled
-                                if (enrollmentRepository.existsByStudentIdAndCourseId(student.getId(), courseId)) {
-                                        failedEnrollments.add(email + " (already enrolled)");
-                                        continue;
-                                }
-
-                                // Enroll the student
-                                Enrollment enrollment = new Enrollment();
-                                enrollment.setStudent(student);
-                                enrollment.setCourse(course);
-                                enrollment.setCompletionPercentage(0);
-                                enrollment.setIsCompleted(false);
-                                enrollment.setEnrolledAt(LocalDateTime.now());
-                                enrollment.setLastAccessedAt(LocalDateTime.now());
-                                enrollmentRepository.save(enrollment);
-
-                                // Update course enrollment count
-                                course.setTotalEnrollments(course.getTotalEnrollments() + 1);
-
-                                // Update student stats
-                                student.setCoursesEnrolled(student.getCoursesEnrolled() + 1);
-                                studentRepository.save(student);
-
-                                // Initialize Course Progress
-                                if (!courseProgressRepository
-                                                .findByStudentIdAndCourseId(student.getId(), course.getId())
-                                                .isPresent()) {
-                                        CourseProgress cp = new CourseProgress();
-                                        cp.setStudentId(student.getId());
-                                        cp.setCourseId(course.getId());
-                                        cp.setProgressPercent(0);
-                                        cp.setTotalTimeMinutes(0);
-                                        cp.setSkillScore(0);
-                                        cp.setLastTopicId(null);
-                                        cp.setLastUpdated(LocalDateTime.now());
-                                        courseProgressRepository.save(cp);
-                                }
-
-                                // Send enrollment notification email
-                                try {
-                                        emailService.sendEnrollmentNotification(
-                                                        user.getEmail(),
-                                                        user.getName(),
-                                                        course.getTitle(),
-                                                        course.getInstructor().getUser().getName());
-                                } catch (Exception emailEx) {
-                                        System.err.println("Failed to send email to " + email + ": "
-                                                        + emailEx.getMessage());
-                                        // Continue even if email fails
-                                }
-
-                                successfulEnrollments.add(email);
-                        } catch (Exception e) {
-                                failedEnrollments.add(email + " (" + e.getMessage() + ")");
-                        }
-                }
-
-                // Save course with updated enrollment count
-                courseRepository.save(course);
-
-                result.put("success", true);
-                result.put("totalProcessed", emails.size());
-                result.put("successCount", successfulEnrollments.size());
-                result.put("failedCount", failedEnrollments.size());
-                result.put("successfulEnrollments", successfulEnrollments);
-                result.put("failedEnrollments", failedEnrollments);
-                result.put("message", String.format("Enrolled %d out of %d students",
-                                successfulEnrollments.size(), emails.size()));
-
-                return result;
+                return bulkEnrollmentService.enrollEmails(courseId, emails);
         }
 
         /**
-         * Contact all enrolled students in a course
+         * Contact all enrolled students in a course.
+         * Emails are queued and sent in the background; poll the returned jobId for delivery status.
          */
-        @Transactional(readOnly = true)
+        @Transactional
         public Map<String, Object> contactCourseAttendees(Long courseId, String subject, String message) {
                 Map<String, Object> result = new HashMap<>();
-                List<String> successfulEmails = new ArrayList<>();
-                List<String> failedEmails = new ArrayList<>();
 
                 Course course = courseRepository.findById(courseId)
                                 .orElseThrow(() -> new RuntimeException("Course not found"));
 
-                // Get all enrollments for this course
-                List<Enrollment> enrollments = enrollmentRepository.findByCourseId(courseId);
+                List<Object[]> attendees = enrollmentRepository.findAttendeeContactsByCourseId(courseId);
 
-                if (enrollments.isEmpty()) {
+                if (attendees.isEmpty()) {
                         result.put("success", false);
                         result.put("message", "No students enrolled in this course");
                         return result;
@@ -332,35 +229,27 @@ public class EnrollmentService {
 
                 String instructorName = course.getInstructor().getUser().getName();
                 String courseTitle = course.getTitle();
-
-                for (Enrollment enrollment : enrollments) {
-                        try {
-                                Student student = enrollment.getStudent();
-                                User user = student.getUser();
-
-                                emailService.sendCourseAnnouncement(
-                                                user.getEmail(),
-                                                user.getName(),
-                                                courseTitle,
-                                                instructorName,
-                                                subject,
-                                                message);
-
-                                successfulEmails.add(user.getEmail());
-                        } catch (Exception e) {
-                                failedEmails.add(enrollment.getStudent().getUser().getEmail() + " (" + e.getMessage()
-                                                + ")");
-                        }
+                String jobId = emailQueueService.newJobId();
+
+                List<OutboundEmail> emails = new ArrayList<>(attendees.size());
+                List<String> queuedEmails = new ArrayList<>(attendees.size());
+                for (Object[] attendee : attendees) {
+                        String email = (String) attendee[0];
+                        String name = (String) attendee[1];
+                        emails.add(emailQueueService.build(jobId, courseId, email, subject,
+                                        EmailTemplates.announcementBody(name, courseTitle, instructorName, message)));
+                        queuedEmails.add(email);
                 }
+                emailQueueService.enqueueAll(emails);
 
                 result.put("success", true);
-                result.put("totalStudents", enrollments.size());
-                result.put("successCount", successfulEmails.size());
-                result.put("failedCount", failedEmails.size());
-                result.put("successfulEmails", successfulEmails);
-                result.put("failedEmails", failedEmails);
-                result.put("message", String.format("Email sent to %d out of %d students",
-                                successfulEmails.size(), enrollments.size()));
+                result.put("jobId", jobId);
+                result.put("totalStudents", attendees.size());
+                result.put("successCount", queuedEmails.size());
+                result.put("failedCount", 0);
+                result.put("successfulEmails", queuedEmails);
+                result.put("failedEmails", new ArrayList<String>());
+                result.put("message", String.format("Email queued for %d students", queuedEmails.size()));
 
                 return result;
         }
@@ -1,5 +1,6 @@
 package com.example.skillforge.service;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
@@ -11,6 +12,7 @@ import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.util.UUID;
 
+@Slf4j
 @Service
 public class LocalStorageService {
 
@@ -51,7 +53,7 @@ public class LocalStorageService {
             }
         } catch (IOException e) {
             // Log error but don't throw exception
-            System.err.println("Failed to delete file: " + url + " - " + e.getMessage());
+            log.warn("Failed to delete file {}: {}", url, e.getMessage());
         }
     }
 }
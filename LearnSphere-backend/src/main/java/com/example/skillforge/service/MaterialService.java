@@ -37,23 +37,45 @@ public class MaterialService {
             Integer durationMinutes,
             Boolean allowDownload) throws IOException {
 
-        Topic topic = topicRepository.findById(topicId)
+        topicRepository.findById(topicId)
                 .orElseThrow(() -> new ResourceNotFoundException("Topic not found"));
 
         // Upload to S3
         String fileUrl = s3StorageService.uploadFile(file, "materials");
 
+        return createStoredFileMaterial(topicId, title, description, materialType, file.getOriginalFilename(),
+                fileUrl, file.getSize(), file.getContentType(), responsible, durationMinutes, allowDownload);
+    }
+
+    /**
+     * Creates the Material row for a file that has already been stored (single-request or chunked upload).
+     */
+    @Transactional
+    public Material createStoredFileMaterial(
+            Long topicId,
+            String title,
+            String description,
+            MaterialType materialType,
+            String fileName,
+            String fileUrl,
+            Long fileSize,
+            String mimeType,
+            String responsible,
+            Integer durationMinutes,
+            Boolean allowDownload) {
+
+        Topic topic = topicRepository.findById(topicId)
+                .orElseThrow(() -> new ResourceNotFoundException("Topic not found"));
+
         Material material = new Material();
         material.setTopic(topic);
         material.setTitle(title);
         material.setDescription(description);
         material.setMaterialType(materialType);
-        material.setFileName(file.getOriginalFilename());
+        material.setFileName(fileName);
         material.setFilePath(fileUrl);
-        material.setFileSize(file.getSize());
-        material.setMimeType(file.getContentType());
-
-        // Removed duplicate lines here
+        material.setFileSize(fileSize);
+        material.setMimeType(mimeType);
 
         material.setResponsible(responsible);
         material.setDurationMinutes(durationMinutes);
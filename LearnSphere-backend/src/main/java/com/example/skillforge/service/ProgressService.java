@@ -63,116 +63,148 @@
 package com.example.skillforge.service;
 import com.example.skillforge.dto.response.ProgressResponse;
 import com.example.skillforge.dto.response.ProgressSummaryResponse;
-import com.example.skillforge.model.entity.CourseProgress;
-import com.example.skillforge.model.entity.TopicProgress;
+import com.example.skillforge.event.CourseProgressChangedEvent;
+import com.example.skillforge.event.EnrollmentChangedEvent;
 import com.example.skillforge.repository.CourseProgressRepository;
-import com.example.skillforge.repository.CourseRepository;
-import com.example.skillforge.repository.EnrollmentRepository;
 import com.example.skillforge.repository.TopicProgressRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.*;
-import java.util.stream.Collectors;
-
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Student progress summary (dashboard, analytics, admin user views).
+ *
+ * Built from two projection queries, course progress joined with course titles and the completion
+ * times of the last 7 days, and cached per student until their progress or enrollments change
+ * or the day rolls over.
+ */
 @Service
 @RequiredArgsConstructor
 public class ProgressService {
     private final CourseProgressRepository courseProgressRepository;
-    private final CourseRepository courseRepository;
-    private final TopicProgressRepository topicProgressRepository; // you'll need this repository
-    private final EnrollmentRepository enrollmentRepository;
+    private final TopicProgressRepository topicProgressRepository;
+    private final BadgeEvaluator badgeEvaluator;
+
+    private final ConcurrentHashMap<Long, CachedSummary> summaries = new ConcurrentHashMap<>();
 
-    // existing methods...
+    @Value("${progress.summary.ttl-ms:300000}")
+    private long summaryTtlMs;
+
+    @Value("${progress.summary.max-entries:10000}")
+    private int maxEntries;
 
     public ProgressSummaryResponse getStudentProgressSummary(Long studentId) {
-        // 1) course-level progress rows (existing)
-        List<CourseProgress> cps = courseProgressRepository.findByStudentId(studentId);
-        List<ProgressResponse> courseResponses = new ArrayList<>();
+        LocalDate today = LocalDate.now(ZoneId.systemDefault());
+        long now = System.currentTimeMillis();
+        CachedSummary cached = summaries.get(studentId);
+        if (cached != null && cached.day().equals(today) && cached.expiresAt() > now) {
+            return cached.summary();
+        }
+
+        ProgressSummaryResponse summary = buildSummary(studentId, today);
+        if (summaries.size() >= maxEntries) {
+            summaries.clear();
+        }
+        summaries.put(studentId, new CachedSummary(summary, today, now + summaryTtlMs));
+        return summary;
+    }
+
+    public void evictStudent(Long studentId) {
+        if (studentId != null) {
+            summaries.remove(studentId);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseProgressChanged(CourseProgressChangedEvent event) {
+        evictStudent(event.getStudentId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        event.getStudentIds().forEach(this::evictStudent);
+    }
+
+    private ProgressSummaryResponse buildSummary(Long studentId, LocalDate today) {
+        // 1) course-level progress rows with their course titles, one query
+        List<Object[]> rows = courseProgressRepository.findSummaryRowsByStudentId(studentId);
+        List<ProgressResponse> courseResponses = new ArrayList<>(rows.size());
         int totalMinutes = 0;
         int aggregateSkill = 0;
         int skillCount = 0;
+        long completedCourses = 0;
+
+        for (Object[] row : rows) {
+            Integer percent = (Integer) row[3];
+            Integer skillScore = (Integer) row[5];
+            Integer minutes = (Integer) row[7];
+            String courseName = (String) row[8];
 
-        for (CourseProgress cp : cps) {
-            String courseName = courseRepository.findById(cp.getCourseId()).map(c -> c.getTitle()).orElse("Unknown Course");
             ProgressResponse pr = ProgressResponse.builder()
-                    .id(cp.getId())
-                    .studentId(cp.getStudentId())
-                    .courseId(cp.getCourseId())
-                    .completionPercentage(cp.getProgressPercent() == null ? 0 : cp.getProgressPercent())
-                    .currentTopicId(cp.getLastTopicId())
-                    .skillScore(cp.getSkillScore())
-                    .lastAccessed(cp.getLastUpdated())
-                    .courseName(courseName)
+                    .id((Long) row[0])
+                    .studentId((Long) row[1])
+                    .courseId((Long) row[2])
+                    .completionPercentage(percent == null ? 0 : percent)
+                    .currentTopicId((Long) row[4])
+                    .skillScore(skillScore)
+                    .lastAccessed((LocalDateTime) row[6])
+                    .courseName(courseName != null ? courseName : "Unknown Course")
                     .build();
 
             courseResponses.add(pr);
 
             // accumulate time and skill
-            if (cp.getSkillScore() != null) {
-                aggregateSkill += cp.getSkillScore();
+            if (skillScore != null) {
+                aggregateSkill += skillScore;
                 skillCount++;
             }
-            if (cp.getTotalTimeMinutes() != null) {
-                totalMinutes += cp.getTotalTimeMinutes();
+            if (minutes != null) {
+                totalMinutes += minutes;
+            }
+            if (percent != null && percent >= 100) {
+                completedCourses++;
             }
         }
 
-        // 2) compute last 7 days activity from TopicProgress table
-        // topicProgressRepository should have a method findCompletedByStudentSince(studentId, sinceDate)
-        LocalDate today = LocalDate.now(ZoneId.systemDefault());
-        LocalDate sevenDaysAgo = today.minusDays(6); // include today -> 7 days total
-        List<TopicProgress> recentTopicProgress = topicProgressRepository.findCompletedByStudentSince(studentId, sevenDaysAgo.atStartOfDay());
-
-        // build set of days with activity (ISO date strings)
+        // 2) days with activity in the last 7 days (today included), from topic completion times
+        LocalDate sevenDaysAgo = today.minusDays(BadgeEvaluator.STREAK_WINDOW_DAYS - 1);
+        Set<LocalDate> activeDays = new TreeSet<>();
+        for (LocalDateTime completedAt : topicProgressRepository.findCompletionTimesByStudentSince(studentId,
+                sevenDaysAgo.atStartOfDay())) {
+            if (completedAt != null) {
+                activeDays.add(completedAt.toLocalDate());
+            }
+        }
         DateTimeFormatter fmt = DateTimeFormatter.ISO_LOCAL_DATE;
-        Set<String> daysWithActivity = recentTopicProgress.stream()
-                .map(tp -> tp.getCompletedAt().toLocalDate().format(fmt))
-                .collect(Collectors.toCollection(LinkedHashSet::new));
-
-        List<String> last7DaysActivity = new ArrayList<>(daysWithActivity);
+        List<String> last7DaysActivity = activeDays.stream().map(d -> d.format(fmt)).toList();
 
-        // 3) compute weekly streak — consecutive days ending today
-        int streak = computeConsecutiveStreak(today, daysWithActivity);
+        // 3) weekly streak — consecutive days ending today
+        int streak = badgeEvaluator.streak(today, activeDays);
 
         // 4) aggregate skillScore — simple average or fallback
         int finalSkillScore = skillCount > 0 ? Math.round((float) aggregateSkill / skillCount) : estimateSkillFromProgress(courseResponses);
 
         // 5) badges — simple rules
-        List<String> badges = computeBadges(studentId, totalMinutes, streak, courseResponses);
+        List<String> badges = badgeEvaluator.badges(totalMinutes, streak, completedCourses);
 
-        // build response
-        ProgressSummaryResponse summary = ProgressSummaryResponse.builder()
+        return ProgressSummaryResponse.builder()
                 .totalLearningMinutes(totalMinutes)
                 .weeklyStreakDays(streak)
                 .skillScore(finalSkillScore)
-                .badges(badges)
-                .courseProgress(courseResponses)
+                .badges(List.copyOf(badges))
+                .courseProgress(Collections.unmodifiableList(courseResponses))
                 .last7DaysActivity(last7DaysActivity)
                 .build();
-
-        return summary;
-    }
-
-    private int computeConsecutiveStreak(LocalDate today, Set<String> daysWithActivity) {
-        int streak = 0;
-        LocalDate cursor = today;
-        DateTimeFormatter fmt = DateTimeFormatter.ISO_LOCAL_DATE;
-        while (streak < 7) {
-            String iso = cursor.format(fmt);
-            if (daysWithActivity.contains(iso)) {
-                streak++;
-                cursor = cursor.minusDays(1);
-            } else {
-                break;
-            }
-        }
-        return streak;
     }
 
     private int estimateSkillFromProgress(List<ProgressResponse> prs) {
@@ -182,16 +214,6 @@ public class ProgressService {
         return (int)Math.round(avg);
     }
 
-    private List<String> computeBadges(Long studentId, int totalMinutes, int streak, List<ProgressResponse> courses) {
-        List<String> badges = new ArrayList<>();
-        // rules (example)
-        if (totalMinutes >= 60) badges.add("First Hour");
-        if (totalMinutes >= 300) badges.add("5-hour Learner");
-        if (streak >= 7) badges.add("7-day Streak");
-        // course completion badges
-        long completedCourses = courses.stream().filter(p -> p.getCompletionPercentage() != null && p.getCompletionPercentage() >= 100).count();
-        if (completedCourses >= 1) badges.add("Course Completed");
-        if (completedCourses >= 5) badges.add("5 Courses Master");
-        return badges;
+    private record CachedSummary(ProgressSummaryResponse summary, LocalDate day, long expiresAt) {
     }
 }
@@ -210,14 +210,19 @@
 package com.example.skillforge.service;
 
 import com.example.skillforge.model.entity.*;
+import com.example.skillforge.event.QuizAttemptRecordedEvent;
 import com.example.skillforge.repository.*;
+import com.example.skillforge.service.logging.LogSampling;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class QuizAttemptService {
@@ -233,6 +238,8 @@ public class QuizAttemptService {
     private final CompletionService completionService;
     private final UserActivityService userActivityService;
     private final StudentRepository studentRepository;
+    private final CounterService counterService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public QuizAttempt evaluateAndSaveAttempt(
@@ -242,7 +249,7 @@ public class QuizAttemptService {
             int timeSpentSeconds,
             Long topicId) {
 
-        System.out.println("DEBUG: Evaluate Attempt - TimeSpent: " + timeSpentSeconds + "s, TopicId: " + topicId);
+        log.debug("Evaluating attempt on quiz {} (topic {}, {}s spent)", quizId, topicId, timeSpentSeconds);
 
         // 1. Load quiz
         Quiz quiz = quizRepository.findById(quizId)
@@ -262,6 +269,7 @@ public class QuizAttemptService {
         // 3. Evaluate each submitted answer
         double earned = 0.0;
         Map<Long, Integer> pointsMap = new HashMap<>();
+        boolean debugQuestions = LogSampling.debug(log);
 
         for (AnswerSubmission sub : answers) {
 
@@ -273,15 +281,13 @@ public class QuizAttemptService {
                 String correct = q.getCorrectAnswer().trim();
                 String submitted = sub.getAnswerText() == null ? "" : sub.getAnswerText().trim();
 
-                System.out.println("[QuizEval] QID: " + q.getId());
-                System.out.println("[QuizEval] Correct: '" + correct + "'");
-                System.out.println("[QuizEval] Submitted: '" + submitted + "'");
-
                 if (correct.equalsIgnoreCase(submitted)) {
                     pts = q.getPoints() == null ? 1 : q.getPoints();
-                    System.out.println("[QuizEval] Match! Points: " + pts);
-                } else {
-                    System.out.println("[QuizEval] Mismatch.");
+                }
+                // Per question, so only for sampled requests; answers themselves are never logged
+                if (debugQuestions) {
+                    log.debug("Quiz {} question {}: {} ({} points)", quizId, q.getId(),
+                            pts > 0 ? "correct" : "incorrect", pts);
                 }
             }
 
@@ -303,6 +309,8 @@ public class QuizAttemptService {
 
         QuizAttempt savedAttempt = attemptRepository.save(attempt);
         attempt = savedAttempt;
+        eventPublisher.publishEvent(new QuizAttemptRecordedEvent(studentId, quizId, topicId, scorePercent,
+                "PASSED".equals(savedAttempt.getStatus())));
 
         // --- GAMIFICATION: AWARD POINTS ---
         if ("PASSED".equals(savedAttempt.getStatus())) {
@@ -324,7 +332,7 @@ public class QuizAttemptService {
                     tqp.setCompletedAt(LocalDateTime.now());
                     tqp.setScore(scorePercent);
                     topicQuizProgressRepository.save(tqp);
-                    System.out.println("DEBUG: Marked TopicQuiz for Topic " + topicId + " as COMPLETED.");
+                    log.debug("Marked the quiz of topic {} as completed for student {}", topicId, studentId);
                 }
             }
 
@@ -354,12 +362,8 @@ public class QuizAttemptService {
                     pointsToAward = quiz.getRewardFourthPlus();
 
                 if (pointsToAward > 0) {
-                    Student student = studentRepository.findById(studentId).orElse(null);
-                    if (student != null) {
-                        student.setTotalPoints(student.getTotalPoints() + pointsToAward);
-                        studentRepository.save(student);
-                        System.out.println("Awarded " + pointsToAward + " points to Student " + studentId);
-                    }
+                    counterService.addPoints(studentId, pointsToAward);
+                    log.debug("Awarded {} points to student {}", pointsToAward, studentId);
                 }
             }
         }
@@ -412,13 +416,10 @@ public class QuizAttemptService {
         // 🔥 Log Activity Time for Analytics
         if (timeSpentSeconds > 0) {
             int mins = (int) Math.ceil(timeSpentSeconds / 60.0);
-            try {
-                studentRepository.findById(studentId).ifPresent(student -> {
-                    userActivityService.logTime(student.getUser().getId(), mins);
-                });
-            } catch (Exception e) {
-                System.err.println("Failed to log activity time: " + e.getMessage());
-            }
+            // Async on the analytics executor, failures are logged there
+            studentRepository.findById(studentId).ifPresent(student -> {
+                userActivityService.logTime(student.getUser().getId(), mins);
+            });
         }
 
         return attempt;
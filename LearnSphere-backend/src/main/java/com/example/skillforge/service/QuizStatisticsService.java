@@ -5,6 +5,7 @@ import com.example.skillforge.dto.response.QuizStatisticsResponse;
 import com.example.skillforge.dto.response.QuizTrackingResponse;
 import com.example.skillforge.model.entity.*;
 import com.example.skillforge.repository.*;
+import com.example.skillforge.service.metrics.QueryBudget;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -12,6 +13,8 @@ import org.springframework.stereotype.Service;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -87,8 +90,9 @@ public class QuizStatisticsService {
                 : 0.0;
         
         // Calculate total questions and correct answers
-        int totalQuestions = calculateTotalQuestions(attempts);
-        int totalCorrectAnswers = calculateTotalCorrectAnswers(attempts);
+        Map<Long, Long> questionCounts = questionCounts(attempts);
+        int totalQuestions = calculateTotalQuestions(attempts, questionCounts);
+        int totalCorrectAnswers = calculateTotalCorrectAnswers(attempts, questionCounts);
         double accuracyRate = totalQuestions > 0 
                 ? (totalCorrectAnswers * 100.0) / totalQuestions 
                 : 0.0;
@@ -175,8 +179,9 @@ public class QuizStatisticsService {
         int averageTime = totalAttempts > 0 ? totalTimeSpent / totalAttempts : 0;
         
         // Calculate total questions and correct answers
-        int totalQuestions = calculateTotalQuestions(allAttempts);
-        int totalCorrectAnswers = calculateTotalCorrectAnswers(allAttempts);
+        Map<Long, Long> questionCounts = questionCounts(allAttempts);
+        int totalQuestions = calculateTotalQuestions(allAttempts, questionCounts);
+        int totalCorrectAnswers = calculateTotalCorrectAnswers(allAttempts, questionCounts);
         double accuracyRate = totalQuestions > 0 
                 ? (totalCorrectAnswers * 100.0) / totalQuestions 
                 : 0.0;
@@ -237,23 +242,25 @@ public class QuizStatisticsService {
     /**
      * Get comprehensive quiz tracking with statistics and attempt history
      */
+    @QueryBudget(12)
     public QuizTrackingResponse getQuizTracking(Long studentId, Long courseId) {
         
         QuizStatisticsResponse statistics = getCourseQuizStatistics(studentId, courseId);
         
         List<QuizAttempt> attempts = quizAttemptRepository.findByStudentIdAndCourseId(studentId, courseId);
+        Map<Long, Long> questionCounts = questionCounts(attempts);
         
         // Get recent attempts (last 10)
         List<QuizAttemptDetailResponse> recentAttempts = attempts.stream()
                 .limit(10)
-                .map(this::convertToDetailResponse)
+                .map(attempt -> convertToDetailResponse(attempt, questionCounts))
                 .collect(Collectors.toList());
         
         // Get top performances (top 5)
         List<QuizAttemptDetailResponse> topPerformances = attempts.stream()
                 .sorted(Comparator.comparing(QuizAttempt::getScore, Comparator.nullsLast(Comparator.reverseOrder())))
                 .limit(5)
-                .map(this::convertToDetailResponse)
+                .map(attempt -> convertToDetailResponse(attempt, questionCounts))
                 .collect(Collectors.toList());
         
         // Get attempts that need improvement (bottom 5 by score)
@@ -261,7 +268,7 @@ public class QuizStatisticsService {
                 .filter(a -> a.getScore() != null && a.getScore() < 60.0)
                 .sorted(Comparator.comparing(QuizAttempt::getScore, Comparator.nullsLast(Comparator.naturalOrder())))
                 .limit(5)
-                .map(this::convertToDetailResponse)
+                .map(attempt -> convertToDetailResponse(attempt, questionCounts))
                 .collect(Collectors.toList());
         
         return QuizTrackingResponse.builder()
@@ -275,12 +282,12 @@ public class QuizStatisticsService {
     /**
      * Convert QuizAttempt to QuizAttemptDetailResponse
      */
-    private QuizAttemptDetailResponse convertToDetailResponse(QuizAttempt attempt) {
+    private QuizAttemptDetailResponse convertToDetailResponse(QuizAttempt attempt, Map<Long, Long> questionCounts) {
         Quiz quiz = attempt.getQuiz();
         Topic topic = quiz != null ? quiz.getTopic() : null;
         
-        long totalQuestions = quiz != null ? questionRepository.countByQuizId(quiz.getId()) : 0L;
-        int correctAnswers = calculateCorrectAnswersForAttempt(attempt);
+        long totalQuestions = quiz != null ? questionCounts.getOrDefault(quiz.getId(), 0L) : 0L;
+        int correctAnswers = calculateCorrectAnswersForAttempt(attempt, questionCounts);
         
         double percentage = totalQuestions > 0 
                 ? (correctAnswers * 100.0) / totalQuestions 
@@ -306,15 +313,29 @@ public class QuizStatisticsService {
                 .build();
     }
 
+    /**
+     * Question count per quiz for all quizzes in the attempts, in one query
+     */
+    private Map<Long, Long> questionCounts(List<QuizAttempt> attempts) {
+        Set<Long> quizIds = attempts.stream()
+                .filter(a -> a.getQuiz() != null)
+                .map(a -> a.getQuiz().getId())
+                .collect(Collectors.toSet());
+        if (quizIds.isEmpty()) {
+            return Map.of();
+        }
+        return questionRepository.countByQuizIds(quizIds).stream()
+                .collect(Collectors.toMap(row -> (Long) row[0], row -> ((Number) row[1]).longValue()));
+    }
+
     /**
      * Calculate total questions across all attempts
      */
-    private int calculateTotalQuestions(List<QuizAttempt> attempts) {
+    private int calculateTotalQuestions(List<QuizAttempt> attempts, Map<Long, Long> questionCounts) {
         return attempts.stream()
                 .mapToInt(attempt -> {
                     Quiz quiz = attempt.getQuiz();
-                    Long count = quiz != null ? questionRepository.countByQuizId(quiz.getId()) : 0L;
-                    return count != null ? count.intValue() : 0;
+                    return quiz != null ? questionCounts.getOrDefault(quiz.getId(), 0L).intValue() : 0;
                 })
                 .sum();
     }
@@ -322,21 +343,20 @@ public class QuizStatisticsService {
     /**
      * Calculate total correct answers across all attempts
      */
-    private int calculateTotalCorrectAnswers(List<QuizAttempt> attempts) {
+    private int calculateTotalCorrectAnswers(List<QuizAttempt> attempts, Map<Long, Long> questionCounts) {
         return attempts.stream()
-                .mapToInt(this::calculateCorrectAnswersForAttempt)
+                .mapToInt(attempt -> calculateCorrectAnswersForAttempt(attempt, questionCounts))
                 .sum();
     }
 
     /**
      * Calculate correct answers for a single attempt
      */
-    private int calculateCorrectAnswersForAttempt(QuizAttempt attempt) {
+    private int calculateCorrectAnswersForAttempt(QuizAttempt attempt, Map<Long, Long> questionCounts) {
         Quiz quiz = attempt.getQuiz();
         if (quiz == null) return 0;
         
-        Long totalQuestionsLong = questionRepository.countByQuizId(quiz.getId());
-        int totalQuestions = totalQuestionsLong != null ? totalQuestionsLong.intValue() : 0;
+        int totalQuestions = questionCounts.getOrDefault(quiz.getId(), 0L).intValue();
         Double score = attempt.getScore();
         
         if (score == null || totalQuestions == 0) return 0;
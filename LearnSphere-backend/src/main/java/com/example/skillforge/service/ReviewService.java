@@ -1,7 +1,9 @@
 package com.example.skillforge.service;
 
+import com.example.skillforge.event.CourseReviewChangedEvent;
 import com.example.skillforge.model.entity.Review;
 import com.example.skillforge.repository.ReviewRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.Optional;
@@ -10,9 +12,11 @@ import java.util.Optional;
 public class ReviewService {
 
     private final ReviewRepository reviewRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ReviewService(ReviewRepository reviewRepository) {
+    public ReviewService(ReviewRepository reviewRepository, ApplicationEventPublisher eventPublisher) {
         this.reviewRepository = reviewRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public List<Review> getReviewsForCourse(Long courseId) {
@@ -25,7 +29,9 @@ public class ReviewService {
         if (existing.isPresent()) {
             throw new RuntimeException("You have already reviewed this course.");
         }
-        return reviewRepository.save(review);
+        Review saved = reviewRepository.save(review);
+        eventPublisher.publishEvent(new CourseReviewChangedEvent(saved.getStudentId(), saved.getCourseId()));
+        return saved;
     }
 
     public Review updateReview(Long id, Review updatedReview) {
@@ -34,13 +40,15 @@ public class ReviewService {
         
         existing.setRating(updatedReview.getRating());
         existing.setComment(updatedReview.getComment());
-        return reviewRepository.save(existing);
+        Review saved = reviewRepository.save(existing);
+        eventPublisher.publishEvent(new CourseReviewChangedEvent(saved.getStudentId(), saved.getCourseId()));
+        return saved;
     }
 
     public void deleteReview(Long id) {
-        if (!reviewRepository.existsById(id)) {
-            throw new RuntimeException("Review not found");
-        }
-        reviewRepository.deleteById(id);
+        Review existing = reviewRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Review not found"));
+        reviewRepository.delete(existing);
+        eventPublisher.publishEvent(new CourseReviewChangedEvent(existing.getStudentId(), existing.getCourseId()));
     }
 }
@@ -10,6 +10,7 @@ import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.UUID;
 
 @Service
@@ -35,6 +36,25 @@ public class S3StorageService {
         return "https://" + bucketName + ".s3.amazonaws.com/" + fileName;
     }
 
+    /**
+     * Uploads a file that is already on local disk (e.g. an assembled chunked upload)
+     * without reading it into memory.
+     */
+    public String uploadFile(Path path, String originalFilename, String contentType, String folder) {
+
+        String fileName = folder + "/" + UUID.randomUUID() + "-" + originalFilename;
+
+        PutObjectRequest request = PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(fileName)
+                .contentType(contentType)
+                .build();
+
+        s3Client.putObject(request, RequestBody.fromFile(path));
+
+        return "https://" + bucketName + ".s3.amazonaws.com/" + fileName;
+    }
+
     public void deleteFile(String url) {
         if (url == null) return;
 
@@ -0,0 +1,101 @@
+package com.example.skillforge.service;
+
+import com.example.skillforge.model.entity.Student;
+import com.example.skillforge.repository.EnrollmentRepository;
+import com.example.skillforge.repository.StudentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Backs the /api/student stats and directory endpoints.
+ *
+ * Stats (including the activity streak) are cached per user for {@code student.stats.ttl-ms};
+ * the directory is read page by page as a projection, never as full entities.
+ */
+@Service
+@RequiredArgsConstructor
+public class StudentStatsService {
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final StudentRepository studentRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final UserActivityService userActivityService;
+
+    private final ConcurrentHashMap<String, CachedStats> stats = new ConcurrentHashMap<>();
+
+    @Value("${student.stats.ttl-ms:30000}")
+    private long ttlMs;
+
+    @Value("${student.stats.max-entries:10000}")
+    private int maxEntries;
+
+    public Map<String, Object> getStats(String email) {
+        long now = System.currentTimeMillis();
+        CachedStats cached = stats.get(email);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.data();
+        }
+
+        Student student = studentRepository.findByUser_Email(email)
+                .orElseThrow(() -> new RuntimeException("Student profile not found"));
+
+        int streak = userActivityService.calculateStreak(student.getUser().getId());
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("coursesEnrolled", student.getCoursesEnrolled());
+        data.put("coursesCompleted", enrollmentRepository.countByStudentIdAndIsCompletedTrue(student.getId()));
+        data.put("quizzesTaken", student.getQuizzesAttempted());
+        data.put("averageScore", student.getAverageScore());
+        data.put("currentStreak", streak);
+        data.put("totalPoints", student.getTotalPoints());
+
+        Map<String, Object> immutable = Collections.unmodifiableMap(data);
+        if (stats.size() >= maxEntries) {
+            stats.values().removeIf(c -> c.expiresAt() <= now);
+            if (stats.size() >= maxEntries) {
+                stats.clear();
+            }
+        }
+        stats.put(email, new CachedStats(immutable, now + ttlMs));
+        return immutable;
+    }
+
+    /**
+     * One page of the student directory ordered by name, optionally filtered by a name or email prefix.
+     */
+    public List<Map<String, Object>> getDirectory(int page, int size, String search) {
+        PageRequest pageable = PageRequest.of(Math.max(0, page), Math.min(Math.max(1, size), MAX_PAGE_SIZE));
+        List<Object[]> rows = search == null || search.isBlank()
+                ? studentRepository.findDirectory(pageable)
+                : studentRepository.searchDirectory(escapeLike(search.trim()) + "%", pageable);
+
+        List<Map<String, Object>> students = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Map<String, Object> studentInfo = new HashMap<>();
+            studentInfo.put("id", row[0]);
+            studentInfo.put("userId", row[1]);
+            studentInfo.put("name", row[2]);
+            studentInfo.put("email", row[3]);
+            studentInfo.put("coursesEnrolled", row[4]);
+            students.add(studentInfo);
+        }
+        return students;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private record CachedStats(Map<String, Object> data, long expiresAt) {
+    }
+}
@@ -1,11 +1,13 @@
 package com.example.skillforge.service;
 
+import com.example.skillforge.event.CourseProgressChangedEvent;
 import com.example.skillforge.model.entity.CourseProgress;
 import com.example.skillforge.model.entity.Topic;
 import com.example.skillforge.model.entity.TopicProgress;
 import com.example.skillforge.repository.CourseProgressRepository;
 import com.example.skillforge.repository.TopicProgressRepository;
 import com.example.skillforge.repository.TopicRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,19 +24,22 @@ public class TopicProgressService {
     private final CourseProgressService courseProgressService;
     private final com.example.skillforge.repository.TopicMaterialProgressRepository topicMaterialProgressRepository;
     private final com.example.skillforge.repository.MaterialRepository materialRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public TopicProgressService(TopicProgressRepository topicProgressRepository,
                                 TopicRepository topicRepository,
                                 CourseProgressRepository courseProgressRepository, 
                                 CourseProgressService courseProgressService,
                                 com.example.skillforge.repository.TopicMaterialProgressRepository topicMaterialProgressRepository,
-                                com.example.skillforge.repository.MaterialRepository materialRepository) {
+                                com.example.skillforge.repository.MaterialRepository materialRepository,
+                                ApplicationEventPublisher eventPublisher) {
         this.topicProgressRepository = topicProgressRepository;
         this.topicRepository = topicRepository;
         this.courseProgressRepository = courseProgressRepository;
         this.courseProgressService = courseProgressService;
         this.topicMaterialProgressRepository = topicMaterialProgressRepository;
         this.materialRepository = materialRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -113,6 +118,7 @@ public class TopicProgressService {
         // If you have those fields in your entity, set them here; otherwise skip to avoid compilation errors.
 
         courseProgressRepository.save(cp);
+        eventPublisher.publishEvent(new CourseProgressChangedEvent(studentId, courseId));
     }
 
 
@@ -1,12 +1,14 @@
 package com.example.skillforge.service;
 
 import com.example.skillforge.dto.request.TopicRequest;
+import com.example.skillforge.event.CourseTopicsChangedEvent;
 import com.example.skillforge.exception.ResourceNotFoundException;
 import com.example.skillforge.model.entity.Course;
 import com.example.skillforge.model.entity.Topic;
 import com.example.skillforge.repository.CourseRepository;
 import com.example.skillforge.repository.TopicRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
@@ -19,6 +21,7 @@ public class TopicService {
     private final CourseRepository courseRepository;
     private final com.example.skillforge.repository.TopicProgressRepository topicProgressRepository;
     private final com.example.skillforge.repository.QuizRepository quizRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public Topic createTopic(TopicRequest request) {
@@ -37,6 +40,7 @@ public class TopicService {
         // Update course stats
         course.setTotalTopics(course.getTopics().size());
         courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseTopicsChangedEvent(course.getId()));
 
         return topic;
     }
@@ -62,14 +66,16 @@ public class TopicService {
         topic.setLevel(request.getLevel());
         topic.setOrderIndex(request.getOrderIndex() != null ? request.getOrderIndex() : topic.getOrderIndex());
 
-        return topicRepository.save(topic);
+        topic = topicRepository.save(topic);
+        eventPublisher.publishEvent(new CourseTopicsChangedEvent(topic.getCourse().getId()));
+        return topic;
     }
 
     @Transactional
     public void deleteTopic(Long topicId) {
-        if (!topicRepository.existsById(topicId)) {
-            throw new ResourceNotFoundException("Topic not found with ID: " + topicId);
-        }
+        Topic topic = topicRepository.findById(topicId)
+                .orElseThrow(() -> new ResourceNotFoundException("Topic not found with ID: " + topicId));
+        Long courseId = topic.getCourse().getId();
         
         // 1. Delete associated progress records
         topicProgressRepository.deleteByTopicId(topicId);
@@ -80,6 +86,7 @@ public class TopicService {
         // 3. Delete the topic (Materials should cascade via @OneToMany if properly set, else explicit delete might be needed)
         // Topic.java has @OneToMany(cascade = CascadeType.ALL) for materials, so this is safe.
         topicRepository.deleteById(topicId);
+        eventPublisher.publishEvent(new CourseTopicsChangedEvent(courseId));
     }
 
 }
\ No newline at end of file
@@ -1,13 +1,13 @@
 package com.example.skillforge.service;
 
-import com.example.skillforge.model.entity.User;
 import com.example.skillforge.model.UserActivity;
 import com.example.skillforge.repository.UserActivityRepository;
-import com.example.skillforge.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Date;
 import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
@@ -17,8 +17,12 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class UserActivityService {
 
+    private static final String UPSERT_ACTIVITY = "INSERT INTO user_activities (user_id, date, count, minutes_spent) "
+            + "VALUES (?, ?, 1, ?) ON DUPLICATE KEY UPDATE count = count + 1, "
+            + "minutes_spent = minutes_spent + VALUES(minutes_spent)";
+
     private final UserActivityRepository userActivityRepository;
-    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
 
     /**
      * Increment the activity count for a user for today.
@@ -28,20 +32,13 @@ public class UserActivityService {
         logTime(userId, 0);
     }
     
+    /**
+     * Adds one activity and the given study time to today's row, creating it if needed. A single upsert,
+     * so concurrent requests of the same user never overwrite each other's increments.
+     */
     @Transactional
     public void logTime(Long userId, int minutes) {
-        LocalDate today = LocalDate.now();
-        UserActivity activity = userActivityRepository.findByUserIdAndDate(userId, today)
-                .orElse(UserActivity.builder()
-                        .user(userRepository.getReferenceById(userId))
-                        .date(today)
-                        .count(0)
-                        .minutesSpent(0)
-                        .build());
-        
-        activity.setCount(activity.getCount() + 1);
-        activity.setMinutesSpent(activity.getMinutesSpent() + minutes);
-        userActivityRepository.save(activity);
+        jdbcTemplate.update(UPSERT_ACTIVITY, userId, Date.valueOf(LocalDate.now()), minutes);
     }
 
     @Transactional(readOnly = true)
@@ -59,33 +56,23 @@ public class UserActivityService {
     }
     @Transactional(readOnly = true)
     public int calculateStreak(Long userId) {
-        // Fetch all activity dates for the user
-        List<LocalDate> activityDates = userActivityRepository.findActivityDatesByUserId(userId);
+        LocalDate today = LocalDate.now();
+        // Activity dates, most recent first
+        List<LocalDate> activityDates = userActivityRepository.findActivityDatesDesc(userId, today);
 
         if (activityDates.isEmpty()) {
             return 0;
         }
 
-        // Sort descending
-        activityDates.sort((d1, d2) -> d2.compareTo(d1));
-
+        // Streak counts from today, or from yesterday if there is no activity yet today
+        LocalDate checkDate = activityDates.get(0).equals(today) ? today : today.minusDays(1);
         int streak = 0;
-        LocalDate checkDate = LocalDate.now();
-
-        // Check if user has activity today
-        if (activityDates.contains(checkDate)) {
-            streak++;
-            checkDate = checkDate.minusDays(1);
-        } else {
-            // If no activity today, check yesterday (streak might still be active)
-            checkDate = checkDate.minusDays(1);
-            if (!activityDates.contains(checkDate)) {
-                return 0; // No activity today or yesterday -> streak broken
-            }
-        }
 
         // Count backwards
-        while (activityDates.contains(checkDate)) {
+        for (LocalDate date : activityDates) {
+            if (!date.equals(checkDate)) {
+                break; // gap (or no activity today or yesterday) -> streak ends
+            }
             streak++;
             checkDate = checkDate.minusDays(1);
         }
@@ -0,0 +1,302 @@
+package com.example.skillforge.service;
+
+import com.example.skillforge.dto.response.UserPurgeJobResponse;
+import com.example.skillforge.event.UserPurgedEvent;
+import com.example.skillforge.exception.ResourceNotFoundException;
+import com.example.skillforge.model.entity.UserPurgeJob;
+import com.example.skillforge.model.enums.UserPurgeStatus;
+import com.example.skillforge.repository.UserPurgeJobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Removes a deleted user's data in the background.
+ *
+ * The admin request only soft-deletes the user and queues a job (see UserService.deleteUser).
+ * The job then walks a fixed list of steps, each a set-based DELETE ... LIMIT run repeatedly
+ * in short transactions, so no lock on a hot table is held for more than one batch.
+ * Progress (step and rows deleted) is saved after every batch: a failed or interrupted job
+ * resumes at the step it stopped on, and every step is safe to run again.
+ */
+@Slf4j
+@Service
+public class UserPurgeService {
+
+    private enum Scope { STUDENT, USER, INSTRUCTOR }
+
+    /**
+     * Children before parents. Single-row steps (the last three) have no LIMIT parameter.
+     */
+    private enum Step {
+        ATTEMPT_ANSWERS(Scope.STUDENT,
+                "DELETE FROM attempt_answers WHERE attempt_id IN (SELECT id FROM quiz_attempts WHERE student_id = ?) LIMIT ?"),
+        QUIZ_ATTEMPTS(Scope.STUDENT, "DELETE FROM quiz_attempts WHERE student_id = ? LIMIT ?"),
+        TOPIC_QUIZ_PROGRESS(Scope.STUDENT, "DELETE FROM topic_quiz_progress WHERE student_id = ? LIMIT ?"),
+        TOPIC_MATERIAL_PROGRESS(Scope.STUDENT, "DELETE FROM topic_material_progress WHERE student_id = ? LIMIT ?"),
+        TOPIC_PROGRESS(Scope.STUDENT, "DELETE FROM topic_progress WHERE student_id = ? LIMIT ?"),
+        COURSE_PROGRESS(Scope.STUDENT, "DELETE FROM course_progress WHERE student_id = ? LIMIT ?"),
+        PROGRESS(Scope.STUDENT, "DELETE FROM progress WHERE student_id = ? LIMIT ?"),
+        ANALYTICS(Scope.STUDENT, "DELETE FROM analytics WHERE student_id = ? LIMIT ?"),
+        STUDENT_REVIEWS(Scope.STUDENT, "DELETE FROM reviews WHERE student_id = ? LIMIT ?"),
+        ENROLLMENTS(Scope.STUDENT, "DELETE FROM enrollments WHERE student_id = ? LIMIT ?"),
+        USER_REVIEWS(Scope.USER, "DELETE FROM reviews WHERE user_id = ? LIMIT ?"),
+        // Certificate.student references the user, not the student profile
+        CERTIFICATES(Scope.USER, "DELETE FROM certificates WHERE student_id = ? LIMIT ?"),
+        USER_ACTIVITIES(Scope.USER, "DELETE FROM user_activities WHERE user_id = ? LIMIT ?"),
+        // Courses go through CoursePurgeService so their own dependent rows are cleaned up as well
+        COURSES(Scope.INSTRUCTOR, null),
+        STUDENT_ROW(Scope.STUDENT, "DELETE FROM students WHERE id = ?"),
+        INSTRUCTOR_ROW(Scope.INSTRUCTOR, "DELETE FROM instructors WHERE id = ?"),
+        USER_ROW(Scope.USER, "DELETE FROM users WHERE id = ?");
+
+        final Scope scope;
+        final String sql;
+
+        Step(Scope scope, String sql) {
+            this.scope = scope;
+            this.sql = sql;
+        }
+
+        boolean batched() {
+            return sql == null || sql.endsWith("LIMIT ?");
+        }
+    }
+
+    private static final Step[] STEPS = Step.values();
+
+    private final UserPurgeJobRepository jobRepository;
+    private final CoursePurgeService coursePurgeService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate tx;
+    private final ThreadPoolTaskExecutor purgeExecutor;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${purge.batch-size:500}")
+    private int batchSize;
+
+    // Pause between two batches, lets other transactions take the locks in between
+    @Value("${purge.batch-pause-ms:20}")
+    private long batchPauseMs;
+
+    @Value("${purge.stale-minutes:10}")
+    private long staleMinutes;
+
+    public UserPurgeService(UserPurgeJobRepository jobRepository,
+            CoursePurgeService coursePurgeService,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("purgeExecutor") ThreadPoolTaskExecutor purgeExecutor,
+            ApplicationEventPublisher eventPublisher) {
+        this.jobRepository = jobRepository;
+        this.coursePurgeService = coursePurgeService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.purgeExecutor = purgeExecutor;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Queues a purge. Joins the caller's transaction; the job is dispatched after it commits.
+     */
+    public UserPurgeJob submit(Long userId, Long studentId, Long instructorId, String email) {
+        UserPurgeJob job = new UserPurgeJob();
+        job.setUserId(userId);
+        job.setStudentId(studentId);
+        job.setInstructorId(instructorId);
+        job.setEmail(email);
+        UserPurgeJob saved = jobRepository.save(job);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(saved.getId());
+                }
+            });
+        } else {
+            dispatch(saved.getId());
+        }
+        return saved;
+    }
+
+    public UserPurgeJobResponse getJob(Long jobId) {
+        return toResponse(findJob(jobId));
+    }
+
+    public UserPurgeJobResponse getLatestJobForUser(Long userId) {
+        return jobRepository.findTopByUserIdOrderByCreatedAtDesc(userId)
+                .map(this::toResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("No deletion found for user " + userId));
+    }
+
+    public Optional<UserPurgeJob> findLatestJobForUser(Long userId) {
+        return jobRepository.findTopByUserIdOrderByCreatedAtDesc(userId);
+    }
+
+    /**
+     * Re-queues a failed job; it continues at the step it failed on.
+     */
+    public UserPurgeJobResponse resume(Long jobId) {
+        UserPurgeJob job = findJob(jobId);
+        if (job.getStatus() != UserPurgeStatus.FAILED) {
+            throw new IllegalStateException("Only failed purges can be resumed (job is " + job.getStatus() + ")");
+        }
+        job.setStatus(UserPurgeStatus.PENDING);
+        job.setError(null);
+        job = jobRepository.save(job);
+        dispatch(job.getId());
+        return toResponse(job);
+    }
+
+    /**
+     * Re-queues jobs whose worker has gone silent and dispatches pending jobs that never started
+     * (executor full, or the process restarted).
+     */
+    @Scheduled(fixedDelayString = "${purge.sweep-interval-ms:60000}")
+    public void sweep() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(staleMinutes);
+        int requeued = jobRepository.requeueStale(UserPurgeStatus.RUNNING, UserPurgeStatus.PENDING, cutoff,
+                LocalDateTime.now());
+        if (requeued > 0) {
+            log.warn("Re-queued {} stale user purge job(s)", requeued);
+        }
+
+        List<Long> waiting = jobRepository.findIdsByStatusInAndUpdatedAtBefore(
+                EnumSet.of(UserPurgeStatus.PENDING), LocalDateTime.now().minusMinutes(1));
+        waiting.forEach(this::dispatch);
+    }
+
+    private void dispatch(Long jobId) {
+        try {
+            purgeExecutor.execute(() -> run(jobId));
+        } catch (RejectedExecutionException e) {
+            // Stays PENDING; the sweep picks it up once the executor has room
+            log.warn("Purge executor saturated, job {} will be dispatched by the next sweep", jobId);
+        }
+    }
+
+    private void run(Long jobId) {
+        if (jobRepository.claim(jobId, UserPurgeStatus.PENDING, UserPurgeStatus.RUNNING, LocalDateTime.now()) == 0) {
+            return; // Already taken by another worker, or no longer pending
+        }
+        UserPurgeJob job = findJob(jobId);
+        long start = System.currentTimeMillis();
+
+        try {
+            for (int i = stepIndex(job.getCurrentStep()); i < STEPS.length; i++) {
+                Step step = STEPS[i];
+                job.setCurrentStep(step.name());
+                job = jobRepository.save(job);
+
+                Long targetId = targetId(job, step.scope);
+                if (targetId == null) {
+                    continue;
+                }
+                int deleted;
+                do {
+                    deleted = runBatch(step, targetId);
+                    if (deleted > 0) {
+                        job.setRowsDeleted(job.getRowsDeleted() + deleted);
+                        job = jobRepository.save(job); // progress and heartbeat for the stale sweep
+                        pause();
+                    }
+                } while (step.batched() && deleted >= batchSize);
+            }
+
+            job.setCurrentStep(null);
+            job.setStatus(UserPurgeStatus.COMPLETED);
+            job.setCompletedAt(LocalDateTime.now());
+            jobRepository.save(job);
+            log.info("Purged user {} ({} rows) in {} ms", job.getUserId(), job.getRowsDeleted(),
+                    System.currentTimeMillis() - start);
+            eventPublisher.publishEvent(new UserPurgedEvent(job.getUserId(), job.getStudentId(), job.getInstructorId()));
+
+        } catch (Exception e) {
+            log.error("User purge job {} failed at step {} (attempt {})", jobId, job.getCurrentStep(),
+                    job.getAttempts(), e);
+            job.setStatus(UserPurgeStatus.FAILED);
+            String message = e.getMessage();
+            job.setError(message != null && message.length() > 1000 ? message.substring(0, 1000) : message);
+            jobRepository.save(job);
+        }
+    }
+
+    private int runBatch(Step step, Long targetId) {
+        if (step == Step.COURSES) {
+            // Each course is purged with its own set-based batches
+            List<Long> courseIds = jdbcTemplate.queryForList(
+                    "SELECT id FROM courses WHERE instructor_id = ? LIMIT ?", Long.class, targetId, batchSize);
+            long deleted = 0;
+            for (Long courseId : courseIds) {
+                deleted += coursePurgeService.purge(courseId);
+            }
+            return (int) Math.min(deleted, Integer.MAX_VALUE);
+        }
+        Integer deleted = tx.execute(status -> step.batched()
+                ? jdbcTemplate.update(step.sql, targetId, batchSize)
+                : jdbcTemplate.update(step.sql, targetId));
+        return deleted != null ? deleted : 0;
+    }
+
+    private void pause() {
+        if (batchPauseMs > 0) {
+            try {
+                Thread.sleep(batchPauseMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Purge interrupted");
+            }
+        }
+    }
+
+    private static Long targetId(UserPurgeJob job, Scope scope) {
+        return switch (scope) {
+            case STUDENT -> job.getStudentId();
+            case INSTRUCTOR -> job.getInstructorId();
+            case USER -> job.getUserId();
+        };
+    }
+
+    private static int stepIndex(String step) {
+        return step == null ? 0 : Step.valueOf(step).ordinal();
+    }
+
+    private UserPurgeJob findJob(Long jobId) {
+        return jobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Purge job not found"));
+    }
+
+    private UserPurgeJobResponse toResponse(UserPurgeJob job) {
+        int completed = job.getStatus() == UserPurgeStatus.COMPLETED ? STEPS.length : stepIndex(job.getCurrentStep());
+        return UserPurgeJobResponse.builder()
+                .jobId(job.getId())
+                .userId(job.getUserId())
+                .status(job.getStatus())
+                .currentStep(job.getCurrentStep())
+                .stepsCompleted(completed)
+                .totalSteps(STEPS.length)
+                .rowsDeleted(job.getRowsDeleted())
+                .error(job.getError())
+                .attempts(job.getAttempts())
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .completedAt(job.getCompletedAt())
+                .build();
+    }
+}
@@ -2,31 +2,36 @@ package com.example.skillforge.service;
 
 import com.example.skillforge.dto.request.UpdateProfileRequest;
 import com.example.skillforge.dto.response.StudentStatsDto;
+import com.example.skillforge.dto.response.UserPurgeJobResponse;
 import com.example.skillforge.dto.response.UserResponse;
+import com.example.skillforge.dto.response.UserSummaryResponse;
 import com.example.skillforge.model.entity.User;
+import com.example.skillforge.model.enums.Role;
 import com.example.skillforge.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @org.springframework.transaction.annotation.Transactional
 public class UserService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final UserRepository userRepository;
-    private final com.example.skillforge.repository.TopicProgressRepository topicProgressRepository;
-    private final com.example.skillforge.repository.QuizAttemptRepository quizAttemptRepository;
-    private final com.example.skillforge.repository.CertificateRepository certificateRepository;
     private final ProgressService progressService;
     private final EmailService emailService;
+    private final UserPurgeService userPurgeService;
     private final com.example.skillforge.repository.PermanentlyDeletedUserRepository permanentlyDeletedUserRepository;
-    private final com.example.skillforge.repository.ReviewRepository reviewRepository;
-    private final com.example.skillforge.repository.EnrollmentRepository enrollmentRepository;
-    private final com.example.skillforge.repository.UserActivityRepository userActivityRepository;
-    private final com.example.skillforge.repository.CourseRepository courseRepository;
 
     public UserResponse getUserById(Long id) {
         User user = userRepository.findById(id)
@@ -40,10 +45,36 @@ public class UserService {
         return mapToUserResponse(user);
     }
 
-    public List<UserResponse> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(this::mapToUserResponse)
-                .collect(Collectors.toList());
+    /**
+     * One page of users for the admin console, optionally filtered by role, block status and
+     * a name/email prefix. Reads projections only; per-student stats are not part of the list.
+     */
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
+    public Page<UserSummaryResponse> getAllUsers(int page, int size, String sortBy, String direction,
+                                                 String role, Boolean blocked, String search) {
+        Role roleFilter = null;
+        if (role != null && !role.isBlank()) {
+            try {
+                roleFilter = Role.valueOf(role.toUpperCase().trim());
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Invalid role. Use STUDENT, INSTRUCTOR, ADMIN");
+            }
+        }
+
+        String sortField = switch (sortBy == null ? "createdAt" : sortBy) {
+            case "name", "email", "role" -> sortBy;
+            default -> "createdAt";
+        };
+        Sort sort = "asc".equalsIgnoreCase(direction)
+                ? Sort.by(sortField).ascending().and(Sort.by("id").ascending())
+                : Sort.by(sortField).descending().and(Sort.by("id").descending());
+        Pageable pageable = PageRequest.of(Math.max(0, page), Math.min(Math.max(1, size), MAX_PAGE_SIZE), sort);
+
+        String prefix = (search == null || search.isBlank())
+                ? null
+                : search.trim().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+
+        return userRepository.findUserSummaries(roleFilter, blocked, prefix, pageable);
     }
 
     public UserResponse updateUser(Long id, User userRequest) {
@@ -108,55 +139,47 @@ public class UserService {
                     user.getName(), days, reason, user.getBlockExpiry());
             emailService.sendSimpleMessage(user.getEmail(), subject, message);
         } catch (Exception e) {
-            System.err.println("Failed to send block email: " + e.getMessage());
+            // Sent on the mail executor; only a full queue gets here
+            log.warn("Failed to queue block email for user {}: {}", user.getId(), e.getMessage());
         }
 
         return mapToUserResponse(user);
     }
 
-    public void deleteUser(Long id, String reason) {
+    /**
+     * Deletes the account: the user is blacklisted and deactivated right away, their data is
+     * removed in the background by {@link UserPurgeService}. Repeating the call returns the
+     * existing purge.
+     */
+    public UserPurgeJobResponse deleteUser(Long id, String reason) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
+        if (user.getDeletedAt() != null) {
+            return userPurgeService.getLatestJobForUser(id);
+        }
+
         // Capture email before delete for notification and blacklisting
         String userEmail = user.getEmail();
         String userName = user.getName();
 
         // Save to Blacklist
-        com.example.skillforge.model.entity.PermanentlyDeletedUser blacklistedUser = new com.example.skillforge.model.entity.PermanentlyDeletedUser();
-        blacklistedUser.setEmail(userEmail);
-        blacklistedUser.setReason(reason);
-        permanentlyDeletedUserRepository.save(blacklistedUser);
-
-        // Delete User Activities
-        userActivityRepository.deleteByUser_Id(user.getId());
-
-        // Delete Reviews
-        reviewRepository.deleteByUserId(user.getId());
-
-        // Manual Cleanup based on Role
-        if (user.getRole() == com.example.skillforge.model.enums.Role.STUDENT && user.getStudent() != null) {
-            Long studentId = user.getStudent().getId();
-            
-            // Delete Reviews by Student
-            reviewRepository.deleteByStudentId(studentId);
-            
-            // Delete Enrollments
-            enrollmentRepository.deleteByStudent_Id(studentId);
-
-            // Delete Topic Progress
-            topicProgressRepository.deleteByStudentId(studentId);
-            // Delete Quiz Attempts
-            quizAttemptRepository.deleteByStudentId(studentId);
-            // Delete Certificates
-            certificateRepository.deleteByStudentId(user.getId());
-        } else if (user.getRole() == com.example.skillforge.model.enums.Role.INSTRUCTOR && user.getInstructor() != null) {
-            Long instructorId = user.getInstructor().getId();
-            // Delete Courses
-            courseRepository.deleteByInstructor_Id(instructorId);
+        if (!permanentlyDeletedUserRepository.existsByEmail(userEmail)) {
+            com.example.skillforge.model.entity.PermanentlyDeletedUser blacklistedUser = new com.example.skillforge.model.entity.PermanentlyDeletedUser();
+            blacklistedUser.setEmail(userEmail);
+            blacklistedUser.setReason(reason);
+            permanentlyDeletedUserRepository.save(blacklistedUser);
         }
 
-        userRepository.delete(user);
+        // Soft delete: can no longer log in and disappears from listings
+        user.setIsActive(false);
+        user.setDeletedAt(java.time.LocalDateTime.now());
+        userRepository.save(user);
+
+        // Ids are resolved here; the purge removes the rows they come from
+        Long studentId = user.getRole() == Role.STUDENT && user.getStudent() != null ? user.getStudent().getId() : null;
+        Long instructorId = user.getRole() == Role.INSTRUCTOR && user.getInstructor() != null ? user.getInstructor().getId() : null;
+        com.example.skillforge.model.entity.UserPurgeJob job = userPurgeService.submit(user.getId(), studentId, instructorId, userEmail);
 
         // Send Email
         try {
@@ -166,8 +189,10 @@ public class UserService {
                     userName, reason);
             emailService.sendSimpleMessage(userEmail, subject, message);
         } catch (Exception e) {
-            System.err.println("Failed to send delete email: " + e.getMessage());
+            log.warn("Failed to queue delete email for {}: {}", userEmail, e.getMessage());
         }
+
+        return userPurgeService.getJob(job.getId());
     }
 
     private UserResponse mapToUserResponse(User user) {
@@ -209,12 +234,12 @@ public class UserService {
     }
 
     public List<Map<String, Object>> getAdminUsers() {
-        return userRepository.findByRole(com.example.skillforge.model.enums.Role.ADMIN).stream()
-                .map(user -> {
+        return userRepository.findContactsByRoleIn(List.of(Role.ADMIN)).stream()
+                .map(row -> {
                     Map<String, Object> adminData = new java.util.HashMap<>();
-                    adminData.put("userId", user.getId());
-                    adminData.put("name", user.getName());
-                    adminData.put("email", user.getEmail());
+                    adminData.put("userId", row[0]);
+                    adminData.put("name", row[1]);
+                    adminData.put("email", row[2]);
                     return adminData;
                 })
                 .collect(Collectors.toList());
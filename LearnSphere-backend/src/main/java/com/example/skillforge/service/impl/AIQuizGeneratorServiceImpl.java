@@ -1,32 +1,105 @@
 package com.example.skillforge.service.impl;
 
 import com.example.skillforge.dto.request.AIQuizGenerationRequest;
+import com.example.skillforge.dto.response.AIBulkQuizResponse;
 import com.example.skillforge.dto.response.AIQuizResponse;
+import com.example.skillforge.model.entity.Topic;
+import com.example.skillforge.repository.TopicRepository;
 import com.example.skillforge.service.AIQuizGeneratorService;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.*;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates quiz questions with Gemini.
+ *
+ * - one shared OkHttp connection pool (see HttpClientConfig), with model-specific timeouts
+ * - at most {@code ai.quiz.max-in-flight} concurrent model calls, spaced to {@code ai.quiz.rate-per-minute}
+ * - bulk generation runs on its own small pool (aiBulkExecutor); a topic reserves its rate slot only
+ *   when it starts, so single-quiz requests wait behind at most a few bulk calls
+ * - results cached per (topic, difficulty, count) with TTL and LRU size eviction
+ */
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class AIQuizGeneratorServiceImpl implements AIQuizGeneratorService {
 
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+
+    private final OkHttpClient sharedHttpClient;
+    private final ObjectMapper objectMapper;
+    private final TopicRepository topicRepository;
+    private final ThreadPoolTaskExecutor aiBulkExecutor;
+
     @Value("${gemini.api.key}")
     private String geminiApiKey;
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
-
     // Use a model that supports generateContent (from your models list).
     // I suggest gemini-2.5-flash or gemini-2.5-flash-latest depending on availability.
-    private static final String GEMINI_URL =
-            "https://generativelanguage.googleapis.com/v1beta/models/gemini-2.5-flash:generateContent";
+    @Value("${gemini.api.url:https://generativelanguage.googleapis.com/v1beta/models/gemini-2.5-flash:generateContent}")
+    private String geminiUrl;
+
+    @Value("${ai.quiz.timeout-ms:60000}")
+    private long timeoutMs;
+
+    @Value("${ai.quiz.max-in-flight:4}")
+    private int maxInFlight;
+
+    @Value("${ai.quiz.acquire-timeout-ms:30000}")
+    private long acquireTimeoutMs;
+
+    @Value("${ai.quiz.rate-per-minute:30}")
+    private int ratePerMinute;
+
+    @Value("${ai.quiz.cache.ttl-ms:3600000}")
+    private long cacheTtlMs;
+
+    @Value("${ai.quiz.cache.max-entries:500}")
+    private int cacheMaxEntries;
+
+    private OkHttpClient httpClient;
+    private Semaphore inFlight;
+    private long nextCallAt = 0;
+
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, CachedQuiz> cache = new LinkedHashMap<>(64, 0.75f, true);
+
+    public AIQuizGeneratorServiceImpl(OkHttpClient sharedHttpClient,
+            ObjectMapper objectMapper,
+            TopicRepository topicRepository,
+            @Qualifier("aiBulkExecutor") ThreadPoolTaskExecutor aiBulkExecutor) {
+        this.sharedHttpClient = sharedHttpClient;
+        this.objectMapper = objectMapper;
+        this.topicRepository = topicRepository;
+        this.aiBulkExecutor = aiBulkExecutor;
+    }
+
+    @PostConstruct
+    void init() {
+        httpClient = sharedHttpClient.newBuilder()
+                .callTimeout(Duration.ofMillis(timeoutMs))
+                .readTimeout(Duration.ofMillis(timeoutMs))
+                .build();
+        inFlight = new Semaphore(maxInFlight, true);
+    }
 
     @Override
     public AIQuizResponse generateQuestions(AIQuizGenerationRequest request) {
@@ -37,48 +110,176 @@ public class AIQuizGeneratorServiceImpl implements AIQuizGeneratorService {
     // This must match the interface signature exactly.
     @Override
     public AIQuizResponse generateQuiz(AIQuizGenerationRequest req) {
-        try {
-            String prompt = buildSafePrompt(req);
+        String key = cacheKey(req);
+        if (!req.isRefresh()) {
+            AIQuizResponse cached = getCached(key);
+            if (cached != null) {
+                log.debug("AI quiz cache hit for {}", key);
+                return cached;
+            }
+        }
 
-            OkHttpClient client = new OkHttpClient();
+        boolean acquired = false;
+        try {
+            // Wait for the rate slot before taking a permit, so a waiting call never holds one
+            awaitRateSlot();
+            acquired = inFlight.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+            if (!acquired) {
+                throw new RuntimeException("AI quiz generator is busy, please try again shortly");
+            }
 
-            String payload = "{\"contents\":[{\"parts\":[{\"text\":\"" +
-                    prompt.replace("\"", "\\\"") +
-                    "\"}]}]}";
+            String prompt = buildSafePrompt(req);
 
-            RequestBody body = RequestBody.create(
-                    payload,
-                    MediaType.parse("application/json")
-            );
+            Map<String, Object> payload = Map.of(
+                    "contents", List.of(Map.of("parts", List.of(Map.of("text", prompt)))));
 
-            HttpUrl url = HttpUrl.parse(GEMINI_URL)
+            HttpUrl url = HttpUrl.parse(geminiUrl)
                     .newBuilder()
                     .addQueryParameter("key", geminiApiKey)
                     .build();
 
             Request request = new Request.Builder()
                     .url(url)
-                    .post(body)
+                    .post(RequestBody.create(objectMapper.writeValueAsBytes(payload), JSON))
                     .build();
 
-            Response response = client.newCall(request).execute();
+            long started = System.currentTimeMillis();
+            String responseBody;
+            try (Response response = httpClient.newCall(request).execute()) {
+                if (response.body() == null) {
+                    log.error("Gemini returned empty body (null)");
+                    throw new RuntimeException("Gemini returned empty response");
+                }
+                responseBody = response.body().string();
+                log.info("Gemini responded HTTP {} ({} chars) in {} ms", response.code(), responseBody.length(),
+                        System.currentTimeMillis() - started);
+            }
+            log.debug("Gemini API Response: {}", responseBody);
+
+            AIQuizResponse result = parseGeminiResponse(responseBody);
+            putCached(key, result);
+            return result;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("AI quiz generation interrupted", e);
+        } catch (RuntimeException e) {
+            log.error("AI Quiz Generation Error: {}", e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("AI Quiz Generation Error:", e);
+            throw new RuntimeException("Failed to generate quiz from Gemini: " + e.getMessage(), e);
+        } finally {
+            if (acquired) {
+                inFlight.release();
+            }
+        }
+    }
 
-            if (response.body() == null) {
-                log.error("Gemini returned empty body (null)");
-                throw new RuntimeException("Gemini returned empty response");
+    @Override
+    public CompletableFuture<AIBulkQuizResponse> generateForCourse(Long courseId, String difficulty,
+            int numberOfQuestions) {
+        List<Topic> topics = topicRepository.findByCourseIdOrderByOrderIndexAsc(courseId);
+
+        List<CompletableFuture<AIBulkQuizResponse.TopicQuiz>> futures = new ArrayList<>(topics.size());
+        for (Topic topic : topics) {
+            AIQuizGenerationRequest req = new AIQuizGenerationRequest();
+            req.setCourseId(courseId);
+            req.setTopicId(topic.getId());
+            req.setTopicName(topic.getName());
+            req.setDifficulty(difficulty);
+            req.setNumberOfQuestions(numberOfQuestions);
+
+            CompletableFuture<AIQuizResponse> quizFuture;
+            try {
+                quizFuture = CompletableFuture.supplyAsync(() -> generateQuiz(req), aiBulkExecutor);
+            } catch (RejectedExecutionException e) {
+                quizFuture = CompletableFuture.failedFuture(
+                        new RuntimeException("AI generation queue is full, retry this topic later"));
             }
+            futures.add(quizFuture
+                    .handle((quiz, error) -> AIBulkQuizResponse.TopicQuiz.builder()
+                            .topicId(topic.getId())
+                            .topicName(topic.getName())
+                            .quiz(quiz)
+                            .error(error != null ? rootMessage(error) : null)
+                            .build()));
+        }
 
-            String responseBody = response.body().string();
-            log.info("Gemini API Response: {}", responseBody);
+        // Completes when the last topic does; every future is done by then, so join() never blocks
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).thenApply(done -> {
+            List<AIBulkQuizResponse.TopicQuiz> results = futures.stream().map(CompletableFuture::join).toList();
+            int failed = (int) results.stream().filter(r -> r.getError() != null).count();
+
+            return AIBulkQuizResponse.builder()
+                    .courseId(courseId)
+                    .totalTopics(results.size())
+                    .succeeded(results.size() - failed)
+                    .failed(failed)
+                    .topics(results)
+                    .build();
+        });
+    }
 
-            return parseGeminiResponse(responseBody);
+    /**
+     * Spaces model calls evenly so that at most ratePerMinute calls start in any minute.
+     */
+    private void awaitRateSlot() throws InterruptedException {
+        long interval = 60_000L / Math.max(1, ratePerMinute);
+        long wait;
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            long slot = Math.max(now, nextCallAt);
+            nextCallAt = slot + interval;
+            wait = slot - now;
+        }
+        if (wait > 0) {
+            Thread.sleep(wait);
+        }
+    }
 
-        } catch (Exception e) {
-            log.error("AI Quiz Generation Error:", e);
-            throw new RuntimeException("Failed to generate quiz from Gemini: " + e.getMessage(), e);
+    private String cacheKey(AIQuizGenerationRequest req) {
+        String topic = req.getTopicId() != null
+                ? "id:" + req.getTopicId()
+                : "name:" + Optional.ofNullable(req.getTopicName()).orElse("").trim().toLowerCase();
+        String difficulty = Optional.ofNullable(req.getDifficulty()).orElse("BEGINNER").toUpperCase();
+        int count = req.getNumberOfQuestions() != 0 ? req.getNumberOfQuestions() : 1;
+        return topic + "|" + difficulty + "|" + count;
+    }
+
+    private AIQuizResponse getCached(String key) {
+        synchronized (cache) {
+            CachedQuiz entry = cache.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt() <= System.currentTimeMillis()) {
+                cache.remove(key);
+                return null;
+            }
+            return entry.quiz();
+        }
+    }
+
+    private void putCached(String key, AIQuizResponse quiz) {
+        synchronized (cache) {
+            cache.put(key, new CachedQuiz(quiz, System.currentTimeMillis() + cacheTtlMs));
+            Iterator<CachedQuiz> eldest = cache.values().iterator();
+            while (cache.size() > cacheMaxEntries && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+            }
         }
     }
 
+    private static String rootMessage(Throwable error) {
+        Throwable t = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return t.getMessage();
+    }
+
+    private record CachedQuiz(AIQuizResponse quiz, long expiresAt) {
+    }
+
     private String buildSafePrompt(AIQuizGenerationRequest req) {
         // Ensure this matches the fields your request DTO actually exposes (e.g. getNumberOfQuestions)
         int count = 1;
@@ -1,15 +1,20 @@
 package com.example.skillforge.service.impl;
 
+import com.example.skillforge.event.CourseProgressChangedEvent;
 import com.example.skillforge.model.entity.*;
 import com.example.skillforge.repository.*;
 import com.example.skillforge.service.CourseProgressService;
+import com.example.skillforge.service.logging.LogSampling;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class CourseProgressServiceImpl implements CourseProgressService {
@@ -26,6 +31,7 @@ public class CourseProgressServiceImpl implements CourseProgressService {
     private final TopicMaterialProgressRepository materialProgressRepository;
     private final TopicQuizProgressRepository quizProgressRepository;
     private final TopicProgressRepository topicProgressRepository; // Still needed for lastCompletedTopicId logic if any
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public void updateProgress(Long studentId, Long courseId, Long lastCompletedTopicId) {
@@ -71,6 +77,8 @@ public class CourseProgressServiceImpl implements CourseProgressService {
 
         // Fetch all quiz progress
         // Optimization: We can just check quiz progress for the topics
+        // Per topic, and the material count costs a query, so only for sampled requests
+        boolean debugTopics = LogSampling.debug(log);
         for (Long topicId : topicIds) {
             // Check if quiz exists for topic
             List<Quiz> quizzes = quizRepository.findByTopicId(topicId);
@@ -93,22 +101,16 @@ public class CourseProgressServiceImpl implements CourseProgressService {
                     // But usually it's 1 quiz per topic.
                 }
 
-                System.out.println(
-                        "DEBUG: Topic " + topicId + " -> Materials: " + materialRepository.countByTopicId(topicId) +
-                                ", Quizzes: " + quizzes.size() +
-                                " | Completed Quizzes: " + (isTopicQuizCompleted ? quizzes.size() : 0));
-            } else {
-                System.out.println("DEBUG: Topic " + topicId + " -> Materials: "
-                        + materialRepository.countByTopicId(topicId) + ", Quizzes: 0");
+                if (debugTopics) {
+                    log.debug("Topic {}: {} materials, {} quizzes, {} completed quizzes", topicId,
+                            materialRepository.countByTopicId(topicId), quizzes.size(),
+                            isTopicQuizCompleted ? quizzes.size() : 0);
+                }
+            } else if (debugTopics) {
+                log.debug("Topic {}: {} materials, no quizzes", topicId, materialRepository.countByTopicId(topicId));
             }
         }
 
-        System.out.println("DEBUG: Total Materials: " + totalMaterials + ", Total Quizzes: " + totalQuizzes);
-        System.out.println(
-                "DEBUG: Completed Materials: " + completedMaterials + ", Completed Quizzes: " + completedQuizzes);
-        System.out.println(
-                "DEBUG: Total Items: " + totalItems + " | Completed Items: " + (completedMaterials + completedQuizzes));
-
         long completedItems = completedMaterials + completedQuizzes;
 
         int percent = 0;
@@ -143,12 +145,11 @@ public class CourseProgressServiceImpl implements CourseProgressService {
         }
         cp.setLastUpdated(LocalDateTime.now());
 
-        System.out.println("DEBUG: Granular Progress - Student " + studentId +
-                ", Course " + courseId +
-                ", Materials " + completedMaterials + "/" + totalMaterials +
-                ", Quizzes " + completedQuizzes + "/" + totalQuizzes +
-                ", Total " + completedItems + "/" + totalItems +
-                ", Percent " + percent);
+        if (log.isDebugEnabled()) {
+            log.debug("Progress of student {} in course {}: materials {}/{}, quizzes {}/{}, total {}/{} ({}%)",
+                    studentId, courseId, completedMaterials, totalMaterials, completedQuizzes, totalQuizzes,
+                    completedItems, totalItems, percent);
+        }
 
         courseProgressRepository.save(cp);
 
@@ -170,6 +171,7 @@ public class CourseProgressServiceImpl implements CourseProgressService {
         }
 
         enrollmentRepository.save(enrollment);
+        eventPublisher.publishEvent(new CourseProgressChangedEvent(studentId, courseId));
 
         // Log Activity
         try {
@@ -183,8 +185,7 @@ public class CourseProgressServiceImpl implements CourseProgressService {
 
     @Override
     public void addTimeSpent(Long studentId, Long courseId, int minutes) {
-        System.out.println(
-                "DEBUG: addingTimeSpent - Student: " + studentId + ", Course: " + courseId + ", Minutes: " + minutes);
+        log.debug("Adding {} minutes to student {} in course {}", minutes, studentId, courseId);
         CourseProgress cp = courseProgressRepository
                 .findByStudentIdAndCourseId(studentId, courseId)
                 .orElseGet(() -> {
@@ -201,5 +202,6 @@ public class CourseProgressServiceImpl implements CourseProgressService {
         cp.setLastUpdated(LocalDateTime.now());
 
         courseProgressRepository.save(cp);
+        eventPublisher.publishEvent(new CourseProgressChangedEvent(studentId, courseId));
     }
 }
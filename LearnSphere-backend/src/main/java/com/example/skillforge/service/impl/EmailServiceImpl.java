@@ -1,6 +1,7 @@
 package com.example.skillforge.service.impl;
 
 import com.example.skillforge.service.EmailService;
+import com.example.skillforge.service.EmailTemplates;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
@@ -22,7 +23,7 @@ public class EmailServiceImpl implements EmailService {
     @Value("${spring.mail.username}")
     private String fromEmail;
 
-    @Async
+    @Async("mailExecutor")
     @Override
     public void sendSimpleMessage(String to, String subject, String text) {
         try {
@@ -50,22 +51,9 @@ public class EmailServiceImpl implements EmailService {
             SimpleMailMessage message = new SimpleMailMessage();
             message.setFrom("LearnSphereSystem <" + fromEmail + ">");
             message.setTo(studentEmail);
-            message.setSubject("Welcome to " + courseTitle + "!");
+            message.setSubject(EmailTemplates.enrollmentSubject(courseTitle));
 
-            String emailBody = String.format(
-                    "Dear %s,\n\n" +
-                            "Congratulations! You have been successfully enrolled in the course:\n\n" +
-                            "📚 Course: %s\n" +
-                            "👨‍🏫 Instructor: %s\n\n" +
-                            "You can now access the course materials and start learning.\n\n" +
-                            "Log in to your LearnSphere account to get started:\n" +
-                            "http://localhost:5173/dashboard\n\n" +
-                            "Happy Learning!\n\n" +
-                            "Best regards,\n" +
-                            "LearnSphere Team",
-                    studentName,
-                    courseTitle,
-                    instructorName);
+            String emailBody = EmailTemplates.enrollmentBody(studentName, courseTitle, instructorName);
 
             message.setText(emailBody);
             emailSender.send(message);
@@ -86,18 +74,7 @@ public class EmailServiceImpl implements EmailService {
             mailMessage.setTo(studentEmail);
             mailMessage.setSubject(subject);
 
-            String emailBody = String.format(
-                    "Dear %s,\n\n" +
-                            "%s\n\n" +
-                            "---\n" +
-                            "Course: %s\n" +
-                            "Instructor: %s\n\n" +
-                            "Best regards,\n" +
-                            "LearnSphere Team",
-                    studentName,
-                    message,
-                    courseTitle,
-                    instructorName);
+            String emailBody = EmailTemplates.announcementBody(studentName, courseTitle, instructorName, message);
 
             mailMessage.setText(emailBody);
             emailSender.send(mailMessage);
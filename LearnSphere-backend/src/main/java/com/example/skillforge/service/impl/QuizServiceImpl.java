@@ -8,11 +8,13 @@ import com.example.skillforge.model.entity.*;
 import com.example.skillforge.repository.*;
 import com.example.skillforge.service.QuizService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class QuizServiceImpl implements QuizService {
@@ -26,12 +28,10 @@ public class QuizServiceImpl implements QuizService {
 
     @Override
     public Quiz getQuizByTopic(Long topicId) {
-        System.out.println("Fetching quizzes for topic ID: " + topicId);
-
         // Get ALL quizzes for the topic
         var quizzes = quizRepository.findByTopicId(topicId);
 
-        System.out.println("Found quizzes count: " + (quizzes == null ? "null" : quizzes.size()));
+        log.debug("Found {} quizzes for topic {}", quizzes == null ? 0 : quizzes.size(), topicId);
 
         if (quizzes == null || quizzes.isEmpty()) {
             return null; // no quiz found
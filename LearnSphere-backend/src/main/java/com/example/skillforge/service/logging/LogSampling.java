@@ -0,0 +1,33 @@
+package com.example.skillforge.service.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.MDC;
+
+/**
+ * Request-scoped sampling for high-volume debug logging. {@link RequestCorrelationFilter} picks a share
+ * of requests ({@code logging.debug-sample-rate}); debug events on hot paths (per question, per topic)
+ * are written only for those, so a sampled request keeps its full trail and the cost of debug logging
+ * stays flat with quiz size and traffic. Background work outside a request is not sampled.
+ *
+ * <pre>
+ * if (LogSampling.debug(log)) {
+ *     log.debug("Question {} scored {}", id, points);
+ * }
+ * </pre>
+ */
+public final class LogSampling {
+
+    /** MDC key of the request correlation id, also returned in the X-Request-Id header */
+    public static final String REQUEST_ID = "requestId";
+
+    /** MDC key present only on requests picked for debug logging */
+    public static final String SAMPLED = "sampled";
+
+    private LogSampling() {
+    }
+
+    /** Debug is enabled for the logger and the current request, if any, was sampled */
+    public static boolean debug(Logger log) {
+        return log.isDebugEnabled() && (MDC.get(REQUEST_ID) == null || MDC.get(SAMPLED) != null);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.skillforge.service.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Gives every request a correlation id in the MDC, so all its log lines, including those of async tasks
+ * it queues (the executors copy the MDC), can be grouped. An incoming X-Request-Id from a proxy or the
+ * frontend is reused when it looks sane; the id is echoed in the response header either way. Also picks
+ * the requests whose debug events are logged, see {@link LogSampling}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestCorrelationFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Request-Id";
+
+    private static final Pattern VALID_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    @Value("${logging.debug-sample-rate:0.01}")
+    private double debugSampleRate;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String requestId = request.getHeader(HEADER);
+        if (requestId == null || !VALID_ID.matcher(requestId).matches()) {
+            requestId = UUID.randomUUID().toString().replace("-", "").substring(0, 16);
+        }
+        response.setHeader(HEADER, requestId);
+        MDC.put(LogSampling.REQUEST_ID, requestId);
+        if (ThreadLocalRandom.current().nextDouble() < debugSampleRate) {
+            MDC.put(LogSampling.SAMPLED, "true");
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MDC.remove(LogSampling.REQUEST_ID);
+            MDC.remove(LogSampling.SAMPLED);
+        }
+    }
+}
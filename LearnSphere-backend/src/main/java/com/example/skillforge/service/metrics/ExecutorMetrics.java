@@ -0,0 +1,98 @@
+package com.example.skillforge.service.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-executor task metrics, keyed by executor bean name: time spent queued, run time, completed, failed
+ * and rejected tasks. Filled by the {@link TaskDecorator} and rejection handler every executor in
+ * AsyncConfig is built with; the decorator also carries the submitter's MDC (request id, user) over to
+ * the worker thread so background log lines can be traced back to the request that queued them.
+ */
+@Slf4j
+@Component
+public class ExecutorMetrics {
+
+    private final Map<String, Stats> executors = new ConcurrentHashMap<>();
+
+    public Stats get(String executor) {
+        return executors.computeIfAbsent(executor, key -> new Stats());
+    }
+
+    public TaskDecorator decorator(String executor) {
+        Stats stats = get(executor);
+        return task -> {
+            long submittedAt = System.nanoTime();
+            Map<String, String> context = MDC.getCopyOfContextMap();
+            return () -> {
+                long startedAt = System.nanoTime();
+                stats.queueWait.record(startedAt - submittedAt);
+                Map<String, String> previous = MDC.getCopyOfContextMap();
+                if (context != null) {
+                    MDC.setContextMap(context);
+                } else {
+                    MDC.clear();
+                }
+                try {
+                    task.run();
+                    stats.completed.increment();
+                } catch (RuntimeException | Error e) {
+                    // Only plain execute() tasks get here; submit() and @Async keep the exception in their future
+                    stats.failed.increment();
+                    log.error("Task on {} failed", executor, e);
+                } finally {
+                    stats.run.record(System.nanoTime() - startedAt);
+                    if (previous != null) {
+                        MDC.setContextMap(previous);
+                    } else {
+                        MDC.clear();
+                    }
+                }
+            };
+        };
+    }
+
+    /** Counts the rejection, then applies the executor's policy */
+    public RejectedExecutionHandler rejections(String executor, RejectedExecutionHandler policy) {
+        Stats stats = get(executor);
+        return (task, pool) -> {
+            stats.rejected.increment();
+            policy.rejectedExecution(task, pool);
+        };
+    }
+
+    public static final class Stats {
+        private final LatencyHistogram queueWait = new LatencyHistogram();
+        private final LatencyHistogram run = new LatencyHistogram();
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+
+        public LatencyHistogram getQueueWait() {
+            return queueWait;
+        }
+
+        public LatencyHistogram getRun() {
+            return run;
+        }
+
+        public long getCompleted() {
+            return completed.sum();
+        }
+
+        public long getFailed() {
+            return failed.sum();
+        }
+
+        public long getRejected() {
+            return rejected.sum();
+        }
+    }
+}
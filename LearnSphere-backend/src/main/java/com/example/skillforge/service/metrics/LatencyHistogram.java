@@ -0,0 +1,70 @@
+package com.example.skillforge.service.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with fixed millisecond buckets, cumulative since startup.
+ * Percentiles are reported as the upper bound of the bucket they fall into (the maximum for the last one).
+ */
+public class LatencyHistogram {
+
+    private static final long[] BOUNDS_MS = { 1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000 };
+
+    private final LongAdder[] buckets = new LongAdder[BOUNDS_MS.length + 1];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        long ms = nanos / 1_000_000;
+        int i = 0;
+        while (i < BOUNDS_MS.length && ms >= BOUNDS_MS[i]) {
+            i++;
+        }
+        buckets[i].increment();
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public double totalMs() {
+        return totalNanos.sum() / 1_000_000.0;
+    }
+
+    public double meanMs() {
+        long n = count.sum();
+        return n == 0 ? 0 : totalNanos.sum() / 1_000_000.0 / n;
+    }
+
+    public double maxMs() {
+        return maxNanos.get() / 1_000_000.0;
+    }
+
+    /** p in (0, 1], e.g. 0.95 */
+    public double percentileMs(double p) {
+        long n = count.sum();
+        if (n == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(p * n);
+        long seen = 0;
+        for (int i = 0; i < BOUNDS_MS.length; i++) {
+            seen += buckets[i].sum();
+            if (seen >= rank) {
+                return Math.min(BOUNDS_MS[i], maxMs());
+            }
+        }
+        return maxMs();
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.skillforge.service.metrics;
+
+import com.example.skillforge.exception.QueryBudgetExceededException;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts the statements of every {@link QueryBudget} method call.
+ *
+ * {@code querycount.mode}: {@code off} skips counting, {@code log} (the default) warns with the offending
+ * statements and call sites at most once per method per {@code querycount.report-interval-ms}, and
+ * {@code strict} throws {@link QueryBudgetExceededException}, which is what the test suite runs with.
+ * Repeated statements are reported in strict mode even when the total stays within budget.
+ */
+@Slf4j
+@Aspect
+@Component
+public class QueryBudgetAspect {
+
+    private final ConcurrentHashMap<String, Long> lastReported = new ConcurrentHashMap<>();
+
+    @Value("${querycount.mode:log}")
+    private String mode;
+
+    @Value("${querycount.report-interval-ms:60000}")
+    private long reportIntervalMs;
+
+    @Around("@annotation(budget)")
+    public Object enforce(ProceedingJoinPoint joinPoint, QueryBudget budget) throws Throwable {
+        if ("off".equals(mode)) {
+            return joinPoint.proceed();
+        }
+        String method = joinPoint.getSignature().getDeclaringType().getSimpleName() + "."
+                + joinPoint.getSignature().getName();
+        Object result;
+        try (QueryCounter.Scope scope = QueryCounter.open(method)) {
+            result = joinPoint.proceed();
+            if (scope.getCount() > budget.value() || (isStrict() && !scope.getRepeated().isEmpty())) {
+                exceeded(method, budget.value(), scope);
+            }
+        }
+        return result;
+    }
+
+    private void exceeded(String method, int budget, QueryCounter.Scope scope) {
+        String message = "Query budget of " + budget + " for " + scope.report();
+        if (isStrict()) {
+            throw new QueryBudgetExceededException(message);
+        }
+        long now = System.currentTimeMillis();
+        Long last = lastReported.get(method);
+        if (last == null || now - last >= reportIntervalMs) {
+            lastReported.put(method, now);
+            log.warn(message);
+        }
+    }
+
+    private boolean isStrict() {
+        return "strict".equals(mode);
+    }
+}
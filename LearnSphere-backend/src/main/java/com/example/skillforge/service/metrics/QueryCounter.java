@@ -0,0 +1,157 @@
+package com.example.skillforge.service.metrics;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Counts JDBC statements per thread inside nested scopes (a request, a {@link QueryBudget} method, a test
+ * block). {@link TimedDataSource} reports every execution here; with no scope open that is one thread-local
+ * read. Every open scope on the thread sees the statement, so a request total includes its service calls.
+ *
+ * The same SQL executed again and again inside one scope is the N+1 signature: once a statement reaches
+ * {@link #REPEAT_THRESHOLD} executions, the application frames that issued it are captured for the report.
+ */
+public final class QueryCounter {
+
+    public static final int REPEAT_THRESHOLD = 5;
+
+    private static final String APP_PACKAGE = "com.example.skillforge.";
+    private static final String OWN_PACKAGE = QueryCounter.class.getPackageName() + ".";
+    private static final int CALL_SITE_FRAMES = 6;
+    private static final int MAX_DISTINCT_SQL = 200;
+
+    private static final ThreadLocal<ArrayDeque<Scope>> SCOPES = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private QueryCounter() {
+    }
+
+    public static Scope open(String name) {
+        Scope scope = new Scope(name);
+        SCOPES.get().push(scope);
+        return scope;
+    }
+
+    static void record(String sql) {
+        ArrayDeque<Scope> scopes = SCOPES.get();
+        if (scopes.isEmpty()) {
+            return;
+        }
+        String key = sql != null ? sql : "<batch>";
+        String callSite = null;
+        for (Scope scope : scopes) {
+            SqlCount count = scope.add(key);
+            if (count != null && count.executions == REPEAT_THRESHOLD && count.callSite == null) {
+                if (callSite == null) {
+                    callSite = callSite();
+                }
+                count.callSite = callSite;
+            }
+        }
+    }
+
+    private static String callSite() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith(APP_PACKAGE))
+                .filter(f -> !f.getClassName().startsWith(OWN_PACKAGE))
+                .filter(f -> !f.getClassName().contains("$$"))
+                .limit(CALL_SITE_FRAMES)
+                .map(f -> f.getClassName().substring(APP_PACKAGE.length()) + "." + f.getMethodName()
+                        + ":" + f.getLineNumber())
+                .collect(Collectors.joining(" <- ")));
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final String name;
+        private final Map<String, SqlCount> statements = new LinkedHashMap<>();
+        private int total;
+
+        private Scope(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getCount() {
+            return total;
+        }
+
+        private SqlCount add(String sql) {
+            total++;
+            SqlCount count = statements.get(sql);
+            if (count == null) {
+                if (statements.size() >= MAX_DISTINCT_SQL) {
+                    return null; // still counted in the total, just not grouped
+                }
+                count = new SqlCount(sql);
+                statements.put(sql, count);
+            }
+            count.executions++;
+            return count;
+        }
+
+        /**
+         * Statements executed at least {@link #REPEAT_THRESHOLD} times, most repeated first.
+         */
+        public List<SqlCount> getRepeated() {
+            List<SqlCount> repeated = new ArrayList<>();
+            for (SqlCount count : statements.values()) {
+                if (count.executions >= REPEAT_THRESHOLD) {
+                    repeated.add(count);
+                }
+            }
+            repeated.sort(Comparator.comparingInt(SqlCount::getExecutions).reversed());
+            return repeated;
+        }
+
+        public String report() {
+            StringBuilder report = new StringBuilder()
+                    .append(name).append(": ").append(total).append(" statements, ")
+                    .append(statements.size()).append(" distinct");
+            for (SqlCount count : getRepeated()) {
+                report.append("\n  ").append(count.executions).append("x ").append(abbreviate(count.sql))
+                        .append("\n     at ").append(count.callSite);
+            }
+            return report.toString();
+        }
+
+        @Override
+        public void close() {
+            SCOPES.get().remove(this);
+        }
+
+        private static String abbreviate(String sql) {
+            return sql.length() > 160 ? sql.substring(0, 157) + "..." : sql;
+        }
+    }
+
+    public static final class SqlCount {
+
+        private final String sql;
+        private int executions;
+        private String callSite;
+
+        private SqlCount(String sql) {
+            this.sql = sql;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public int getExecutions() {
+            return executions;
+        }
+
+        public String getCallSite() {
+            return callSite;
+        }
+    }
+}
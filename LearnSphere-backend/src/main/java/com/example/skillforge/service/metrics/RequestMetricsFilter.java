@@ -0,0 +1,134 @@
+package com.example.skillforge.service.metrics;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times every request and counts its SQL statements, keyed by method and matched route pattern (so
+ * /api/courses/1 and /api/courses/2 share one histogram). Runs right after the correlation filter, so
+ * requests rejected by security are counted as well and its reports carry the request id. Requests
+ * above {@code querycount.request-warn-threshold} statements, or repeating one statement, are logged
+ * with their call sites at most once per endpoint per report interval.
+ *
+ * A request whose handler returns a future (chat, certificate download) is recorded when its async
+ * processing completes, with the final status and full latency. Its statement count covers the
+ * initial dispatch only: the rest runs on executor threads.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private final SystemMetricsService systemMetricsService;
+
+    private final ConcurrentHashMap<String, Long> lastReported = new ConcurrentHashMap<>();
+
+    @Value("${querycount.mode:log}")
+    private String mode;
+
+    @Value("${querycount.request-warn-threshold:50}")
+    private int warnThreshold;
+
+    @Value("${querycount.report-interval-ms:60000}")
+    private long reportIntervalMs;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        boolean failed = false;
+        QueryCounter.Scope statements = QueryCounter.open("request");
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            failed = true;
+            throw e;
+        } finally {
+            statements.close();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String endpoint = request.getMethod() + " " + (pattern != null ? pattern : "UNMATCHED");
+            if (!failed && request.isAsyncStarted()) {
+                // The response is still open; this filter is not called again for the async dispatch
+                request.getAsyncContext().addListener(new AsyncCompletion(endpoint, response, start,
+                        statements.getCount()));
+            } else {
+                int status = failed ? 500 : response.getStatus();
+                systemMetricsService.recordRequest(endpoint, status, System.nanoTime() - start, statements.getCount());
+            }
+            if (!"off".equals(mode)
+                    && (statements.getCount() > warnThreshold || !statements.getRepeated().isEmpty())) {
+                report(endpoint, statements);
+            }
+        }
+    }
+
+    /**
+     * Records an async request once it is complete. Errors and timeouts only mark it; onComplete follows
+     * both and sees the status the error handling wrote.
+     */
+    private final class AsyncCompletion implements AsyncListener {
+
+        private final String endpoint;
+        private final HttpServletResponse response;
+        private final long start;
+        private final int statementCount;
+        private volatile int fallbackStatus;
+
+        AsyncCompletion(String endpoint, HttpServletResponse response, long start, int statementCount) {
+            this.endpoint = endpoint;
+            this.response = response;
+            this.start = start;
+            this.statementCount = statementCount;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            int status = response.getStatus();
+            if (fallbackStatus != 0 && status < 400) {
+                status = fallbackStatus;
+            }
+            systemMetricsService.recordRequest(endpoint, status, System.nanoTime() - start, statementCount);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            fallbackStatus = 503;
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            fallbackStatus = 500;
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Async restarted from the dispatch: listeners are dropped, stay registered for the new cycle
+            event.getAsyncContext().addListener(this);
+        }
+    }
+
+    private void report(String endpoint, QueryCounter.Scope statements) {
+        long now = System.currentTimeMillis();
+        Long last = lastReported.get(endpoint);
+        if (last == null || now - last >= reportIntervalMs) {
+            lastReported.put(endpoint, now);
+            log.warn("{} {}", endpoint, statements.report());
+        }
+    }
+}
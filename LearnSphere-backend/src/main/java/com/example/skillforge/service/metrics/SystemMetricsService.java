@@ -0,0 +1,278 @@
+package com.example.skillforge.service.metrics;
+
+import com.example.skillforge.dto.response.SystemMetricsResponse;
+import com.example.skillforge.model.dto.analytics.AnalyticsDTO;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+import javax.sql.DataSource;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process instrumentation: request latency and SQL statement count per endpoint, JDBC statement
+ * time, connection pool, heap, GC pauses and virtual thread pinning, error rate and the async executors
+ * (queue depth, queue wait and run time, rejections). Everything is kept in memory in lock-free
+ * counters; {@link #getMetrics()} backs GET /api/admin/metrics and {@link #getSystemHealth()} the
+ * admin dashboard.
+ */
+@Slf4j
+@Service
+public class SystemMetricsService {
+
+    // Route patterns are bounded, but unmatched paths are folded into one key anyway
+    private static final int MAX_ENDPOINTS = 500;
+    private static final long MB = 1024 * 1024;
+
+    private final Map<String, ThreadPoolTaskExecutor> executors;
+    private final TimedDataSource timedDataSource;
+    private final HikariDataSource hikariDataSource;
+    private final VirtualThreadPinningMonitor pinningMonitor;
+    private final ExecutorMetrics executorMetrics;
+
+    private final ConcurrentHashMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final LatencyHistogram allRequests = new LatencyHistogram();
+    private final LongAdder serverErrors = new LongAdder();
+    private final LatencyHistogram gcPauses = new LatencyHistogram();
+
+    private long windowRequests;
+    private long windowErrors;
+    private volatile double recentErrorRate;
+
+    public SystemMetricsService(Map<String, ThreadPoolTaskExecutor> executors, DataSource dataSource,
+                                VirtualThreadPinningMonitor pinningMonitor, ExecutorMetrics executorMetrics) {
+        this.executors = executors;
+        this.pinningMonitor = pinningMonitor;
+        this.executorMetrics = executorMetrics;
+        this.timedDataSource = unwrap(dataSource, TimedDataSource.class);
+        this.hikariDataSource = unwrap(dataSource, HikariDataSource.class);
+    }
+
+    @PostConstruct
+    public void listenForGcPauses() {
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (!(gc instanceof NotificationEmitter emitter)) {
+                continue;
+            }
+            emitter.addNotificationListener((notification, handback) -> {
+                if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                    return;
+                }
+                GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo
+                        .from((CompositeData) notification.getUserData());
+                // Concurrent collectors report whole cycles, which are not pauses
+                if (info.getGcAction().contains("cycle")) {
+                    return;
+                }
+                gcPauses.record(TimeUnit.MILLISECONDS.toNanos(info.getGcInfo().getDuration()));
+            }, null, null);
+        }
+    }
+
+    public void recordRequest(String endpoint, int status, long nanos, int statements) {
+        Endpoint metrics = endpoints.get(endpoint);
+        if (metrics == null) {
+            metrics = endpoints.size() < MAX_ENDPOINTS
+                    ? endpoints.computeIfAbsent(endpoint, key -> new Endpoint())
+                    : endpoints.computeIfAbsent("OTHER", key -> new Endpoint());
+        }
+        metrics.latency.record(nanos);
+        metrics.statements.add(statements);
+        metrics.maxStatements.accumulate(statements);
+        allRequests.record(nanos);
+        if (status >= 500) {
+            metrics.errors.increment();
+            serverErrors.increment();
+        }
+    }
+
+    /**
+     * Error rate of the last window, so the dashboard shows current health rather than the lifetime average.
+     */
+    @Scheduled(fixedDelayString = "${metrics.rate-window-ms:60000}")
+    public void rollRateWindow() {
+        long requests = allRequests.count();
+        long errors = serverErrors.sum();
+        long windowed = requests - windowRequests;
+        recentErrorRate = windowed > 0 ? (errors - windowErrors) * 100.0 / windowed : 0;
+        windowRequests = requests;
+        windowErrors = errors;
+    }
+
+    public SystemMetricsResponse getMetrics() {
+        List<SystemMetricsResponse.Latency> perEndpoint = endpoints.entrySet().stream()
+                .map(e -> endpoint(e.getKey(), e.getValue()))
+                .sorted(Comparator.comparingDouble(SystemMetricsResponse.Latency::getP95Ms).reversed())
+                .toList();
+
+        List<SystemMetricsResponse.Executor> pools = executors.entrySet().stream()
+                .map(e -> executor(e.getKey(), e.getValue()))
+                .sorted(Comparator.comparing(SystemMetricsResponse.Executor::getName))
+                .toList();
+
+        return SystemMetricsResponse.builder()
+                .collectedAt(LocalDateTime.now())
+                .uptimeSeconds(ManagementFactory.getRuntimeMXBean().getUptime() / 1000)
+                .processCpuPercent(round(processCpuPercent()))
+                .systemLoadAverage(round(ManagementFactory.getOperatingSystemMXBean().getSystemLoadAverage()))
+                .totalRequests(allRequests.count())
+                .serverErrors(serverErrors.sum())
+                .recentErrorRatePercent(round(recentErrorRate))
+                .endpoints(perEndpoint)
+                .dbQueries(timedDataSource != null ? latency("jdbc", timedDataSource.getQueries(), null) : null)
+                .dbPool(pool())
+                .jvm(jvm())
+                .executors(pools)
+                .build();
+    }
+
+    public AnalyticsDTO.SystemHealth getSystemHealth() {
+        SystemMetricsResponse.Pool pool = pool();
+        return AnalyticsDTO.SystemHealth.builder()
+                .serverLoad(round(processCpuPercent()))
+                .dbLatency(timedDataSource != null
+                        ? Math.round(timedDataSource.getQueries().percentileMs(0.95)) + "ms"
+                        : "N/A")
+                .uptime(formatUptime(ManagementFactory.getRuntimeMXBean().getUptime() / 1000))
+                .errors(round(recentErrorRate))
+                .requestP95Ms(round(allRequests.percentileMs(0.95)))
+                .heapUsedPercent(jvm().getHeapUsedPercent())
+                .dbPoolUtilization(pool != null ? pool.getUtilizationPercent() : null)
+                .build();
+    }
+
+    private SystemMetricsResponse.Pool pool() {
+        if (hikariDataSource == null) {
+            return null;
+        }
+        HikariPoolMXBean bean = hikariDataSource.getHikariPoolMXBean();
+        if (bean == null) {
+            return null; // pool not started yet
+        }
+        int max = hikariDataSource.getMaximumPoolSize();
+        return SystemMetricsResponse.Pool.builder()
+                .active(bean.getActiveConnections())
+                .idle(bean.getIdleConnections())
+                .total(bean.getTotalConnections())
+                .max(max)
+                .threadsAwaiting(bean.getThreadsAwaitingConnection())
+                .utilizationPercent(max > 0 ? round(bean.getActiveConnections() * 100.0 / max) : 0)
+                .build();
+    }
+
+    private SystemMetricsResponse.Jvm jvm() {
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        long max = heap.getMax() > 0 ? heap.getMax() : heap.getCommitted();
+        return SystemMetricsResponse.Jvm.builder()
+                .heapUsedMb(heap.getUsed() / MB)
+                .heapCommittedMb(heap.getCommitted() / MB)
+                .heapMaxMb(max / MB)
+                .heapUsedPercent(max > 0 ? round(heap.getUsed() * 100.0 / max) : 0)
+                .threads(ManagementFactory.getThreadMXBean().getThreadCount())
+                .gcPauses(latency("gc", gcPauses, null))
+                .threadMode(pinningMonitor.isEnabled() ? "virtual" : "platform")
+                .virtualThreadPinning(pinningMonitor.isEnabled()
+                        ? latency("pinned", pinningMonitor.getPinned(), null) : null)
+                .pinningSites(pinningMonitor.isEnabled() ? pinningMonitor.getTopSites(10) : null)
+                .build();
+    }
+
+    private SystemMetricsResponse.Executor executor(String name, ThreadPoolTaskExecutor executor) {
+        ExecutorMetrics.Stats stats = executorMetrics.get(name);
+        return SystemMetricsResponse.Executor.builder()
+                .name(name)
+                .active(executor.getActiveCount())
+                .poolSize(executor.getPoolSize())
+                .maxPoolSize(executor.getMaxPoolSize())
+                .queued(executor.getQueueSize())
+                .queueCapacity(executor.getQueueCapacity())
+                .completed(stats.getCompleted())
+                .failed(stats.getFailed())
+                .rejected(stats.getRejected())
+                .queueWait(latency("queue-wait", stats.getQueueWait(), null))
+                .run(latency("run", stats.getRun(), null))
+                .build();
+    }
+
+    private static SystemMetricsResponse.Latency endpoint(String name, Endpoint endpoint) {
+        SystemMetricsResponse.Latency latency = latency(name, endpoint.latency, endpoint.errors.sum());
+        long count = endpoint.latency.count();
+        latency.setStatementsPerRequest(count > 0 ? round(endpoint.statements.sum() / (double) count) : 0);
+        latency.setMaxStatements(endpoint.maxStatements.get());
+        return latency;
+    }
+
+    private static SystemMetricsResponse.Latency latency(String name, LatencyHistogram histogram, Long errors) {
+        return SystemMetricsResponse.Latency.builder()
+                .name(name)
+                .count(histogram.count())
+                .errors(errors)
+                .meanMs(round(histogram.meanMs()))
+                .p50Ms(round(histogram.percentileMs(0.50)))
+                .p95Ms(round(histogram.percentileMs(0.95)))
+                .p99Ms(round(histogram.percentileMs(0.99)))
+                .maxMs(round(histogram.maxMs()))
+                .build();
+    }
+
+    private static double processCpuPercent() {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean sunOs) {
+            double load = sunOs.getProcessCpuLoad();
+            if (load >= 0) {
+                return load * 100;
+            }
+        }
+        double average = os.getSystemLoadAverage();
+        return average >= 0 ? Math.min(100, average * 100 / os.getAvailableProcessors()) : 0;
+    }
+
+    private static String formatUptime(long seconds) {
+        long days = seconds / 86400;
+        long hours = seconds % 86400 / 3600;
+        long minutes = seconds % 3600 / 60;
+        if (days > 0) {
+            return days + "d " + hours + "h";
+        }
+        return hours > 0 ? hours + "h " + minutes + "m" : minutes + "m";
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    private static <T> T unwrap(DataSource dataSource, Class<T> type) {
+        try {
+            return dataSource.isWrapperFor(type) ? dataSource.unwrap(type) : null;
+        } catch (SQLException e) {
+            log.warn("Could not unwrap {} from the DataSource: {}", type.getSimpleName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static final class Endpoint {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder errors = new LongAdder();
+        final LongAdder statements = new LongAdder();
+        final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+    }
+}
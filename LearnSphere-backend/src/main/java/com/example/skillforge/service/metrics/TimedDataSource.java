@@ -0,0 +1,78 @@
+package com.example.skillforge.service.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Wraps the application DataSource so that every JDBC statement execution (JPA, JdbcTemplate) is
+ * timed into one histogram and reported to {@link QueryCounter}. Connections and statements are thin
+ * dynamic proxies; everything other than the execute methods is passed straight through.
+ */
+public class TimedDataSource extends DelegatingDataSource {
+
+    private final LatencyHistogram queries = new LatencyHistogram();
+
+    public TimedDataSource(DataSource target) {
+        super(target);
+    }
+
+    public LatencyHistogram getQueries() {
+        return queries;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                        // prepareStatement/prepareCall carry the SQL; plain statements get it per execute call
+                        String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                        return wrap(statement, method.getReturnType(), sql);
+                    }
+                    return result;
+                });
+    }
+
+    // type is Statement, PreparedStatement or CallableStatement, whichever the factory method declares
+    private Object wrap(Statement statement, Class<?> type, String preparedSql) {
+        return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { type },
+                (proxy, method, args) -> {
+                    if (!method.getName().startsWith("execute")) {
+                        return invoke(statement, method, args);
+                    }
+                    long start = System.nanoTime();
+                    try {
+                        return invoke(statement, method, args);
+                    } finally {
+                        queries.record(System.nanoTime() - start);
+                        QueryCounter.record(args != null && args.length > 0 && args[0] instanceof String sql
+                                ? sql : preparedSql);
+                    }
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
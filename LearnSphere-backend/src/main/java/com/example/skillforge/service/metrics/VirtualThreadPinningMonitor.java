@@ -0,0 +1,155 @@
+package com.example.skillforge.service.metrics;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Pinning diagnostics for the virtual-thread mode. A virtual thread that blocks inside a synchronized
+ * block or a native frame keeps its carrier thread, so a few of them can stall every request. The JVM
+ * reports those as JFR jdk.VirtualThreadPinned events; this streams them in-process, counts them per
+ * call site (the first application frame, else the top frame) and logs each site once per interval.
+ * At startup it also warns about JDBC drivers known to block inside monitors.
+ *
+ * Active only with spring.threads.virtual.enabled=true; for a one-off trace, start the JVM with
+ * -Djdk.tracePinnedThreads=full instead.
+ */
+@Slf4j
+@Component
+public class VirtualThreadPinningMonitor {
+
+    private static final String APP_PACKAGE = "com.example.skillforge.";
+    private static final int MAX_SITES = 200;
+    private static final int LOGGED_FRAMES = 8;
+
+    private final DataSource dataSource;
+    private final boolean enabled;
+    private final Duration threshold;
+    private final long logIntervalMs;
+
+    private final LatencyHistogram pinned = new LatencyHistogram();
+    private final Map<String, Site> sites = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(
+            DataSource dataSource,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            @Value("${threads.pinning.monitor:true}") boolean monitor,
+            @Value("${threads.pinning.threshold-ms:20}") long thresholdMs,
+            @Value("${threads.pinning.log-interval-ms:60000}") long logIntervalMs) {
+        this.dataSource = dataSource;
+        this.enabled = virtualThreads && monitor;
+        this.threshold = Duration.ofMillis(thresholdMs);
+        this.logIntervalMs = logIntervalMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        checkJdbcDriver();
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(threshold).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::onPinned);
+        stream.startAsync();
+        log.info("Virtual thread pinning monitor started (threshold {} ms)", threshold.toMillis());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public LatencyHistogram getPinned() {
+        return pinned;
+    }
+
+    /** Call sites with the most pinning events first */
+    public Map<String, Long> getTopSites(int limit) {
+        return sites.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Site> e) -> e.getValue().count.sum()).reversed())
+                .limit(limit)
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().count.sum(), (a, b) -> a,
+                        LinkedHashMap::new));
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.record(event.getDuration().toNanos());
+        List<RecordedFrame> frames = event.getStackTrace() != null ? event.getStackTrace().getFrames() : List.of();
+        String site = site(frames);
+        Site stats = sites.get(site);
+        if (stats == null) {
+            stats = sites.size() < MAX_SITES ? sites.computeIfAbsent(site, key -> new Site())
+                    : sites.computeIfAbsent("OTHER", key -> new Site());
+        }
+        stats.count.increment();
+
+        long now = System.currentTimeMillis();
+        long last = stats.lastLoggedAt;
+        if (now - last >= logIntervalMs) {
+            stats.lastLoggedAt = now;
+            log.warn("Virtual thread pinned for {} ms at {} ({} times so far):\n    {}",
+                    event.getDuration().toMillis(), site, stats.count.sum(),
+                    frames.stream().limit(LOGGED_FRAMES).map(VirtualThreadPinningMonitor::frame)
+                            .collect(Collectors.joining("\n    ")));
+        }
+    }
+
+    private static String site(List<RecordedFrame> frames) {
+        return frames.stream()
+                .filter(f -> f.isJavaFrame() && f.getMethod().getType().getName().startsWith(APP_PACKAGE))
+                .findFirst()
+                .or(() -> frames.stream().findFirst())
+                .map(VirtualThreadPinningMonitor::frame)
+                .orElse("unknown");
+    }
+
+    private static String frame(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    // MySQL Connector/J before 9.0 guards socket I/O with synchronized, so every query pins its carrier
+    private void checkJdbcDriver() {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData meta = connection.getMetaData();
+            if (meta.getDriverName().contains("MySQL Connector") && meta.getDriverMajorVersion() < 9) {
+                log.warn("JDBC driver {} {} blocks inside synchronized blocks and pins virtual threads on every "
+                        + "query; upgrade to Connector/J 9.x", meta.getDriverName(), meta.getDriverVersion());
+            } else {
+                log.info("JDBC driver {} {}", meta.getDriverName(), meta.getDriverVersion());
+            }
+        } catch (SQLException e) {
+            log.warn("Could not inspect the JDBC driver: {}", e.getMessage());
+        }
+    }
+
+    private static final class Site {
+        final LongAdder count = new LongAdder();
+        volatile long lastLoggedAt;
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.skillforge.service.recommendation;
+
+import com.example.skillforge.event.CertificateIssuedEvent;
+import com.example.skillforge.event.CourseProgressChangedEvent;
+import com.example.skillforge.event.CourseReviewChangedEvent;
+import com.example.skillforge.event.EnrollmentChangedEvent;
+import com.example.skillforge.event.InteractionsUpdatedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory item-item collaborative filtering over enrollments, progress, time spent and ratings.
+ *
+ * The matrix is loaded from the database at startup and then kept current cell by cell from domain
+ * events (enrollment, progress, certificate, review), each re-reading the (student, course) rows it
+ * touched; a bulk enrollment re-reads all of its students in batched queries.
+ * Reads take a shared lock and never touch the database.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CourseRecommender {
+
+    private static final String INTERACTIONS = "SELECT e.student_id, e.course_id, e.completion_percentage, "
+            + "e.is_completed, cp.total_time_minutes, r.rating "
+            + "FROM enrollments e "
+            + "LEFT JOIN course_progress cp ON cp.student_id = e.student_id AND cp.course_id = e.course_id "
+            + "LEFT JOIN reviews r ON r.student_id = e.student_id AND r.course_id = e.course_id";
+
+    private static final int STUDENTS_PER_QUERY = 500;
+
+    private static final String PUBLISHED_COURSES = "SELECT id FROM courses WHERE is_published = true AND deleted_at IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile InteractionMatrix matrix = new InteractionMatrix(16, 16);
+    private volatile boolean ready;
+
+    // Cells changed while a rebuild was loading; re-applied after the swap so no update is lost
+    private final ConcurrentLinkedQueue<long[]> changedDuringRebuild = new ConcurrentLinkedQueue<>();
+    private volatile boolean rebuilding;
+
+    /**
+     * Top-N course ids for the student, best first. Students without history get the most popular courses.
+     */
+    public List<Long> recommend(Long studentId, int n, long... exclude) {
+        lock.readLock().lock();
+        try {
+            return matrix.recommend(studentId, n, exclude);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Long> similarCourses(Long courseId, int n) {
+        lock.readLock().lock();
+        try {
+            return matrix.similarCourses(courseId, n);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public double similarity(Long courseA, Long courseB) {
+        lock.readLock().lock();
+        try {
+            return matrix.similarity(courseA, courseB);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public Map<String, Object> getStats() {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("ready", ready);
+            stats.put("students", matrix.studentCount());
+            stats.put("courses", matrix.courseCount());
+            stats.put("interactions", matrix.interactionCount());
+            return stats;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        rebuilding = true;
+        InteractionMatrix fresh;
+        try {
+            fresh = loadSnapshot();
+            lock.writeLock().lock();
+            try {
+                matrix = fresh;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            rebuilding = false;
+        }
+        long[] cell;
+        while ((cell = changedDuringRebuild.poll()) != null) {
+            refreshCell(cell[0], cell[1]);
+        }
+        log.info("Recommender loaded {} interactions ({} students, {} courses) in {} ms",
+                fresh.interactionCount(), fresh.studentCount(), fresh.courseCount(),
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Builds a new matrix from the database without touching the live one.
+     */
+    public InteractionMatrix loadSnapshot() {
+        Integer students = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM students", Integer.class);
+        Integer courses = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM courses", Integer.class);
+        InteractionMatrix snapshot = new InteractionMatrix(students != null ? students : 16,
+                courses != null ? courses : 16);
+
+        jdbcTemplate.query(INTERACTIONS, rs -> {
+            snapshot.set(rs.getLong(1), rs.getLong(2), weightOf(rs));
+        });
+        snapshot.setEligibleCourses(jdbcTemplate.queryForList(PUBLISHED_COURSES, Long.class));
+        return snapshot;
+    }
+
+    /**
+     * Publishing and unpublishing are not evented, so eligibility is refreshed periodically.
+     */
+    @Scheduled(fixedDelayString = "${recommender.eligibility-refresh-ms:300000}",
+            initialDelayString = "${recommender.eligibility-refresh-ms:300000}")
+    public void refreshEligibility() {
+        List<Long> published = jdbcTemplate.queryForList(PUBLISHED_COURSES, Long.class);
+        lock.writeLock().lock();
+        try {
+            matrix.setEligibleCourses(published);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Async("analyticsExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        refreshCells(event.getStudentIds(), event.getCourseId());
+    }
+
+    @Async("analyticsExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProgressChanged(CourseProgressChangedEvent event) {
+        refreshCell(event.getStudentId(), event.getCourseId());
+    }
+
+    @Async("analyticsExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCertificateIssued(CertificateIssuedEvent event) {
+        refreshCell(event.getStudentId(), event.getCourseId());
+    }
+
+    @Async("analyticsExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReviewChanged(CourseReviewChangedEvent event) {
+        refreshCell(event.getStudentId(), event.getCourseId());
+    }
+
+    /**
+     * Re-reads one (student, course) pair; no enrollment row means the interaction is gone.
+     */
+    private void refreshCell(Long studentId, Long courseId) {
+        if (studentId != null) {
+            refreshCells(List.of(studentId), courseId);
+        }
+    }
+
+    /**
+     * Re-reads the rows of many students for one course (a bulk enrollment) with one query per
+     * {@value #STUDENTS_PER_QUERY} students, and applies them under a single write lock.
+     */
+    private void refreshCells(Collection<Long> studentIds, Long courseId) {
+        if (courseId == null || studentIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = studentIds.stream().filter(Objects::nonNull).distinct().toList();
+        Map<Long, Float> weights = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += STUDENTS_PER_QUERY) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + STUDENTS_PER_QUERY));
+            Object[] args = new Object[chunk.size() + 1];
+            args[0] = courseId;
+            for (int k = 0; k < chunk.size(); k++) {
+                args[k + 1] = chunk.get(k);
+            }
+            String in = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            jdbcTemplate.query(INTERACTIONS + " WHERE e.course_id = ? AND e.student_id IN (" + in + ")",
+                    rs -> {
+                        weights.put(rs.getLong(1), weightOf(rs));
+                    }, args);
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Long studentId : ids) {
+                matrix.set(studentId, courseId, weights.getOrDefault(studentId, 0f));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        for (Long studentId : ids) {
+            if (rebuilding) {
+                changedDuringRebuild.add(new long[] { studentId, courseId });
+            }
+            eventPublisher.publishEvent(new InteractionsUpdatedEvent(studentId));
+        }
+    }
+
+    private static float weightOf(ResultSet rs) throws SQLException {
+        return InteractionWeights.of(
+                rs.getObject(3, Integer.class),
+                rs.getObject(4, Boolean.class),
+                rs.getObject(5, Integer.class),
+                rs.getObject(6, Integer.class));
+    }
+}
@@ -0,0 +1,353 @@
+package com.example.skillforge.service.recommendation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Student x course interaction weights with incrementally maintained item-item cosine similarity.
+ *
+ * Students are stored as small sparse rows (parallel int/float arrays). For courses the matrix keeps
+ * the squared norm of every column and, per course, the dot products with only the courses it shares
+ * students with ({@link ItemNeighbours}), so memory grows with the co-occurring pairs rather than the
+ * square of the catalog. Changing one cell costs O(courses the student touched) and a recommendation
+ * costs O(neighbours of the courses the student touched) plus one pass over the catalog for the top-N.
+ *
+ * Not thread-safe; {@link CourseRecommender} guards it with a read/write lock.
+ */
+public class InteractionMatrix {
+
+    private final LongIntIndex students;
+    private final LongIntIndex courses;
+
+    private Row[] rows;
+
+    private int itemCapacity;
+    private ItemNeighbours[] neighbours; // neighbours[i]: j -> sum over students of w(s,i) * w(s,j)
+    private double[] norms;      // norms[i] = sum over students of w(s,i)^2
+    private int[] interactions;  // students with a non-zero weight for the course
+    private boolean[] eligible;  // published courses that may be recommended
+
+    public InteractionMatrix(int expectedStudents, int expectedCourses) {
+        students = new LongIntIndex(expectedStudents);
+        courses = new LongIntIndex(expectedCourses);
+        rows = new Row[Math.max(16, expectedStudents)];
+        itemCapacity = Math.max(16, expectedCourses);
+        neighbours = new ItemNeighbours[itemCapacity];
+        norms = new double[itemCapacity];
+        interactions = new int[itemCapacity];
+        eligible = new boolean[itemCapacity];
+    }
+
+    /**
+     * Sets the weight of one (student, course) cell; a weight of 0 removes the interaction.
+     */
+    public void set(long studentId, long courseId, float weight) {
+        if (weight <= 0f && students.indexOf(studentId) < 0) {
+            return;
+        }
+        int s = studentIndex(studentId);
+        int i = courseIndex(courseId);
+        Row row = rows[s];
+
+        int pos = row.find(i);
+        float old = pos >= 0 ? row.weights[pos] : 0f;
+        float next = Math.max(0f, weight);
+        if (old == next) {
+            return;
+        }
+        float delta = next - old;
+        int sharedDelta = pos < 0 ? 1 : next == 0f ? -1 : 0;
+
+        // Co-occurrence with every other course of this student
+        for (int k = 0; k < row.size; k++) {
+            int j = row.items[k];
+            if (j != i) {
+                float change = delta * row.weights[k];
+                neighboursOf(i).add(j, change, sharedDelta);
+                neighboursOf(j).add(i, change, sharedDelta);
+            }
+        }
+        norms[i] = Math.max(0d, norms[i] + (double) next * next - (double) old * old);
+
+        if (pos < 0) {
+            row.add(i, next);
+            interactions[i]++;
+        } else if (next == 0f) {
+            row.removeAt(pos);
+            interactions[i]--;
+        } else {
+            row.weights[pos] = next;
+        }
+    }
+
+    public float get(long studentId, long courseId) {
+        int s = students.indexOf(studentId);
+        int i = courses.indexOf(courseId);
+        if (s < 0 || i < 0) {
+            return 0f;
+        }
+        int pos = rows[s].find(i);
+        return pos >= 0 ? rows[s].weights[pos] : 0f;
+    }
+
+    public void setEligible(long courseId, boolean value) {
+        int i = courseIndex(courseId); // may grow the arrays, so resolve it before indexing
+        eligible[i] = value;
+    }
+
+    /** Marks exactly the given courses as recommendable. */
+    public void setEligibleCourses(Iterable<Long> courseIds) {
+        Arrays.fill(eligible, false);
+        for (Long id : courseIds) {
+            int i = courseIndex(id);
+            eligible[i] = true;
+        }
+    }
+
+    /** Cosine similarity of two courses, 0 when either is unknown. */
+    public double similarity(long courseA, long courseB) {
+        int a = courses.indexOf(courseA);
+        int b = courses.indexOf(courseB);
+        if (a < 0 || b < 0 || a == b) {
+            return a >= 0 && a == b ? 1d : 0d;
+        }
+        return cosine(a, b);
+    }
+
+    /** Course ids the student has interacted with. */
+    public long[] interactedCourses(long studentId) {
+        int s = students.indexOf(studentId);
+        if (s < 0) {
+            return new long[0];
+        }
+        Row row = rows[s];
+        long[] ids = new long[row.size];
+        for (int k = 0; k < row.size; k++) {
+            ids[k] = courses.idAt(row.items[k]);
+        }
+        return ids;
+    }
+
+    /**
+     * Top-N eligible courses for the student, excluding courses the student already interacted with.
+     * Scores are sum over the student's courses of weight x cosine similarity; remaining slots (and
+     * students without history) are filled by popularity.
+     */
+    public List<Long> recommend(long studentId, int n) {
+        return recommend(studentId, n, null);
+    }
+
+    /**
+     * Same as {@link #recommend(long, int)} but also skips the given course ids.
+     */
+    public List<Long> recommend(long studentId, int n, long[] exclude) {
+        int itemCount = courses.size();
+        float[] scores = new float[itemCount];
+        boolean[] skip = new boolean[itemCount];
+
+        if (exclude != null) {
+            for (long id : exclude) {
+                int i = courses.indexOf(id);
+                if (i >= 0) {
+                    skip[i] = true;
+                }
+            }
+        }
+
+        int s = students.indexOf(studentId);
+        if (s >= 0) {
+            Row row = rows[s];
+            for (int k = 0; k < row.size; k++) {
+                skip[row.items[k]] = true;
+            }
+            for (int k = 0; k < row.size; k++) {
+                int i = row.items[k];
+                float w = row.weights[k];
+                ItemNeighbours near = neighbours[i];
+                if (norms[i] == 0d || near == null) {
+                    continue;
+                }
+                for (int slot = 0; slot < near.slots(); slot++) {
+                    int j = near.neighbourAt(slot);
+                    if (j < 0 || skip[j] || norms[j] == 0d) {
+                        continue;
+                    }
+                    float dot = near.dotAt(slot);
+                    if (dot != 0f) {
+                        scores[j] += (float) (w * dot / Math.sqrt(norms[i] * norms[j]));
+                    }
+                }
+            }
+        }
+
+        int[] top = topIndexes(scores, skip, n);
+        List<Long> result = new ArrayList<>(top.length);
+        for (int i : top) {
+            result.add(courses.idAt(i));
+        }
+        return result;
+    }
+
+    /** Courses most similar to the given one, most similar first. */
+    public List<Long> similarCourses(long courseId, int n) {
+        int a = courses.indexOf(courseId);
+        int itemCount = courses.size();
+        float[] scores = new float[itemCount];
+        boolean[] skip = new boolean[itemCount];
+        if (a >= 0) {
+            skip[a] = true;
+            ItemNeighbours near = neighbours[a];
+            for (int slot = 0; near != null && slot < near.slots(); slot++) {
+                int j = near.neighbourAt(slot);
+                if (j >= 0) {
+                    scores[j] = (float) cosine(a, j);
+                }
+            }
+        }
+        int[] top = topIndexes(scores, skip, n);
+        List<Long> result = new ArrayList<>(top.length);
+        for (int i : top) {
+            if (scores[i] <= 0f) {
+                break;
+            }
+            result.add(courses.idAt(i));
+        }
+        return result;
+    }
+
+    public int studentCount() {
+        return students.size();
+    }
+
+    public int courseCount() {
+        return courses.size();
+    }
+
+    public long interactionCount() {
+        long total = 0;
+        for (int i = 0; i < courses.size(); i++) {
+            total += interactions[i];
+        }
+        return total;
+    }
+
+    /** Student ids with at least the given number of interactions (used by the evaluation). */
+    long[] studentsWithAtLeast(int minInteractions) {
+        long[] ids = new long[students.size()];
+        int count = 0;
+        for (int s = 0; s < students.size(); s++) {
+            if (rows[s].size >= minInteractions) {
+                ids[count++] = students.idAt(s);
+            }
+        }
+        return Arrays.copyOf(ids, count);
+    }
+
+    private double cosine(int a, int b) {
+        float dot = neighbours[a] != null ? neighbours[a].dot(b) : 0f;
+        if (dot == 0f || norms[a] == 0d || norms[b] == 0d) {
+            return 0d;
+        }
+        return dot / Math.sqrt(norms[a] * norms[b]);
+    }
+
+    /**
+     * Best n eligible, non-skipped indexes by score, ties and zero scores broken by popularity.
+     * Partial insertion sort: n is small (dashboard shows 3-10 courses).
+     */
+    private int[] topIndexes(float[] scores, boolean[] skip, int n) {
+        int[] best = new int[Math.max(0, n)];
+        int found = 0;
+        for (int j = 0; j < scores.length; j++) {
+            if (skip[j] || !eligible[j]) {
+                continue;
+            }
+            if (found < best.length) {
+                best[found++] = j;
+            } else if (better(j, best[found - 1], scores)) {
+                best[found - 1] = j;
+            } else {
+                continue;
+            }
+            for (int k = found - 1; k > 0 && better(best[k], best[k - 1], scores); k--) {
+                int tmp = best[k];
+                best[k] = best[k - 1];
+                best[k - 1] = tmp;
+            }
+        }
+        return Arrays.copyOf(best, found);
+    }
+
+    private boolean better(int a, int b, float[] scores) {
+        if (scores[a] != scores[b]) {
+            return scores[a] > scores[b];
+        }
+        return interactions[a] > interactions[b];
+    }
+
+    private int studentIndex(long studentId) {
+        int s = students.indexOrAdd(studentId);
+        if (s == rows.length) {
+            rows = Arrays.copyOf(rows, rows.length * 2);
+        }
+        if (rows[s] == null) {
+            rows[s] = new Row();
+        }
+        return s;
+    }
+
+    private int courseIndex(long courseId) {
+        int i = courses.indexOrAdd(courseId);
+        if (i == itemCapacity) {
+            growItems(itemCapacity * 2);
+        }
+        return i;
+    }
+
+    private ItemNeighbours neighboursOf(int item) {
+        if (neighbours[item] == null) {
+            neighbours[item] = new ItemNeighbours();
+        }
+        return neighbours[item];
+    }
+
+    private void growItems(int capacity) {
+        neighbours = Arrays.copyOf(neighbours, capacity);
+        norms = Arrays.copyOf(norms, capacity);
+        interactions = Arrays.copyOf(interactions, capacity);
+        eligible = Arrays.copyOf(eligible, capacity);
+        itemCapacity = capacity;
+    }
+
+    private static final class Row {
+        int[] items = new int[4];
+        float[] weights = new float[4];
+        int size;
+
+        int find(int item) {
+            for (int k = 0; k < size; k++) {
+                if (items[k] == item) {
+                    return k;
+                }
+            }
+            return -1;
+        }
+
+        void add(int item, float weight) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            items[size] = item;
+            weights[size] = weight;
+            size++;
+        }
+
+        void removeAt(int pos) {
+            size--;
+            items[pos] = items[size];
+            weights[pos] = weights[size];
+        }
+    }
+}
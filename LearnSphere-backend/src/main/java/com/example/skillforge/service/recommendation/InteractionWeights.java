@@ -0,0 +1,36 @@
+package com.example.skillforge.service.recommendation;
+
+/**
+ * Turns the raw signals of one (student, course) pair into a single implicit-feedback weight.
+ *
+ * enrolled        1.0
+ * progress        + completion% / 100
+ * completed       + 1.0
+ * time spent      + up to 1.0 (log-scaled, saturating at ~10 hours)
+ * rating          + (rating - 3) x 0.5, so 1 star lowers and 5 stars raises the weight
+ */
+public final class InteractionWeights {
+
+    private static final double TIME_SATURATION_MINUTES = 600d;
+    private static final float MIN_WEIGHT = 0.1f;
+
+    private InteractionWeights() {
+    }
+
+    public static float of(Integer completionPercent, Boolean completed, Integer minutesSpent, Integer rating) {
+        double weight = 1d;
+        if (completionPercent != null) {
+            weight += Math.min(100, Math.max(0, completionPercent)) / 100d;
+        }
+        if (Boolean.TRUE.equals(completed)) {
+            weight += 1d;
+        }
+        if (minutesSpent != null && minutesSpent > 0) {
+            weight += Math.min(1d, Math.log1p(minutesSpent) / Math.log1p(TIME_SATURATION_MINUTES));
+        }
+        if (rating != null) {
+            weight += (rating - 3) * 0.5d;
+        }
+        return (float) Math.max(MIN_WEIGHT, weight);
+    }
+}
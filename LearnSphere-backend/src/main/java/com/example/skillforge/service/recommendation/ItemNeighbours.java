@@ -0,0 +1,136 @@
+package com.example.skillforge.service.recommendation;
+
+import java.util.Arrays;
+
+/**
+ * Sparse row of the item-item co-occurrence matrix: for one course, the dense indexes of the courses
+ * it shares students with, the dot product of the two weight columns and the number of shared students.
+ * An entry is removed when its last shared student goes, so float residue never keeps it alive.
+ *
+ * Open addressing with linear probing and backward-shift deletion; iterate with {@link #slots()},
+ * skipping slots whose {@link #neighbourAt(int)} is negative.
+ */
+final class ItemNeighbours {
+
+    private static final int FREE = -1;
+
+    private int[] keys;
+    private float[] dots;
+    private int[] shared;
+    private int size;
+
+    ItemNeighbours() {
+        keys = new int[8];
+        Arrays.fill(keys, FREE);
+        dots = new float[8];
+        shared = new int[8];
+    }
+
+    /** Dot product with the given course, 0 when they share no student. */
+    float dot(int neighbour) {
+        int slot = find(neighbour);
+        return slot >= 0 ? dots[slot] : 0f;
+    }
+
+    /**
+     * Adds to the dot product and the shared-student count of one neighbour, creating or removing the entry.
+     */
+    void add(int neighbour, float dotDelta, int sharedDelta) {
+        int mask = keys.length - 1;
+        int slot = hash(neighbour) & mask;
+        while (keys[slot] != FREE && keys[slot] != neighbour) {
+            slot = (slot + 1) & mask;
+        }
+        if (keys[slot] == FREE) {
+            if (sharedDelta <= 0) {
+                return;
+            }
+            keys[slot] = neighbour;
+            dots[slot] = 0f;
+            shared[slot] = 0;
+            size++;
+        }
+        dots[slot] += dotDelta;
+        shared[slot] += sharedDelta;
+        if (shared[slot] <= 0) {
+            removeSlot(slot);
+        } else if (size * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int slots() {
+        return keys.length;
+    }
+
+    /** Neighbour course index stored in the slot, or -1 for an empty slot. */
+    int neighbourAt(int slot) {
+        return keys[slot];
+    }
+
+    float dotAt(int slot) {
+        return dots[slot];
+    }
+
+    private int find(int neighbour) {
+        int mask = keys.length - 1;
+        for (int slot = hash(neighbour) & mask; ; slot = (slot + 1) & mask) {
+            if (keys[slot] == neighbour) {
+                return slot;
+            }
+            if (keys[slot] == FREE) {
+                return -1;
+            }
+        }
+    }
+
+    // Moves later entries of the probe chain into the gap, so lookups never stop early
+    private void removeSlot(int slot) {
+        int mask = keys.length - 1;
+        int gap = slot;
+        for (int next = (gap + 1) & mask; keys[next] != FREE; next = (next + 1) & mask) {
+            int home = hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                dots[gap] = dots[next];
+                shared[gap] = shared[next];
+                gap = next;
+            }
+        }
+        keys[gap] = FREE;
+        dots[gap] = 0f;
+        shared[gap] = 0;
+        size--;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        float[] oldDots = dots;
+        int[] oldShared = shared;
+        keys = new int[capacity];
+        Arrays.fill(keys, FREE);
+        dots = new float[capacity];
+        shared = new int[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (keys[slot] != FREE) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                dots[slot] = oldDots[i];
+                shared[slot] = oldShared[i];
+            }
+        }
+    }
+
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.skillforge.service.recommendation;
+
+import java.util.Arrays;
+
+/**
+ * Maps sparse long ids (database keys) to dense int indexes 0..size-1 without boxing.
+ * Open addressing with linear probing; ids are never removed.
+ */
+final class LongIntIndex {
+
+    private static final long FREE = Long.MIN_VALUE;
+
+    private long[] keys;
+    private int[] values;
+    private long[] denseKeys;
+    private int size;
+
+    LongIntIndex(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2) - 1) << 1;
+        keys = new long[capacity];
+        Arrays.fill(keys, FREE);
+        values = new int[capacity];
+        denseKeys = new long[Math.max(16, expectedSize)];
+    }
+
+    /** Dense index of the id, or -1 when unknown. */
+    int indexOf(long id) {
+        int mask = keys.length - 1;
+        for (int slot = hash(id) & mask; ; slot = (slot + 1) & mask) {
+            long key = keys[slot];
+            if (key == id) {
+                return values[slot];
+            }
+            if (key == FREE) {
+                return -1;
+            }
+        }
+    }
+
+    /** Dense index of the id, assigning the next free index on first sight. */
+    int indexOrAdd(long id) {
+        int mask = keys.length - 1;
+        int slot = hash(id) & mask;
+        while (true) {
+            long key = keys[slot];
+            if (key == id) {
+                return values[slot];
+            }
+            if (key == FREE) {
+                break;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        int index = size++;
+        keys[slot] = id;
+        values[slot] = index;
+        if (index == denseKeys.length) {
+            denseKeys = Arrays.copyOf(denseKeys, index * 2);
+        }
+        denseKeys[index] = id;
+
+        // Keep the load factor at or below 0.5
+        if (size * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+        return index;
+    }
+
+    long idAt(int index) {
+        return denseKeys[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[capacity];
+        Arrays.fill(keys, FREE);
+        values = new int[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (keys[slot] != FREE) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int hash(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
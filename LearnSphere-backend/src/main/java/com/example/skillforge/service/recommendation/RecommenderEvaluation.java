@@ -0,0 +1,88 @@
+package com.example.skillforge.service.recommendation;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Offline leave-one-out evaluation of the recommender.
+ *
+ * For each sampled student with at least two interactions one course is hidden, the student is
+ * scored against the rest, and the hidden course is looked up in the top-N list. The hidden cell is
+ * restored afterwards, so the matrix ends up unchanged. Run it against a freshly loaded snapshot,
+ * never the live matrix.
+ */
+public final class RecommenderEvaluation {
+
+    private RecommenderEvaluation() {
+    }
+
+    public static Report evaluate(InteractionMatrix matrix, int n, int maxStudents, long seed) {
+        Random random = new Random(seed);
+        long[] candidates = matrix.studentsWithAtLeast(2);
+
+        // Partial Fisher-Yates shuffle for a uniform sample
+        int sample = Math.min(maxStudents, candidates.length);
+        for (int i = 0; i < sample; i++) {
+            int j = i + random.nextInt(candidates.length - i);
+            long tmp = candidates[i];
+            candidates[i] = candidates[j];
+            candidates[j] = tmp;
+        }
+
+        int hits = 0;
+        double reciprocalRankSum = 0d;
+        long totalNanos = 0;
+        Set<Long> recommended = new HashSet<>();
+
+        for (int u = 0; u < sample; u++) {
+            long studentId = candidates[u];
+            long[] courses = matrix.interactedCourses(studentId);
+            long hidden = courses[random.nextInt(courses.length)];
+            float weight = matrix.get(studentId, hidden);
+
+            matrix.set(studentId, hidden, 0f);
+            long start = System.nanoTime();
+            List<Long> top = matrix.recommend(studentId, n);
+            totalNanos += System.nanoTime() - start;
+            matrix.set(studentId, hidden, weight);
+
+            recommended.addAll(top);
+            int rank = top.indexOf(hidden);
+            if (rank >= 0) {
+                hits++;
+                reciprocalRankSum += 1d / (rank + 1);
+            }
+        }
+
+        return Report.builder()
+                .n(n)
+                .studentsEvaluated(sample)
+                .students(matrix.studentCount())
+                .courses(matrix.courseCount())
+                .interactions(matrix.interactionCount())
+                .hitRate(sample == 0 ? 0d : (double) hits / sample)
+                .meanReciprocalRank(sample == 0 ? 0d : reciprocalRankSum / sample)
+                .catalogCoverage(matrix.courseCount() == 0 ? 0d : (double) recommended.size() / matrix.courseCount())
+                .avgRecommendMicros(sample == 0 ? 0d : totalNanos / 1000d / sample)
+                .build();
+    }
+
+    @Data
+    @Builder
+    public static class Report {
+        private int n;
+        private int studentsEvaluated;
+        private int students;
+        private int courses;
+        private long interactions;
+        private double hitRate;             // share of students whose hidden course was in the top N
+        private double meanReciprocalRank;
+        private double catalogCoverage;     // distinct recommended courses / all courses
+        private double avgRecommendMicros;
+    }
+}
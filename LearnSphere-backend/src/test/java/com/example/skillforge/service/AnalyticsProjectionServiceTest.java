@@ -0,0 +1,264 @@
+package com.example.skillforge.service;
+
+import com.example.skillforge.event.CourseProgressChangedEvent;
+import com.example.skillforge.event.EnrollmentChangedEvent;
+import com.example.skillforge.event.QuizAttemptRecordedEvent;
+import com.example.skillforge.event.UserPurgedEvent;
+import com.example.skillforge.event.UserRegisteredEvent;
+import com.example.skillforge.model.entity.Course;
+import com.example.skillforge.model.entity.Enrollment;
+import com.example.skillforge.model.entity.Instructor;
+import com.example.skillforge.model.entity.Quiz;
+import com.example.skillforge.model.entity.QuizAttempt;
+import com.example.skillforge.model.entity.Student;
+import com.example.skillforge.model.entity.Topic;
+import com.example.skillforge.model.entity.User;
+import com.example.skillforge.model.enums.DifficultyLevel;
+import com.example.skillforge.model.enums.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The analytics projection against H2 in MySQL mode: increments and recounts booked from events, and the
+ * nightly reconcile, which must agree with them and correct what bypassed them.
+ */
+@DataJpaTest
+@ActiveProfiles("querycount")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(AnalyticsProjectionService.class)
+class AnalyticsProjectionServiceTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AnalyticsProjectionService projection;
+
+    private Instructor instructor;
+    private Course course;
+    private Quiz quiz;
+    private Student first;
+    private Student second;
+
+    @BeforeEach
+    void createCourse() {
+        instructor = new Instructor();
+        instructor.setUser(user("instructor", Role.INSTRUCTOR));
+        em.persist(instructor);
+        course = new Course();
+        course.setTitle("Java");
+        course.setCategory("Programming");
+        course.setDifficultyLevel(DifficultyLevel.BEGINNER);
+        course.setInstructor(instructor);
+        em.persist(course);
+        Topic topic = new Topic();
+        topic.setCourse(course);
+        topic.setName("Basics");
+        em.persist(topic);
+        quiz = new Quiz();
+        quiz.setCourse(course);
+        quiz.setTopic(topic);
+        quiz.setTitle("Basics quiz");
+        em.persist(quiz);
+        first = student("first");
+        second = student("second");
+        em.flush();
+
+        // Empty read model: builds it from the rows above and starts flushing
+        projection.backfill();
+    }
+
+    @Test
+    void quizAttemptsMoveAStudentBetweenScoreBucketsOnce() {
+        attempt(first, 30);
+        attempt(first, 70);
+        attempt(first, 50); // below the peak, no change
+        attempt(second, 90);
+
+        assertEquals(List.of(0L, 0L, 0L, 1L, 1L), scoreBuckets());
+        assertEquals(70.0, jdbcTemplate.queryForObject("SELECT peak_score FROM instructor_student_stats "
+                + "WHERE instructor_id = ? AND student_id = ?", Double.class, instructor.getId(), first.getId()));
+        assertEquals(4L, today("attempts"));
+    }
+
+    @Test
+    void flushBooksTheDifferenceOfEachRecount() {
+        Enrollment enrollment = enroll(first);
+        enroll(second);
+        projection.onEnrollmentChanged(new EnrollmentChangedEvent(course.getId(), List.of(first.getId(), second.getId())));
+        projection.flush();
+        assertEquals(List.of(2L, 0L), courseStats());
+        assertEquals(2L, today("enrollments"));
+        assertEquals(2L, students());
+
+        enrollment.setIsCompleted(true);
+        enrollment.setCompletedAt(LocalDateTime.now());
+        em.flush();
+        projection.onProgressChanged(new CourseProgressChangedEvent(first.getId(), course.getId()));
+        projection.onProgressChanged(new CourseProgressChangedEvent(first.getId(), course.getId()));
+        projection.flush();
+        assertEquals(List.of(2L, 1L), courseStats());
+        assertEquals(1L, today("completions"));
+
+        jdbcTemplate.update("DELETE FROM enrollments WHERE student_id = ?", second.getId());
+        projection.onEnrollmentChanged(new EnrollmentChangedEvent(course.getId(), List.of(second.getId())));
+        projection.flush();
+        assertEquals(List.of(1L, 1L), courseStats());
+        assertEquals(1L, today("enrollments"));
+        assertEquals(1L, students());
+    }
+
+    @Test
+    void reconcileRebuildsWhatTheEventsBooked() {
+        enroll(first);
+        enroll(second);
+        projection.onEnrollmentChanged(new EnrollmentChangedEvent(course.getId(), List.of(first.getId(), second.getId())));
+        projection.flush();
+        attempt(first, 45);
+        attempt(second, 85);
+        List<Long> courseStats = courseStats();
+        List<Long> buckets = scoreBuckets();
+        List<Map<String, Object>> daily = jdbcTemplate.queryForList(
+                "SELECT course_id, stat_date, enrollments, completions, attempts FROM course_stats_daily");
+
+        projection.reconcile();
+
+        assertEquals(courseStats, courseStats());
+        assertEquals(buckets, scoreBuckets());
+        assertEquals(daily, jdbcTemplate.queryForList(
+                "SELECT course_id, stat_date, enrollments, completions, attempts FROM course_stats_daily"));
+    }
+
+    @Test
+    void accountEventsMoveTheRoleTotals() {
+        assertEquals(2L, roleTotal(Role.STUDENT));
+
+        User user = user("third", Role.STUDENT);
+        projection.onUserRegistered(new UserRegisteredEvent(user.getId(), Role.STUDENT));
+        assertEquals(3L, roleTotal(Role.STUDENT));
+
+        projection.onUserRemoved(new UserPurgedEvent(first.getUser().getId(), first.getId(), null));
+        projection.onUserRemoved(new UserPurgedEvent(instructor.getUser().getId(), null, instructor.getId()));
+        assertEquals(2L, roleTotal(Role.STUDENT));
+        assertEquals(0L, roleTotal(Role.INSTRUCTOR));
+        assertEquals(1L, jdbcTemplate.queryForObject("SELECT removed FROM platform_user_daily "
+                + "WHERE stat_date = ? AND role = 'STUDENT'", Long.class, Date.valueOf(LocalDate.now())));
+    }
+
+    @Test
+    void reconcileCorrectsAccountsThatBypassedTheEvents() {
+        LocalDate tenDaysAgo = LocalDate.now().minusDays(10);
+        LocalDate fiveDaysAgo = LocalDate.now().minusDays(5);
+        // Accounts written without events, as the admin seeder and the dataset generator do
+        for (String name : List.of("bulk1", "bulk2")) {
+            User user = user(name, Role.STUDENT);
+            jdbcTemplate.update("UPDATE users SET created_at = ? WHERE id = ?",
+                    Timestamp.valueOf(tenDaysAgo.atStartOfDay()), user.getId());
+        }
+        // Join booked for an account that was purged later without its removal being booked
+        jdbcTemplate.update("INSERT INTO platform_user_daily (stat_date, role, joined, removed) VALUES (?, 'STUDENT', 1, 0)",
+                Date.valueOf(fiveDaysAgo));
+        assertEquals(3L, roleTotal(Role.STUDENT));
+
+        projection.reconcileUsers();
+
+        assertEquals(4L, roleTotal(Role.STUDENT)); // first, second, bulk1, bulk2
+        assertEquals(1L, roleTotal(Role.INSTRUCTOR));
+        assertEquals(2L, joined(tenDaysAgo));
+        assertEquals(1L, joined(fiveDaysAgo)); // history of the purged account is kept
+        assertEquals(1L, jdbcTemplate.queryForObject("SELECT removed FROM platform_user_daily "
+                + "WHERE stat_date = ? AND role = 'STUDENT'", Long.class, Date.valueOf(LocalDate.now())));
+
+        List<Map<String, Object>> corrected = jdbcTemplate.queryForList(
+                "SELECT stat_date, role, joined, removed FROM platform_user_daily ORDER BY stat_date, role");
+        projection.reconcileUsers();
+        assertEquals(corrected, jdbcTemplate.queryForList(
+                "SELECT stat_date, role, joined, removed FROM platform_user_daily ORDER BY stat_date, role"));
+    }
+
+    private List<Long> courseStats() {
+        return jdbcTemplate.queryForObject("SELECT enrollments, completions FROM course_stats WHERE course_id = ?",
+                (rs, i) -> List.of(rs.getLong(1), rs.getLong(2)), course.getId());
+    }
+
+    private List<Long> scoreBuckets() {
+        return jdbcTemplate.queryForObject("SELECT score_0_20, score_20_40, score_40_60, score_60_80, score_80_100 "
+                + "FROM instructor_stats WHERE instructor_id = ?",
+                (rs, i) -> List.of(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4), rs.getLong(5)),
+                instructor.getId());
+    }
+
+    private long students() {
+        return jdbcTemplate.queryForObject("SELECT students FROM instructor_stats WHERE instructor_id = ?", Long.class,
+                instructor.getId());
+    }
+
+    private long today(String column) {
+        return jdbcTemplate.queryForObject("SELECT " + column + " FROM course_stats_daily "
+                + "WHERE course_id = ? AND stat_date = ?", Long.class, course.getId(), Date.valueOf(LocalDate.now()));
+    }
+
+    private long roleTotal(Role role) {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(joined - removed), 0) FROM platform_user_daily "
+                + "WHERE role = ?", Long.class, role.name());
+    }
+
+    private long joined(LocalDate day) {
+        return jdbcTemplate.queryForObject("SELECT joined FROM platform_user_daily WHERE stat_date = ? AND role = 'STUDENT'",
+                Long.class, Date.valueOf(day));
+    }
+
+    private void attempt(Student student, double score) {
+        QuizAttempt attempt = new QuizAttempt();
+        attempt.setQuiz(quiz);
+        attempt.setStudentId(student.getId());
+        attempt.setScore(score);
+        attempt.setAttemptTime(LocalDateTime.now());
+        em.persistAndFlush(attempt);
+        projection.onQuizAttemptRecorded(new QuizAttemptRecordedEvent(student.getId(), quiz.getId(), null, score,
+                score >= 50));
+    }
+
+    private Enrollment enroll(Student student) {
+        Enrollment enrollment = new Enrollment();
+        enrollment.setStudent(student);
+        enrollment.setCourse(course);
+        enrollment.setCompletionPercentage(0);
+        enrollment.setEnrolledAt(LocalDateTime.now());
+        return em.persistAndFlush(enrollment);
+    }
+
+    private Student student(String name) {
+        Student student = new Student();
+        student.setUser(user(name, Role.STUDENT));
+        return em.persist(student);
+    }
+
+    private User user(String name, Role role) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("secret");
+        user.setRole(role);
+        return em.persistAndFlush(user);
+    }
+}
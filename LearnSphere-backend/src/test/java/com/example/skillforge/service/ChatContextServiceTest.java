@@ -0,0 +1,96 @@
+package com.example.skillforge.service;
+
+import com.example.skillforge.event.EnrollmentChangedEvent;
+import com.example.skillforge.event.QuizAttemptRecordedEvent;
+import com.example.skillforge.repository.CertificateRepository;
+import com.example.skillforge.repository.EnrollmentRepository;
+import com.example.skillforge.repository.QuizAttemptRepository;
+import com.example.skillforge.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The chat context cache with its queries stubbed: snapshots are reused until an event evicts them, and a
+ * snapshot whose load raced an eviction is returned once but not kept.
+ */
+class ChatContextServiceTest {
+
+    private static final String EMAIL = "student@example.com";
+    private static final long STUDENT_ID = 7L;
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final EnrollmentRepository enrollmentRepository = mock(EnrollmentRepository.class);
+    private final QuizAttemptRepository quizAttemptRepository = mock(QuizAttemptRepository.class);
+    private final CertificateRepository certificateRepository = mock(CertificateRepository.class);
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private Runnable duringLoad = () -> { };
+
+    private ChatContextService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ChatContextService(userRepository, enrollmentRepository, quizAttemptRepository,
+                certificateRepository);
+        ReflectionTestUtils.setField(service, "identityTtlMs", 60_000L);
+        ReflectionTestUtils.setField(service, "contextTtlMs", 60_000L);
+        ReflectionTestUtils.setField(service, "maxEntries", 100);
+
+        List<Object[]> identity = new ArrayList<>();
+        identity.add(new Object[] { 1L, "STUDENT", "Student", STUDENT_ID });
+        when(userRepository.findChatIdentityByEmail(EMAIL)).thenReturn(identity);
+        when(enrollmentRepository.findCourseProgressByStudent(STUDENT_ID)).thenAnswer(call -> {
+            int load = loads.incrementAndGet();
+            duringLoad.run();
+            List<Object[]> rows = new ArrayList<>();
+            rows.add(new Object[] { "Java", load * 10 });
+            return rows;
+        });
+        when(quizAttemptRepository.findRecentQuizScores(anyLong(), any())).thenReturn(List.of());
+        when(certificateRepository.findCertificateSummariesByUserId(anyLong())).thenReturn(List.of());
+    }
+
+    @Test
+    void snapshotIsReusedUntilAnEventEvictsIt() {
+        assertEquals(10, progress(service.getContext(EMAIL)));
+        assertEquals(10, progress(service.getContext(EMAIL)));
+        assertEquals(1, loads.get());
+
+        service.onQuizAttemptRecorded(new QuizAttemptRecordedEvent(STUDENT_ID, 3L, 4L, 80.0, true));
+        assertEquals(20, progress(service.getContext(EMAIL)));
+
+        service.onEnrollmentChanged(new EnrollmentChangedEvent(5L, List.of(STUDENT_ID)));
+        assertEquals(30, progress(service.getContext(EMAIL)));
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void loadRacingAnEvictionIsNotKept() {
+        // The event commits while the snapshot is being read, after its course query ran
+        duringLoad = () -> service.evictStudent(STUDENT_ID);
+        assertEquals(10, progress(service.getContext(EMAIL)));
+
+        duringLoad = () -> { };
+        assertEquals(20, progress(service.getContext(EMAIL)));
+        assertEquals(20, progress(service.getContext(EMAIL)));
+        assertEquals(2, loads.get());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int progress(Map<String, Object> context) {
+        List<Map<String, Object>> courses = (List<Map<String, Object>>) context.get("courses");
+        return (Integer) courses.get(0).get("progress");
+    }
+}
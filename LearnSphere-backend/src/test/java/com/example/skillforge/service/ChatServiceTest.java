@@ -0,0 +1,138 @@
+package com.example.skillforge.service;
+
+import com.example.skillforge.dto.request.ChatRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * ChatService against a local stub of the model service: answers are relayed, and a slow, failing or
+ * unreachable service yields the fallback reply within the call timeout.
+ */
+class ChatServiceTest {
+
+    private static final long TIMEOUT_MS = 500;
+    private static final String FALLBACK = "Sorry, I am currently unavailable. Please try again later.";
+
+    private final ExecutorService stubThreads = Executors.newCachedThreadPool();
+    private HttpServer stub;
+    private ChatService chatService;
+
+    // What the stub does with each /chat request
+    private volatile StubHandler handler;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stub.setExecutor(stubThreads);
+        stub.createContext("/chat", exchange -> handler.handle(exchange));
+        stub.start();
+
+        ChatContextService chatContextService = mock(ChatContextService.class);
+        when(chatContextService.getContext(anyString())).thenReturn(Map.of("role", "STUDENT"));
+
+        chatService = new ChatService();
+        ReflectionTestUtils.setField(chatService, "chatContextService", chatContextService);
+        ReflectionTestUtils.setField(chatService, "sharedHttpClient", new OkHttpClient());
+        ReflectionTestUtils.setField(chatService, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(chatService, "pythonServiceUrl", stubUrl());
+        ReflectionTestUtils.setField(chatService, "pythonStreamUrl", stubUrl() + "/stream");
+        ReflectionTestUtils.setField(chatService, "timeoutMs", TIMEOUT_MS);
+        ReflectionTestUtils.setField(chatService, "streamIdleTimeoutMs", TIMEOUT_MS);
+        ReflectionTestUtils.setField(chatService, "streamMaxDurationMs", 5_000L);
+        ReflectionTestUtils.setField(chatService, "maxStreams", 4);
+        chatService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.stop(0);
+        stubThreads.shutdownNow();
+    }
+
+    @Test
+    void relaysTheModelAnswer() throws Exception {
+        handler = exchange -> respond(exchange, 200, "{\"response\": \"Recursion is a function calling itself.\"}");
+
+        assertEquals("Recursion is a function calling itself.", ask());
+    }
+
+    @Test
+    void slowModelFallsBackWhenTheCallTimesOut() throws Exception {
+        handler = exchange -> {
+            try {
+                Thread.sleep(TIMEOUT_MS * 6);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "{\"response\": \"too late\"}");
+        };
+
+        long started = System.currentTimeMillis();
+        assertEquals(FALLBACK, ask());
+        assertTrue(System.currentTimeMillis() - started < TIMEOUT_MS * 4, "call was not bounded by its timeout");
+    }
+
+    @Test
+    void errorStatusAndInvalidBodyFallBack() throws Exception {
+        handler = exchange -> respond(exchange, 500, "{\"detail\": \"model crashed\"}");
+        assertEquals(FALLBACK, ask());
+
+        handler = exchange -> respond(exchange, 200, "not json");
+        assertEquals(FALLBACK, ask());
+    }
+
+    @Test
+    void unreachableServiceFallsBack() throws Exception {
+        String url = stubUrl();
+        stub.stop(0);
+        ReflectionTestUtils.setField(chatService, "pythonServiceUrl", url);
+
+        assertEquals(FALLBACK, ask());
+    }
+
+    private String ask() throws Exception {
+        ChatRequest request = new ChatRequest();
+        request.setMessage("What is recursion?");
+        return chatService.processChat("student@example.com", request).get(5, TimeUnit.SECONDS).getResponse();
+    }
+
+    private String stubUrl() {
+        return "http://127.0.0.1:" + stub.getAddress().getPort() + "/chat";
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        } catch (IOException clientGone) {
+            // The client timed out and closed the connection
+        }
+    }
+
+    private interface StubHandler {
+        void handle(HttpExchange exchange) throws IOException;
+    }
+}
@@ -0,0 +1,302 @@
+package com.example.skillforge.service;
+
+import com.example.skillforge.dto.request.ChunkedUploadInitRequest;
+import com.example.skillforge.dto.response.ChunkedUploadResponse;
+import com.example.skillforge.model.entity.Material;
+import com.example.skillforge.model.entity.Topic;
+import com.example.skillforge.model.entity.UploadSession;
+import com.example.skillforge.model.enums.MaterialType;
+import com.example.skillforge.model.enums.UploadStatus;
+import com.example.skillforge.repository.TopicRepository;
+import com.example.skillforge.repository.UploadSessionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Chunked uploads against a temp directory, with the session table kept in a map: chunks in any order,
+ * retried chunks, resuming after a restart, chunk size clamping, who may use an upload and the clean-up of
+ * abandoned uploads.
+ */
+class ChunkedUploadServiceTest {
+
+    private static final int CHUNK = 16;
+    private static final Authentication OWNER = caller("owner@example.com", "ROLE_INSTRUCTOR");
+
+    @TempDir
+    Path uploadDir;
+
+    private final Map<String, UploadSession> sessions = new HashMap<>();
+    private final UploadSessionRepository repository = mock(UploadSessionRepository.class);
+    private final TopicRepository topicRepository = mock(TopicRepository.class);
+    private final S3StorageService s3StorageService = mock(S3StorageService.class);
+    private final MaterialService materialService = mock(MaterialService.class);
+    private final CourseAccessService courseAccessService = mock(CourseAccessService.class);
+    private final AtomicReference<byte[]> stored = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        when(repository.save(any(UploadSession.class))).thenAnswer(call -> {
+            UploadSession session = call.getArgument(0);
+            session.setUpdatedAt(LocalDateTime.now());
+            sessions.put(session.getId(), session);
+            return session;
+        });
+        when(repository.findById(anyString())).thenAnswer(call -> Optional.ofNullable(sessions.get(call.getArgument(0))));
+        when(repository.countByOwnerEmailAndStatus(anyString(), eq(UploadStatus.IN_PROGRESS))).thenAnswer(call ->
+                sessions.values().stream()
+                        .filter(session -> call.getArgument(0).equals(session.getOwnerEmail()))
+                        .filter(session -> session.getStatus() == UploadStatus.IN_PROGRESS)
+                        .count());
+        when(courseAccessService.isAdmin(any())).thenAnswer(call -> call.<Authentication>getArgument(0)
+                .getAuthorities().stream().anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority())));
+        when(topicRepository.findById(anyLong())).thenReturn(Optional.of(new Topic()));
+        when(s3StorageService.uploadFile(any(Path.class), anyString(), any(), eq("materials"))).thenAnswer(call -> {
+            stored.set(Files.readAllBytes(call.getArgument(0)));
+            return "https://bucket.s3.amazonaws.com/materials/file.bin";
+        });
+        Material material = new Material();
+        material.setId(99L);
+        when(materialService.createStoredFileMaterial(anyLong(), anyString(), any(), any(), anyString(), anyString(),
+                anyLong(), any(), any(), any(), any())).thenReturn(material);
+    }
+
+    @Test
+    void chunksArrivingOutOfOrderAssembleTheFile() throws IOException {
+        ChunkedUploadService service = service();
+        byte[] file = bytes(CHUNK * 3 + 5);
+        ChunkedUploadResponse started = service.initiate(request(file, CHUNK), OWNER);
+        assertEquals(4, started.getTotalChunks());
+
+        for (int index : new int[] { 3, 1, 0, 2 }) {
+            service.writeChunk(started.getUploadId(), index, chunk(file, index), OWNER);
+        }
+        ChunkedUploadResponse done = service.complete(started.getUploadId(), OWNER);
+
+        assertEquals(UploadStatus.COMPLETED, done.getStatus());
+        assertEquals(99L, done.getMaterialId());
+        assertArrayEquals(file, stored.get());
+        assertFalse(Files.exists(Path.of(sessions.get(started.getUploadId()).getTempPath())));
+    }
+
+    @Test
+    void uploadResumesAfterRestartWithRetriedChunks() throws IOException {
+        byte[] file = bytes(CHUNK * 3);
+        ChunkedUploadService before = service();
+        String uploadId = before.initiate(request(file, CHUNK), OWNER).getUploadId();
+        before.writeChunk(uploadId, 0, chunk(file, 0), OWNER);
+        before.writeChunk(uploadId, 0, chunk(file, 0), OWNER); // retry of an acknowledged chunk
+
+        // A new instance only has the persisted session, like the backend after a restart
+        ChunkedUploadService after = service();
+        ChunkedUploadResponse status = after.getStatus(uploadId, OWNER);
+        assertEquals(1, status.getReceivedCount());
+        assertEquals(List.of(1, 2), status.getMissingChunks());
+        assertThrows(IllegalStateException.class, () -> after.complete(uploadId, OWNER));
+
+        for (int index : status.getMissingChunks()) {
+            after.writeChunk(uploadId, index, chunk(file, index), OWNER);
+        }
+        assertEquals(UploadStatus.COMPLETED, after.complete(uploadId, OWNER).getStatus());
+        assertArrayEquals(file, stored.get());
+        // Completing again returns the same material instead of creating another one
+        assertEquals(99L, after.complete(uploadId, OWNER).getMaterialId());
+    }
+
+    @Test
+    void shortOrOversizedChunkIsRejectedAndCanBeResent() throws IOException {
+        ChunkedUploadService service = service();
+        byte[] file = bytes(CHUNK * 2);
+        String uploadId = service.initiate(request(file, CHUNK), OWNER).getUploadId();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.writeChunk(uploadId, 0, new ByteArrayInputStream(new byte[CHUNK - 1]), OWNER));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.writeChunk(uploadId, 1, new ByteArrayInputStream(new byte[CHUNK + 1]), OWNER));
+        assertEquals(List.of(0, 1), service.getStatus(uploadId, OWNER).getMissingChunks());
+
+        service.writeChunk(uploadId, 0, chunk(file, 0), OWNER);
+        service.writeChunk(uploadId, 1, chunk(file, 1), OWNER);
+        assertArrayEquals(file, bytesOf(service.complete(uploadId, OWNER)));
+    }
+
+    @Test
+    void corruptedUploadFailsTheChecksum() throws IOException {
+        ChunkedUploadService service = service();
+        byte[] file = bytes(CHUNK * 2);
+        String uploadId = service.initiate(request(file, CHUNK), OWNER).getUploadId();
+        byte[] corrupted = Arrays.copyOf(file, file.length);
+        corrupted[CHUNK] ^= 1;
+
+        service.writeChunk(uploadId, 0, chunk(file, 0), OWNER);
+        service.writeChunk(uploadId, 1, chunk(corrupted, 1), OWNER);
+
+        assertThrows(IllegalStateException.class, () -> service.complete(uploadId, OWNER));
+        assertEquals(UploadStatus.FAILED, sessions.get(uploadId).getStatus());
+    }
+
+    @Test
+    void chunkSizeIsClampedToTheConfiguredRange() throws IOException {
+        ChunkedUploadService service = service();
+        byte[] file = bytes(1000);
+
+        assertEquals(CHUNK, service.initiate(request(file, 1), OWNER).getChunkSize());
+        assertEquals(CHUNK * 4, service.initiate(request(file, Integer.MAX_VALUE), OWNER).getChunkSize());
+    }
+
+    @Test
+    void checksumMustBeHexSha256() {
+        ChunkedUploadService service = service();
+        ChunkedUploadInitRequest request = request(bytes(10), CHUNK);
+        request.setChecksum("not-a-checksum");
+
+        assertThrows(IllegalArgumentException.class, () -> service.initiate(request, OWNER));
+    }
+
+    @Test
+    void onlyTheOwnerOrAnAdminMayContinueAnUpload() throws IOException {
+        ChunkedUploadService service = service();
+        byte[] file = bytes(CHUNK);
+        String uploadId = service.initiate(request(file, CHUNK), OWNER).getUploadId();
+        Authentication other = caller("other@example.com", "ROLE_INSTRUCTOR");
+
+        assertThrows(AccessDeniedException.class, () -> service.writeChunk(uploadId, 0, chunk(file, 0), other));
+        assertThrows(AccessDeniedException.class, () -> service.getStatus(uploadId, other));
+        assertThrows(AccessDeniedException.class, () -> service.complete(uploadId, other));
+        assertThrows(AccessDeniedException.class, () -> service.abort(uploadId, other));
+
+        service.writeChunk(uploadId, 0, chunk(file, 0), caller("admin@example.com", "ROLE_ADMIN"));
+        assertEquals(UploadStatus.COMPLETED, service.complete(uploadId, OWNER).getStatus());
+    }
+
+    @Test
+    void uploadToACourseTheCallerDoesNotManageIsRejected() {
+        Authentication other = caller("other@example.com", "ROLE_INSTRUCTOR");
+        doThrow(new AccessDeniedException("Not allowed")).when(courseAccessService)
+                .checkCanManage(any(), argThat(authentication -> authentication == other));
+
+        assertThrows(AccessDeniedException.class, () -> service().initiate(request(bytes(CHUNK), CHUNK), other));
+        assertTrue(sessions.isEmpty());
+    }
+
+    @Test
+    void openUploadsPerUserAreCapped() throws IOException {
+        ChunkedUploadService service = service();
+        ReflectionTestUtils.setField(service, "maxOpenPerUser", 2);
+        byte[] file = bytes(CHUNK);
+        String first = service.initiate(request(file, CHUNK), OWNER).getUploadId();
+        service.initiate(request(file, CHUNK), OWNER);
+
+        assertThrows(IllegalStateException.class, () -> service.initiate(request(file, CHUNK), OWNER));
+        // Other users have their own allowance, and finishing an upload frees a slot
+        service.initiate(request(file, CHUNK), caller("other@example.com", "ROLE_INSTRUCTOR"));
+        service.writeChunk(first, 0, chunk(file, 0), OWNER);
+        service.complete(first, OWNER);
+        service.initiate(request(file, CHUNK), OWNER);
+    }
+
+    @Test
+    void abandonedUploadsAreDeletedWithTheirTempFile() throws IOException {
+        ChunkedUploadService service = service();
+        String uploadId = service.initiate(request(bytes(CHUNK * 2), CHUNK), OWNER).getUploadId();
+        UploadSession session = sessions.get(uploadId);
+        Path tempFile = Path.of(session.getTempPath());
+        assertTrue(Files.exists(tempFile));
+        when(repository.findByStatusAndUpdatedAtBefore(eq(UploadStatus.IN_PROGRESS), any()))
+                .thenReturn(List.of(session));
+
+        service.cleanupStale();
+
+        assertFalse(Files.exists(tempFile));
+        verify(repository).delete(session);
+    }
+
+    private ChunkedUploadService service() {
+        ChunkedUploadService service = new ChunkedUploadService(repository, topicRepository, s3StorageService,
+                materialService, courseAccessService);
+        ReflectionTestUtils.setField(service, "baseUploadDir", uploadDir.toString());
+        ReflectionTestUtils.setField(service, "defaultChunkSize", CHUNK);
+        ReflectionTestUtils.setField(service, "minChunkSize", CHUNK);
+        ReflectionTestUtils.setField(service, "maxChunkSize", CHUNK * 4);
+        ReflectionTestUtils.setField(service, "maxUploadSize", 1024L * 1024);
+        ReflectionTestUtils.setField(service, "expiryHours", 24L);
+        ReflectionTestUtils.setField(service, "maxOpenPerUser", 100);
+        return service;
+    }
+
+    private byte[] bytesOf(ChunkedUploadResponse response) {
+        assertEquals(UploadStatus.COMPLETED, response.getStatus());
+        return stored.get();
+    }
+
+    private static Authentication caller(String email, String role) {
+        return new UsernamePasswordAuthenticationToken(email, null, AuthorityUtils.createAuthorityList(role));
+    }
+
+    private static ChunkedUploadInitRequest request(byte[] file, int chunkSize) {
+        ChunkedUploadInitRequest request = new ChunkedUploadInitRequest();
+        request.setTopicId(1L);
+        request.setTitle("Lecture");
+        request.setMaterialType(MaterialType.VIDEO);
+        request.setFileName("lecture.mp4");
+        request.setMimeType("video/mp4");
+        request.setTotalSize((long) file.length);
+        request.setChunkSize(chunkSize);
+        request.setChecksum(sha256(file));
+        return request;
+    }
+
+    private static ByteArrayInputStream chunk(byte[] file, int index) {
+        int from = index * CHUNK;
+        return new ByteArrayInputStream(Arrays.copyOfRange(file, from, Math.min(file.length, from + CHUNK)));
+    }
+
+    private static byte[] bytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.example.skillforge.service;
+
+import com.example.skillforge.model.entity.OutboundEmail;
+import com.example.skillforge.model.enums.EmailStatus;
+import com.example.skillforge.repository.OutboundEmailRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The outbound-mail queue end to end: rows enqueued in JDBC batches are claimed by EmailDispatchWorker and
+ * delivered to a stub SMTP server over a real connection. Recipients the server rejects are retried and
+ * dead-lettered after the last attempt.
+ */
+@DataJpaTest
+@ActiveProfiles("querycount")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(EmailQueueService.class)
+class EmailDispatchWorkerTest {
+
+    private static final String BOUNCING = "bounce@example.com";
+
+    @Autowired
+    private EmailQueueService emailQueueService;
+
+    @Autowired
+    private OutboundEmailRepository outboundEmailRepository;
+
+    @MockitoBean
+    private CourseAccessService courseAccessService;
+
+    private final StubSmtpServer smtp = new StubSmtpServer();
+    private EmailDispatchWorker worker;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        smtp.start();
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost("127.0.0.1");
+        sender.setPort(smtp.port());
+
+        // Runs each batch on the test thread, inside the test transaction
+        ThreadPoolTaskExecutor inline = new ThreadPoolTaskExecutor() {
+            @Override
+            public void execute(Runnable task) {
+                task.run();
+            }
+        };
+        inline.setMaxPoolSize(1);
+
+        worker = new EmailDispatchWorker(outboundEmailRepository, sender, inline);
+        ReflectionTestUtils.setField(worker, "fromEmail", "noreply@example.com");
+        ReflectionTestUtils.setField(worker, "ratePerMinute", 1000);
+        ReflectionTestUtils.setField(worker, "batchSize", 20);
+        ReflectionTestUtils.setField(worker, "maxAttempts", 2);
+        ReflectionTestUtils.setField(worker, "backoffBaseSeconds", 0L);
+        ReflectionTestUtils.setField(worker, "staleClaimMinutes", 10L);
+        ReflectionTestUtils.setField(emailQueueService, "insertBatchSize", 4);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        smtp.stop();
+    }
+
+    @Test
+    void enqueueAllInsertsEveryRowAcrossBatches() {
+        String jobId = emailQueueService.newJobId();
+        emailQueueService.enqueueAll(IntStream.range(0, 10)
+                .mapToObj(i -> emailQueueService.build(jobId, 3L, "s" + i + "@example.com", "Hello", "Body " + i))
+                .toList());
+
+        List<OutboundEmail> rows = emails();
+        assertEquals(10, rows.size());
+        assertEquals("s9@example.com", rows.get(9).getRecipient());
+        assertEquals(EmailStatus.PENDING, rows.get(9).getStatus());
+        assertEquals(3L, rows.get(9).getCourseId());
+        assertNotNull(rows.get(9).getNextAttemptAt());
+    }
+
+    @Test
+    void deliversQueuedEmailsAndRetriesRejectedRecipients() {
+        String jobId = emailQueueService.newJobId();
+        emailQueueService.enqueueAll(List.of(
+                emailQueueService.build(jobId, 3L, "first@example.com", "Welcome", "Hello first"),
+                emailQueueService.build(jobId, 3L, BOUNCING, "Welcome", "Hello bounce"),
+                emailQueueService.build(jobId, 3L, "second@example.com", "Welcome", "Hello second")));
+        smtp.reject(BOUNCING);
+
+        worker.dispatch();
+
+        // A batch goes out in no particular order
+        assertEquals(Set.of("first@example.com", "second@example.com"), Set.copyOf(smtp.deliveredTo()));
+        assertTrue(smtp.delivered().stream()
+                .anyMatch(message -> message.contains("Subject: Welcome") && message.contains("Hello first")));
+        OutboundEmail bounced = emails().get(1);
+        assertEquals(EmailStatus.PENDING, bounced.getStatus());
+        assertEquals(1, bounced.getAttempts());
+        assertNotNull(bounced.getLastError());
+        assertEquals(EmailStatus.SENT, emails().get(0).getStatus());
+
+        // The mailbox is back: the retry goes out and nothing is sent twice
+        smtp.accept(BOUNCING);
+        worker.dispatch();
+
+        assertEquals(3, smtp.deliveredTo().size());
+        assertEquals(BOUNCING, smtp.deliveredTo().get(2));
+        bounced = emails().get(1);
+        assertEquals(EmailStatus.SENT, bounced.getStatus());
+        assertEquals(2, bounced.getAttempts());
+        assertNull(bounced.getLastError());
+    }
+
+    @Test
+    void deadLettersAfterTheLastAttempt() {
+        String jobId = emailQueueService.newJobId();
+        emailQueueService.enqueueAll(List.of(emailQueueService.build(jobId, 3L, BOUNCING, "Welcome", "Hello")));
+        smtp.reject(BOUNCING);
+
+        worker.dispatch();
+        worker.dispatch();
+        worker.dispatch();
+
+        assertEquals(List.of(), smtp.deliveredTo());
+        OutboundEmail email = emails().get(0);
+        assertEquals(EmailStatus.DEAD, email.getStatus());
+        assertEquals(2, email.getAttempts());
+        assertEquals(2, smtp.rejections()); // the third dispatch leaves the dead row alone
+    }
+
+    private List<OutboundEmail> emails() {
+        return outboundEmailRepository.findAll(Sort.by("id"));
+    }
+
+    /**
+     * Just enough SMTP for JavaMail: one connection at a time, recipients can be rejected with 550.
+     */
+    private static class StubSmtpServer {
+
+        private final Set<String> rejected = ConcurrentHashMap.newKeySet();
+        private final List<String> deliveredTo = new CopyOnWriteArrayList<>();
+        private final List<String> delivered = new CopyOnWriteArrayList<>();
+        private volatile int rejections;
+        private ServerSocket server;
+
+        void start() throws IOException {
+            server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            Thread acceptor = new Thread(() -> {
+                while (!server.isClosed()) {
+                    try (Socket socket = server.accept()) {
+                        serve(socket);
+                    } catch (IOException closed) {
+                        // Server stopped or client dropped the connection
+                    }
+                }
+            }, "stub-smtp");
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        void stop() throws IOException {
+            server.close();
+        }
+
+        int port() {
+            return server.getLocalPort();
+        }
+
+        void reject(String recipient) {
+            rejected.add(recipient);
+        }
+
+        void accept(String recipient) {
+            rejected.remove(recipient);
+        }
+
+        List<String> deliveredTo() {
+            return List.copyOf(deliveredTo);
+        }
+
+        List<String> delivered() {
+            return List.copyOf(delivered);
+        }
+
+        int rejections() {
+            return rejections;
+        }
+
+        private void serve(Socket socket) throws IOException {
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+            reply(out, "220 stub ESMTP");
+            List<String> recipients = new ArrayList<>();
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.toUpperCase();
+                if (command.startsWith("RCPT TO:")) {
+                    String recipient = line.substring(line.indexOf('<') + 1, line.indexOf('>'));
+                    if (rejected.contains(recipient)) {
+                        rejections++;
+                        reply(out, "550 5.1.1 Mailbox unavailable");
+                    } else {
+                        recipients.add(recipient);
+                        reply(out, "250 OK");
+                    }
+                } else if (command.equals("DATA")) {
+                    reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                    StringBuilder message = new StringBuilder();
+                    while (!(line = in.readLine()).equals(".")) {
+                        message.append(line).append('\n');
+                    }
+                    deliveredTo.addAll(recipients);
+                    delivered.add(message.toString());
+                    recipients.clear();
+                    reply(out, "250 Queued");
+                } else if (command.startsWith("MAIL FROM:") || command.equals("RSET")) {
+                    recipients.clear();
+                    reply(out, "250 OK");
+                } else if (command.equals("QUIT")) {
+                    reply(out, "221 Bye");
+                    return;
+                } else {
+                    // EHLO, HELO, NOOP
+                    reply(out, "250 stub");
+                }
+            }
+        }
+
+        private static void reply(PrintWriter out, String line) {
+            out.print(line + "\r\n");
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package com.example.skillforge.service;
+
+import com.example.skillforge.config.MetricsConfig;
+import com.example.skillforge.exception.QueryBudgetExceededException;
+import com.example.skillforge.model.entity.Course;
+import com.example.skillforge.model.entity.CourseProgress;
+import com.example.skillforge.model.entity.Enrollment;
+import com.example.skillforge.model.entity.Instructor;
+import com.example.skillforge.model.entity.Question;
+import com.example.skillforge.model.entity.Quiz;
+import com.example.skillforge.model.entity.QuizAttempt;
+import com.example.skillforge.model.entity.Review;
+import com.example.skillforge.model.entity.Student;
+import com.example.skillforge.model.entity.Topic;
+import com.example.skillforge.model.entity.User;
+import com.example.skillforge.model.enums.DifficultyLevel;
+import com.example.skillforge.model.enums.Role;
+import com.example.skillforge.repository.CourseRepository;
+import com.example.skillforge.service.metrics.QueryBudget;
+import com.example.skillforge.service.metrics.QueryBudgetAspect;
+import com.example.skillforge.service.metrics.QueryCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pins the SQL statement count of the main read endpoints on an embedded database. Every service method
+ * here carries a {@link QueryBudget}, enforced strictly by the querycount profile, and each test also
+ * checks that the count does not grow with the number of rows, which is what an N+1 would do.
+ */
+@DataJpaTest
+@ActiveProfiles("querycount")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(AopAutoConfiguration.class)
+@Import({ MetricsConfig.class, QueryBudgetAspect.class, CourseService.class, EnrollmentService.class,
+        QuizStatisticsService.class, QueryBudgetRegressionTest.RepeatingReader.class })
+class QueryBudgetRegressionTest {
+
+    private static final int ROWS = 20;
+    private static final int PAGE_SIZE = 12;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private QuizStatisticsService quizStatisticsService;
+
+    @Autowired
+    private RepeatingReader repeatingReader;
+
+    @MockitoBean
+    private S3StorageService s3StorageService;
+
+    @MockitoBean
+    private CourseViewIngestionService courseViewIngestionService;
+
+    @MockitoBean
+    private CoursePurgeService coursePurgeService;
+
+    @MockitoBean
+    private EmailQueueService emailQueueService;
+
+    @MockitoBean
+    private BulkEnrollmentService bulkEnrollmentService;
+
+    @MockitoBean
+    private CounterService counterService;
+
+    @MockitoBean(name = "mediaExecutor")
+    private ThreadPoolTaskExecutor mediaExecutor;
+
+    private User studentUser;
+    private Student student;
+    private int sequence;
+
+    @BeforeEach
+    void createStudent() {
+        studentUser = user(Role.STUDENT);
+        student = new Student();
+        student.setUser(studentUser);
+        em.persist(student);
+    }
+
+    @Test
+    void studentEnrollmentsDoNotGrowWithEnrollments() {
+        enroll(course(true));
+        int one = statements(() -> enrollmentService.getStudentEnrollments(studentUser.getId()));
+
+        for (int i = 1; i < ROWS; i++) {
+            enroll(course(true));
+        }
+        int many = statements(() -> enrollmentService.getStudentEnrollments(studentUser.getId()));
+
+        assertEquals(one, many);
+        assertTrue(many <= 2, "expected student lookup and one list query, got " + many);
+    }
+
+    @Test
+    void publishedCoursesDoNotGrowWithCourses() {
+        populate(course(true));
+        int one = statements(() -> courseService.getPublishedCourses(studentUser.getId()));
+
+        for (int i = 1; i < ROWS; i++) {
+            populate(course(true));
+        }
+        int many = statements(() -> courseService.getPublishedCourses(studentUser.getId()));
+
+        assertEquals(one, many);
+    }
+
+    // Both runs fill the page: on a partial first page Spring Data skips the count query
+    @Test
+    void browsePageDoesNotGrowWithPageSize() {
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            populate(course(true));
+        }
+        int one = statements(() -> courseService.getAllCourses(0, PAGE_SIZE, null, "desc", null, null, null,
+                studentUser.getId(), null, null));
+
+        for (int i = PAGE_SIZE; i < ROWS; i++) {
+            populate(course(true));
+        }
+        int many = statements(() -> courseService.getAllCourses(0, PAGE_SIZE, null, "desc", null, null, null,
+                studentUser.getId(), null, null));
+
+        assertEquals(one, many);
+    }
+
+    @Test
+    void instructorCoursesDoNotGrowWithCourses() {
+        Instructor instructor = instructor();
+        Long instructorUserId = instructor.getUser().getId();
+        populate(course(instructor, false));
+        int one = statements(() -> courseService.getCoursesByInstructor(instructorUserId));
+
+        for (int i = 1; i < ROWS; i++) {
+            populate(course(instructor, false));
+        }
+        int many = statements(() -> courseService.getCoursesByInstructor(instructorUserId));
+
+        assertEquals(one, many);
+    }
+
+    @Test
+    void quizTrackingDoesNotGrowWithAttempts() {
+        Course course = course(true);
+        attempt(quiz(course));
+        int one = statements(() -> quizStatisticsService.getQuizTracking(student.getId(), course.getId()));
+
+        for (int i = 1; i < ROWS; i++) {
+            attempt(quiz(course));
+        }
+        int many = statements(() -> quizStatisticsService.getQuizTracking(student.getId(), course.getId()));
+
+        assertEquals(one, many);
+    }
+
+    @Test
+    void repeatedStatementIsReportedWithCallSite() {
+        QueryBudgetExceededException e = assertThrows(QueryBudgetExceededException.class,
+                () -> statements(() -> repeatingReader.countPerInstructor(QueryCounter.REPEAT_THRESHOLD)));
+
+        assertTrue(e.getMessage().contains(QueryCounter.REPEAT_THRESHOLD + "x "), e.getMessage());
+        assertTrue(e.getMessage().contains("RepeatingReader.countPerInstructor"), e.getMessage());
+    }
+
+    @Test
+    void exceedingTheBudgetFails() {
+        assertThrows(QueryBudgetExceededException.class,
+                () -> statements(() -> repeatingReader.countPerInstructor(4)));
+    }
+
+    // Flushes the seed data and clears the persistence context, so every load in the call hits the database
+    private int statements(Supplier<?> call) {
+        em.flush();
+        em.clear();
+        try (QueryCounter.Scope scope = QueryCounter.open("test")) {
+            call.get();
+            return scope.getCount();
+        }
+    }
+
+    private User user(Role role) {
+        int n = ++sequence;
+        User user = new User();
+        user.setName(role.name().toLowerCase() + " " + n);
+        user.setEmail(role.name().toLowerCase() + n + "@example.com");
+        user.setPassword("secret");
+        user.setRole(role);
+        return em.persist(user);
+    }
+
+    private Instructor instructor() {
+        Instructor instructor = new Instructor();
+        instructor.setUser(user(Role.INSTRUCTOR));
+        return em.persist(instructor);
+    }
+
+    // Every course gets its own instructor, so per-instructor lazy loads would show up as growth
+    private Course course(boolean published) {
+        return course(instructor(), published);
+    }
+
+    private Course course(Instructor instructor, boolean published) {
+        Course course = new Course();
+        course.setTitle("Course " + sequence);
+        course.setCategory("Programming");
+        course.setDifficultyLevel(DifficultyLevel.BEGINNER);
+        course.setInstructor(instructor);
+        course.setIsPublished(published);
+        return em.persist(course);
+    }
+
+    private void enroll(Course course) {
+        Enrollment enrollment = new Enrollment();
+        enrollment.setStudent(student);
+        enrollment.setCourse(course);
+        em.persist(enrollment);
+    }
+
+    // Topic, review, enrollment and progress, so every per-course lookup of the list has data to load
+    private void populate(Course course) {
+        Topic topic = new Topic();
+        topic.setCourse(course);
+        topic.setName("Topic " + course.getId());
+        em.persist(topic);
+
+        Review review = new Review();
+        review.setCourseId(course.getId());
+        review.setStudentId(student.getId());
+        review.setUserId(studentUser.getId());
+        review.setRating(4);
+        em.persist(review);
+
+        enroll(course);
+
+        CourseProgress progress = new CourseProgress();
+        progress.setStudentId(studentUser.getId());
+        progress.setCourseId(course.getId());
+        progress.setProgressPercent(50);
+        progress.setLastUpdated(LocalDateTime.now());
+        em.persist(progress);
+    }
+
+    private Quiz quiz(Course course) {
+        Topic topic = new Topic();
+        topic.setCourse(course);
+        topic.setName("Topic " + ++sequence);
+        em.persist(topic);
+
+        Quiz quiz = new Quiz();
+        quiz.setCourse(course);
+        quiz.setTopic(topic);
+        quiz.setTitle("Quiz " + sequence);
+        em.persist(quiz);
+
+        for (int i = 0; i < 3; i++) {
+            Question question = new Question();
+            question.setQuiz(quiz);
+            question.setQuestionText("Question " + i);
+            em.persist(question);
+        }
+        return quiz;
+    }
+
+    private void attempt(Quiz quiz) {
+        QuizAttempt attempt = new QuizAttempt();
+        attempt.setQuiz(quiz);
+        attempt.setStudentId(student.getId());
+        attempt.setScore(70.0);
+        attempt.setAttemptTime(LocalDateTime.now());
+        em.persist(attempt);
+    }
+
+    static class RepeatingReader {
+
+        @Autowired
+        private CourseRepository courseRepository;
+
+        // The same count query once per instructor id: the shape of an N+1
+        @QueryBudget(3)
+        public long countPerInstructor(int instructors) {
+            long total = 0;
+            for (long id = 1; id <= instructors; id++) {
+                total += courseRepository.countByInstructorIdAndIsPublished(id, true);
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.skillforge.service;
+
+import com.example.skillforge.dto.response.EnrollmentResponse;
+import com.example.skillforge.dto.response.ProgressSummaryResponse;
+import com.example.skillforge.model.dto.analytics.AnalyticsDTO;
+import com.example.skillforge.model.entity.Course;
+import com.example.skillforge.model.entity.Enrollment;
+import com.example.skillforge.model.entity.Instructor;
+import com.example.skillforge.model.entity.Quiz;
+import com.example.skillforge.model.entity.QuizAttempt;
+import com.example.skillforge.model.entity.Student;
+import com.example.skillforge.model.entity.Topic;
+import com.example.skillforge.model.entity.User;
+import com.example.skillforge.model.enums.DifficultyLevel;
+import com.example.skillforge.model.enums.Role;
+import com.example.skillforge.service.metrics.SystemMetricsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * A soft-deleted course is hidden by its SQL restriction while enrollments and quiz attempts still point at it
+ * until the purge reaches them. Reads of those rows must leave the course out instead of failing on its proxy.
+ */
+@DataJpaTest
+@ActiveProfiles("querycount")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ AnalyticsService.class, EnrollmentService.class })
+class SoftDeletedCourseReadTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @MockitoBean
+    private ProgressService progressService;
+
+    @MockitoBean
+    private CourseViewIngestionService courseViewIngestionService;
+
+    @MockitoBean
+    private SystemMetricsService systemMetricsService;
+
+    @MockitoBean
+    private EmailQueueService emailQueueService;
+
+    @MockitoBean
+    private BulkEnrollmentService bulkEnrollmentService;
+
+    @MockitoBean
+    private CounterService counterService;
+
+    private User studentUser;
+    private Student student;
+    private Course live;
+    private Course deleted;
+
+    @BeforeEach
+    void enrollInTwoCourses() {
+        when(progressService.getStudentProgressSummary(any()))
+                .thenReturn(ProgressSummaryResponse.builder().totalLearningMinutes(0).build());
+
+        studentUser = user("student", Role.STUDENT);
+        student = new Student();
+        student.setUser(studentUser);
+        em.persist(student);
+
+        Instructor instructor = new Instructor();
+        instructor.setUser(user("instructor", Role.INSTRUCTOR));
+        em.persist(instructor);
+
+        live = course(instructor, "Live course");
+        deleted = course(instructor, "Deleted course");
+        for (Course course : List.of(live, deleted)) {
+            enroll(course);
+            attempt(quiz(course));
+        }
+
+        // What CourseService.deleteCourse leaves behind until the purge runs
+        deleted.setDeletedAt(LocalDateTime.now());
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void studentAnalyticsLeaveOutDeletedCourse() {
+        AnalyticsDTO.StudentAnalytics analytics = analyticsService.getStudentAnalytics(student.getId());
+
+        assertEquals(List.of("Live course"),
+                analytics.getQuizPerformance().stream().map(AnalyticsDTO.QuizPerformance::getCourseName).toList());
+        assertEquals(List.of("Live course"),
+                analytics.getCourseCompletion().stream().map(AnalyticsDTO.CourseProgress::getCourseName).toList());
+    }
+
+    @Test
+    void enrollmentInDeletedCourseIsNotFound() {
+        EnrollmentResponse enrollment = enrollmentService.getEnrollment(studentUser.getId(), live.getId());
+        assertEquals("Live course", enrollment.getCourseTitle());
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> enrollmentService.getEnrollment(studentUser.getId(), deleted.getId()));
+        assertEquals("Enrollment not found", e.getMessage());
+    }
+
+    @Test
+    void enrollmentListsLeaveOutDeletedCourse() {
+        assertEquals(List.of("Live course"), enrollmentService.getStudentEnrollments(studentUser.getId()).stream()
+                .map(EnrollmentResponse::getCourseTitle).toList());
+        assertEquals(List.of(), enrollmentService.getCourseEnrollments(deleted.getId()));
+    }
+
+    private User user(String name, Role role) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("secret");
+        user.setRole(role);
+        return em.persist(user);
+    }
+
+    private Course course(Instructor instructor, String title) {
+        Course course = new Course();
+        course.setTitle(title);
+        course.setCategory("Programming");
+        course.setDifficultyLevel(DifficultyLevel.BEGINNER);
+        course.setInstructor(instructor);
+        course.setIsPublished(true);
+        return em.persist(course);
+    }
+
+    private void enroll(Course course) {
+        Enrollment enrollment = new Enrollment();
+        enrollment.setStudent(student);
+        enrollment.setCourse(course);
+        enrollment.setCompletionPercentage(40);
+        em.persist(enrollment);
+    }
+
+    private Quiz quiz(Course course) {
+        Topic topic = new Topic();
+        topic.setCourse(course);
+        topic.setName("Topic of " + course.getTitle());
+        em.persist(topic);
+
+        Quiz quiz = new Quiz();
+        quiz.setCourse(course);
+        quiz.setTopic(topic);
+        quiz.setTitle("Quiz of " + course.getTitle());
+        return em.persist(quiz);
+    }
+
+    private void attempt(Quiz quiz) {
+        QuizAttempt attempt = new QuizAttempt();
+        attempt.setQuiz(quiz);
+        attempt.setStudentId(student.getId());
+        attempt.setScore(70.0);
+        attempt.setAttemptTime(LocalDateTime.now());
+        em.persist(attempt);
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.skillforge.service.impl;
+
+import com.example.skillforge.dto.request.AIQuizGenerationRequest;
+import com.example.skillforge.dto.response.AIBulkQuizResponse;
+import com.example.skillforge.dto.response.AIQuizResponse;
+import com.example.skillforge.model.entity.Topic;
+import com.example.skillforge.repository.TopicRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Quiz generation against a local stub of the Gemini endpoint: results are cached per topic, difficulty and
+ * count, a slow model fails within the call timeout without poisoning the cache, and bulk generation reports
+ * each topic's outcome from its own executor.
+ */
+class AIQuizGeneratorServiceImplTest {
+
+    private static final long TIMEOUT_MS = 500;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ExecutorService stubThreads = Executors.newCachedThreadPool();
+    private final AtomicInteger modelCalls = new AtomicInteger();
+    private final TopicRepository topicRepository = mock(TopicRepository.class);
+    private final ThreadPoolTaskExecutor aiBulkExecutor = new ThreadPoolTaskExecutor();
+    private HttpServer stub;
+    private AIQuizGeneratorServiceImpl generator;
+
+    // Milliseconds the stub waits before answering
+    private volatile long modelDelayMs;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stub.setExecutor(stubThreads);
+        stub.createContext("/generate", this::answer);
+        stub.start();
+
+        aiBulkExecutor.setCorePoolSize(2);
+        aiBulkExecutor.setMaxPoolSize(2);
+        aiBulkExecutor.setQueueCapacity(10);
+        aiBulkExecutor.initialize();
+
+        generator = new AIQuizGeneratorServiceImpl(new OkHttpClient(), objectMapper, topicRepository, aiBulkExecutor);
+        ReflectionTestUtils.setField(generator, "geminiApiKey", "test-key");
+        ReflectionTestUtils.setField(generator, "geminiUrl",
+                "http://127.0.0.1:" + stub.getAddress().getPort() + "/generate");
+        ReflectionTestUtils.setField(generator, "timeoutMs", TIMEOUT_MS);
+        ReflectionTestUtils.setField(generator, "maxInFlight", 2);
+        ReflectionTestUtils.setField(generator, "acquireTimeoutMs", 5_000L);
+        ReflectionTestUtils.setField(generator, "ratePerMinute", 60_000);
+        ReflectionTestUtils.setField(generator, "cacheTtlMs", 60_000L);
+        ReflectionTestUtils.setField(generator, "cacheMaxEntries", 2);
+        generator.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.stop(0);
+        stubThreads.shutdownNow();
+        aiBulkExecutor.shutdown();
+    }
+
+    @Test
+    void resultsAreCachedPerTopicDifficultyAndCount() {
+        AIQuizResponse first = generator.generateQuiz(request(1L, "Loops", "BEGINNER", 3));
+        assertSame(first, generator.generateQuiz(request(1L, "Loops", "beginner", 3)));
+        assertEquals(1, modelCalls.get());
+
+        generator.generateQuiz(request(1L, "Loops", "ADVANCED", 3));
+        generator.generateQuiz(request(1L, "Loops", "BEGINNER", 5));
+        assertEquals(3, modelCalls.get());
+
+        AIQuizGenerationRequest refresh = request(1L, "Loops", "BEGINNER", 5);
+        refresh.setRefresh(true);
+        generator.generateQuiz(refresh);
+        assertEquals(4, modelCalls.get());
+
+        // Only two entries are kept: the least recently used (BEGINNER, 3) is gone
+        generator.generateQuiz(request(1L, "Loops", "BEGINNER", 3));
+        assertEquals(5, modelCalls.get());
+    }
+
+    @Test
+    void slowModelFailsWithinTheTimeoutAndIsNotCached() {
+        modelDelayMs = TIMEOUT_MS * 6;
+        long started = System.currentTimeMillis();
+        assertThrows(RuntimeException.class, () -> generator.generateQuiz(request(2L, "Streams", "BEGINNER", 1)));
+        assertTrue(System.currentTimeMillis() - started < TIMEOUT_MS * 4, "call was not bounded by its timeout");
+
+        modelDelayMs = 0;
+        assertNotNull(generator.generateQuiz(request(2L, "Streams", "BEGINNER", 1)).getQuestions());
+        assertEquals(2, modelCalls.get());
+    }
+
+    @Test
+    void bulkGenerationReportsEachTopic() throws Exception {
+        when(topicRepository.findByCourseIdOrderByOrderIndexAsc(9L))
+                .thenReturn(List.of(topic(1L, "Loops"), topic(2L, "Broken"), topic(3L, "Arrays")));
+
+        AIBulkQuizResponse result = generator.generateForCourse(9L, "BEGINNER", 2).get(5, TimeUnit.SECONDS);
+
+        assertEquals(3, result.getTotalTopics());
+        assertEquals(2, result.getSucceeded());
+        assertEquals(1, result.getFailed());
+        AIBulkQuizResponse.TopicQuiz broken = result.getTopics().get(1);
+        assertEquals("Broken", broken.getTopicName());
+        assertNull(broken.getQuiz());
+        assertEquals("Gemini API error: quota exceeded", broken.getError());
+        assertEquals(2, result.getTopics().get(2).getQuiz().getQuestions().size());
+    }
+
+    // Answers like Gemini: the quiz as JSON text in a code fence, or an error object for topic "Broken"
+    private void answer(HttpExchange exchange) throws IOException {
+        modelCalls.incrementAndGet();
+        String prompt = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        try {
+            Thread.sleep(modelDelayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        String body;
+        if (prompt.contains("Topic: Broken")) {
+            body = objectMapper.writeValueAsString(Map.of("error", Map.of("message", "quota exceeded")));
+        } else {
+            int count = prompt.contains("Generate 2 ") ? 2 : 1;
+            Map<String, Object> question = Map.of("questionText", "Q", "options", List.of("A", "B", "C", "D"),
+                    "correctAnswer", "A", "points", 1);
+            String quiz = objectMapper.writeValueAsString(Map.of("questions", Collections.nCopies(count, question)));
+            body = objectMapper.writeValueAsString(Map.of("candidates", List.of(
+                    Map.of("content", Map.of("parts", List.of(Map.of("text", "```json\n" + quiz + "\n```")))))));
+        }
+
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        try (OutputStream out = exchange.getResponseBody()) {
+            exchange.sendResponseHeaders(200, bytes.length);
+            out.write(bytes);
+        } catch (IOException clientGone) {
+            // The client timed out and closed the connection
+        }
+    }
+
+    private static AIQuizGenerationRequest request(Long topicId, String topicName, String difficulty, int count) {
+        AIQuizGenerationRequest request = new AIQuizGenerationRequest();
+        request.setTopicId(topicId);
+        request.setTopicName(topicName);
+        request.setDifficulty(difficulty);
+        request.setNumberOfQuestions(count);
+        return request;
+    }
+
+    private static Topic topic(Long id, String name) {
+        Topic topic = new Topic();
+        topic.setId(id);
+        topic.setName(name);
+        return topic;
+    }
+}
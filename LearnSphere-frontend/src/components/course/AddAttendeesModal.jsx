@@ -1,9 +1,13 @@
-import React, { useState, useEffect } from 'react'
+import React, { useState, useEffect, useRef } from 'react'
 import { X, UserPlus, Mail, AlertCircle, CheckCircle, Search, Users } from 'lucide-react'
 import Button from '../common/Button'
 import toast from 'react-hot-toast'
 import axios from 'axios'
 
+// The directory is searched (name or email prefix) and paged by the server
+const PAGE_SIZE = 50
+const SEARCH_DEBOUNCE_MS = 300
+
 const AddAttendeesModal = ({ isOpen, onClose, courseId, onSuccess }) => {
     const [mode, setMode] = useState('select') // 'select' or 'manual'
     const [students, setStudents] = useState([])
@@ -12,15 +16,25 @@ const AddAttendeesModal = ({ isOpen, onClose, courseId, onSuccess }) => {
     const [emails, setEmails] = useState('')
     const [loading, setLoading] = useState(false)
     const [fetchingStudents, setFetchingStudents] = useState(false)
+    const [page, setPage] = useState(0)
+    const [hasMore, setHasMore] = useState(false)
     const [result, setResult] = useState(null)
 
+    // Request in flight; a newer search aborts it so a slow response never replaces a newer one
+    const requestRef = useRef(null)
+
     useEffect(() => {
-        if (isOpen && mode === 'select') {
-            fetchStudents()
-        }
-    }, [isOpen, mode])
+        if (!isOpen || mode !== 'select') return
+        const timer = setTimeout(() => fetchStudents(0), SEARCH_DEBOUNCE_MS)
+        return () => clearTimeout(timer)
+    }, [isOpen, mode, searchTerm])
 
-    const fetchStudents = async () => {
+    useEffect(() => () => requestRef.current?.abort(), [])
+
+    const fetchStudents = async (pageToLoad) => {
+        requestRef.current?.abort()
+        const controller = new AbortController()
+        requestRef.current = controller
         try {
             setFetchingStudents(true)
             const token = localStorage.getItem('token')
@@ -28,27 +42,43 @@ const AddAttendeesModal = ({ isOpen, onClose, courseId, onSuccess }) => {
             const response = await axios.get(
                 'http://localhost:8080/api/student/list',
                 {
+                    params: {
+                        page: pageToLoad,
+                        size: PAGE_SIZE,
+                        search: searchTerm.trim() || undefined
+                    },
                     headers: {
                         'Authorization': `Bearer ${token}`
-                    }
+                    },
+                    signal: controller.signal
                 }
             )
 
             const studentList = response.data?.data || []
-            setStudents(studentList)
+            setStudents(prev => pageToLoad === 0 ? studentList : [...prev, ...studentList])
+            setPage(pageToLoad)
+            // A full page means there may be more; the endpoint returns no total
+            setHasMore(studentList.length === PAGE_SIZE)
         } catch (error) {
+            if (axios.isCancel(error)) return
             console.error('Error fetching students:', error)
             toast.error('Failed to load students')
         } finally {
-            setFetchingStudents(false)
+            if (requestRef.current === controller) {
+                setFetchingStudents(false)
+            }
         }
     }
 
+    // Selections are kept across searches; "select all" applies to the students loaded so far
+    const loadedEmails = students.map(s => s.email)
+    const allLoadedSelected = loadedEmails.length > 0 && loadedEmails.every(email => selectedStudents.includes(email))
+
     const handleSelectAll = () => {
-        if (selectedStudents.length === filteredStudents.length) {
-            setSelectedStudents([])
+        if (allLoadedSelected) {
+            setSelectedStudents(selectedStudents.filter(email => !loadedEmails.includes(email)))
         } else {
-            setSelectedStudents(filteredStudents.map(s => s.email))
+            setSelectedStudents([...new Set([...selectedStudents, ...loadedEmails])])
         }
     }
 
@@ -126,16 +156,14 @@ const AddAttendeesModal = ({ isOpen, onClose, courseId, onSuccess }) => {
         setEmails('')
         setSelectedStudents([])
         setSearchTerm('')
+        setStudents([])
+        setPage(0)
+        setHasMore(false)
         setResult(null)
         setMode('select')
         onClose()
     }
 
-    const filteredStudents = students.filter(student =>
-        student.name.toLowerCase().includes(searchTerm.toLowerCase()) ||
-        student.email.toLowerCase().includes(searchTerm.toLowerCase())
-    )
-
     if (!isOpen) return null
 
     return (
@@ -209,12 +237,12 @@ const AddAttendeesModal = ({ isOpen, onClose, courseId, onSuccess }) => {
                                 <label className="flex items-center space-x-2 cursor-pointer">
                                     <input
                                         type="checkbox"
-                                        checked={selectedStudents.length === filteredStudents.length && filteredStudents.length > 0}
+                                        checked={allLoadedSelected}
                                         onChange={handleSelectAll}
                                         className="w-4 h-4 text-blue-600 rounded focus:ring-2 focus:ring-blue-500"
                                     />
                                     <span className="text-sm font-medium text-gray-700">
-                                        Select All ({filteredStudents.length})
+                                        Select All ({students.length}{hasMore ? '+' : ''})
                                     </span>
                                 </label>
                                 <span className="text-sm text-gray-600">
@@ -223,13 +251,13 @@ const AddAttendeesModal = ({ isOpen, onClose, courseId, onSuccess }) => {
                             </div>
 
                             {/* Student List */}
-                            {fetchingStudents ? (
+                            {fetchingStudents && students.length === 0 ? (
                                 <div className="text-center py-8 text-gray-500">Loading students...</div>
-                            ) : filteredStudents.length === 0 ? (
+                            ) : students.length === 0 ? (
                                 <div className="text-center py-8 text-gray-500">No students found</div>
                             ) : (
                                 <div className="max-h-80 overflow-y-auto space-y-2">
-                                    {filteredStudents.map((student) => (
+                                    {students.map((student) => (
                                         <label
                                             key={student.id}
                                             className="flex items-center space-x-3 p-3 rounded-lg hover:bg-gray-50 cursor-pointer transition-colors"
@@ -249,6 +277,16 @@ const AddAttendeesModal = ({ isOpen, onClose, courseId, onSuccess }) => {
                                             </div>
                                         </label>
                                     ))}
+                                    {hasMore && (
+                                        <button
+                                            type="button"
+                                            onClick={() => fetchStudents(page + 1)}
+                                            disabled={fetchingStudents}
+                                            className="w-full py-2 text-sm font-medium text-blue-600 hover:bg-blue-50 rounded-lg disabled:text-gray-400"
+                                        >
+                                            {fetchingStudents ? 'Loading...' : 'Load more students'}
+                                        </button>
+                                    )}
                                 </div>
                             )}
                         </>
@@ -1,4 +1,5 @@
-import React, { useEffect, useState } from 'react';
+import React, { useEffect, useRef, useState } from 'react';
+import axios from 'axios';
 import { adminService } from '../../services/adminService';
 import Loader from '../common/Loader';
 import Card from '../common/Card';
@@ -9,10 +10,15 @@ import toast from 'react-hot-toast';
 
 import Pagination from '../common/Pagination';
 
+const SEARCH_DEBOUNCE_MS = 300;
+
 const AdminUsers = () => {
     const [users, setUsers] = useState([]);
+    const [totalUsers, setTotalUsers] = useState(0);
     const [loading, setLoading] = useState(true);
     const [searchTerm, setSearchTerm] = useState('');
+    // Search sent to the server, set once typing pauses
+    const [appliedSearch, setAppliedSearch] = useState('');
 
     // Pagination
     const [currentPage, setCurrentPage] = useState(1);
@@ -34,20 +40,48 @@ const AdminUsers = () => {
     const [showCreateModal, setShowCreateModal] = useState(false);
     const [newUser, setNewUser] = useState({ name: '', email: '', password: '', role: 'INSTRUCTOR' });
 
+    // Request in flight; a newer one aborts it so a slow response never replaces a newer one
+    const requestRef = useRef(null);
+
+    // One update for both, so a new search back on page 1 is a single request
+    useEffect(() => {
+        const search = searchTerm.trim();
+        if (search === appliedSearch) return;
+        const timer = setTimeout(() => {
+            setAppliedSearch(search);
+            setCurrentPage(1);
+        }, SEARCH_DEBOUNCE_MS);
+        return () => clearTimeout(timer);
+    }, [searchTerm, appliedSearch]);
+
     useEffect(() => {
         fetchUsers();
-    }, []);
+    }, [currentPage, appliedSearch]);
+
+    useEffect(() => () => requestRef.current?.abort(), []);
 
     const fetchUsers = async () => {
+        requestRef.current?.abort();
+        const controller = new AbortController();
+        requestRef.current = controller;
         try {
             setLoading(true);
-            const res = await adminService.getAllUsers();
-            setUsers(res.data.data);
+            const res = await adminService.getAllUsers({
+                page: currentPage - 1,
+                size: itemsPerPage,
+                search: appliedSearch || undefined
+            }, { signal: controller.signal });
+            const pageData = res.data.data;
+            setUsers(pageData.content);
+            setTotalUsers(pageData.totalElements);
         } catch (error) {
+            if (axios.isCancel(error)) return;
             console.error("Failed to fetch users", error);
             toast.error("Failed to load users");
         } finally {
-            setLoading(false);
+            if (requestRef.current === controller) {
+                setLoading(false);
+            }
         }
     };
 
@@ -130,24 +164,11 @@ const AdminUsers = () => {
         }
     };
 
-    // Filter Users
-    const filteredUsers = users.filter(user =>
-        user.name.toLowerCase().includes(searchTerm.toLowerCase()) ||
-        user.email.toLowerCase().includes(searchTerm.toLowerCase())
-    );
-
-    // Paginate
-    const paginatedUsers = filteredUsers.slice(
-        (currentPage - 1) * itemsPerPage,
-        currentPage * itemsPerPage
-    );
-
-    // Reset page on search
-    useEffect(() => {
-        setCurrentPage(1);
-    }, [searchTerm]);
+    // Filtering (name/email prefix) and paging are done by the server
+    const paginatedUsers = users;
 
-    if (loading) return <Loader />;
+    // Full-page loader only for the first load, so the search box keeps focus while typing
+    if (loading && totalUsers === 0 && !searchTerm) return <Loader />;
 
     return (
         <div className="max-w-7xl mx-auto px-4 sm:px-6 lg:px-8 py-8">
@@ -418,10 +439,10 @@ const AdminUsers = () => {
             </Card>
 
             {
-                filteredUsers.length > 0 && (
+                totalUsers > 0 && (
                     <Pagination
                         currentPage={currentPage}
-                        totalItems={filteredUsers.length}
+                        totalItems={totalUsers}
                         itemsPerPage={itemsPerPage}
                         onPageChange={setCurrentPage}
                     />
@@ -2,7 +2,8 @@ import api from './api';
 
 export const adminService = {
     // User Management
-    getAllUsers: () => api.get('/admin/users'),
+    // Server-side paging: { page (0-based), size, sortBy, direction, role, blocked, search (name/email prefix) }
+    getAllUsers: (params, config) => api.get('/admin/users', { params, ...config }),
     blockUser: (userId, data) => api.post(`/admin/users/${userId}/block`, data),
     deleteUser: (userId, reason) => api.delete(`/admin/users/${userId}`, { params: { reason } }),
 
@@ -6,13 +6,14 @@ const getStudentAnalytics = async () => {
     return response.data;
 };
 
-const getInstructorAnalytics = async () => {
-    const response = await api.get('/analytics/instructor');
+// params: optional { from, to } (YYYY-MM-DD) to slice the dashboard to a date range
+const getInstructorAnalytics = async (params = {}) => {
+    const response = await api.get('/analytics/instructor', { params });
     return response.data;
 };
 
-const getAdminAnalytics = async () => {
-    const response = await api.get('/analytics/admin');
+const getAdminAnalytics = async (params = {}) => {
+    const response = await api.get('/analytics/admin', { params });
     return response.data;
 };
 
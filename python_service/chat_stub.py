@@ -0,0 +1,78 @@
+"""Stand-in for the chat model service, for local testing of the backend.
+
+Listens on the same port and path as app.py (POST /chat) and echoes the message
+with a short summary of the context it received. STUB_DELAY_SECONDS simulates a
+slow model, e.g. to check that the backend times out instead of hanging.
+
+POST /chat/stream returns the same reply as server-sent events, one word per
+"data:" line followed by "data: [DONE]". STUB_TOKEN_DELAY_SECONDS sets the pause
+between words, which makes client disconnects and backpressure easy to observe.
+
+    python chat_stub.py            # port 5001
+    STUB_DELAY_SECONDS=30 python chat_stub.py
+"""
+import json
+import os
+import time
+from http.server import BaseHTTPRequestHandler, ThreadingHTTPServer
+
+PORT = int(os.environ.get("PORT", "5001"))
+DELAY = float(os.environ.get("STUB_DELAY_SECONDS", "0"))
+TOKEN_DELAY = float(os.environ.get("STUB_TOKEN_DELAY_SECONDS", "0.05"))
+
+
+class ChatStubHandler(BaseHTTPRequestHandler):
+    def do_POST(self):
+        if self.path not in ("/chat", "/chat/stream"):
+            self.send_error(404)
+            return
+
+        length = int(self.headers.get("Content-Length", 0))
+        payload = json.loads(self.rfile.read(length) or b"{}")
+
+        if DELAY:
+            time.sleep(DELAY)
+
+        reply = build_reply(payload)
+        if self.path == "/chat/stream":
+            self.stream(reply)
+            return
+
+        body = json.dumps({"response": reply}).encode("utf-8")
+
+        self.send_response(200)
+        self.send_header("Content-Type", "application/json")
+        self.send_header("Content-Length", str(len(body)))
+        self.end_headers()
+        self.wfile.write(body)
+
+    def stream(self, reply):
+        self.send_response(200)
+        self.send_header("Content-Type", "text/event-stream")
+        self.send_header("Cache-Control", "no-cache")
+        self.end_headers()
+        try:
+            for i, word in enumerate(reply.split(" ")):
+                token = word if i == 0 else " " + word
+                self.wfile.write(f"data: {token}\n\n".encode("utf-8"))
+                self.wfile.flush()
+                time.sleep(TOKEN_DELAY)
+            self.wfile.write(b"data: [DONE]\n\n")
+            self.wfile.flush()
+        except (BrokenPipeError, ConnectionResetError):
+            print("Client disconnected mid-stream")
+
+
+def build_reply(payload):
+    context = payload.get("context", {})
+    return (
+        f"Stub reply to '{payload.get('message', '')}' "
+        f"(role={context.get('role')}, courses={len(context.get('courses', []))}, "
+        f"quizzes={len(context.get('recentQuizzes', []))}, "
+        f"certificates={len(context.get('certificates', []))})"
+    )
+
+
+if __name__ == "__main__":
+    print(f"Chat stub listening on port {PORT}")
+    ThreadingHTTPServer(("0.0.0.0", PORT), ChatStubHandler).serve_forever()
@@ -0,0 +1,69 @@
+"""Stand-in for the Gemini generateContent endpoint, for local testing of AI quiz generation.
+
+Point the backend at it with
+    gemini.api.url=http://localhost:5002/v1beta/models/stub:generateContent
+
+Every POST whose path ends in ":generateContent" gets a well-formed response holding
+the requested number of MCQ questions. STUB_DELAY_SECONDS simulates model latency, so
+concurrency limits and the rate limit of the bulk mode can be observed; each request
+is logged with a timestamp.
+"""
+import json
+import os
+import re
+import time
+from http.server import BaseHTTPRequestHandler, ThreadingHTTPServer
+
+PORT = int(os.environ.get("PORT", "5002"))
+DELAY = float(os.environ.get("STUB_DELAY_SECONDS", "1"))
+
+
+def build_quiz(prompt):
+    count_match = re.search(r"Generate (\d+) MCQ", prompt)
+    topic_match = re.search(r"Topic: (.*)", prompt)
+    difficulty_match = re.search(r'"difficulty": "(\w+)"', prompt)
+    count = int(count_match.group(1)) if count_match else 1
+    topic = topic_match.group(1).strip() if topic_match else "General"
+    difficulty = difficulty_match.group(1) if difficulty_match else "BEGINNER"
+
+    questions = [
+        {
+            "questionText": f"{topic}: stub question {i + 1}?",
+            "options": ["A", "B", "C", "D"],
+            "correctAnswer": "A",
+            "points": 1,
+            "explanation": "Generated by gemini_stub.py",
+            "difficulty": difficulty,
+        }
+        for i in range(count)
+    ]
+    return json.dumps({"questions": questions})
+
+
+class GeminiStubHandler(BaseHTTPRequestHandler):
+    def do_POST(self):
+        if not self.path.split("?")[0].endswith(":generateContent"):
+            self.send_error(404)
+            return
+
+        length = int(self.headers.get("Content-Length", 0))
+        payload = json.loads(self.rfile.read(length) or b"{}")
+        prompt = payload["contents"][0]["parts"][0]["text"]
+
+        print(f"{time.strftime('%H:%M:%S')} generateContent request")
+        if DELAY:
+            time.sleep(DELAY)
+
+        text = "```json\n" + build_quiz(prompt) + "\n```"
+        body = json.dumps({"candidates": [{"content": {"parts": [{"text": text}]}}]}).encode("utf-8")
+
+        self.send_response(200)
+        self.send_header("Content-Type", "application/json")
+        self.send_header("Content-Length", str(len(body)))
+        self.end_headers()
+        self.wfile.write(body)
+
+
+if __name__ == "__main__":
+    print(f"Gemini stub listening on port {PORT}")
+    ThreadingHTTPServer(("0.0.0.0", PORT), GeminiStubHandler).serve_forever()